@@ -0,0 +1,125 @@
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.MongoTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.TokenRevocationService;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Compares the stateful and stateless issuance modes: time per login (access and refresh token
+ * signed and persisted), documents written and MongoDB storage per login. Run through
+ * scripts/issuance-mode-benchmark.sh, which puts the compiled classes and the dependencies on the
+ * class path. The benchmark database is dropped afterwards.
+ */
+public class IssuanceModeBenchmark {
+
+    private static final String SECRET = "bmV4dXMtc2VudGluZWwtdG9rZW4tZm9ybWF0LWJlbmNobWFyay1rZXk=";
+    private static final String ISSUER = "nexus-auth";
+    private static final String TOKENS = "benchmark_tokens";
+    private static final String FAMILIES = "benchmark_refresh_token_families";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        String uri = args.length > 1 ? args[1] : "mongodb://localhost:27017";
+
+        JwtService jwtService = new JwtService();
+        set(jwtService, "secret", SECRET);
+        set(jwtService, "issuer", ISSUER);
+        jwtService.init();
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("roles", List.of("SERVICE", "READER"));
+        claims.put("scopes", List.of("orders:read", "orders:write", "fleet:read"));
+        claims.put("team", "logistics");
+
+        try (MongoClient client = MongoClients.create(uri)) {
+            MongoTemplate mongoTemplate = new MongoTemplate(client, "nexus-sentinel-benchmark");
+            mongoTemplate.getDb().drop();
+            MongoCollection<Token> tokens = DocumentCodecs.collection(mongoTemplate, TOKENS, Token.class);
+            mongoTemplate.getCollection(TOKENS).createIndex(new Document("token", 1));
+
+            Runnable stateful = () -> {
+                String access = jwtService.generateAccessToken("order-service", TokenType.BEARER_JWT, claims,
+                        SubjectType.CLIENT);
+                String refresh = jwtService.generateRefreshToken("order-service", TokenType.REFRESH_TOKEN, claims,
+                        SubjectType.CLIENT);
+                MongoTokenStore.save(tokens, token(access, TokenType.BEARER_JWT, Duration.ofHours(1)));
+                MongoTokenStore.save(tokens, token(refresh, TokenType.REFRESH_TOKEN, Duration.ofDays(30)));
+            };
+            Runnable stateless = () -> {
+                String familyId = UUID.randomUUID().toString();
+                Map<String, Object> accessClaims = new LinkedHashMap<>(claims);
+                accessClaims.put(TokenRevocationService.FAMILY_CLAIM, familyId);
+                jwtService.generateAccessToken("order-service", TokenType.BEARER_JWT, accessClaims,
+                        SubjectType.CLIENT);
+                jwtService.generateRefreshToken("order-service", TokenType.REFRESH_TOKEN, claims,
+                        SubjectType.CLIENT, familyId);
+                mongoTemplate.insert(RefreshTokenFamily.builder()
+                        .id(familyId)
+                        .subjectId("order-service")
+                        .subjectType(SubjectType.CLIENT)
+                        .expiresAt(Instant.now().plus(Duration.ofDays(30)))
+                        .build(), FAMILIES);
+            };
+
+            System.out.printf("%-10s %14s %14s %16s%n", "mode", "login ns/op", "docs/login", "bytes/login");
+            for (int round = 0; round < 3; round++) {
+                boolean report = round == 2;
+                measure("stateful", stateful, iterations, report, mongoTemplate, TOKENS);
+                measure("stateless", stateless, iterations, report, mongoTemplate, FAMILIES);
+            }
+            mongoTemplate.getDb().drop();
+        }
+    }
+
+    private static void measure(String name, Runnable login, int iterations, boolean report,
+                                MongoTemplate mongoTemplate, String collection) {
+        mongoTemplate.getCollection(collection).deleteMany(new Document());
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            login.run();
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (report) {
+            Document stats = mongoTemplate.executeCommand(new Document("collStats", collection));
+            long documents = ((Number) stats.get("count")).longValue();
+            long bytes = ((Number) stats.get("size")).longValue() + ((Number) stats.get("totalIndexSize")).longValue();
+            System.out.printf("%-10s %14d %14.1f %16d%n", name, nanos / iterations, (double) documents / iterations,
+                    bytes / iterations);
+        }
+    }
+
+    private static Token token(String value, TokenType type, Duration lifetime) {
+        Instant now = Instant.now();
+        return Token.builder()
+                .token(value)
+                .tokenType(type)
+                .subjectId("order-service")
+                .subjectType(SubjectType.CLIENT)
+                .issuedAt(now)
+                .expiresAt(now.plus(lifetime))
+                .build();
+    }
+
+    private static void set(Object target, String field, Object value) throws ReflectiveOperationException {
+        Field declared = target.getClass().getDeclaredField(field);
+        declared.setAccessible(true);
+        declared.set(target, value);
+    }
+}
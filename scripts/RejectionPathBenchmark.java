@@ -0,0 +1,77 @@
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailureException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.GlobalExceptionHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.lang.reflect.Proxy;
+import java.util.function.Supplier;
+
+/**
+ * Measures the cost of rejecting an authentication: throwing and catching the exception, building
+ * the error response and serializing its body to JSON. The per-request path (a new exception with
+ * a stack trace) is compared with the shared path (the stackless exception of an
+ * {@link AuthenticationFailure}). Both build the same error body. Run through
+ * scripts/rejection-path-benchmark.sh, which puts the compiled classes and the dependencies on
+ * the class path.
+ */
+public class RejectionPathBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        HttpServletRequest request = (HttpServletRequest) Proxy.newProxyInstance(
+                RejectionPathBenchmark.class.getClassLoader(), new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, methodArgs) -> method.getName().equals("getRequestURI") ? "/auth/login" : null);
+
+        Supplier<ResponseEntity<?>> perRequest = () -> {
+            try {
+                throw new BadCredentialsException("Invalid credentials");
+            } catch (BadCredentialsException e) {
+                return handler.handleBadCredentials(e, request);
+            }
+        };
+        Supplier<ResponseEntity<?>> shared = () -> {
+            try {
+                throw AuthenticationFailure.INVALID_PASSWORD.exception();
+            } catch (AuthenticationFailureException e) {
+                return handler.handleAuthenticationFailure(e, request);
+            }
+        };
+
+        System.out.printf("%-12s %16s %16s%n", "path", "reject ns/op", "with JSON ns/op");
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            measure("per-request", perRequest, objectMapper, iterations, report);
+            measure("shared", shared, objectMapper, iterations, report);
+        }
+    }
+
+    private static void measure(String name, Supplier<ResponseEntity<?>> reject, ObjectMapper objectMapper,
+                                int iterations, boolean report) throws Exception {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += reject.get().getStatusCode().value();
+        }
+        long rejectNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += objectMapper.writeValueAsBytes(reject.get().getBody()).length;
+        }
+        long serializeNanos = System.nanoTime() - start;
+
+        if (report) {
+            System.out.printf("%-12s %16d %16d%n", name, rejectNanos / iterations, serializeNanos / iterations);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+}
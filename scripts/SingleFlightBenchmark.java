@@ -0,0 +1,74 @@
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password.Pbkdf2Sha256PasswordEncoder;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.CredentialSingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Measures a burst of concurrent client authentications for the same client, each verifying the
+ * secret against a PBKDF2 hash. Every request running its own verification is compared with
+ * requests coalesced by {@link CredentialSingleFlight}. Run through
+ * scripts/single-flight-benchmark.sh, which puts the compiled classes and the dependencies on the
+ * class path.
+ */
+public class SingleFlightBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 2_000;
+
+        CredentialSingleFlight singleFlight = new CredentialSingleFlight(new SimpleMeterRegistry());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        System.out.printf("%-14s %12s %14s%n", "mode", "req/s", "verifications");
+        try {
+            for (int round = 0; round < 3; round++) {
+                boolean report = round == 2;
+                measure("per-request", executor, requests, report,
+                        verify -> verify.get());
+                measure("single-flight", executor, requests, report,
+                        verify -> singleFlight.execute("client-1", "client-secret", verify));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private interface Mode {
+        Boolean run(Supplier<Boolean> verify);
+    }
+
+    private static void measure(String name, ExecutorService executor, int requests, boolean report,
+                                Mode mode) throws Exception {
+        Pbkdf2Sha256PasswordEncoder encoder = new Pbkdf2Sha256PasswordEncoder(210_000);
+        String hash = encoder.encode("client-secret");
+        AtomicInteger verifications = new AtomicInteger();
+        Supplier<Boolean> verify = () -> {
+            verifications.incrementAndGet();
+            return encoder.matches("client-secret", hash);
+        };
+
+        List<Callable<Boolean>> tasks = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            tasks.add(() -> mode.run(verify));
+        }
+        long start = System.nanoTime();
+        for (Future<Boolean> result : executor.invokeAll(tasks)) {
+            if (!result.get()) {
+                throw new IllegalStateException("verification failed");
+            }
+        }
+        long nanos = System.nanoTime() - start;
+
+        if (report) {
+            System.out.printf("%-14s %12.0f %14d%n", name, requests * 1e9 / nanos, verifications.get());
+        }
+    }
+}
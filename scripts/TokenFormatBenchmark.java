@@ -0,0 +1,96 @@
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.CwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtValidation;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares JWT and CWT client access tokens: encoded size, issue time and parse (verify + decode)
+ * time. Run through scripts/token-format-benchmark.sh, which puts the compiled classes and the
+ * dependencies on the class path.
+ */
+public class TokenFormatBenchmark {
+
+    private static final String SECRET = "bmV4dXMtc2VudGluZWwtdG9rZW4tZm9ybWF0LWJlbmNobWFyay1rZXk=";
+    private static final String ISSUER = "nexus-auth";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        JwtService jwtService = new JwtService();
+        set(jwtService, "secret", SECRET);
+        set(jwtService, "issuer", ISSUER);
+        jwtService.init();
+        CwtService cwtService = new CwtService(SECRET, ISSUER);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("roles", List.of("SERVICE", "READER"));
+        claims.put("scopes", List.of("orders:read", "orders:write", "fleet:read"));
+        claims.put("grantTypes", List.of("client_credentials"));
+        claims.put("team", "logistics");
+        claims.put("tier", "gold");
+        claims.put("fid", UUID.randomUUID().toString());
+
+        Supplier<String> jwt = () -> jwtService.generateAccessToken("order-service", TokenType.BEARER_JWT, claims,
+                SubjectType.CLIENT);
+        Supplier<String> cwt = () -> cwtService.generateAccessToken("order-service", TokenType.CWT, claims,
+                SubjectType.CLIENT);
+
+        String jwtToken = jwt.get();
+        String cwtToken = cwt.get();
+        require(jwtService.parse(jwtToken));
+        require(cwtService.parse(cwtToken));
+
+        System.out.printf("%-6s %12s %14s %14s%n", "format", "token bytes", "issue ns/op", "parse ns/op");
+        for (int round = 0; round < 3; round++) {
+            boolean report = round == 2;
+            measure("JWT", jwtToken, jwt, jwtService::parse, iterations, report);
+            measure("CWT", cwtToken, cwt, cwtService::parse, iterations, report);
+        }
+        System.out.printf("%nCWT size: %.0f%% of JWT%n", 100.0 * cwtToken.length() / jwtToken.length());
+    }
+
+    private static void measure(String name, String token, Supplier<String> issue,
+                                Function<String, JwtValidation> parse, int iterations, boolean report) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += issue.get().length();
+        }
+        long issueNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += parse.apply(token).claims().size();
+        }
+        long parseNanos = System.nanoTime() - start;
+
+        if (report) {
+            System.out.printf("%-6s %12d %14d %14d%n", name, token.length(), issueNanos / iterations,
+                    parseNanos / iterations);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void require(JwtValidation validation) {
+        if (!validation.isValid()) {
+            throw new IllegalStateException("Token did not verify: " + validation.failure());
+        }
+    }
+
+    private static void set(Object target, String field, Object value) throws ReflectiveOperationException {
+        Field declared = target.getClass().getDeclaredField(field);
+        declared.setAccessible(true);
+        declared.set(target, value);
+    }
+}
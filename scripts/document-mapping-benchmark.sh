@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# Compares the hand-written BSON codecs with Spring Data's reflective mapping for the Token, User
+# and Client documents: encode and decode time per document, measured in-process without MongoDB.
+#
+#   scripts/document-mapping-benchmark.sh [iterations]
+#
+# Compiles the application and resolves its class path with Maven, then runs
+# scripts/DocumentMappingBenchmark.java as a single-file program.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ITERATIONS=${1:-500000}
+CLASSPATH_FILE=target/benchmark.classpath
+
+./mvnw -q -B compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE" -Dmdep.includeScope=runtime
+
+java -cp "target/classes:$(cat "$CLASSPATH_FILE")" scripts/DocumentMappingBenchmark.java "$ITERATIONS"
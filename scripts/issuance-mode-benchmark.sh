@@ -0,0 +1,22 @@
+#!/usr/bin/env bash
+#
+# Compares the stateful and stateless token issuance modes: time per login, documents written and
+# MongoDB storage (data and indexes) per login, measured in-process against a real MongoDB.
+#
+#   scripts/issuance-mode-benchmark.sh [iterations] [mongodb-uri]
+#
+# The URI defaults to mongodb://localhost:27017; the nexus-sentinel-benchmark database is dropped
+# before and after the run. Compiles the application and resolves its class path with Maven, then
+# runs scripts/IssuanceModeBenchmark.java as a single-file program.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ITERATIONS=${1:-20000}
+MONGODB_URI=${2:-mongodb://localhost:27017}
+CLASSPATH_FILE=target/benchmark.classpath
+
+./mvnw -q -B compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE" -Dmdep.includeScope=runtime
+
+java -cp "target/classes:$(cat "$CLASSPATH_FILE")" scripts/IssuanceModeBenchmark.java "$ITERATIONS" "$MONGODB_URI"
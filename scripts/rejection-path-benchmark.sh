@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# Measures the cost of rejecting an authentication: a new exception and error body per request
+# compared with the shared stackless exception of each AuthenticationFailure.
+#
+#   scripts/rejection-path-benchmark.sh [iterations]
+#
+# Compiles the application and resolves its class path with Maven, then runs
+# scripts/RejectionPathBenchmark.java as a single-file program.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ITERATIONS=${1:-1000000}
+CLASSPATH_FILE=target/benchmark.classpath
+
+./mvnw -q -B compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE" -Dmdep.includeScope=runtime
+
+java -cp "target/classes:$(cat "$CLASSPATH_FILE")" scripts/RejectionPathBenchmark.java "$ITERATIONS"
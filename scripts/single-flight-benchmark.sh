@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+#
+# Measures a burst of concurrent authentications of one client: every request verifying the
+# secret itself compared with requests coalesced by CredentialSingleFlight.
+#
+#   scripts/single-flight-benchmark.sh [threads] [requests]
+#
+# Compiles the application and resolves its class path with Maven, then runs
+# scripts/SingleFlightBenchmark.java as a single-file program.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+THREADS=${1:-32}
+REQUESTS=${2:-2000}
+CLASSPATH_FILE=target/benchmark.classpath
+
+./mvnw -q -B compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE" -Dmdep.includeScope=runtime
+
+java -cp "target/classes:$(cat "$CLASSPATH_FILE")" scripts/SingleFlightBenchmark.java "$THREADS" "$REQUESTS"
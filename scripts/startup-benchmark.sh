@@ -0,0 +1,119 @@
+#!/usr/bin/env bash
+#
+# Compares startup of the Sentinel build modes: time from process start to the first successful
+# POST /auth/client, and resident set size at that moment.
+#
+#   mvn -Pfast-startup package          # jvm, aot and cds modes
+#   mvn -Pnative native:compile         # native mode (optional)
+#   scripts/startup-benchmark.sh [runs] [mode...]
+#
+# Modes default to every mode whose artifact exists. MongoDB must be reachable at
+# SPRING_DATA_MONGODB_URI (or the configured default); the benchmark client is registered before
+# the first measurement.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+shift || true
+PORT=${PORT:-18080}
+CLIENT_ID=${CLIENT_ID:-startup-benchmark}
+CLIENT_SECRET=${CLIENT_SECRET:-startup-benchmark-secret}
+VERSION=$(sed -n 's:^\t<version>\(.*\)</version>$:\1:p' pom.xml | head -1)
+JAR=target/Nexus-Sentinel-${VERSION}.jar
+CDS_DIR=target/cds
+NATIVE=target/Nexus-Sentinel
+
+command_for() {
+    case "$1" in
+        jvm)    echo "java -jar $JAR" ;;
+        aot)    echo "java -Dspring.aot.enabled=true -jar $JAR" ;;
+        cds)    echo "java -XX:SharedArchiveFile=$CDS_DIR/application.jsa -Dspring.aot.enabled=true -jar $CDS_DIR/Nexus-Sentinel-${VERSION}.jar" ;;
+        native) echo "$NATIVE" ;;
+    esac
+}
+
+available() {
+    case "$1" in
+        jvm|aot) [[ -f $JAR ]] ;;
+        cds)     [[ -f $CDS_DIR/application.jsa ]] ;;
+        native)  [[ -x $NATIVE ]] ;;
+        *)       return 1 ;;
+    esac
+}
+
+now_ms() {
+    date +%s%3N
+}
+
+authenticate() {
+    curl -s -o /dev/null -w '%{http_code}' -X POST "http://localhost:$PORT/auth/client" \
+        -H 'Content-Type: application/json' \
+        -d "{\"clientId\":\"$CLIENT_ID\",\"clientSecret\":\"$CLIENT_SECRET\"}" 2>/dev/null || true
+}
+
+register() {
+    curl -s -o /dev/null -X POST "http://localhost:$PORT/api/register/client" \
+        -H 'Content-Type: application/json' \
+        -d "{\"clientId\":\"$CLIENT_ID\",\"clientSecret\":\"$CLIENT_SECRET\",\"roles\":[\"SERVICE\"],\"scopes\":[\"read\"],\"grantTypes\":[\"client_credentials\"],\"allowedTokenTypes\":[\"BEARER_JWT\"],\"team\":\"benchmark\",\"serviceTier\":\"default\"}" || true
+}
+
+# Starts the given mode once and registers the benchmark client (a duplicate is ignored).
+prepare_client() {
+    local pid
+    $(command_for "$1") --server.port="$PORT" >/dev/null 2>&1 &
+    pid=$!
+    until [[ $(authenticate) =~ ^[1-5] ]]; do
+        kill -0 "$pid" 2>/dev/null || { echo "$1: process exited during preparation" >&2; exit 1; }
+        sleep 0.1
+    done
+    register
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+}
+
+# Prints "<milliseconds to first token> <rss kB>" for one start of the given mode.
+measure() {
+    local mode=$1 start pid elapsed rss
+    start=$(now_ms)
+    $(command_for "$mode") --server.port="$PORT" --audit.enabled=false >/dev/null 2>&1 &
+    pid=$!
+    until [[ $(authenticate) == 200 ]]; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "$mode: process exited before serving a token" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/$pid/status")
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    echo "$elapsed $rss"
+}
+
+if [[ $# -gt 0 ]]; then
+    MODES=("$@")
+else
+    MODES=()
+    for mode in jvm aot cds native; do
+        available "$mode" && MODES+=("$mode")
+    done
+fi
+[[ ${#MODES[@]} -gt 0 ]] || { echo "No build artifacts found; run mvn -Pfast-startup package first" >&2; exit 1; }
+
+prepare_client "${MODES[0]}"
+
+printf '%-8s %6s %16s %16s\n' mode runs 'first token ms' 'rss MiB'
+for mode in "${MODES[@]}"; do
+    available "$mode" || { echo "$mode: artifact missing, skipped" >&2; continue; }
+    total_ms=0
+    total_rss=0
+    for ((run = 0; run < RUNS; run++)); do
+        read -r ms rss < <(measure "$mode")
+        total_ms=$((total_ms + ms))
+        total_rss=$((total_rss + rss))
+    done
+    printf '%-8s %6d %16d %16d\n' "$mode" "$RUNS" $((total_ms / RUNS)) $((total_rss / RUNS / 1024))
+done
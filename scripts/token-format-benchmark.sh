@@ -0,0 +1,20 @@
+#!/usr/bin/env bash
+#
+# Compares the JWT and CWT client access token formats: encoded size, issue time and parse
+# (verify + decode) time per token, measured in-process without a running server.
+#
+#   scripts/token-format-benchmark.sh [iterations]
+#
+# Compiles the application and resolves its class path with Maven, then runs
+# scripts/TokenFormatBenchmark.java as a single-file program.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+ITERATIONS=${1:-200000}
+CLASSPATH_FILE=target/benchmark.classpath
+
+./mvnw -q -B compile dependency:build-classpath -Dmdep.outputFile="$CLASSPATH_FILE" -Dmdep.includeScope=runtime
+
+java -cp "target/classes:$(cat "$CLASSPATH_FILE")" scripts/TokenFormatBenchmark.java "$ITERATIONS"
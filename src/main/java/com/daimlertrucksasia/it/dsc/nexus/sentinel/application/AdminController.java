@@ -0,0 +1,96 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.CursorPage;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.ExportFormat;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.CredentialDirectoryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller exposing administrative listings and exports of registered users and clients.
+ * <p>
+ * Listings are keyset-paginated: each page returns a {@code nextCursor} to pass as {@code after}
+ * for the following page. Exports stream the whole collection as NDJSON or CSV. Password and
+ * client secret hashes are never included.
+ * </p>
+ *
+ * <p>Base path: <code>/user</code> (admin routes: every request requires the authority configured as
+ * {@code spring.auth.allowed.end.uri.admin-authority})</p>
+ */
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+public class AdminController {
+
+    /**
+     * Service reading users and clients with projections and keyset pagination.
+     */
+    private final CredentialDirectoryService credentialDirectoryService;
+
+    /**
+     * Lists users in username order.
+     *
+     * @param after username of the last user of the previous page
+     * @param limit page size (at most {@value CredentialDirectoryService#MAX_PAGE_SIZE})
+     * @return a {@link ResponseEntity} containing the page
+     */
+    @GetMapping("/users")
+    public ResponseEntity<CursorPage<UserSummary>> listUsers(@RequestParam(required = false) String after,
+                                                             @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(credentialDirectoryService.listUsers(after, limit));
+    }
+
+    /**
+     * Lists clients in client ID order.
+     *
+     * @param after client ID of the last client of the previous page
+     * @param limit page size (at most {@value CredentialDirectoryService#MAX_PAGE_SIZE})
+     * @return a {@link ResponseEntity} containing the page
+     */
+    @GetMapping("/clients")
+    public ResponseEntity<CursorPage<ClientSummary>> listClients(@RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(credentialDirectoryService.listClients(after, limit));
+    }
+
+    /**
+     * Streams all users.
+     *
+     * @param format {@code ndjson} (default) or {@code csv}
+     * @return a {@link ResponseEntity} streaming the export as an attachment
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        return export("users", exportFormat, output -> credentialDirectoryService.exportUsers(exportFormat, output));
+    }
+
+    /**
+     * Streams all clients.
+     *
+     * @param format {@code ndjson} (default) or {@code csv}
+     * @return a {@link ResponseEntity} streaming the export as an attachment
+     */
+    @GetMapping("/clients/export")
+    public ResponseEntity<StreamingResponseBody> exportClients(@RequestParam(defaultValue = "ndjson") String format) {
+        ExportFormat exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        return export("clients", exportFormat, output -> credentialDirectoryService.exportClients(exportFormat, output));
+    }
+
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + name + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
@@ -1,17 +1,38 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.application;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRevocationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientAuthRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RefreshTokenRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SessionAttributesRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRevocationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenIntrospectionRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenIntrospectionResponse;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenRevocationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserLoginRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.AuthenticationService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.ClaimsPolicyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.TokenIntrospectionService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.ClientRateLimiter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.RateLimitDecision;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
 
 /**
  * REST controller for handling authentication-related endpoints.
@@ -35,25 +56,110 @@ public class AuthController {
     private final AuthenticationService authenticationService;
 
     /**
-     * Authenticates a user with username and password and returns access and refresh tokens.
+     * Rate limiter applied to client token issuance before any credential work.
+     */
+    private final ClientRateLimiter clientRateLimiter;
+
+    /**
+     * Service reporting the state of opaque and JWT access tokens.
+     */
+    private final TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * Service resolving the claims references of oversized access tokens.
+     */
+    private final ClaimsPolicyService claimsPolicyService;
+
+    /**
+     * Authenticates a user with username and password and returns access and refresh tokens, or a
+     * session token if requested.
+     * <p>
+     * The remote address is used for failed-login tracking; behind a proxy it reflects
+     * {@code X-Forwarded-For} when {@code server.forward-headers-strategy} is configured.
+     * </p>
      *
-     * @param request the login request containing user credentials
+     * @param request     the login request containing user credentials
+     * @param httpRequest the HTTP request, used for its remote address
      * @return a {@link ResponseEntity} containing the generated {@link TokenResponse}
      */
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@RequestBody UserLoginRequest request) {
-        return ResponseEntity.ok(authenticationService.authenticateUser(request));
+    public ResponseEntity<TokenResponse> login(@RequestBody UserLoginRequest request, HttpServletRequest httpRequest) {
+        return ResponseEntity.ok(authenticationService.authenticateUser(request, httpRequest.getRemoteAddr()));
     }
 
     /**
      * Authenticates a client using client ID and secret, and returns access and refresh tokens.
+     * <p>
+     * The request is rate limited by client ID, team and tier before the client is looked up;
+     * the response carries {@code RateLimit-*} headers.
+     * </p>
      *
      * @param request the client authentication request
      * @return a {@link ResponseEntity} containing the generated {@link TokenResponse}
      */
     @PostMapping("/client")
     public ResponseEntity<TokenResponse> clientAuth(@RequestBody ClientAuthRequest request) {
-        return ResponseEntity.ok(authenticationService.authenticateClient(request));
+        RateLimitDecision decision = clientRateLimiter.acquire(request.getClientId());
+        return ResponseEntity.ok()
+                .headers(decision.headers())
+                .body(authenticationService.authenticateClient(request));
+    }
+
+    /**
+     * Issues a long-lived API key to a client authenticating with its ID and secret. Rate limited
+     * like {@code /auth/client}.
+     *
+     * @param request the API key request
+     * @return a {@link ResponseEntity} containing the key as access token of a {@link TokenResponse}
+     */
+    @PostMapping("/api-keys")
+    public ResponseEntity<TokenResponse> issueApiKey(@RequestBody ApiKeyRequest request) {
+        RateLimitDecision decision = clientRateLimiter.acquire(request.getClientId());
+        return ResponseEntity.ok()
+                .headers(decision.headers())
+                .body(authenticationService.issueApiKey(request));
+    }
+
+    /**
+     * Revokes an API key by its id on behalf of the owning client. Keys can also be revoked by
+     * presenting them to {@code /auth/revoke}.
+     *
+     * @param request the API key revocation request
+     * @return an empty {@link ResponseEntity} with status 200
+     */
+    @PostMapping("/api-keys/revoke")
+    public ResponseEntity<Void> revokeApiKey(@RequestBody ApiKeyRevocationRequest request) {
+        RateLimitDecision decision = clientRateLimiter.acquire(request.getClientId());
+        authenticationService.revokeApiKey(request);
+        return ResponseEntity.ok().headers(decision.headers()).build();
+    }
+
+    /**
+     * Issues an HMAC request-signing key to a client authenticating with its ID and secret. Rate
+     * limited like {@code /auth/client}.
+     *
+     * @param request the signing key request
+     * @return a {@link ResponseEntity} containing the key id and secret
+     */
+    @PostMapping("/signing-keys")
+    public ResponseEntity<SigningKeyResponse> issueSigningKey(@RequestBody SigningKeyRequest request) {
+        RateLimitDecision decision = clientRateLimiter.acquire(request.getClientId());
+        return ResponseEntity.ok()
+                .headers(decision.headers())
+                .body(authenticationService.issueSigningKey(request));
+    }
+
+    /**
+     * Revokes a request-signing key on behalf of the owning client.
+     *
+     * @param request the signing key revocation request
+     * @return an empty {@link ResponseEntity} with status 200
+     */
+    @PostMapping("/signing-keys/revoke")
+    public ResponseEntity<Void> revokeSigningKey(@RequestBody SigningKeyRevocationRequest request) {
+        RateLimitDecision decision = clientRateLimiter.acquire(request.getClientId());
+        authenticationService.revokeSigningKey(request);
+        return ResponseEntity.ok().headers(decision.headers()).build();
     }
 
     /**
@@ -75,6 +181,66 @@ public class AuthController {
      */
     @PostMapping("/client/refresh")
     public ResponseEntity<TokenResponse> clientAuthRefresh(@RequestBody RefreshTokenRequest request) {
-        return ResponseEntity.ok(authenticationService.clientRefreshAccessToken(request));
+        RateLimitDecision decision = clientRateLimiter.acquireForRefreshToken(request.getRefresh_token());
+        return ResponseEntity.ok()
+                .headers(decision.headers())
+                .body(authenticationService.clientRefreshAccessToken(request));
+    }
+
+    /**
+     * Revokes an access or refresh token. The response is the same whether or not the token was
+     * valid, so the endpoint cannot be used to probe tokens.
+     *
+     * @param request the revocation request
+     * @return an empty {@link ResponseEntity} with status 200
+     */
+    @PostMapping("/revoke")
+    public ResponseEntity<Void> revoke(@RequestBody TokenRevocationRequest request) {
+        authenticationService.revoke(request.getToken());
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Replaces the attributes of a session created by {@code /auth/login}.
+     *
+     * @param request the session token and its new attributes
+     * @return an empty {@link ResponseEntity} with status 200
+     */
+    @PostMapping("/sessions/attributes")
+    public ResponseEntity<Void> updateSessionAttributes(@RequestBody SessionAttributesRequest request) {
+        authenticationService.updateSessionAttributes(request);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * Introspects an access token (RFC 7662 style). Opaque tokens are resolved from the in-memory
+     * token table and sessions from the session table; JWTs are verified locally.
+     *
+     * @param request the introspection request
+     * @return the token's state and metadata, or only {@code active: false}
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<TokenIntrospectionResponse> introspect(@RequestBody TokenIntrospectionRequest request) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getToken()));
+    }
+
+    /**
+     * Resolves the {@code claims_ref} handle of an access token to the claims it stands for. The
+     * handle is random and only known to holders of the token, and the route requires an
+     * authenticated client. The response may be cached privately until the token expires.
+     *
+     * @param handle the {@code claims_ref} claim of the token
+     * @return the referenced claims, or 404 if the handle is unknown or expired
+     */
+    @GetMapping("/claims/{handle}")
+    public ResponseEntity<Map<String, Object>> claims(@PathVariable String handle) {
+        ClaimsReference reference = claimsPolicyService.resolve(handle);
+        if (reference == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.between(Instant.now(), reference.getExpiresAt()))
+                        .cachePrivate())
+                .body(reference.getClaims());
     }
 }
@@ -6,13 +6,17 @@ import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationRespons
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserRegistrationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.BulkRegistrationService;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.RegistrationServiceResolver;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.net.URI;
 /**
@@ -30,12 +34,19 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class RegistrationController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     /**
      * Resolver to determine the appropriate registration service based on entity type
      * (e.g., USER or CLIENT).
      */
     private final RegistrationServiceResolver registrationServiceResolver;
 
+    /**
+     * Service registering users or clients from NDJSON streams.
+     */
+    private final BulkRegistrationService bulkRegistrationService;
+
     /**
      * Registers a new user entity in the system.
      *
@@ -69,4 +80,40 @@ public class RegistrationController {
                 .created(URI.create("/api/resource/client/" + ((Client) clientResponse.getRegisteredEntity()).getClientId()))
                 .body(clientResponse);
     }
+
+    /**
+     * Registers users from an NDJSON stream of {@link UserRegistrationRequest} records.
+     * <p>
+     * The body is consumed incrementally and one {@code BulkRegistrationResult} line per record is
+     * streamed back as soon as its batch has been written. Unlike single registrations, bulk
+     * registration requires the admin authority.
+     * </p>
+     *
+     * @param request the HTTP request whose body holds one JSON record per line
+     * @return a {@link ResponseEntity} streaming NDJSON results
+     */
+    @PostMapping(path = "/user/bulk", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> registerUsers(HttpServletRequest request) {
+        return bulkRegistration(EntityType.USER, request);
+    }
+
+    /**
+     * Registers clients from an NDJSON stream of {@link ClientRegistrationRequest} records.
+     *
+     * @param request the HTTP request whose body holds one JSON record per line
+     * @return a {@link ResponseEntity} streaming NDJSON results
+     * @see #registerUsers(HttpServletRequest)
+     */
+    @PostMapping(path = "/client/bulk", consumes = NDJSON, produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> registerClients(HttpServletRequest request) {
+        return bulkRegistration(EntityType.CLIENT, request);
+    }
+
+    private ResponseEntity<StreamingResponseBody> bulkRegistration(EntityType entityType, HttpServletRequest request) {
+        StreamingResponseBody body = output ->
+                bulkRegistrationService.registerAll(entityType, request.getInputStream(), output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
 }
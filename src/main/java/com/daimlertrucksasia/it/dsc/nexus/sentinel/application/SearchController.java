@@ -0,0 +1,104 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.CredentialSearchService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.FacetCountService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Map;
+
+/**
+ * REST controller for attribute search over users and clients and for cached facet counts.
+ *
+ * <ul>
+ *     <li>{@code GET /user/search/users?department=&region=} - streams matching users as NDJSON</li>
+ *     <li>{@code GET /user/search/clients?team=&serviceTier=} - streams matching clients as NDJSON</li>
+ *     <li>{@code GET /user/facets/{users|clients}/{field}} - returns cached counts per value</li>
+ * </ul>
+ *
+ * <p>Base path: <code>/user</code> (admin routes: every request requires the authority configured as
+ * {@code spring.auth.allowed.end.uri.admin-authority})</p>
+ */
+@RestController
+@RequestMapping("/user")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    /**
+     * Service answering attribute searches from the search indexes.
+     */
+    private final CredentialSearchService credentialSearchService;
+
+    /**
+     * Service holding cached facet counts.
+     */
+    private final FacetCountService facetCountService;
+
+    /**
+     * Streams users matching a department and/or region.
+     *
+     * @param department department to match
+     * @param region     region to match
+     * @return a {@link ResponseEntity} streaming NDJSON search hits
+     */
+    @GetMapping("/search/users")
+    public ResponseEntity<StreamingResponseBody> searchUsers(@RequestParam(required = false) String department,
+                                                             @RequestParam(required = false) String region) {
+        if (department == null && region == null) {
+            throw new IllegalArgumentException("At least one of department and region is required");
+        }
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(output -> credentialSearchService.searchUsers(department, region, output));
+    }
+
+    /**
+     * Streams clients matching a team and/or service tier.
+     *
+     * @param team        team to match
+     * @param serviceTier service tier to match
+     * @return a {@link ResponseEntity} streaming NDJSON search hits
+     */
+    @GetMapping("/search/clients")
+    public ResponseEntity<StreamingResponseBody> searchClients(@RequestParam(required = false) String team,
+                                                               @RequestParam(required = false) String serviceTier) {
+        if (team == null && serviceTier == null) {
+            throw new IllegalArgumentException("At least one of team and serviceTier is required");
+        }
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(output -> credentialSearchService.searchClients(team, serviceTier, output));
+    }
+
+    /**
+     * Returns the cached counts of a facet, e.g. {@code /user/facets/users/region}.
+     *
+     * @param entities {@code users} or {@code clients}
+     * @param field    {@code department}, {@code region}, {@code team} or {@code serviceTier}
+     * @return a {@link ResponseEntity} containing counts per value, or 404 for unknown facets
+     */
+    @GetMapping("/facets/{entities}/{field}")
+    public ResponseEntity<Map<String, Long>> facetCounts(@PathVariable String entities, @PathVariable String field) {
+        EntityType entityType = switch (entities) {
+            case "users" -> EntityType.USER;
+            case "clients" -> EntityType.CLIENT;
+            default -> null;
+        };
+        if (entityType == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return FacetCountService.Facet.of(entityType, field)
+                .map(facet -> ResponseEntity.ok(facetCountService.counts(facet)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -25,6 +25,7 @@ import java.util.List;
  *           admins:
  *             - admin1
  *             - admin2
+ *           admin-authority: ADMIN
  * }</pre>
  *
  * <p>These values can be used to define security filters or rules within your security configuration.</p>
@@ -33,6 +34,7 @@ import java.util.List;
  * <ul>
  *     <li>{@code patterns} - a list of URI patterns allowed without authentication</li>
  *     <li>{@code admins} - a list of usernames or identifiers considered as admin users</li>
+ *     <li>{@code adminAuthority} - the role or prefixed scope required by administrative routes</li>
  * </ul>
  * <p>
  * An example usage would be within a custom security filter that checks if the requested URI matches one of the allowed patterns.
@@ -50,8 +52,15 @@ public class AllowedUriConfig {
     private List<String> patterns;
 
     /**
-     * List of admin usernames or identifiers who have elevated permissions.
+     * List of admin usernames or identifiers who have elevated permissions. Requests matching one
+     * of these patterns require {@link #adminAuthority}.
      */
     private List<String> admins;
+
+    /**
+     * Role, or scope with the {@code SCOPE_} prefix, an authenticated principal needs to call
+     * administrative routes.
+     */
+    private String adminAuthority = "ADMIN";
 }
 
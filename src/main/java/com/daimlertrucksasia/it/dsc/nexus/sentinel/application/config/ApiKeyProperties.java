@@ -0,0 +1,59 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for client API keys.
+ *
+ * <p>This class maps properties using the prefix {@code token.api-key}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   api-key:
+ *     pepper: <base64 secret>
+ *     default-validity: 365d
+ *     max-validity: 730d
+ *     cache-size: 10000
+ *     cache-ttl: 30s
+ * }</pre>
+ *
+ * <p>The pepper has no default and startup fails without it; deployments pass it through the
+ * {@code API_KEY_PEPPER} environment variable. Changing the pepper invalidates every issued key.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.api-key")
+public class ApiKeyProperties {
+
+    /**
+     * Base64-encoded server secret keying the stored key hashes, at least 32 bytes. It is never
+     * stored with the keys.
+     */
+    private String pepper;
+
+    /**
+     * Validity of keys issued without an explicit one.
+     */
+    private Duration defaultValidity = Duration.ofDays(365);
+
+    /**
+     * Upper bound of a requested validity.
+     */
+    private Duration maxValidity = Duration.ofDays(730);
+
+    /**
+     * Maximum number of keys held in the hot-key cache.
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Time a cached key is trusted before it is re-read; bounds how long a key revoked on another
+     * node stays usable here.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+}
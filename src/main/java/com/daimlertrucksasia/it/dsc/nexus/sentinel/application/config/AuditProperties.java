@@ -0,0 +1,125 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the asynchronous audit pipeline.
+ *
+ * <p>This class maps properties using the prefix {@code audit}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * audit:
+ *   enabled: true
+ *   collection: audit_events
+ *   storage: time-series
+ *   retention: 90d
+ *   capped-size: 256MB
+ *   buffer-capacity: 65536
+ *   overflow: drop
+ *   max-block: 5ms
+ *   batch-size: 500
+ *   flush-interval: 200ms
+ *   create-retry-interval: 5s
+ * }</pre>
+ *
+ * <p>The collection is only created when it does not exist yet; changing {@code storage},
+ * {@code retention} or {@code capped-size} afterwards requires dropping it.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+    /**
+     * Collection types the audit trail can be written to.
+     */
+    public enum Storage {
+
+        /**
+         * Time-series collection whose buckets expire after {@link #retention}.
+         */
+        TIME_SERIES,
+
+        /**
+         * Capped collection of {@link #cappedSize} bytes, overwriting the oldest events.
+         */
+        CAPPED
+    }
+
+    /**
+     * What publishers do when the buffer is full.
+     */
+    public enum Overflow {
+
+        /**
+         * Discard the event and count it.
+         */
+        DROP,
+
+        /**
+         * Wait up to {@link #maxBlock} for the writer to free a slot, then discard and count.
+         */
+        BLOCK
+    }
+
+    /**
+     * Whether audit events are recorded.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Name of the audit collection.
+     */
+    private String collection = "audit_events";
+
+    /**
+     * Type of the audit collection.
+     */
+    private Storage storage = Storage.TIME_SERIES;
+
+    /**
+     * Age after which time-series events expire.
+     */
+    private Duration retention = Duration.ofDays(90);
+
+    /**
+     * Size of a capped audit collection.
+     */
+    private DataSize cappedSize = DataSize.ofMegabytes(256);
+
+    /**
+     * Number of buffered events, rounded up to a power of two.
+     */
+    private int bufferCapacity = 65536;
+
+    /**
+     * Behaviour when the buffer is full.
+     */
+    private Overflow overflow = Overflow.DROP;
+
+    /**
+     * Longest time a publisher waits for a free slot with {@link Overflow#BLOCK}.
+     */
+    private Duration maxBlock = Duration.ofMillis(5);
+
+    /**
+     * Maximum number of events per insert.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Time the writer waits for more events before flushing a partial batch.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /**
+     * Time between attempts to create the collection while creating it fails.
+     */
+    private Duration createRetryInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,51 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter.ConcurrencyLimitFilter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter.GradientConcurrencyLimit;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Configuration class registering the {@link ConcurrencyLimitFilter} for {@code /auth/*}.
+ * <p>
+ * The filter is ordered ahead of Spring Security's filter chain, so shed requests cost nothing
+ * beyond the filter itself. It is disabled with {@code auth.concurrency.enabled: false}.
+ * </p>
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "auth.concurrency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    private final ConcurrencyLimitProperties properties;
+
+    /**
+     * @param objectMapper  mapper used to write rejection bodies
+     * @param meterRegistry registry receiving the limiter metrics
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(ObjectMapper objectMapper,
+                                                                                 MeterRegistry meterRegistry) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(
+                properties.getInitialLimit(),
+                properties.getMinLimit(),
+                properties.getMaxLimit(),
+                properties.getSmoothing(),
+                properties.getRttTolerance(),
+                properties.getLongWindow(),
+                properties.getMaxQueueDelay().toNanos());
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, objectMapper, meterRegistry));
+        registration.addUrlPatterns("/auth/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,74 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the adaptive concurrency limit in front of {@code /auth/**}.
+ *
+ * <p>This class maps properties using the prefix {@code auth.concurrency}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * auth:
+ *   concurrency:
+ *     enabled: true
+ *     initial-limit: 20
+ *     min-limit: 4
+ *     max-limit: 500
+ *     smoothing: 0.2
+ *     rtt-tolerance: 1.5
+ *     long-window: 600
+ *     max-queue-delay: 50ms
+ * }</pre>
+ *
+ * @see com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter.GradientConcurrencyLimit
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "auth.concurrency")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Whether the adaptive limit is applied.
+     */
+    private boolean enabled = true;
+
+    /**
+     * In-flight limit at startup.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lower bound of the in-flight limit.
+     */
+    private int minLimit = 4;
+
+    /**
+     * Upper bound of the in-flight limit.
+     */
+    private int maxLimit = 500;
+
+    /**
+     * Weight of a new limit estimate, between 0 and 1.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Ratio of short-term to long-term latency tolerated before the limit is reduced.
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Number of samples averaged by the long-term latency baseline.
+     */
+    private int longWindow = 600;
+
+    /**
+     * Longest time a request waits for a free slot before it is rejected.
+     */
+    private Duration maxQueueDelay = Duration.ofMillis(50);
+}
@@ -0,0 +1,80 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties of bitset-based authorization.
+ *
+ * <p>This class maps properties using the prefix {@code security.grants}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * security:
+ *   grants:
+ *     authorities: [ADMIN, USER, SCOPE_read, SCOPE_write]
+ *     token-claim: true
+ *     max-interned: 4096
+ *     routes:
+ *       - pattern: /user/**
+ *         any-of: [ADMIN]
+ *         all-of: [SCOPE_read]
+ * }</pre>
+ *
+ * <p>An authority's id is its position in {@code authorities}, and the {@code grants} token claim
+ * is encoded with these ids. The claim carries a hash of the list as its version, and claims of
+ * another version are ignored. Changing the list therefore invalidates the claim of tokens issued
+ * before, and nodes with different lists ignore each other's claims. Scopes are written with the
+ * {@code SCOPE_} prefix.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.grants")
+public class GrantProperties {
+
+    /**
+     * Authorities with stable ids, in id order.
+     */
+    private List<String> authorities = new ArrayList<>();
+
+    /**
+     * Whether access tokens carry their roles and scopes as a {@code grants} bitset claim.
+     */
+    private boolean tokenClaim = true;
+
+    /**
+     * Maximum number of authorities interned in total, declared ones included.
+     */
+    private int maxInterned = 4096;
+
+    /**
+     * Routes requiring grants, checked before the default rules of the security filter chain.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    /**
+     * Grants required by requests matching a path pattern.
+     */
+    @Data
+    public static class Route {
+
+        /**
+         * Ant-style path pattern.
+         */
+        private String pattern;
+
+        /**
+         * Authorities of which the principal needs at least one; empty for no such requirement.
+         */
+        private List<String> anyOf = new ArrayList<>();
+
+        /**
+         * Authorities the principal needs all of.
+         */
+        private List<String> allOf = new ArrayList<>();
+    }
+}
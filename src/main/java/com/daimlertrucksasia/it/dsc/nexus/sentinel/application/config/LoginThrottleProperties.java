@@ -0,0 +1,76 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the failed-login tracker that locks out usernames and source
+ * addresses after repeated authentication failures.
+ *
+ * <p>This class maps properties using the prefix {@code security.login-throttle}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * security:
+ *   login-throttle:
+ *     enabled: true
+ *     slots: 65536
+ *     username-threshold: 5
+ *     address-threshold: 50
+ *     half-life: 15m
+ *     base-lockout: 30s
+ *     max-lockout: 1h
+ *     sync-interval: 5s
+ * }</pre>
+ *
+ * <p>A key is locked once its decayed failure count reaches its threshold. The lockout starts at
+ * {@code base-lockout} and doubles with every further failure, up to {@code max-lockout}.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.login-throttle")
+public class LoginThrottleProperties {
+
+    /**
+     * Whether failed logins are tracked and locked out.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of counter slots, rounded up to a power of two. Memory use is fixed at 16 bytes per slot.
+     */
+    private int slots = 65536;
+
+    /**
+     * Failures per username after which the username is locked.
+     */
+    private int usernameThreshold = 5;
+
+    /**
+     * Failures per source address after which the address is locked.
+     */
+    private int addressThreshold = 50;
+
+    /**
+     * Time after which a failure counts half.
+     */
+    private Duration halfLife = Duration.ofMinutes(15);
+
+    /**
+     * Lockout applied when a threshold is first reached.
+     */
+    private Duration baseLockout = Duration.ofSeconds(30);
+
+    /**
+     * Upper bound of the progressive lockout.
+     */
+    private Duration maxLockout = Duration.ofHours(1);
+
+    /**
+     * Interval at which lockouts recorded by other nodes are pulled.
+     */
+    private Duration syncInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,29 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class registering the hand-written document codecs with the MongoDB client.
+ * <p>
+ * Spring Data keeps converting entities through its own mapping layer; the registration makes the
+ * codecs available to every collection obtained from the driver, in addition to those requested
+ * explicitly through {@link DocumentCodecs#collection}.
+ * </p>
+ */
+@Configuration
+public class MongoCodecConfig {
+
+    /**
+     * Replaces the client's codec registry with {@link DocumentCodecs#REGISTRY}, which falls back
+     * to the driver defaults for every other type.
+     *
+     * @return the settings customizer
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer documentCodecsCustomizer() {
+        return builder -> builder.codecRegistry(DocumentCodecs.REGISTRY);
+    }
+}
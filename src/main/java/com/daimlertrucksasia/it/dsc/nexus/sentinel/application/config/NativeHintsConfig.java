@@ -0,0 +1,13 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Configuration class contributing the {@link SentinelRuntimeHints} to AOT processing.
+ * It has no effect on a regular JVM start.
+ */
+@Configuration
+@ImportRuntimeHints(SentinelRuntimeHints.class)
+public class NativeHintsConfig {
+}
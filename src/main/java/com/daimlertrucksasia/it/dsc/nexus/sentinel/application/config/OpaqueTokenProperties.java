@@ -0,0 +1,54 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for opaque access tokens.
+ *
+ * <p>This class maps properties using the prefix {@code token.opaque}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   opaque:
+ *     collection: opaque_tokens
+ *     ttl: 1h
+ *     shards: 64
+ *     initial-capacity: 65536
+ *     sweep-interval: 1m
+ * }</pre>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.opaque")
+public class OpaqueTokenProperties {
+
+    /**
+     * Collection backing the in-memory token table.
+     */
+    private String collection = "opaque_tokens";
+
+    /**
+     * Lifetime of an opaque access token.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Number of lock stripes of the token table, rounded up to a power of two.
+     */
+    private int shards = 64;
+
+    /**
+     * Number of tokens the table is sized for before it has to grow.
+     */
+    private int initialCapacity = 65536;
+
+    /**
+     * Interval at which expired tokens are removed from memory.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+}
@@ -0,0 +1,116 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password.PasswordHashCalibrator;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password.Pbkdf2Sha256PasswordEncoder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.util.ClassUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration class providing the {@link PasswordEncoder} for user passwords and client secrets.
+ *
+ * <p>The encoder is a {@link DelegatingPasswordEncoder} that writes new hashes with the algorithm
+ * selected by {@link PasswordHashingProperties} and verifies hashes of every supported algorithm by
+ * their id prefix:</p>
+ * <ul>
+ *     <li>{@code {bcrypt}} - {@link BCryptPasswordEncoder}; unprefixed hashes written before the
+ *     delegating encoder existed are verified as BCrypt too</li>
+ *     <li>{@code {pbkdf2-sha256}} - {@link Pbkdf2Sha256PasswordEncoder}</li>
+ *     <li>{@code {argon2}} - Argon2id, available when BouncyCastle is on the classpath</li>
+ * </ul>
+ *
+ * <p>{@link PasswordEncoder#upgradeEncoding(String)} reports hashes that are unprefixed, of another
+ * algorithm or below the current cost; the authentication flow re-hashes those on login.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2-sha256";
+    private static final String ARGON2 = "argon2";
+
+    private static final String BOUNCY_CASTLE_ARGON2 = "org.bouncycastle.crypto.generators.Argon2BytesGenerator";
+
+    private final PasswordHashingProperties properties;
+
+    /**
+     * Builds the delegating password encoder, calibrating the cost of the selected algorithm first.
+     *
+     * @return a {@link PasswordEncoder} instance
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        boolean argon2Available = ClassUtils.isPresent(BOUNCY_CASTLE_ARGON2, getClass().getClassLoader());
+        PasswordHashingProperties.Algorithm algorithm = properties.getAlgorithm();
+        if (algorithm == PasswordHashingProperties.Algorithm.ARGON2 && !argon2Available) {
+            throw new IllegalStateException("security.password.algorithm=argon2 requires BouncyCastle on the classpath");
+        }
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength(algorithm)));
+        encoders.put(PBKDF2, new Pbkdf2Sha256PasswordEncoder(pbkdf2Iterations(algorithm)));
+        if (argon2Available) {
+            PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+            encoders.put(ARGON2, PasswordHashCalibrator.argon2(
+                    argon2.getMemoryKib(), argon2.getParallelism(), argon2Iterations(algorithm)));
+        }
+
+        String idForEncode = switch (algorithm) {
+            case BCRYPT -> BCRYPT;
+            case PBKDF2 -> PBKDF2;
+            case ARGON2 -> ARGON2;
+        };
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(idForEncode, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return encoder;
+    }
+
+    private int bcryptStrength(PasswordHashingProperties.Algorithm algorithm) {
+        int floor = properties.getBcrypt().getStrength();
+        if (!calibrating(algorithm, PasswordHashingProperties.Algorithm.BCRYPT)) {
+            return floor;
+        }
+        return logCalibration("BCrypt strength", floor,
+                PasswordHashCalibrator.bcryptStrength(floor, properties.getTargetLatency()));
+    }
+
+    private int pbkdf2Iterations(PasswordHashingProperties.Algorithm algorithm) {
+        int floor = properties.getPbkdf2().getIterations();
+        if (!calibrating(algorithm, PasswordHashingProperties.Algorithm.PBKDF2)) {
+            return floor;
+        }
+        return logCalibration("PBKDF2 iterations", floor,
+                PasswordHashCalibrator.pbkdf2Iterations(floor, properties.getTargetLatency()));
+    }
+
+    private int argon2Iterations(PasswordHashingProperties.Algorithm algorithm) {
+        PasswordHashingProperties.Argon2 argon2 = properties.getArgon2();
+        if (!calibrating(algorithm, PasswordHashingProperties.Algorithm.ARGON2)) {
+            return argon2.getIterations();
+        }
+        return logCalibration("Argon2 iterations", argon2.getIterations(), PasswordHashCalibrator.argon2Iterations(
+                argon2.getMemoryKib(), argon2.getParallelism(), argon2.getIterations(), properties.getTargetLatency()));
+    }
+
+    private boolean calibrating(PasswordHashingProperties.Algorithm selected, PasswordHashingProperties.Algorithm candidate) {
+        return properties.isCalibrate() && selected == candidate;
+    }
+
+    private int logCalibration(String parameter, int floor, int calibrated) {
+        Duration target = properties.getTargetLatency();
+        log.info("Calibrated {} to {} for a {} ms target (configured floor {})",
+                parameter, calibrated, target.toMillis(), floor);
+        return calibrated;
+    }
+}
@@ -0,0 +1,124 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the password and client-secret hashing.
+ *
+ * <p>This class maps properties using the prefix {@code security.password}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * security:
+ *   password:
+ *     algorithm: bcrypt
+ *     calibrate: true
+ *     target-latency: 250ms
+ *     bcrypt:
+ *       strength: 10
+ *     pbkdf2:
+ *       iterations: 310000
+ *     argon2:
+ *       memory-kib: 19456
+ *       iterations: 2
+ *       parallelism: 1
+ * }</pre>
+ *
+ * <p>New hashes are written with {@code algorithm}. When {@code calibrate} is set, the cost
+ * parameter of that algorithm is raised at startup until one verification takes about
+ * {@code target-latency} on the running hardware; the configured values act as a floor.
+ * Stored hashes of another algorithm or with a lower cost are re-hashed on the next successful
+ * login.</p>
+ *
+ * <p>Calibration runs on every node, so nodes on different hardware pick different costs. A hash is
+ * only ever upgraded to a higher cost, so stored hashes drift towards the cost of the fastest node
+ * and logins take longer than the target on slower ones. To use one cost across the cluster, turn
+ * {@code calibrate} off and pin the cost parameters, e.g. to the value a calibrating node logs at
+ * startup.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.password")
+public class PasswordHashingProperties {
+
+    /**
+     * Supported hashing algorithms.
+     */
+    public enum Algorithm {
+        BCRYPT,
+        PBKDF2,
+        ARGON2
+    }
+
+    /**
+     * Algorithm used for new hashes.
+     */
+    private Algorithm algorithm = Algorithm.BCRYPT;
+
+    /**
+     * Whether the cost of {@link #algorithm} is calibrated against {@link #targetLatency} at startup.
+     * Off pins the configured cost on every node.
+     */
+    private boolean calibrate = true;
+
+    /**
+     * Verification time the calibration aims for.
+     */
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    private Bcrypt bcrypt = new Bcrypt();
+
+    private Pbkdf2 pbkdf2 = new Pbkdf2();
+
+    private Argon2 argon2 = new Argon2();
+
+    /**
+     * BCrypt parameters.
+     */
+    @Data
+    public static class Bcrypt {
+
+        /**
+         * Log2 of the number of rounds (4-31).
+         */
+        private int strength = 10;
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256 parameters.
+     */
+    @Data
+    public static class Pbkdf2 {
+
+        /**
+         * Number of iterations.
+         */
+        private int iterations = 310_000;
+    }
+
+    /**
+     * Argon2id parameters. Requires BouncyCastle at runtime.
+     */
+    @Data
+    public static class Argon2 {
+
+        /**
+         * Memory cost in KiB.
+         */
+        private int memoryKib = 19_456;
+
+        /**
+         * Number of passes over the memory.
+         */
+        private int iterations = 2;
+
+        /**
+         * Degree of parallelism.
+         */
+        private int parallelism = 1;
+    }
+}
@@ -0,0 +1,59 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties of the token-issuance rate limits on {@code /auth/client} and
+ * {@code /auth/client/refresh}.
+ *
+ * <p>This class maps properties using the prefix {@code rate-limit}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * rate-limit:
+ *   enabled: true
+ *   default-tier: default
+ *   refresh-interval: 30s
+ *   tiers:
+ *     default:
+ *       client: { capacity: 20, refill-per-second: 5 }
+ *       team: { capacity: 100, refill-per-second: 25 }
+ *       tier: { capacity: 1000, refill-per-second: 250 }
+ * }</pre>
+ *
+ * <p>Tiers are matched by the client's {@code serviceTier}; unknown tiers use {@code default-tier}.
+ * Policies stored in {@code rate_limit_policies} override these defaults and are reloaded every
+ * {@code refresh-interval}.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    /**
+     * Whether token issuance is rate limited.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Tier applied to clients whose tier has no policy, or whose tier is not known yet.
+     */
+    private String defaultTier = "default";
+
+    /**
+     * Interval at which policies are reloaded from MongoDB.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Default policies keyed by tier name.
+     */
+    private Map<String, RateLimitPolicy> tiers = new HashMap<>();
+}
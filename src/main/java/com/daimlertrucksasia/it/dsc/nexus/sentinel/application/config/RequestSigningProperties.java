@@ -0,0 +1,85 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of HMAC request signing.
+ *
+ * <p>This class maps properties using the prefix {@code security.request-signing}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * security:
+ *   request-signing:
+ *     enabled: true
+ *     master-key: <base64 AES-256 key>
+ *     key-validity: 365d
+ *     max-clock-skew: 5m
+ *     nonce-slice: 10s
+ *     nonce-slice-capacity: 32768
+ *     cache-size: 10000
+ *     cache-ttl: 30s
+ *     spool-threshold: 1MB
+ * }</pre>
+ *
+ * <p>The replay cache holds {@code nonce-slice-capacity} fingerprints per {@code nonce-slice} of the
+ * accepted timestamp range and allocates all of it up front: 8 bytes per fingerprint, for
+ * {@code 2 * max-clock-skew / nonce-slice + 2} slices.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.request-signing")
+public class RequestSigningProperties {
+
+    /**
+     * Whether signed requests are verified; unsigned requests are unaffected either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Base64-encoded AES key encrypting signing keys at rest. It has no default and startup fails
+     * without it; deployments pass it through the {@code REQUEST_SIGNING_MASTER_KEY} environment variable.
+     */
+    private String masterKey;
+
+    /**
+     * Validity of issued signing keys.
+     */
+    private Duration keyValidity = Duration.ofDays(365);
+
+    /**
+     * Maximum difference between a request's timestamp and the server clock.
+     */
+    private Duration maxClockSkew = Duration.ofMinutes(5);
+
+    /**
+     * Width of one time slice of the replay cache.
+     */
+    private Duration nonceSlice = Duration.ofSeconds(10);
+
+    /**
+     * Number of request fingerprints one slice can hold; further requests in a full slice are rejected.
+     */
+    private int nonceSliceCapacity = 32768;
+
+    /**
+     * Maximum number of decrypted signing keys held in memory.
+     */
+    private int cacheSize = 10_000;
+
+    /**
+     * Time a cached signing key is trusted before it is re-read.
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Largest signed body held in memory while its digest is verified; larger bodies are spooled
+     * to a temporary file.
+     */
+    private DataSize spoolThreshold = DataSize.ofMegabytes(1);
+}
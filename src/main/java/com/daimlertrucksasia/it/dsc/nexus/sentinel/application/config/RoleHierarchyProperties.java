@@ -0,0 +1,38 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the role hierarchy.
+ *
+ * <p>This class maps properties using the prefix {@code security.role-hierarchy}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * security:
+ *   role-hierarchy:
+ *     refresh-interval: 30s
+ *     expand-token-roles: true
+ * }</pre>
+ *
+ * <p>The hierarchy itself is stored in the {@code role_hierarchy} collection.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "security.role-hierarchy")
+public class RoleHierarchyProperties {
+
+    /**
+     * Interval at which the hierarchy is reloaded from MongoDB.
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Whether the {@code roles} claim of access tokens lists implied roles as well.
+     */
+    private boolean expandTokenRoles = true;
+}
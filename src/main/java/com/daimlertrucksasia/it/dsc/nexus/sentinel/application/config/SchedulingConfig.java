@@ -0,0 +1,13 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables processing of {@code @Scheduled} methods, used for periodic background work such as
+ * synchronising the token deny-list across nodes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
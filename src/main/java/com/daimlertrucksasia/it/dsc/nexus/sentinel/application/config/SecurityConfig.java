@@ -1,5 +1,12 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter.RequestSignatureFilter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantAuthorizationManager;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantRegistry;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantSet;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.RequestSignatureVerifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -8,9 +15,10 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.LogoutConfigurer;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+
+import java.util.List;
 
 /**
  * Security configuration class for defining the security behavior of the application.
@@ -21,10 +29,18 @@ import org.springframework.security.web.SecurityFilterChain;
  * <p>Specifically:</p>
  * <ul>
  *     <li>Disables CSRF protection (as often done in stateless REST APIs)</li>
+ *     <li>Applies the route requirements of {@code security.grants.routes} first, evaluated by a
+ *     {@link GrantAuthorizationManager} on interned grants</li>
+ *     <li>Requires an authenticated principal holding {@code spring.auth.allowed.end.uri.admin-authority}
+ *     for the administrative routes: bulk registration, credential listings, exports, searches and
+ *     facet counts, and every pattern of {@code spring.auth.allowed.end.uri.admins}</li>
+ *     <li>Requires an authenticated client, i.e. an HMAC-signed request, for resolving claims
+ *     references under {@code /auth/claims/**}</li>
  *     <li>Allows unauthenticated access to endpoints matching <code>/auth/**</code> and <code>/api/**</code></li>
  *     <li>Requires authentication for all other requests</li>
  *     <li>Disables form login and HTTP Basic authentication mechanisms</li>
- *     <li>Provides a bean for {@link PasswordEncoder} using {@link BCryptPasswordEncoder}</li>
+ *     <li>Authenticates HMAC-signed requests through the {@link RequestSignatureFilter}, unless
+ *     {@code security.request-signing.enabled} is {@code false}</li>
  * </ul>
  *
  * <p>This configuration uses {@link AllowedUriConfig} to potentially customize security rules dynamically,
@@ -39,44 +55,84 @@ import org.springframework.security.web.SecurityFilterChain;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
+    /**
+     * Administrative routes; they are matched before the unauthenticated patterns.
+     */
+    private static final String[] ADMIN_ROUTES = {
+            "/api/register/user/bulk",
+            "/api/register/client/bulk",
+            "/user/users/**",
+            "/user/clients/**",
+            "/user/search/**",
+            "/user/facets/**"
+    };
+
+    /**
+     * Routes open to any authenticated client; they are matched before the unauthenticated patterns.
+     */
+    private static final String[] CLIENT_ROUTES = {
+            "/auth/claims/**"
+    };
+
     /**
      * Configuration for URIs allowed to bypass security filters.
      */
     private final AllowedUriConfig allowedUriConfig;
 
+    /**
+     * Settings of HMAC request signing.
+     */
+    private final RequestSigningProperties requestSigningProperties;
+
+    /**
+     * Route requirements evaluated on interned grants.
+     */
+    private final GrantProperties grantProperties;
+
     /**
      * Defines the main security filter chain for HTTP requests.
      *
-     * @param http the {@link HttpSecurity} object to configure
+     * @param http                     the {@link HttpSecurity} object to configure
+     * @param requestSignatureVerifier verifier of HMAC-signed requests
+     * @param objectMapper             mapper used to write signature rejection bodies
+     * @param grantRegistry            registry interning the authorities of route requirements
+     * @param roleHierarchyService     service expanding the roles of authenticated principals
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs during configuration
      */
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, RequestSignatureVerifier requestSignatureVerifier,
+                                           ObjectMapper objectMapper, GrantRegistry grantRegistry,
+                                           RoleHierarchyService roleHierarchyService) throws Exception {
         log.info(">>> MySecurityFilter is invoked for URI: {}", allowedUriConfig);
 
         http
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(allowedUriConfig.getPatterns().toArray(new String[0])).permitAll()
-                        .requestMatchers(allowedUriConfig.getAdmins().toArray(new String[0])).permitAll()
-                        .requestMatchers("/auth/**", "/api/**").permitAll()
-                        .anyRequest().authenticated()
-                ).formLogin(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests(auth -> {
+                    for (GrantProperties.Route route : grantProperties.getRoutes()) {
+                        auth.requestMatchers(route.getPattern()).access(new GrantAuthorizationManager(
+                                roleHierarchyService, grantRegistry.require(route.getAnyOf()),
+                                grantRegistry.require(route.getAllOf())));
+                    }
+                    GrantAuthorizationManager admin = new GrantAuthorizationManager(roleHierarchyService,
+                            grantRegistry.require(List.of(allowedUriConfig.getAdminAuthority())), GrantSet.EMPTY);
+                    auth
+                            .requestMatchers(ADMIN_ROUTES).access(admin)
+                            .requestMatchers(allowedUriConfig.getAdmins().toArray(new String[0])).access(admin)
+                            .requestMatchers(CLIENT_ROUTES).authenticated()
+                            .requestMatchers(allowedUriConfig.getPatterns().toArray(new String[0])).permitAll()
+                            .requestMatchers("/auth/**", "/api/**").permitAll()
+                            .anyRequest().authenticated();
+                }).formLogin(AbstractHttpConfigurer::disable)
                 .httpBasic(AbstractHttpConfigurer::disable)
                 .logout(LogoutConfigurer::permitAll);
 
-        return http.build();
-    }
+        if (requestSigningProperties.isEnabled()) {
+            http.addFilterBefore(
+                    new RequestSignatureFilter(requestSignatureVerifier, roleHierarchyService, objectMapper),
+                    AnonymousAuthenticationFilter.class);
+        }
 
-    /**
-     * Bean for password encoding using BCrypt hashing algorithm.
-     *
-     * @return a {@link PasswordEncoder} instance
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return http.build();
     }
-
 }
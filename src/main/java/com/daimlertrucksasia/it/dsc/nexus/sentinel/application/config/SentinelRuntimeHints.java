@@ -0,0 +1,104 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ApiKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRevocationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.BulkRegistrationResult;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientAuthRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientRegistrationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientSearchHit;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.CursorPage;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RefreshTokenRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SessionAttributesRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRevocationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenIntrospectionRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenIntrospectionResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenRevocationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserLoginRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserRegistrationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserSearchHit;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.error.ErrorResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.LoginLockout;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RoleDefinition;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RevokedToken;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.AuthenticationService;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the AOT-processed and native builds ({@code -Pfast-startup},
+ * {@code -Pnative}).
+ *
+ * <p>Spring derives hints for controller signatures, configuration properties and repository
+ * entities on its own. This registrar covers what it cannot see:</p>
+ * <ul>
+ *     <li>the Lombok models and DTOs, which are also (de)serialized outside controller signatures,
+ *     e.g. by the NDJSON streams and {@code ObjectMapper#convertValue}</li>
+ *     <li>the claim records nested in {@link AuthenticationService}</li>
+ *     <li>the JJWT implementation classes, which {@code jjwt-api} instantiates by name, and its
+ *     {@link java.util.ServiceLoader} registrations of the Jackson serializer</li>
+ *     <li>BouncyCastle's Argon2 generator, whose presence is probed by name</li>
+ * </ul>
+ */
+public class SentinelRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<Class<?>> MODELS = List.of(
+            User.class, Client.class, Token.class, RefreshTokenFamily.class, RevokedToken.class,
+            LoginLockout.class, RateLimitPolicy.class, RateLimitPolicy.Limit.class, AuditEvent.class, ApiKey.class,
+            SigningKey.class, ClaimsReference.class, RoleDefinition.class, ApiKeyRequest.class,
+            ApiKeyRevocationRequest.class, BulkRegistrationResult.class, ClientAuthRequest.class,
+            ClientRegistrationRequest.class, ClientSearchHit.class, ClientSummary.class, CursorPage.class,
+            RefreshTokenRequest.class, RegistrationResponse.class, SessionAttributesRequest.class,
+            SigningKeyRequest.class, SigningKeyResponse.class, SigningKeyRevocationRequest.class,
+            TokenIntrospectionRequest.class, TokenIntrospectionResponse.class, TokenResponse.class,
+            TokenRevocationRequest.class, UserLoginRequest.class, UserRegistrationRequest.class,
+            UserSearchHit.class, UserSummary.class, ErrorResponse.class);
+
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        bindings.registerReflectionHints(hints.reflection(), MODELS.toArray(Class<?>[]::new));
+        bindings.registerReflectionHints(hints.reflection(), Arrays.stream(AuthenticationService.class.getDeclaredClasses())
+                .filter(Class::isRecord)
+                .toArray(Class<?>[]::new));
+
+        for (String implementation : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerType(TypeReference.of(implementation),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        hints.reflection().registerType(TypeReference.of("org.bouncycastle.crypto.generators.Argon2BytesGenerator"),
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
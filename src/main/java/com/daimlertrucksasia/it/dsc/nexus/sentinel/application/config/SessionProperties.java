@@ -0,0 +1,73 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for session tokens.
+ *
+ * <p>This class maps properties using the prefix {@code token.session}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   session:
+ *     capacity: 262144
+ *     shards: 64
+ *     idle-timeout: 30m
+ *     absolute-timeout: 12h
+ *     touch-interval: 1m
+ *     sweep-interval: 1m
+ *     checkpoint-file: ./data/sessions.ckpt
+ *     checkpoint-interval: 5m
+ * }</pre>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.session")
+public class SessionProperties {
+
+    /**
+     * Number of concurrent sessions the off-heap table is allocated for, at 256 bytes each.
+     */
+    private int capacity = 262144;
+
+    /**
+     * Number of lock stripes of the session table, rounded up to a power of two.
+     */
+    private int shards = 64;
+
+    /**
+     * Inactivity after which a session expires.
+     */
+    private Duration idleTimeout = Duration.ofMinutes(30);
+
+    /**
+     * Maximum lifetime of a session, however active.
+     */
+    private Duration absoluteTimeout = Duration.ofHours(12);
+
+    /**
+     * Minimum time between two updates of a session's last access.
+     */
+    private Duration touchInterval = Duration.ofMinutes(1);
+
+    /**
+     * Interval at which expired sessions are removed.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * File the table is checkpointed to and restored from at startup; blank disables checkpoints.
+     * Removals since the last checkpoint are logged to the same path with a {@code .removed} suffix.
+     */
+    private String checkpointFile = "./data/sessions.ckpt";
+
+    /**
+     * Interval between checkpoints.
+     */
+    private Duration checkpointInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,88 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the claims carried by JWT and CWT access tokens.
+ *
+ * <p>This class maps properties using the prefix {@code token.claims}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   claims:
+ *     max-token-size: 4096
+ *     references: true
+ *     reference-cache-size: 10000
+ *     reference-cache-ttl: 5m
+ *     default-projection:
+ *       claims: [roles, scopes, team, tier]
+ *     client-projections:
+ *       order-service:
+ *         claims: [roles, scopes]
+ *         role-prefixes: [ORDERS_]
+ * }</pre>
+ *
+ * <p>Clients use their entry in {@code client-projections}; users and clients without one use
+ * {@code default-projection}. Without any projection all claims are kept.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.claims")
+public class TokenClaimsProperties {
+
+    /**
+     * Maximum length of an encoded access token in bytes.
+     */
+    private int maxTokenSize = 4096;
+
+    /**
+     * Whether claims of oversized tokens are moved behind a claims reference instead of the
+     * issuance being rejected.
+     */
+    private boolean references = true;
+
+    /**
+     * Number of claims references cached in memory.
+     */
+    private int referenceCacheSize = 10000;
+
+    /**
+     * Time a cached claims reference is served before it is reloaded.
+     */
+    private Duration referenceCacheTtl = Duration.ofMinutes(5);
+
+    /**
+     * Projection applied to users and to clients without their own.
+     */
+    private Projection defaultProjection = new Projection();
+
+    /**
+     * Projections keyed by client ID.
+     */
+    private Map<String, Projection> clientProjections = new HashMap<>();
+
+    /**
+     * Rule selecting the claims placed into an access token.
+     */
+    @Data
+    public static class Projection {
+
+        /**
+         * Names of the claims to keep, or {@code null} to keep all.
+         */
+        private List<String> claims;
+
+        /**
+         * Prefixes of the roles to keep, or {@code null} to keep all roles.
+         */
+        private List<String> rolePrefixes;
+    }
+}
@@ -0,0 +1,58 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties controlling how much state is kept for issued tokens.
+ *
+ * <p>This class maps properties using the prefix {@code token.issuance}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   issuance:
+ *     mode: stateless
+ *     deny-list-sync-interval: 10s
+ * }</pre>
+ *
+ * <p>Modes:</p>
+ * <ul>
+ *     <li>{@code STATEFUL} (default) - every access and refresh token is written to the token store</li>
+ *     <li>{@code STATELESS} - access tokens are not persisted at all; each login stores one compact
+ *     refresh-token family record, and revocation relies on the {@code jti} deny-list</li>
+ * </ul>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.issuance")
+public class TokenIssuanceProperties {
+
+    /**
+     * Persistence mode for issued tokens.
+     */
+    private Mode mode = Mode.STATEFUL;
+
+    /**
+     * Interval at which revocations recorded by other nodes are pulled into the local deny-list.
+     */
+    private Duration denyListSyncInterval = Duration.ofSeconds(10);
+
+    /**
+     * @return {@code true} if access tokens are issued without being persisted
+     */
+    public boolean isStateless() {
+        return mode == Mode.STATELESS;
+    }
+
+    /**
+     * Persistence mode for issued tokens.
+     */
+    public enum Mode {
+        STATEFUL,
+        STATELESS
+    }
+}
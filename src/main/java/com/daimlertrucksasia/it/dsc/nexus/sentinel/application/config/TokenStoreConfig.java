@@ -0,0 +1,95 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.MongoTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback.CircuitBreakingTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback.TokenPersistenceCircuitBreaker;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.JournalTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.TokenJournal;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition.PartitionedTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition.TokenPartitioning;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Configuration class wiring the {@link TokenStore} selected by {@link TokenStoreProperties}.
+ *
+ * <ul>
+ *     <li>{@code MONGO} (default) - {@link MongoTokenStore} on the {@code tokens} collection</li>
+ *     <li>{@code JOURNAL} - {@link JournalTokenStore} on top of a local {@link TokenJournal}</li>
+ *     <li>{@code PARTITIONED} - {@link PartitionedTokenStore} writing to time-bucketed collections</li>
+ * </ul>
+ *
+ * <p>When {@code token.store.circuit-breaker.enabled} is set, a MongoDB-backed store is wrapped in a
+ * {@link CircuitBreakingTokenStore} that diverts writes to a local journal while MongoDB is degraded.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class TokenStoreConfig {
+
+    private final TokenStoreProperties properties;
+
+    /**
+     * Builds the token store used by the authentication flows.
+     *
+     * @param mongoTemplate template used for MongoDB token writes
+     * @param meterRegistry registry receiving token store metrics
+     * @return the configured {@link TokenStore}
+     * @throws IOException if the token journal cannot be opened
+     */
+    @Bean
+    public TokenStore tokenStore(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) throws IOException {
+        log.info("Using {} token store", properties.getType());
+        return switch (properties.getType()) {
+            case MONGO -> guarded(new MongoTokenStore(mongoTemplate), meterRegistry);
+            case JOURNAL -> journalTokenStore(properties.getJournal());
+            case PARTITIONED -> guarded(partitionedTokenStore(properties.getPartition(), mongoTemplate), meterRegistry);
+        };
+    }
+
+    private TokenStore guarded(TokenStore mongoStore, MeterRegistry meterRegistry) throws IOException {
+        TokenStoreProperties.CircuitBreaker settings = properties.getCircuitBreaker();
+        if (!settings.isEnabled()) {
+            return mongoStore;
+        }
+        TokenPersistenceCircuitBreaker breaker = new TokenPersistenceCircuitBreaker(
+                settings.getFailureRateThreshold(),
+                settings.getSlowCallRateThreshold(),
+                settings.getSlowCallDuration(),
+                settings.getWindowSize(),
+                settings.getMinimumCalls(),
+                settings.getOpenDuration(),
+                settings.getHalfOpenCalls());
+
+        return new CircuitBreakingTokenStore(mongoStore, openJournal(settings.getJournal()), breaker,
+                settings.getReplayBatchSize(), settings.getReplayInterval(), settings.getCallTimeout(),
+                settings.getMaxConcurrentCalls(), meterRegistry);
+    }
+
+    private PartitionedTokenStore partitionedTokenStore(TokenStoreProperties.Partition settings,
+                                                        MongoTemplate mongoTemplate) {
+        return new PartitionedTokenStore(mongoTemplate,
+                new TokenPartitioning(settings.getCollectionPrefix(), settings.getGranularity()),
+                settings.getMaxLookupPartitions(), settings.getDropInterval(), settings.getIndexAhead());
+    }
+
+    private JournalTokenStore journalTokenStore(TokenStoreProperties.Journal settings) throws IOException {
+        return new JournalTokenStore(openJournal(settings), settings.getFsyncPolicy(),
+                settings.getFsyncInterval(), settings.getPurgeInterval());
+    }
+
+    private TokenJournal openJournal(TokenStoreProperties.Journal settings) throws IOException {
+        return TokenJournal.open(
+                Path.of(settings.getDirectory()),
+                (int) settings.getSegmentSize().toBytes(),
+                settings.getFsyncPolicy());
+    }
+}
@@ -0,0 +1,233 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.FsyncPolicy;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition.TokenPartitioning;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties selecting and tuning the backend used to persist issued tokens.
+ *
+ * <p>This class maps properties using the prefix {@code token.store}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * token:
+ *   store:
+ *     type: journal
+ *     journal:
+ *       directory: ./data/token-journal
+ *       segment-size: 64MB
+ *       fsync-policy: interval
+ *       fsync-interval: 1s
+ *       purge-interval: 5m
+ *     partition:
+ *       granularity: day
+ *       drop-interval: 1h
+ *       index-ahead: 31d
+ *     circuit-breaker:
+ *       enabled: true
+ *       slow-call-duration: 250ms
+ *       call-timeout: 2s
+ *       open-duration: 10s
+ *       journal:
+ *         directory: ./data/token-fallback-journal
+ * }</pre>
+ *
+ * @see TokenStoreConfig
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token.store")
+public class TokenStoreProperties {
+
+    /**
+     * Backend used to persist issued tokens.
+     */
+    private Type type = Type.MONGO;
+
+    /**
+     * Settings of the embedded token journal, used when {@code type} is {@code JOURNAL}.
+     */
+    private Journal journal = new Journal();
+
+    /**
+     * Settings of time-bucketed token collections, used when {@code type} is {@code PARTITIONED}.
+     */
+    private Partition partition = new Partition();
+
+    /**
+     * Circuit breaker around MongoDB token writes, used when {@code type} is {@code MONGO}
+     * or {@code PARTITIONED}.
+     */
+    private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Available token store backends.
+     */
+    public enum Type {
+
+        /**
+         * Tokens are stored in the MongoDB {@code tokens} collection.
+         */
+        MONGO,
+
+        /**
+         * Tokens are stored in a local append-only memory-mapped journal.
+         */
+        JOURNAL,
+
+        /**
+         * Tokens are stored in MongoDB collections partitioned by expiry time.
+         */
+        PARTITIONED
+    }
+
+    /**
+     * Settings of a local token journal.
+     */
+    @Data
+    @NoArgsConstructor
+    public static class Journal {
+
+        /**
+         * Directory holding the journal segment files.
+         */
+        private String directory = "./data/token-journal";
+
+        /**
+         * Size of each memory-mapped segment file.
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Durability policy applied on append.
+         */
+        private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+
+        /**
+         * Interval between forced flushes when {@code fsync-policy} is {@code INTERVAL}.
+         */
+        private Duration fsyncInterval = Duration.ofSeconds(1);
+
+        /**
+         * Interval between sweeps that delete fully expired segments.
+         */
+        private Duration purgeInterval = Duration.ofMinutes(5);
+
+        public Journal(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    /**
+     * Settings of time-bucketed token collections.
+     */
+    @Data
+    public static class Partition {
+
+        /**
+         * Prefix of the partition collection names.
+         */
+        private String collectionPrefix = "tokens";
+
+        /**
+         * Width of each partition.
+         */
+        private TokenPartitioning.Granularity granularity = TokenPartitioning.Granularity.DAY;
+
+        /**
+         * Upper bound of partitions probed by a single token lookup.
+         */
+        private int maxLookupPartitions = 32;
+
+        /**
+         * Interval between sweeps that drop partitions whose tokens have all expired.
+         */
+        private Duration dropInterval = Duration.ofHours(1);
+
+        /**
+         * How far ahead of now partitions get their token index, at least the longest token
+         * lifetime so that saving a token never waits for an index build.
+         */
+        private Duration indexAhead = Duration.ofDays(31);
+    }
+
+    /**
+     * Settings of the circuit breaker that diverts token writes to a local journal
+     * while MongoDB is slow or failing.
+     */
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Whether MongoDB token writes are guarded by the breaker.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Failure ratio (0..1) within the window that opens the breaker.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * Slow-call ratio (0..1) within the window that opens the breaker.
+         */
+        private double slowCallRateThreshold = 0.5;
+
+        /**
+         * Latency above which a MongoDB call counts as slow.
+         */
+        private Duration slowCallDuration = Duration.ofMillis(250);
+
+        /**
+         * Number of most recent calls evaluated.
+         */
+        private int windowSize = 50;
+
+        /**
+         * Calls required in the window before rates are evaluated.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Time the breaker stays open before trial calls are allowed.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+
+        /**
+         * Number of trial calls permitted while half-open.
+         */
+        private int halfOpenCalls = 5;
+
+        /**
+         * Time after which a MongoDB call is abandoned and counted as failed.
+         */
+        private Duration callTimeout = Duration.ofSeconds(2);
+
+        /**
+         * Maximum number of MongoDB calls in flight; further writes go straight to the journal.
+         */
+        private int maxConcurrentCalls = 64;
+
+        /**
+         * Interval between attempts to replay journaled tokens to MongoDB.
+         */
+        private Duration replayInterval = Duration.ofSeconds(5);
+
+        /**
+         * Maximum number of tokens per bulk replay write.
+         */
+        private int replayBatchSize = 500;
+
+        /**
+         * Local journal receiving token writes while the breaker is open.
+         */
+        private Journal journal = new Journal("./data/token-fallback-journal");
+    }
+}
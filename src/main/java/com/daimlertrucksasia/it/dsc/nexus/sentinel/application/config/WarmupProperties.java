@@ -0,0 +1,74 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties of the warm-up phase that runs before the application reports readiness.
+ *
+ * <p>This class maps properties using the prefix {@code warmup}.</p>
+ *
+ * <p>Expected configuration structure:</p>
+ * <pre>{@code
+ * warmup:
+ *   enabled: true
+ *   timeout: 60s
+ *   activity-window: 24h
+ *   clients: 500
+ *   users: 500
+ *   connections: 20
+ *   jwt-iterations: 5000
+ *   password-iterations: 20
+ * }</pre>
+ *
+ * <p>The most active clients and users are the subjects with the most successful authentications
+ * in the audit trail within {@code activity-window}.</p>
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether the warm-up phase runs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound of the warm-up; readiness is reported after it even if work is still pending.
+     */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /**
+     * Period of audit activity used to rank clients and users.
+     */
+    private Duration activityWindow = Duration.ofHours(24);
+
+    /**
+     * Number of most active clients to preload.
+     */
+    private int clients = 500;
+
+    /**
+     * Number of most active users to preload.
+     */
+    private int users = 500;
+
+    /**
+     * Number of parallel workers, and so of MongoDB connections opened ahead of traffic.
+     */
+    private int connections = 20;
+
+    /**
+     * Number of synthetic tokens signed and verified.
+     */
+    private int jwtIterations = 5000;
+
+    /**
+     * Number of synthetic password verifications.
+     */
+    private int passwordIterations = 20;
+}
@@ -0,0 +1,109 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.error.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter applying a {@link GradientConcurrencyLimit} to the authentication endpoints.
+ * <p>
+ * It runs ahead of the security filter chain, so requests beyond the limit are shed with
+ * {@code 503 Service Unavailable} before any authentication work. Only requests that complete
+ * without a server error feed the latency samples.
+ * </p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *     <li>{@code sentinel.auth.concurrency.limit} - current in-flight limit</li>
+ *     <li>{@code sentinel.auth.concurrency.inflight} - requests in flight</li>
+ *     <li>{@code sentinel.auth.concurrency.rejected} - requests shed</li>
+ *     <li>{@code sentinel.auth.concurrency.queue.delay} - time spent waiting for a slot</li>
+ * </ul>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final GradientConcurrencyLimit limit;
+    private final ObjectMapper objectMapper;
+    private final Counter rejected;
+    private final Timer queueDelay;
+
+    /**
+     * @param limit         the adaptive limit
+     * @param objectMapper  mapper used to write rejection bodies
+     * @param meterRegistry registry receiving the limiter metrics
+     */
+    public ConcurrencyLimitFilter(GradientConcurrencyLimit limit, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.objectMapper = objectMapper;
+        Gauge.builder("sentinel.auth.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Adaptive in-flight limit of /auth requests")
+                .register(meterRegistry);
+        Gauge.builder("sentinel.auth.concurrency.inflight", limit, GradientConcurrencyLimit::getInFlight)
+                .description("In-flight /auth requests")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("sentinel.auth.concurrency.rejected")
+                .description("/auth requests shed by the concurrency limit")
+                .register(meterRegistry);
+        this.queueDelay = Timer.builder("sentinel.auth.concurrency.queue.delay")
+                .description("Time /auth requests waited for a slot")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long arrived = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = limit.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        long started = System.nanoTime();
+        queueDelay.record(started - arrived, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            reject(request, response);
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = response.getStatus() < 500;
+        } finally {
+            limit.release(System.nanoTime() - started, completed);
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message("Authentication service is at capacity")
+                .path(request.getRequestURI())
+                .build());
+    }
+}
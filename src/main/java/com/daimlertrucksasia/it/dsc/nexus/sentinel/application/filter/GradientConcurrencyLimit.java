@@ -0,0 +1,168 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Adaptive in-flight request limit following the gradient algorithm.
+ * <p>
+ * Each completed request contributes its latency to two exponential averages: a short-term one
+ * and a long-term baseline. While the short-term latency stays within {@code rttTolerance} of the
+ * baseline the limit grows by roughly its square root per update; once requests start queueing
+ * somewhere (BCrypt threads, MongoDB connections) the short-term latency rises and the limit
+ * shrinks in proportion, down to half of its value per update.
+ * </p>
+ *
+ * <p>
+ * Acquiring is a compare-and-set on the in-flight counter. Requests over the limit wait up to
+ * {@code maxQueueDelay} for a slot and are rejected afterwards. Limit updates are skipped rather
+ * than blocked when another thread is already updating.
+ * </p>
+ */
+public class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longDecay;
+    private final long maxQueueDelayNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Object slotFreed = new Object();
+    private final ReentrantLock updateLock = new ReentrantLock();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortRtt;
+    private double longRtt;
+
+    /**
+     * @param initialLimit   limit at startup
+     * @param minLimit       lower bound of the limit
+     * @param maxLimit       upper bound of the limit
+     * @param smoothing      weight of a new estimate, between 0 and 1
+     * @param rttTolerance   tolerated ratio of short-term to long-term latency
+     * @param longWindow     number of samples averaged by the long-term baseline
+     * @param maxQueueDelayNanos longest wait for a slot
+     */
+    public GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                    double rttTolerance, int longWindow, long maxQueueDelayNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longDecay = 2.0 / (Math.max(1, longWindow) + 1);
+        this.maxQueueDelayNanos = maxQueueDelayNanos;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Takes a slot, waiting up to the configured queue delay.
+     *
+     * @return {@code true} if a slot was taken and must be released with {@link #release}
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean acquire() throws InterruptedException {
+        if (tryTake()) {
+            return true;
+        }
+        long deadline = System.nanoTime() + maxQueueDelayNanos;
+        waiting.incrementAndGet();
+        try {
+            while (true) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                synchronized (slotFreed) {
+                    if (inFlight.get() >= limit) {
+                        TimeUnit.NANOSECONDS.timedWait(slotFreed, remaining);
+                    }
+                }
+                if (tryTake()) {
+                    return true;
+                }
+            }
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns a slot and, for requests that completed normally, feeds their latency into the limit.
+     *
+     * @param rttNanos latency of the request
+     * @param sample   {@code false} for requests whose latency says nothing about capacity, e.g. errors
+     */
+    public void release(long rttNanos, boolean sample) {
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        if (waiting.get() > 0) {
+            synchronized (slotFreed) {
+                slotFreed.notify();
+            }
+        }
+        if (sample && updateLock.tryLock()) {
+            try {
+                update(rttNanos, inFlightAtRelease);
+            } finally {
+                updateLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return current in-flight limit
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return requests currently in flight
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private boolean tryTake() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void update(long rttNanos, int inFlightAtRelease) {
+        double rtt = rttNanos;
+        if (longRtt == 0) {
+            shortRtt = rtt;
+            longRtt = rtt;
+            return;
+        }
+        shortRtt = shortRtt * 0.9 + rtt * 0.1;
+        longRtt = longRtt * (1 - longDecay) + rtt * longDecay;
+
+        // Let the baseline recover quickly once a latency spike is over.
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+
+        // Only grow the limit when it is actually being used.
+        if (inFlightAtRelease < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+}
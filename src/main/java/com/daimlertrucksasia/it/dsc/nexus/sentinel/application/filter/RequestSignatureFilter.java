@@ -0,0 +1,146 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.error.ErrorResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantRegistry;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.RequestSignatureVerifier;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.SpooledBodyRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servlet filter authenticating requests signed with a client's HMAC signing key.
+ * <p>
+ * It runs inside the Spring Security filter chain and only handles requests that carry an
+ * {@code X-Sentinel-Signature} header; all others pass untouched. A valid signature authenticates
+ * the request as the key's client, with its roles and {@code SCOPE_}-prefixed scopes as
+ * authorities, and with their {@code GrantSet}, roles expanded by the role hierarchy, as
+ * authentication details for route checks. The body is read and verified against its signed
+ * digest before the request is passed on, so handlers only ever see verified bytes. An invalid
+ * signature or body is answered with {@code 401}, or with {@code 503} if the replay cache is full.
+ * A body spooled to a temporary file is deleted once the request, including any asynchronous
+ * response, completes.
+ * </p>
+ */
+public class RequestSignatureFilter extends OncePerRequestFilter {
+
+    private final RequestSignatureVerifier verifier;
+    private final RoleHierarchyService roleHierarchyService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param verifier             the signature verifier
+     * @param roleHierarchyService service resolving the grants of the key's roles and scopes
+     * @param objectMapper         mapper used to write rejection bodies
+     */
+    public RequestSignatureFilter(RequestSignatureVerifier verifier, RoleHierarchyService roleHierarchyService,
+                                  ObjectMapper objectMapper) {
+        this.verifier = verifier;
+        this.roleHierarchyService = roleHierarchyService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !RequestSignatureVerifier.isSigned(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestSignatureVerifier.Verification verification = verifier.verify(request);
+        if (!verification.isValid()) {
+            reject(request, response, verification.failure().getStatus());
+            return;
+        }
+
+        SigningKey signingKey = verification.signingKey();
+        UsernamePasswordAuthenticationToken authentication =
+                UsernamePasswordAuthenticationToken.authenticated(signingKey.getClientId(), null, authorities(signingKey));
+        authentication.setDetails(roleHierarchyService.grantsOf(signingKey.getRoles(), signingKey.getScopes()));
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        HttpServletRequest verified = verification.request();
+        try {
+            filterChain.doFilter(verified, response);
+        } finally {
+            if (verified instanceof SpooledBodyRequest body) {
+                release(request, body);
+            }
+        }
+    }
+
+    /**
+     * Closes the spooled body, or defers that until an asynchronous response has completed.
+     */
+    private static void release(HttpServletRequest request, SpooledBodyRequest body) throws IOException {
+        if (!request.isAsyncStarted()) {
+            body.close();
+            return;
+        }
+        request.getAsyncContext().addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) throws IOException {
+                body.close();
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+    }
+
+    private static List<GrantedAuthority> authorities(SigningKey signingKey) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        if (signingKey.getRoles() != null) {
+            signingKey.getRoles().forEach(role -> authorities.add(new SimpleGrantedAuthority(role)));
+        }
+        if (signingKey.getScopes() != null) {
+            signingKey.getScopes().forEach(scope ->
+                    authorities.add(new SimpleGrantedAuthority(GrantRegistry.SCOPE_PREFIX + scope)));
+        }
+        return authorities;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, HttpStatus status) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ErrorResponse.builder()
+                .timestamp(Instant.now())
+                .status(status.value())
+                .error(status.getReasonPhrase())
+                .message(status == HttpStatus.UNAUTHORIZED
+                        ? "Invalid request signature"
+                        : "Request signature verification is at capacity")
+                .path(request.getRequestURI())
+                .build());
+    }
+}
@@ -0,0 +1,57 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Reasons an authentication or token refresh is rejected.
+ * <p>
+ * Each reason owns one pre-allocated, stackless {@link AuthenticationFailureException}, so
+ * rejecting a request allocates nothing and never walks the stack. The response status and
+ * message deliberately do not tell wrong secrets, unknown subjects and bad tokens apart beyond
+ * what the API already exposed.
+ * </p>
+ */
+public enum AuthenticationFailure {
+
+    USER_NOT_FOUND(HttpStatus.NOT_FOUND, "User or client not found"),
+    CLIENT_NOT_FOUND(HttpStatus.NOT_FOUND, "User or client not found"),
+    INVALID_PASSWORD(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    INVALID_CLIENT_SECRET(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    INVALID_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    REVOKED_REFRESH_TOKEN(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    UNSUPPORTED_TOKEN_TYPE(HttpStatus.BAD_REQUEST, "Requested token type is not allowed for this client"),
+    INVALID_SESSION(HttpStatus.UNAUTHORIZED, "Invalid credentials"),
+    SESSION_CAPACITY_EXHAUSTED(HttpStatus.SERVICE_UNAVAILABLE, "Session capacity exhausted, try again later"),
+    TOKEN_TOO_LARGE(HttpStatus.UNPROCESSABLE_ENTITY, "Token claims exceed the configured size limit");
+
+    private final HttpStatus status;
+    private final String message;
+    private final AuthenticationFailureException exception;
+
+    AuthenticationFailure(HttpStatus status, String message) {
+        this.status = status;
+        this.message = message;
+        this.exception = new AuthenticationFailureException(this);
+    }
+
+    /**
+     * @return the response status
+     */
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the response message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return the shared exception signalling this failure
+     */
+    public AuthenticationFailureException exception() {
+        return exception;
+    }
+}
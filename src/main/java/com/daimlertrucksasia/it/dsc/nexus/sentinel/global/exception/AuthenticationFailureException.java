@@ -0,0 +1,34 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
+
+/**
+ * Exception signalling a rejected authentication or token refresh.
+ * <p>
+ * Instances carry no stack trace and cannot have suppressed exceptions, so one shared instance
+ * per {@link AuthenticationFailure} is thrown on every rejection. It is mapped to the status and
+ * message of its failure.
+ * </p>
+ */
+public class AuthenticationFailureException extends RuntimeException {
+
+    /**
+     * Reason of the rejection.
+     */
+    private final AuthenticationFailure failure;
+
+    /**
+     * Constructs a new {@code AuthenticationFailureException}.
+     *
+     * @param failure reason of the rejection
+     */
+    AuthenticationFailureException(AuthenticationFailure failure) {
+        super(failure.name(), null, false, false);
+        this.failure = failure;
+    }
+
+    /**
+     * @return reason of the rejection
+     */
+    public AuthenticationFailure getFailure() {
+        return failure;
+    }
+}
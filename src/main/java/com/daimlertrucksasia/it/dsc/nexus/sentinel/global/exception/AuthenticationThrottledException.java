@@ -0,0 +1,37 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when an authentication attempt is rejected because the username or source
+ * address is locked out after repeated failures.
+ * <p>
+ * It is raised before any credential lookup or password check and is mapped to
+ * {@code 429 Too Many Requests} with a {@code Retry-After} header.
+ * </p>
+ */
+public class AuthenticationThrottledException extends RuntimeException {
+
+    /**
+     * Time after which the attempt may be retried.
+     */
+    private final Duration retryAfter;
+
+    /**
+     * Constructs a new {@code AuthenticationThrottledException}.
+     *
+     * @param message    the detail message explaining the reason for the exception
+     * @param retryAfter time after which the attempt may be retried
+     */
+    public AuthenticationThrottledException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return time after which the attempt may be retried
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -1,8 +1,10 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.logging.LogSampler;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.error.ErrorResponse;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -11,6 +13,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.time.Duration;
 import java.time.Instant;
 
 /**
@@ -24,6 +27,11 @@ import java.time.Instant;
 @Slf4j
 public class GlobalExceptionHandler {
 
+    /**
+     * Lets at most ten rejected-authentication messages per minute through.
+     */
+    private final LogSampler authenticationFailureLog = new LogSampler(10, Duration.ofMinutes(1));
+
     /**
      * Handles authentication failures due to bad credentials.
      *
@@ -36,6 +44,72 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.UNAUTHORIZED, "Invalid credentials", ex, request);
     }
 
+    /**
+     * Handles rejected logins, client authentications and token refreshes.
+     * <p>
+     * This is the hot path under credential-stuffing and token-guessing traffic: the exception is
+     * a shared stackless instance, so a rejection never walks the stack, and rejections are logged
+     * through a {@link LogSampler}. The body is the same {@link ErrorResponse} as every other error.
+     * </p>
+     *
+     * @param ex      the exception instance
+     * @param request the incoming HTTP request
+     * @return an error response with the status and message of the failure
+     */
+    @ExceptionHandler(AuthenticationFailureException.class)
+    public ResponseEntity<ErrorResponse> handleAuthenticationFailure(AuthenticationFailureException ex,
+                                                                     HttpServletRequest request) {
+        AuthenticationFailure failure = ex.getFailure();
+        if (authenticationFailureLog.sample()) {
+            log.info("Authentication rejected on {}: {} ({} similar messages suppressed)",
+                    request.getRequestURI(), failure, authenticationFailureLog.drainSuppressed());
+        }
+        return buildErrorResponse(failure.getStatus(), failure.getMessage(), ex, request);
+    }
+
+    /**
+     * Handles authentication attempts rejected by the failed-login lockout.
+     *
+     * @param ex      the exception instance
+     * @param request the incoming HTTP request
+     * @return a 429 Too Many Requests error response with a {@code Retry-After} header
+     */
+    @ExceptionHandler(AuthenticationThrottledException.class)
+    public ResponseEntity<ErrorResponse> handleThrottled(AuthenticationThrottledException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles token requests rejected by the client rate limiter.
+     *
+     * @param ex      the exception instance
+     * @param request the incoming HTTP request
+     * @return a 429 Too Many Requests error response with {@code Retry-After} and {@code RateLimit-*} headers
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimited(RateLimitExceededException ex, HttpServletRequest request) {
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex, request);
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(ex.getDecision().headers())
+                .body(response.getBody());
+    }
+
+    /**
+     * Handles requests with invalid arguments, such as unsupported registration types or search
+     * requests without criteria.
+     *
+     * @param ex      the exception instance
+     * @param request the incoming HTTP request
+     * @return a 400 Bad Request error response
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex, HttpServletRequest request) {
+        return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), ex, request);
+    }
+
     /**
      * Handles cases where a username or client was not found.
      *
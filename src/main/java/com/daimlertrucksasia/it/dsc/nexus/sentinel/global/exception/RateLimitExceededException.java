@@ -0,0 +1,35 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.RateLimitDecision;
+
+/**
+ * Exception thrown when a token request exceeds the rate limit of its client, team or tier.
+ * <p>
+ * It is mapped to {@code 429 Too Many Requests} with {@code Retry-After} and {@code RateLimit-*}
+ * headers taken from the {@link RateLimitDecision}.
+ * </p>
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    /**
+     * Decision of the limiter that rejected the request.
+     */
+    private final RateLimitDecision decision;
+
+    /**
+     * Constructs a new {@code RateLimitExceededException}.
+     *
+     * @param decision the rejecting decision
+     */
+    public RateLimitExceededException(RateLimitDecision decision) {
+        super("Rate limit exceeded for " + decision.scope());
+        this.decision = decision;
+    }
+
+    /**
+     * @return the rejecting decision
+     */
+    public RateLimitDecision getDecision() {
+        return decision;
+    }
+}
@@ -0,0 +1,67 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.logging;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits how often a log statement on a hot failure path is emitted.
+ * <p>
+ * At most {@code permits} calls per window are let through; the rest are only counted, and the
+ * count is reported with the next emitted message. Usage:
+ * </p>
+ * <pre>{@code
+ * if (sampler.sample()) {
+ *     log.warn("Invalid JWT: {} ({} similar messages suppressed)", reason, sampler.drainSuppressed());
+ * }
+ * }</pre>
+ */
+public final class LogSampler {
+
+    private final long windowNanos;
+    private final long permits;
+
+    /**
+     * Packs the window start (upper bits, in window units) and the permits used in it (lower 20 bits).
+     */
+    private final AtomicLong state = new AtomicLong();
+    private final AtomicLong suppressed = new AtomicLong();
+
+    /**
+     * @param permits messages emitted per window, at most 2^20 - 1
+     * @param window  window length
+     */
+    public LogSampler(int permits, Duration window) {
+        this.permits = Math.min(permits, (1 << 20) - 1);
+        this.windowNanos = Math.max(1, window.toNanos());
+    }
+
+    /**
+     * Decides whether the current message may be logged.
+     *
+     * @return {@code true} if it should be logged, {@code false} if it was counted as suppressed
+     */
+    public boolean sample() {
+        long window = System.nanoTime() / windowNanos;
+        while (true) {
+            long current = state.get();
+            long used = (current >>> 44) == (window & 0xFFFFF) ? current & 0xFFFFF : 0;
+            if (used >= permits) {
+                suppressed.incrementAndGet();
+                return false;
+            }
+            long next = ((window & 0xFFFFF) << 44) | (used + 1);
+            if (state.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns and resets the number of messages suppressed since the last call.
+     *
+     * @return suppressed message count
+     */
+    public long drainSuppressed() {
+        return suppressed.getAndSet(0);
+    }
+}
@@ -0,0 +1,265 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.AuditProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.logging.LogSampler;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.timeseries.Granularity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous, batched writer of {@link AuditEvent}s.
+ * <p>
+ * Request threads {@link #publish(AuditEvent) publish} events into a lock-free
+ * {@link AuditRingBuffer}; a single background thread drains it and inserts the events into the
+ * audit collection in unordered batches, so auditing adds no MongoDB round-trip to any request.
+ * When the buffer is full the event is dropped and counted, or, with
+ * {@link AuditProperties.Overflow#BLOCK}, the publisher waits a bounded time for a free slot first.
+ * A batch that fails to insert is dropped and counted as well; auditing never fails a request.
+ * Events published before {@link #start()} or after {@link #stop()} are dropped and counted.
+ * </p>
+ *
+ * <p>
+ * Nothing is inserted until the audit collection exists: an insert into a missing collection
+ * would create a plain collection without the configured retention. If creating it fails, the
+ * writer holds its batch and retries every {@code audit.create-retry-interval}; meanwhile the
+ * buffer fills up and further events are dropped. Events still held at shutdown count as failed.
+ * </p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *     <li>{@code sentinel.audit.events} tagged {@code result=published|dropped|written|failed}</li>
+ *     <li>{@code sentinel.audit.buffer.size} - events waiting to be written</li>
+ * </ul>
+ */
+@Slf4j
+@Component
+public class AuditPipeline {
+
+    private final AuditProperties properties;
+    private final MongoTemplate mongoTemplate;
+    private final AuditRingBuffer<AuditEvent> buffer;
+    private final LogSampler failureLog = new LogSampler(1, Duration.ofMinutes(1));
+
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    /**
+     * Whether the audit collection is known to exist. Only accessed by the writer thread.
+     */
+    private boolean collectionReady;
+    private long nextCreateAttempt;
+
+    public AuditPipeline(AuditProperties properties, MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.mongoTemplate = mongoTemplate;
+        this.buffer = new AuditRingBuffer<>(properties.getBufferCapacity());
+
+        this.published = counter(meterRegistry, "published");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.written = counter(meterRegistry, "written");
+        this.failed = counter(meterRegistry, "failed");
+        Gauge.builder("sentinel.audit.buffer.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the writer thread, which first creates the audit collection if needed.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        nextCreateAttempt = System.nanoTime();
+        writer = new Thread(this::writeLoop, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer after flushing the buffered events.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Queues an event for writing. Never blocks longer than {@code audit.max-block} and never throws.
+     *
+     * @param event the event
+     */
+    public void publish(AuditEvent event) {
+        if (!running) {
+            if (properties.isEnabled()) {
+                dropped.increment();
+            }
+            return;
+        }
+        if (buffer.offer(event) || (properties.getOverflow() == AuditProperties.Overflow.BLOCK && offerWithin(event))) {
+            published.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    private boolean offerWithin(AuditEvent event) {
+        long deadline = System.nanoTime() + properties.getMaxBlock().toNanos();
+        do {
+            LockSupport.unpark(writer);
+            LockSupport.parkNanos(50_000);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline);
+        return false;
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        long flushNanos = properties.getFlushInterval().toNanos();
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        ensureCollection();
+        while (running) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            if (batch.size() < batchSize || !collectionReady) {
+                LockSupport.parkNanos(this, flushNanos);
+            }
+            if (batch.size() >= batchSize || (!batch.isEmpty() && buffer.size() == 0)) {
+                write(batch);
+            }
+        }
+        write(batch);
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (!ensureCollection()) {
+            if (!running) {
+                failed.increment(batch.size());
+                batch.clear();
+            }
+            return;
+        }
+        List<Document> documents = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            documents.add(toDocument(event));
+        }
+        try {
+            mongoTemplate.getCollection(properties.getCollection())
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            if (failureLog.sample()) {
+                log.warn("Writing {} audit events failed: {} ({} similar messages suppressed)",
+                        batch.size(), e.getMessage(), failureLog.drainSuppressed());
+            }
+        }
+        batch.clear();
+    }
+
+    /**
+     * Maps an event to its stored form. Type and outcome form the time-series meta field; absent
+     * values are omitted.
+     */
+    private static Document toDocument(AuditEvent event) {
+        Document document = new Document("timestamp", Date.from(event.timestamp()))
+                .append("meta", new Document("type", event.type().name()).append("success", event.success()));
+        if (event.subject() != null) {
+            document.append("subject", event.subject());
+        }
+        if (event.detail() != null) {
+            document.append("detail", event.detail());
+        }
+        if (event.sourceAddress() != null) {
+            document.append("address", event.sourceAddress());
+        }
+        return document;
+    }
+
+    /**
+     * Creates the audit collection unless it is known to exist, at most once per retry interval.
+     *
+     * @return whether the collection exists
+     */
+    private boolean ensureCollection() {
+        if (collectionReady) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (now - nextCreateAttempt < 0) {
+            return false;
+        }
+        collectionReady = createCollection();
+        nextCreateAttempt = now + properties.getCreateRetryInterval().toNanos();
+        return collectionReady;
+    }
+
+    private boolean createCollection() {
+        String name = properties.getCollection();
+        try {
+            if (mongoTemplate.collectionExists(name)) {
+                return true;
+            }
+            CollectionOptions options = switch (properties.getStorage()) {
+                case TIME_SERIES -> CollectionOptions.empty().timeSeries(
+                        CollectionOptions.TimeSeriesOptions.timeSeries("timestamp")
+                                .metaField("meta")
+                                .granularity(Granularity.SECONDS)
+                                .expireAfter(properties.getRetention()));
+                case CAPPED -> CollectionOptions.empty().capped().size(properties.getCappedSize().toBytes());
+            };
+            mongoTemplate.createCollection(name, options);
+            log.info("Created {} audit collection {}", properties.getStorage(), name);
+            return true;
+        } catch (RuntimeException e) {
+            if (failureLog.sample()) {
+                log.warn("Creating audit collection {} failed, retrying in {}: {} ({} similar messages suppressed)",
+                        name, properties.getCreateRetryInterval(), e.getMessage(), failureLog.drainSuppressed());
+            }
+            return false;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("sentinel.audit.events")
+                .description("Audit events by pipeline outcome")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,31 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for the client credential lookup on the client authentication path.
+ */
+public interface ClientCredentialLookup {
+
+    /**
+     * Retrieves the fields of a {@link Client} needed for authentication and token claims: id,
+     * client ID, secret hash, roles, scopes, grant types, allowed token types, team and service tier.
+     *
+     * @param clientId the client ID to search for
+     * @return an {@link Optional} containing the partially populated client, or empty if not found
+     */
+    Optional<Client> findCredentialsByClientId(String clientId);
+
+    /**
+     * Replaces the stored secret hash of a client, but only if it still equals the hash that was
+     * verified, so a concurrent secret rotation is never overwritten.
+     *
+     * @param id          the client id
+     * @param currentHash the hash that was verified
+     * @param newHash     the replacement hash
+     * @return {@code true} if the hash was replaced
+     */
+    boolean replaceSecretHash(String id, String currentHash, String newHash);
+}
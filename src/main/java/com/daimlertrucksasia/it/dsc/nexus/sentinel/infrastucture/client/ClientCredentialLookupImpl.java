@@ -0,0 +1,42 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Optional;
+
+/**
+ * {@link ClientCredentialLookup} reading a projection of {@code client_credentials} straight into
+ * {@link Client} through {@link com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.ClientCodec}.
+ */
+class ClientCredentialLookupImpl implements ClientCredentialLookup {
+
+    private static final Bson CREDENTIAL_FIELDS = Projections.include(
+            "clientId", "clientSecret", "scopes", "grantTypes", "allowedTokenTypes", "roles", "team", "serviceTier");
+
+    private final MongoCollection<Client> clients;
+
+    ClientCredentialLookupImpl(MongoTemplate mongoTemplate) {
+        this.clients = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(Client.class), Client.class);
+    }
+
+    @Override
+    public Optional<Client> findCredentialsByClientId(String clientId) {
+        return Optional.ofNullable(clients.find(Filters.eq("clientId", clientId))
+                .projection(CREDENTIAL_FIELDS)
+                .first());
+    }
+
+    @Override
+    public boolean replaceSecretHash(String id, String currentHash, String newHash) {
+        return clients.updateOne(
+                Filters.and(DocumentCodecs.idFilter(id), Filters.eq("clientSecret", currentHash)),
+                Updates.set("clientSecret", newHash)).getModifiedCount() > 0;
+    }
+}
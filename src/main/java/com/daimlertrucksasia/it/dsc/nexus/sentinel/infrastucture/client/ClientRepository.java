@@ -10,9 +10,10 @@ import java.util.Optional;
  * <p>
  * This interface extends {@link MongoRepository}, providing CRUD operations
  * and custom queries for {@link Client} entities.
+ * The credential lookup used on the authentication path is provided by {@link ClientCredentialLookup}.
  * </p>
  */
-public interface ClientRepository extends MongoRepository<Client, String> {
+public interface ClientRepository extends MongoRepository<Client, String>, ClientCredentialLookup {
 
     /**
      * Retrieves a {@link Client} entity by its unique client ID.
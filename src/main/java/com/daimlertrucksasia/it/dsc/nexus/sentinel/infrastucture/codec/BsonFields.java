@@ -0,0 +1,125 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.types.ObjectId;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Field-level read and write helpers shared by the hand-written document codecs.
+ * <p>
+ * The helpers follow the layout produced by Spring Data's mapping, so documents written by either
+ * side remain readable by the other: string ids that are valid {@link ObjectId} hex strings are
+ * stored as ObjectIds, enums as their names, {@link Instant}s as BSON dates, and {@code null}
+ * values are omitted on write.
+ * </p>
+ */
+final class BsonFields {
+
+    private BsonFields() {
+    }
+
+    static void writeId(BsonWriter writer, String id) {
+        if (id == null) {
+            return;
+        }
+        if (ObjectId.isValid(id)) {
+            writer.writeObjectId("_id", new ObjectId(id));
+        } else {
+            writer.writeString("_id", id);
+        }
+    }
+
+    static String readId(BsonReader reader) {
+        return switch (reader.getCurrentBsonType()) {
+            case OBJECT_ID -> reader.readObjectId().toHexString();
+            case STRING -> reader.readString();
+            default -> {
+                reader.skipValue();
+                yield null;
+            }
+        };
+    }
+
+    static void writeString(BsonWriter writer, String name, String value) {
+        if (value != null) {
+            writer.writeString(name, value);
+        }
+    }
+
+    static String readString(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.STRING) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.readString();
+    }
+
+    static void writeEnum(BsonWriter writer, String name, Enum<?> value) {
+        if (value != null) {
+            writer.writeString(name, value.name());
+        }
+    }
+
+    static <E extends Enum<E>> E readEnum(BsonReader reader, Class<E> type) {
+        String value = readString(reader);
+        return value == null ? null : Enum.valueOf(type, value);
+    }
+
+    static void writeInstant(BsonWriter writer, String name, Instant value) {
+        if (value != null) {
+            writer.writeDateTime(name, value.toEpochMilli());
+        }
+    }
+
+    static Instant readInstant(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.DATE_TIME) {
+            reader.skipValue();
+            return null;
+        }
+        return Instant.ofEpochMilli(reader.readDateTime());
+    }
+
+    static boolean readBoolean(BsonReader reader) {
+        if (reader.getCurrentBsonType() != BsonType.BOOLEAN) {
+            reader.skipValue();
+            return false;
+        }
+        return reader.readBoolean();
+    }
+
+    static <T> void writeList(BsonWriter writer, String name, List<T> values, Function<T, String> toString) {
+        if (values == null) {
+            return;
+        }
+        writer.writeStartArray(name);
+        for (T value : values) {
+            if (value == null) {
+                writer.writeNull();
+            } else {
+                writer.writeString(toString.apply(value));
+            }
+        }
+        writer.writeEndArray();
+    }
+
+    static <T> List<T> readList(BsonReader reader, Function<String, T> fromString) {
+        if (reader.getCurrentBsonType() != BsonType.ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        List<T> values = new ArrayList<>();
+        reader.readStartArray();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String value = readString(reader);
+            values.add(value == null ? null : fromString.apply(value));
+        }
+        reader.readEndArray();
+        return values;
+    }
+}
@@ -0,0 +1,62 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Hand-written {@link Codec} for {@link Client} documents of the {@code client_credentials} collection.
+ * <p>
+ * Fields missing from the document (e.g., excluded by a projection) are left unset, so the same
+ * codec decodes both full documents and credential projections.
+ * </p>
+ */
+public class ClientCodec implements Codec<Client> {
+
+    @Override
+    public void encode(BsonWriter writer, Client client, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, client.getId());
+        BsonFields.writeString(writer, "clientId", client.getClientId());
+        BsonFields.writeString(writer, "clientSecret", client.getClientSecret());
+        BsonFields.writeList(writer, "scopes", client.getScopes(), String::valueOf);
+        BsonFields.writeList(writer, "grantTypes", client.getGrantTypes(), String::valueOf);
+        BsonFields.writeList(writer, "allowedTokenTypes", client.getAllowedTokenTypes(), TokenType::name);
+        BsonFields.writeList(writer, "roles", client.getRoles(), String::valueOf);
+        BsonFields.writeString(writer, "team", client.getTeam());
+        BsonFields.writeString(writer, "serviceTier", client.getServiceTier());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Client decode(BsonReader reader, DecoderContext decoderContext) {
+        Client client = new Client();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> client.setId(BsonFields.readId(reader));
+                case "clientId" -> client.setClientId(BsonFields.readString(reader));
+                case "clientSecret" -> client.setClientSecret(BsonFields.readString(reader));
+                case "scopes" -> client.setScopes(BsonFields.readList(reader, String::valueOf));
+                case "grantTypes" -> client.setGrantTypes(BsonFields.readList(reader, String::valueOf));
+                case "allowedTokenTypes" -> client.setAllowedTokenTypes(BsonFields.readList(reader, TokenType::valueOf));
+                case "roles" -> client.setRoles(BsonFields.readList(reader, String::valueOf));
+                case "team" -> client.setTeam(BsonFields.readString(reader));
+                case "serviceTier" -> client.setServiceTier(BsonFields.readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return client;
+    }
+
+    @Override
+    public Class<Client> getEncoderClass() {
+        return Client.class;
+    }
+}
@@ -0,0 +1,58 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import org.bson.conversions.Bson;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+/**
+ * Registry of the hand-written document codecs ({@link TokenCodec}, {@link UserCodec},
+ * {@link ClientCodec}) on top of the driver defaults.
+ * <p>
+ * Hot paths obtain typed collections through {@link #collection(MongoTemplate, String, Class)},
+ * which encode and decode documents directly from BSON instead of going through Spring Data's
+ * reflective mapping and an intermediate {@code org.bson.Document}.
+ * </p>
+ */
+public final class DocumentCodecs {
+
+    /**
+     * Document codecs followed by the driver's default codecs.
+     */
+    public static final CodecRegistry REGISTRY = CodecRegistries.fromRegistries(
+            CodecRegistries.fromCodecs(new TokenCodec(), new UserCodec(), new ClientCodec()),
+            MongoClientSettings.getDefaultCodecRegistry());
+
+    private DocumentCodecs() {
+    }
+
+    /**
+     * Returns the given collection typed to a document class handled by {@link #REGISTRY}.
+     *
+     * @param mongoTemplate template providing the database
+     * @param collection    collection name
+     * @param documentClass document class
+     * @param <T>           document type
+     * @return the codec-backed collection
+     */
+    public static <T> MongoCollection<T> collection(MongoTemplate mongoTemplate, String collection,
+                                                    Class<T> documentClass) {
+        return mongoTemplate.getCollection(collection)
+                .withCodecRegistry(REGISTRY)
+                .withDocumentClass(documentClass);
+    }
+
+    /**
+     * Builds an {@code _id} filter matching the id layout written by the codecs.
+     *
+     * @param id document id
+     * @return filter on {@code _id}
+     */
+    public static Bson idFilter(String id) {
+        return Filters.eq("_id", ObjectId.isValid(id) ? new ObjectId(id) : id);
+    }
+}
@@ -0,0 +1,56 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Hand-written {@link Codec} for {@link Token} documents, used instead of Spring Data's reflective
+ * mapping on the token write and lookup paths.
+ */
+public class TokenCodec implements Codec<Token> {
+
+    @Override
+    public void encode(BsonWriter writer, Token token, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, token.getId());
+        BsonFields.writeString(writer, "token", token.getToken());
+        BsonFields.writeEnum(writer, "tokenType", token.getTokenType());
+        BsonFields.writeString(writer, "subjectId", token.getSubjectId());
+        BsonFields.writeEnum(writer, "subjectType", token.getSubjectType());
+        BsonFields.writeInstant(writer, "issuedAt", token.getIssuedAt());
+        BsonFields.writeInstant(writer, "expiresAt", token.getExpiresAt());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public Token decode(BsonReader reader, DecoderContext decoderContext) {
+        Token token = new Token();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> token.setId(BsonFields.readId(reader));
+                case "token" -> token.setToken(BsonFields.readString(reader));
+                case "tokenType" -> token.setTokenType(BsonFields.readEnum(reader, TokenType.class));
+                case "subjectId" -> token.setSubjectId(BsonFields.readString(reader));
+                case "subjectType" -> token.setSubjectType(BsonFields.readEnum(reader, SubjectType.class));
+                case "issuedAt" -> token.setIssuedAt(BsonFields.readInstant(reader));
+                case "expiresAt" -> token.setExpiresAt(BsonFields.readInstant(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return token;
+    }
+
+    @Override
+    public Class<Token> getEncoderClass() {
+        return Token.class;
+    }
+}
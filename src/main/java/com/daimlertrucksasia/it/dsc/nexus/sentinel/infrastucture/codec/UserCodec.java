@@ -0,0 +1,62 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+
+/**
+ * Hand-written {@link Codec} for {@link User} documents of the {@code user_credentials} collection.
+ * <p>
+ * Fields missing from the document (e.g., excluded by a projection) are left unset, so the same
+ * codec decodes both full documents and credential projections.
+ * </p>
+ */
+public class UserCodec implements Codec<User> {
+
+    @Override
+    public void encode(BsonWriter writer, User user, EncoderContext encoderContext) {
+        writer.writeStartDocument();
+        BsonFields.writeId(writer, user.getId());
+        BsonFields.writeString(writer, "username", user.getUsername());
+        BsonFields.writeString(writer, "password", user.getPassword());
+        BsonFields.writeList(writer, "roles", user.getRoles(), String::valueOf);
+        BsonFields.writeList(writer, "allowedTokenTypes", user.getAllowedTokenTypes(), TokenType::name);
+        writer.writeBoolean("active", user.isActive());
+        BsonFields.writeString(writer, "department", user.getDepartment());
+        BsonFields.writeString(writer, "region", user.getRegion());
+        BsonFields.writeString(writer, "email", user.getEmail());
+        writer.writeEndDocument();
+    }
+
+    @Override
+    public User decode(BsonReader reader, DecoderContext decoderContext) {
+        User user = new User();
+        reader.readStartDocument();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            switch (reader.readName()) {
+                case "_id" -> user.setId(BsonFields.readId(reader));
+                case "username" -> user.setUsername(BsonFields.readString(reader));
+                case "password" -> user.setPassword(BsonFields.readString(reader));
+                case "roles" -> user.setRoles(BsonFields.readList(reader, String::valueOf));
+                case "allowedTokenTypes" -> user.setAllowedTokenTypes(BsonFields.readList(reader, TokenType::valueOf));
+                case "active" -> user.setActive(BsonFields.readBoolean(reader));
+                case "department" -> user.setDepartment(BsonFields.readString(reader));
+                case "region" -> user.setRegion(BsonFields.readString(reader));
+                case "email" -> user.setEmail(BsonFields.readString(reader));
+                default -> reader.skipValue();
+            }
+        }
+        reader.readEndDocument();
+        return user;
+    }
+
+    @Override
+    public Class<User> getEncoderClass() {
+        return User.class;
+    }
+}
@@ -0,0 +1,74 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+/**
+ * Component creating the MongoDB indexes declared by services in the background.
+ * <p>
+ * Services register their indexes while they are constructed, which performs no I/O. The indexes
+ * are created by a scheduled task shortly after startup; an index whose creation fails, e.g.
+ * because MongoDB is not reachable yet, is logged and retried every
+ * {@code mongo.index-retry-interval}. Startup therefore never depends on MongoDB being available.
+ * </p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MongoIndexInitializer {
+
+    private final MongoTemplate mongoTemplate;
+
+    private final Queue<PendingIndex> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Declares an index on the collection of an entity.
+     *
+     * @param entity mapped entity class
+     * @param index  the index to create
+     */
+    public void register(Class<?> entity, IndexDefinition index) {
+        pending.add(new PendingIndex(entity.getSimpleName(), () -> mongoTemplate.indexOps(entity), index));
+    }
+
+    /**
+     * Declares an index on a collection.
+     *
+     * @param collection collection name
+     * @param index      the index to create
+     */
+    public void register(String collection, IndexDefinition index) {
+        pending.add(new PendingIndex(collection, () -> mongoTemplate.indexOps(collection), index));
+    }
+
+    /**
+     * Creates the pending indexes in registration order. The run stops at the first failure, which
+     * usually means MongoDB is unreachable, so the shared scheduler thread is not held up by one
+     * timeout per index; the remaining indexes are retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${mongo.index-retry-interval:30s}")
+    void createPending() {
+        for (PendingIndex index : pending) {
+            try {
+                index.operations().get().createIndex(index.definition());
+                pending.remove(index);
+            } catch (RuntimeException e) {
+                log.warn("Creating index {} on {} failed, retrying later: {}", index.definition().getIndexKeys(),
+                        index.target(), e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private record PendingIndex(String target, Supplier<IndexOperations> operations, IndexDefinition definition) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.lockout;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.LoginLockout;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link LoginLockout} entries in MongoDB.
+ */
+public interface LoginLockoutRepository extends MongoRepository<LoginLockout, String> {
+
+    /**
+     * Finds lockouts changed after the given instant.
+     *
+     * @param since lower bound (exclusive) of {@code updatedAt}
+     * @return lockouts changed after {@code since}
+     */
+    List<LoginLockout> findByUpdatedAtAfter(Instant since);
+}
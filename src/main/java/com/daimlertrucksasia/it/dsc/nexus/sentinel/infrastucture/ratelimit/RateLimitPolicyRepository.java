@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.ratelimit;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing {@link RateLimitPolicy} overrides in MongoDB.
+ */
+public interface RateLimitPolicyRepository extends MongoRepository<RateLimitPolicy, String> {
+}
@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.role;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RoleDefinition;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing the {@link RoleDefinition}s of the role hierarchy in MongoDB.
+ */
+public interface RoleDefinitionRepository extends MongoRepository<RoleDefinition, String> {
+}
@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ApiKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing {@link ApiKey} documents in MongoDB.
+ */
+public interface ApiKeyRepository extends MongoRepository<ApiKey, String> {
+}
@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing {@link ClaimsReference} documents in MongoDB.
+ */
+public interface ClaimsReferenceRepository extends MongoRepository<ClaimsReference, String> {
+}
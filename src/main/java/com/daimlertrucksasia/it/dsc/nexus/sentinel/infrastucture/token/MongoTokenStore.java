@@ -0,0 +1,103 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Default {@link TokenStore} backed by the MongoDB {@code tokens} collection.
+ * <p>
+ * Single-token operations go straight to the driver through the hand-written
+ * {@link com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.TokenCodec}, bypassing
+ * Spring Data's reflective mapping; batches are written as one unordered bulk of upserts keyed
+ * by the token id.
+ * </p>
+ */
+public class MongoTokenStore implements TokenStore {
+
+    /**
+     * Template used for bulk writes.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Codec-backed view of the {@code tokens} collection.
+     */
+    private final MongoCollection<Token> tokens;
+
+    /**
+     * @param mongoTemplate template providing the {@code tokens} collection
+     */
+    public MongoTokenStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+        this.tokens = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(Token.class), Token.class);
+    }
+
+    @Override
+    public Token save(Token token) {
+        return save(tokens, token);
+    }
+
+    @Override
+    public Optional<Token> findByToken(String token) {
+        return findByToken(tokens, token);
+    }
+
+    @Override
+    public void saveAll(List<Token> tokens) {
+        upsertAll(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Token.class), tokens);
+    }
+
+    /**
+     * Inserts a token without an id (assigning a new ObjectId) or upserts it by its id.
+     *
+     * @param collection codec-backed token collection
+     * @param token      the token to store
+     * @return the stored token
+     */
+    public static Token save(MongoCollection<Token> collection, Token token) {
+        if (token.getId() == null) {
+            token.setId(new ObjectId().toHexString());
+            collection.insertOne(token);
+        } else {
+            collection.replaceOne(DocumentCodecs.idFilter(token.getId()), token, new ReplaceOptions().upsert(true));
+        }
+        return token;
+    }
+
+    /**
+     * Finds a token by its value.
+     *
+     * @param collection codec-backed token collection
+     * @param token      the token value
+     * @return the token, or empty if not stored in the collection
+     */
+    public static Optional<Token> findByToken(MongoCollection<Token> collection, String token) {
+        return Optional.ofNullable(collection.find(Filters.eq("token", token)).first());
+    }
+
+    /**
+     * Adds one id-keyed upsert per token to the bulk and executes it.
+     *
+     * @param bulk   bulk bound to the target collection
+     * @param tokens tokens carrying an id
+     */
+    public static void upsertAll(BulkOperations bulk, List<Token> tokens) {
+        FindAndReplaceOptions upsert = FindAndReplaceOptions.options().upsert();
+        for (Token token : tokens) {
+            bulk.replaceOne(Query.query(Criteria.where("id").is(token.getId())), token, upsert);
+        }
+        bulk.execute();
+    }
+}
@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing {@link RefreshTokenFamily} records in MongoDB.
+ */
+public interface RefreshTokenFamilyRepository extends MongoRepository<RefreshTokenFamily, String> {
+}
@@ -0,0 +1,29 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RevokedToken;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link RevokedToken} deny-list entries in MongoDB.
+ */
+public interface RevokedTokenRepository extends MongoRepository<RevokedToken, String> {
+
+    /**
+     * Finds deny-list entries that have not expired yet.
+     *
+     * @param now current time
+     * @return entries whose {@code expiresAt} lies after {@code now}
+     */
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    /**
+     * Finds deny-list entries recorded after the given instant.
+     *
+     * @param since lower bound (exclusive) of {@code revokedAt}
+     * @return entries revoked after {@code since}
+     */
+    List<RevokedToken> findByRevokedAtAfter(Instant since);
+}
@@ -0,0 +1,10 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+/**
+ * Repository interface for managing {@link SigningKey} documents in MongoDB.
+ */
+public interface SigningKeyRepository extends MongoRepository<SigningKey, String> {
+}
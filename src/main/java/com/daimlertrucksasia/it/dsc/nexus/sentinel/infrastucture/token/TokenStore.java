@@ -0,0 +1,48 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Storage abstraction for issued {@link Token} records.
+ * <p>
+ * It exposes the subset of {@link TokenRepository} operations used by the authentication
+ * flows, so that the persistence backend can be swapped (e.g., MongoDB or an embedded
+ * on-disk journal) without touching the services that issue tokens.
+ * </p>
+ *
+ * <p>The active implementation is selected through {@code token.store.type}.</p>
+ *
+ * @see MongoTokenStore
+ * @see com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.JournalTokenStore
+ */
+public interface TokenStore {
+
+    /**
+     * Persists the given token.
+     *
+     * @param token the token to store
+     * @return the stored token
+     */
+    Token save(Token token);
+
+    /**
+     * Finds a {@link Token} by its token string.
+     *
+     * @param token the token value to search for
+     * @return an {@link Optional} containing the token if found, or empty if not
+     */
+    Optional<Token> findByToken(String token);
+
+    /**
+     * Persists a batch of tokens that already carry an id. A token whose id is already stored
+     * replaces the stored record, so writing the same batch twice is harmless.
+     *
+     * @param tokens the tokens to store
+     */
+    default void saveAll(List<Token> tokens) {
+        tokens.forEach(this::save);
+    }
+}
@@ -0,0 +1,250 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.TokenJournal;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link TokenStore} decorator that protects MongoDB token writes with a
+ * {@link TokenPersistenceCircuitBreaker} and falls back to a local {@link TokenJournal}.
+ *
+ * <p>While the breaker is closed, tokens are written to the delegate and every call's latency
+ * and outcome is recorded. While it is open, tokens are appended to the journal so that login
+ * threads never block on a degraded database. Delegate calls run on a small pool of call threads
+ * and are abandoned after {@code callTimeout}; a timed-out call counts as a failure and its token is
+ * journaled, which is harmless should the write still complete, as replay writes by id.</p>
+ *
+ * <p>Reads check the journal first, since it holds the tokens written while MongoDB was degraded.
+ * While the breaker is open, or when a MongoDB read fails or times out, the journal answers alone.</p>
+ *
+ * <p>A background task replays journaled tokens once MongoDB accepts calls again. Tokens are
+ * written in batches through {@link TokenStore#saveAll(List)}, keyed by their id, which is
+ * assigned before journaling, so a segment replayed twice (e.g., after a crash mid-replay)
+ * produces no duplicates. Each batch acquires its own breaker permission, so a half-open
+ * breaker is decided by the trial batches only.</p>
+ *
+ * <p>Exported metrics:</p>
+ * <ul>
+ *     <li>{@code sentinel.token.store.breaker.state} - 0 closed, 1 half-open, 2 open</li>
+ *     <li>{@code sentinel.token.store.journal.depth} - tokens waiting to be replayed</li>
+ *     <li>{@code sentinel.token.store.journaled} - tokens written to the journal</li>
+ *     <li>{@code sentinel.token.store.replayed} - tokens replayed to MongoDB</li>
+ * </ul>
+ */
+@Slf4j
+public class CircuitBreakingTokenStore implements TokenStore, Closeable {
+
+    private final TokenStore delegate;
+    private final TokenJournal journal;
+    private final TokenPersistenceCircuitBreaker breaker;
+    private final int replayBatchSize;
+    private final long callTimeoutNanos;
+    private final ExecutorService callExecutor;
+    private final ScheduledExecutorService replayExecutor;
+
+    private final Counter journaled;
+    private final Counter replayed;
+
+    /**
+     * Creates the store and schedules journal replay.
+     *
+     * @param delegate        the MongoDB-backed store
+     * @param journal         the local fallback journal
+     * @param breaker         breaker guarding the delegate
+     * @param replayBatchSize    maximum tokens per bulk write
+     * @param replayInterval     interval between replay attempts
+     * @param callTimeout        time after which a delegate call is abandoned and counted as failed
+     * @param maxConcurrentCalls maximum delegate calls in flight; further calls are journaled
+     * @param meterRegistry      registry receiving breaker and journal metrics
+     */
+    public CircuitBreakingTokenStore(TokenStore delegate, TokenJournal journal, TokenPersistenceCircuitBreaker breaker,
+                                     int replayBatchSize, Duration replayInterval, Duration callTimeout,
+                                     int maxConcurrentCalls, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.journal = journal;
+        this.breaker = breaker;
+        this.replayBatchSize = replayBatchSize;
+        this.callTimeoutNanos = callTimeout.toNanos();
+
+        Gauge.builder("sentinel.token.store.breaker.state", breaker, b -> b.getState().ordinal())
+                .description("Token persistence circuit breaker state (0 closed, 1 half-open, 2 open)")
+                .register(meterRegistry);
+        Gauge.builder("sentinel.token.store.journal.depth", journal, TokenJournal::recordCount)
+                .description("Tokens held in the fallback journal awaiting replay")
+                .register(meterRegistry);
+        this.journaled = Counter.builder("sentinel.token.store.journaled")
+                .description("Tokens written to the fallback journal")
+                .register(meterRegistry);
+        this.replayed = Counter.builder("sentinel.token.store.replayed")
+                .description("Tokens replayed from the fallback journal to MongoDB")
+                .register(meterRegistry);
+
+        this.callExecutor = new ThreadPoolExecutor(0, maxConcurrentCalls, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "token-store-call");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.replayExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-journal-replay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = replayInterval.toMillis();
+        replayExecutor.scheduleWithFixedDelay(this::replay, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes the token to MongoDB when the breaker permits it, otherwise to the journal.
+     * A failed or timed-out MongoDB write is recorded against the breaker and journaled as well.
+     *
+     * @param token the token to store
+     * @return the stored token
+     */
+    @Override
+    public Token save(Token token) {
+        if (token.getId() == null) {
+            token.setId(new ObjectId().toHexString());
+        }
+        if (breaker.tryAcquirePermission()) {
+            try {
+                return call(() -> delegate.save(token));
+            } catch (RuntimeException e) {
+                log.warn("Token write to MongoDB failed, journaling locally: {}", e.getMessage());
+            }
+        }
+        journal.append(token);
+        journaled.increment();
+        return token;
+    }
+
+    /**
+     * Looks the token up in the journal first (it holds the most recent writes while MongoDB is
+     * degraded) and then in MongoDB if the breaker permits it. While the breaker is open, or if
+     * the MongoDB read fails or times out, the journal's answer is returned.
+     *
+     * @param token the token value to search for
+     * @return the stored token, if any
+     */
+    @Override
+    public Optional<Token> findByToken(String token) {
+        Optional<Token> journaled = journal.find(token);
+        if (journaled.isPresent() || !breaker.tryAcquirePermission()) {
+            return journaled;
+        }
+        try {
+            return call(() -> delegate.findByToken(token));
+        } catch (RuntimeException e) {
+            log.warn("Token read from MongoDB failed, answering from the journal: {}", e.getMessage());
+            return journaled;
+        }
+    }
+
+    /**
+     * Stops replay and flushes the journal.
+     */
+    @Override
+    public void close() {
+        replayExecutor.shutdown();
+        callExecutor.shutdown();
+        journal.close();
+    }
+
+    /**
+     * Replays sealed journal segments to MongoDB in bulk, deleting each segment once all of its
+     * tokens are persisted. Every bulk write acquires a breaker permission and doubles as a probe.
+     */
+    private void replay() {
+        try {
+            if (journal.recordCount() == 0 || !breaker.isCallPermitted()) {
+                return;
+            }
+            for (long segmentId : journal.sealSegments()) {
+                List<Token> tokens = new ArrayList<>();
+                journal.forEachToken(segmentId, tokens::add);
+                for (int from = 0; from < tokens.size(); from += replayBatchSize) {
+                    if (!writeBatch(tokens.subList(from, Math.min(from + replayBatchSize, tokens.size())))) {
+                        return;
+                    }
+                }
+                journal.deleteSegment(segmentId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token journal replay failed: {}", e.getMessage());
+        }
+    }
+
+    private boolean writeBatch(List<Token> batch) {
+        if (!breaker.tryAcquirePermission()) {
+            return false;
+        }
+        try {
+            call(() -> {
+                delegate.saveAll(batch);
+                return null;
+            });
+            replayed.increment(batch.size());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Replay of {} journaled token(s) failed: {}", batch.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Runs a delegate call on a call thread, waits at most the call timeout and records exactly one
+     * outcome against the breaker, for the permission the caller acquired.
+     *
+     * @throws RuntimeException if the call failed, timed out or could not be started
+     */
+    private <T> T call(Callable<T> action) {
+        long start = System.nanoTime();
+        Future<T> future;
+        try {
+            future = callExecutor.submit(action);
+        } catch (RejectedExecutionException e) {
+            breaker.onFailure(0);
+            throw e;
+        }
+        try {
+            T result = future.get(callTimeoutNanos, TimeUnit.NANOSECONDS);
+            breaker.onSuccess(System.nanoTime() - start);
+            return result;
+        } catch (ExecutionException e) {
+            breaker.onFailure(System.nanoTime() - start);
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            breaker.onFailure(System.nanoTime() - start);
+            throw new IllegalStateException("MongoDB call timed out after "
+                    + TimeUnit.NANOSECONDS.toMillis(callTimeoutNanos) + " ms");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            breaker.onFailure(System.nanoTime() - start);
+            throw new IllegalStateException("Interrupted while waiting for MongoDB", e);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Count-based circuit breaker guarding token writes to MongoDB.
+ *
+ * <p>The outcome of the last {@code windowSize} calls is kept in a ring buffer. Once at least
+ * {@code minimumCalls} outcomes are recorded, the breaker opens when either the failure rate or
+ * the slow-call rate (calls taking longer than {@code slowCallDuration}) reaches its threshold.</p>
+ *
+ * <ul>
+ *     <li>{@link State#CLOSED} - calls pass through and are recorded.</li>
+ *     <li>{@link State#OPEN} - calls are rejected until {@code openDuration} has elapsed.</li>
+ *     <li>{@link State#HALF_OPEN} - up to {@code halfOpenCalls} trial calls are permitted; all of
+ *     them must succeed quickly to close the breaker, any bad outcome re-opens it.</li>
+ * </ul>
+ *
+ * <p>Callers record exactly one outcome per granted permission. While half-open, outcomes beyond
+ * the trial permissions granted so far (e.g., of calls started before the breaker opened) are
+ * ignored, so only trial calls decide the next state.</p>
+ *
+ * <p>State transitions are rare and the bookkeeping is tiny, so a monitor is used rather than
+ * a lock-free design.</p>
+ */
+@Slf4j
+public class TokenPersistenceCircuitBreaker {
+
+    /**
+     * Breaker states; the ordinal is exported as the state gauge value.
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private static final byte SLOW = 1;
+    private static final byte FAILED = 2;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final int halfOpenCalls;
+
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int slowCount;
+    private int failedCount;
+
+    private volatile State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenOutcomes;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param failureRateThreshold  failure ratio (0..1) that opens the breaker
+     * @param slowCallRateThreshold slow-call ratio (0..1) that opens the breaker
+     * @param slowCallDuration      latency above which a call counts as slow
+     * @param windowSize            number of most recent calls considered
+     * @param minimumCalls          calls required before rates are evaluated
+     * @param openDuration          time to stay open before allowing trial calls
+     * @param halfOpenCalls         number of trial calls while half-open
+     */
+    public TokenPersistenceCircuitBreaker(double failureRateThreshold, double slowCallRateThreshold,
+                                          Duration slowCallDuration, int windowSize, int minimumCalls,
+                                          Duration openDuration, int halfOpenCalls) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.window = new byte[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Asks whether a call may be attempted against the protected resource.
+     *
+     * @return {@code true} if the call should go to MongoDB, {@code false} to use the fallback
+     */
+    public boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAt < openNanos) {
+                    return false;
+                }
+                transition(State.HALF_OPEN);
+            }
+            if (state == State.HALF_OPEN) {
+                if (halfOpenPermits >= halfOpenCalls) {
+                    return false;
+                }
+                halfOpenPermits++;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Tells whether {@link #tryAcquirePermission()} would currently grant a permission, without
+     * acquiring one.
+     *
+     * @return {@code true} if a call could be attempted now
+     */
+    public synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> System.nanoTime() - openedAt >= openNanos;
+            case HALF_OPEN -> halfOpenPermits < halfOpenCalls;
+        };
+    }
+
+    /**
+     * Records a successful call.
+     *
+     * @param elapsedNanos call duration
+     */
+    public void onSuccess(long elapsedNanos) {
+        record(elapsedNanos >= slowCallNanos ? SLOW : 0);
+    }
+
+    /**
+     * Records a failed call.
+     *
+     * @param elapsedNanos call duration
+     */
+    public void onFailure(long elapsedNanos) {
+        record((byte) (FAILED | (elapsedNanos >= slowCallNanos ? SLOW : 0)));
+    }
+
+    /**
+     * @return the current state
+     */
+    public State getState() {
+        return state;
+    }
+
+    private synchronized void record(byte outcome) {
+        if (state == State.HALF_OPEN) {
+            if (halfOpenOutcomes >= halfOpenPermits) {
+                return;
+            }
+            halfOpenOutcomes++;
+            if (outcome != 0) {
+                transition(State.OPEN);
+            } else if (halfOpenOutcomes >= halfOpenCalls) {
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (windowCount == window.length) {
+            byte evicted = window[windowIndex];
+            slowCount -= (evicted & SLOW);
+            failedCount -= (evicted & FAILED) >> 1;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = outcome;
+        windowIndex = (windowIndex + 1) % window.length;
+        slowCount += (outcome & SLOW);
+        failedCount += (outcome & FAILED) >> 1;
+
+        if (windowCount >= minimumCalls
+                && ((double) failedCount / windowCount >= failureRateThreshold
+                || (double) slowCount / windowCount >= slowCallRateThreshold)) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State next) {
+        log.warn("Token persistence circuit breaker {} -> {}", state, next);
+        state = next;
+        halfOpenPermits = 0;
+        halfOpenOutcomes = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        }
+        if (next != State.HALF_OPEN) {
+            windowIndex = 0;
+            windowCount = 0;
+            slowCount = 0;
+            failedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+/**
+ * Durability policy applied by the {@link TokenJournal} when records are appended.
+ *
+ * <ul>
+ *     <li>{@link #ALWAYS} - forces the mapped segment to disk after every append.</li>
+ *     <li>{@link #INTERVAL} - forces the active segment to disk on a fixed interval.</li>
+ *     <li>{@link #NEVER} - leaves write-back entirely to the operating system.</li>
+ * </ul>
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Force the segment after every append; safest and slowest.
+     */
+    ALWAYS,
+
+    /**
+     * Force the active segment periodically; bounded data loss on power failure.
+     */
+    INTERVAL,
+
+    /**
+     * Never force explicitly; survives process crashes but not power loss.
+     */
+    NEVER
+}
@@ -0,0 +1,228 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.ObjIntConsumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A single fixed-size, memory-mapped file of the {@link TokenJournal}.
+ *
+ * <p>Segment layout:</p>
+ * <pre>
+ * header : int magic, int version
+ * record : int payloadLength, int crc32c(payload), long expiresAtMillis, payload bytes
+ * </pre>
+ *
+ * <p>The payload length is written last, so a zero length marks the end of the written
+ * region. Records with a checksum mismatch (torn writes after a crash) terminate recovery.</p>
+ *
+ * <p>Appends are serialized by the owning {@link TokenJournal}; reads are lock-free and
+ * work on independent views of the mapped buffer.</p>
+ */
+final class JournalSegment {
+
+    static final String FILE_SUFFIX = ".seg";
+
+    private static final int MAGIC = 0x4E58544A; // "NXTJ"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 16;
+
+    private final long id;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Offset at which the next record will be written.
+     */
+    private volatile int writePosition;
+
+    /**
+     * Latest expiry (epoch millis) of any record in this segment.
+     */
+    private volatile long maxExpiresAt;
+
+    /**
+     * Number of records in this segment.
+     */
+    private volatile int recordCount;
+
+    private JournalSegment(long id, Path path, MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Creates and maps a new, zero-filled segment file.
+     *
+     * @param directory journal directory
+     * @param id        monotonically increasing segment id
+     * @param size      segment size in bytes
+     * @return the new segment
+     * @throws IOException if the file cannot be created or mapped
+     */
+    static JournalSegment create(Path directory, long id, int size) throws IOException {
+        Path path = directory.resolve(fileName(id));
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            JournalSegment segment = new JournalSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segment.buffer.putInt(0, MAGIC);
+            segment.buffer.putInt(4, VERSION);
+            segment.writePosition = HEADER_SIZE;
+            return segment;
+        }
+    }
+
+    /**
+     * Maps an existing segment file and replays its records.
+     *
+     * @param path     segment file
+     * @param id       segment id parsed from the file name
+     * @param consumer receives each valid record payload together with its offset
+     * @return the recovered segment
+     * @throws IOException if the file cannot be mapped or is not a journal segment
+     */
+    static JournalSegment recover(Path path, long id, ObjIntConsumer<ByteBuffer> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            JournalSegment segment = new JournalSegment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+            if (segment.buffer.capacity() < HEADER_SIZE || segment.buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a token journal segment: " + path);
+            }
+            segment.replay(consumer);
+            return segment;
+        }
+    }
+
+    /**
+     * Appends a record if it fits into the remaining space.
+     *
+     * @param payload   encoded token
+     * @param expiresAt token expiry in epoch millis
+     * @return the record offset, or {@code -1} if the segment is full
+     */
+    int tryAppend(byte[] payload, long expiresAt) {
+        int offset = writePosition;
+        if (offset + RECORD_HEADER_SIZE + payload.length > buffer.capacity()) {
+            return -1;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        buffer.put(offset + RECORD_HEADER_SIZE, payload);
+        buffer.putLong(offset + 8, expiresAt);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, payload.length);
+
+        writePosition = offset + RECORD_HEADER_SIZE + payload.length;
+        recordCount++;
+        if (expiresAt > maxExpiresAt) {
+            maxExpiresAt = expiresAt;
+        }
+        return offset;
+    }
+
+    /**
+     * Returns a read-only view of the payload of the record at {@code offset}.
+     *
+     * @param offset record offset previously returned by {@link #tryAppend(byte[], long)}
+     * @return payload view positioned at its first byte
+     */
+    ByteBuffer payload(int offset) {
+        int length = buffer.getInt(offset);
+        return buffer.slice(offset + RECORD_HEADER_SIZE, length).asReadOnlyBuffer();
+    }
+
+    /**
+     * Visits every record written so far, oldest first.
+     *
+     * @param consumer receives each record payload together with its offset
+     */
+    void forEachRecord(ObjIntConsumer<ByteBuffer> consumer) {
+        int end = writePosition;
+        int offset = HEADER_SIZE;
+        while (offset < end) {
+            int length = buffer.getInt(offset);
+            consumer.accept(buffer.slice(offset + RECORD_HEADER_SIZE, length).asReadOnlyBuffer(), offset);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+    }
+
+    /**
+     * Returns the expiry (epoch millis) of the record at {@code offset}.
+     *
+     * @param offset record offset
+     * @return expiry in epoch millis
+     */
+    long expiresAt(int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    /**
+     * Flushes dirty pages of this segment to the storage device.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Deletes the segment file. The mapping itself is released once the buffer is
+     * garbage collected, so concurrent readers holding a view remain safe.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+
+    long id() {
+        return id;
+    }
+
+    long maxExpiresAt() {
+        return maxExpiresAt;
+    }
+
+    int recordCount() {
+        return recordCount;
+    }
+
+    static String fileName(long id) {
+        return String.format("%020d%s", id, FILE_SUFFIX);
+    }
+
+    private void replay(ObjIntConsumer<ByteBuffer> consumer) {
+        int offset = HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        while (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_SIZE + length > buffer.capacity()) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(offset + RECORD_HEADER_SIZE, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            long expiresAt = buffer.getLong(offset + 8);
+            if (expiresAt > maxExpiresAt) {
+                maxExpiresAt = expiresAt;
+            }
+            recordCount++;
+            consumer.accept(payload.asReadOnlyBuffer(), offset);
+            offset += RECORD_HEADER_SIZE + length;
+        }
+        writePosition = offset;
+        // Wipe a torn tail so the next append is not mistaken for it during a later recovery
+        if (offset + RECORD_HEADER_SIZE <= buffer.capacity()) {
+            buffer.putInt(offset, 0);
+        }
+    }
+}
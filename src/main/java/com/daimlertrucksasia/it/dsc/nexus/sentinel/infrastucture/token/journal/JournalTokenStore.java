@@ -0,0 +1,94 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded {@link TokenStore} that persists tokens to a local {@link TokenJournal} instead of MongoDB.
+ * <p>
+ * Intended for edge sites where a database round-trip per issued token is too expensive.
+ * A background thread periodically deletes fully expired segments and, under
+ * {@link FsyncPolicy#INTERVAL}, forces the active segment to disk.
+ * </p>
+ */
+@Slf4j
+public class JournalTokenStore implements TokenStore, Closeable {
+
+    private final TokenJournal journal;
+    private final ScheduledExecutorService maintenance;
+
+    /**
+     * Creates the store and schedules journal maintenance.
+     *
+     * @param journal       the opened journal
+     * @param fsyncPolicy   durability policy the journal was opened with
+     * @param fsyncInterval interval between forced flushes under {@link FsyncPolicy#INTERVAL}
+     * @param purgeInterval interval between expired-segment sweeps
+     */
+    public JournalTokenStore(TokenJournal journal, FsyncPolicy fsyncPolicy, Duration fsyncInterval, Duration purgeInterval) {
+        this.journal = journal;
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-journal-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long millis = fsyncInterval.toMillis();
+            maintenance.scheduleWithFixedDelay(journal::force, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        long millis = purgeInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::purgeExpired, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Appends the token to the journal. An id is assigned when the token has none,
+     * mirroring the behaviour of the MongoDB repository.
+     *
+     * @param token the token to store
+     * @return the stored token
+     */
+    @Override
+    public Token save(Token token) {
+        if (token.getId() == null) {
+            token.setId(UUID.randomUUID().toString());
+        }
+        journal.append(token);
+        return token;
+    }
+
+    @Override
+    public Optional<Token> findByToken(String token) {
+        return journal.find(token);
+    }
+
+    /**
+     * Flushes and stops the maintenance thread.
+     */
+    @Override
+    public void close() {
+        maintenance.shutdown();
+        journal.close();
+    }
+
+    private void purgeExpired() {
+        try {
+            int purged = journal.purgeExpired(Instant.now());
+            if (purged > 0) {
+                log.debug("Purged {} expired token journal segment(s); {} token(s) remain indexed", purged, journal.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token journal purge failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.TokenRecordCodec.TokenDigest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented, memory-mapped journal of {@link Token} records.
+ *
+ * <p>Records are appended to the active {@link JournalSegment}; when it is full a new segment
+ * is rolled. An in-memory hash index maps the 128-bit SHA-256 prefix of each token string to
+ * the location of its latest record, so lookups are a single hash probe plus one mapped read.</p>
+ *
+ * <p>Expired data is never rewritten: a sealed segment whose newest expiry lies in the past is
+ * deleted as a whole by {@link #purgeExpired(Instant)}. On {@link #open} every segment in the
+ * directory is scanned in id order to rebuild the index.</p>
+ *
+ * <p>Appends are serialized by a single lock; lookups are lock-free.</p>
+ */
+@Slf4j
+public final class TokenJournal implements Closeable {
+
+    private final Path directory;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+
+    /**
+     * Token digest to location of the latest record for that token.
+     */
+    private final Map<TokenDigest, RecordLocation> index = new ConcurrentHashMap<>();
+
+    /**
+     * All live segments keyed by id, oldest first.
+     */
+    private final ConcurrentSkipListMap<Long, JournalSegment> segments = new ConcurrentSkipListMap<>();
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    private volatile JournalSegment active;
+
+    private TokenJournal(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+    }
+
+    /**
+     * Opens (or creates) a journal in the given directory, recovering any existing segments.
+     *
+     * @param directory   directory holding the segment files
+     * @param segmentSize size of each segment file in bytes
+     * @param fsyncPolicy durability policy applied on append
+     * @return the opened journal
+     * @throws IOException if the directory or a segment cannot be accessed
+     */
+    public static TokenJournal open(Path directory, int segmentSize, FsyncPolicy fsyncPolicy) throws IOException {
+        Files.createDirectories(directory);
+        TokenJournal journal = new TokenJournal(directory, segmentSize, fsyncPolicy);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Appends a token to the journal and indexes it.
+     *
+     * @param token the token to append; {@code token} and {@code expiresAt} must be set
+     * @throws UncheckedIOException if a new segment cannot be created
+     */
+    public void append(Token token) {
+        byte[] payload = TokenRecordCodec.encode(token);
+        long expiresAt = token.getExpiresAt() == null ? Long.MAX_VALUE : token.getExpiresAt().toEpochMilli();
+        if (payload.length + 64 > segmentSize) {
+            throw new IllegalArgumentException("Token record exceeds journal segment size");
+        }
+
+        appendLock.lock();
+        try {
+            JournalSegment segment = active;
+            int offset = segment.tryAppend(payload, expiresAt);
+            if (offset < 0) {
+                segment = roll();
+                offset = segment.tryAppend(payload, expiresAt);
+            }
+            if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                segment.force();
+            }
+            index.put(TokenRecordCodec.digest(token.getToken()), new RecordLocation(segment, offset));
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Looks up the latest record for a token string.
+     *
+     * @param token the token value
+     * @return the stored token, or empty if unknown or already expired
+     */
+    public Optional<Token> find(String token) {
+        RecordLocation location = index.get(TokenRecordCodec.digest(token));
+        if (location == null || location.segment().expiresAt(location.offset()) < System.currentTimeMillis()) {
+            return Optional.empty();
+        }
+        // Guard against digest-prefix collisions before decoding the full record
+        if (!token.equals(TokenRecordCodec.decodeTokenValue(location.segment().payload(location.offset())))) {
+            return Optional.empty();
+        }
+        return Optional.of(TokenRecordCodec.decode(location.segment().payload(location.offset())));
+    }
+
+    /**
+     * Deletes every sealed segment whose records have all expired and drops their index entries.
+     *
+     * @param now reference time
+     * @return number of segments deleted
+     */
+    public int purgeExpired(Instant now) {
+        long cutoff = now.toEpochMilli();
+        int purged = 0;
+        for (JournalSegment segment : segments.values()) {
+            if (segment == active || segment.maxExpiresAt() >= cutoff) {
+                continue;
+            }
+            if (drop(segment)) {
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Seals the active segment if it holds any record, so that everything appended so far
+     * becomes immutable, and returns the ids of all sealed segments.
+     *
+     * @return ids of sealed segments, oldest first
+     */
+    public List<Long> sealSegments() {
+        appendLock.lock();
+        try {
+            if (active.recordCount() > 0) {
+                roll();
+            }
+            long activeId = active.id();
+            return segments.keySet().stream()
+                    .filter(id -> id != activeId)
+                    .toList();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Decodes every record of a segment, oldest first.
+     *
+     * @param segmentId id returned by {@link #sealSegments()}
+     * @param consumer  receives each stored token
+     */
+    public void forEachToken(long segmentId, Consumer<Token> consumer) {
+        JournalSegment segment = segments.get(segmentId);
+        if (segment != null) {
+            segment.forEachRecord((payload, offset) -> consumer.accept(TokenRecordCodec.decode(payload)));
+        }
+    }
+
+    /**
+     * Deletes a sealed segment together with its index entries.
+     *
+     * @param segmentId id returned by {@link #sealSegments()}
+     * @return {@code true} if the segment was deleted
+     */
+    public boolean deleteSegment(long segmentId) {
+        JournalSegment segment = segments.get(segmentId);
+        if (segment == null || segment == active) {
+            return false;
+        }
+        return drop(segment);
+    }
+
+    /**
+     * Forces the active segment to disk; used by the {@link FsyncPolicy#INTERVAL} policy.
+     */
+    public void force() {
+        JournalSegment segment = active;
+        if (segment != null) {
+            segment.force();
+        }
+    }
+
+    /**
+     * @return number of distinct tokens currently indexed
+     */
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * @return number of records across all segments, including superseded ones
+     */
+    public long recordCount() {
+        long count = 0;
+        for (JournalSegment segment : segments.values()) {
+            count += segment.recordCount();
+        }
+        return count;
+    }
+
+    /**
+     * @return number of segment files currently on disk
+     */
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public void close() {
+        if (fsyncPolicy != FsyncPolicy.NEVER) {
+            force();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing
+                    .filter(path -> path.getFileName().toString().endsWith(JournalSegment.FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+
+        List<JournalSegment> recovered = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long id = Long.parseLong(name.substring(0, name.length() - JournalSegment.FILE_SUFFIX.length()));
+            List<PendingEntry> entries = new ArrayList<>();
+            JournalSegment segment = JournalSegment.recover(file, id, (payload, offset) ->
+                    entries.add(new PendingEntry(TokenRecordCodec.decodeTokenValue(payload), offset)));
+            for (PendingEntry entry : entries) {
+                index.put(TokenRecordCodec.digest(entry.token()), new RecordLocation(segment, entry.offset()));
+            }
+            segments.put(id, segment);
+            recovered.add(segment);
+        }
+
+        active = recovered.isEmpty() ? null : recovered.get(recovered.size() - 1);
+        if (active == null) {
+            roll();
+        }
+        log.info("Token journal recovered {} segment(s) and {} token(s) from {}", segments.size(), index.size(), directory);
+    }
+
+    private boolean drop(JournalSegment segment) {
+        index.values().removeIf(location -> location.segment() == segment);
+        segments.remove(segment.id());
+        try {
+            segment.delete();
+            return true;
+        } catch (IOException e) {
+            log.warn("Could not delete journal segment {}: {}", segment.id(), e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Seals the active segment and starts a new one. Must be called with the append lock held
+     * or during recovery.
+     */
+    private JournalSegment roll() {
+        long nextId = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        try {
+            JournalSegment previous = active;
+            if (previous != null && fsyncPolicy != FsyncPolicy.NEVER) {
+                previous.force();
+            }
+            JournalSegment segment = JournalSegment.create(directory, nextId, segmentSize);
+            segments.put(nextId, segment);
+            active = segment;
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create token journal segment " + nextId, e);
+        }
+    }
+
+    /**
+     * Location of a record inside a segment.
+     */
+    private record RecordLocation(JournalSegment segment, int offset) {
+    }
+
+    private record PendingEntry(String token, int offset) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+
+/**
+ * Binary encoding of {@link Token} records as stored in journal segments.
+ *
+ * <p>Layout (big-endian):</p>
+ * <pre>
+ * token        : int length + UTF-8 bytes
+ * id           : int length + UTF-8 bytes (-1 when null)
+ * tokenType    : byte TokenType code (-1 when null)
+ * subjectId    : int length + UTF-8 bytes (-1 when null)
+ * subjectType  : byte SubjectType code (-1 when null)
+ * issuedAt     : long epoch second + int nanos (Long.MIN_VALUE when null)
+ * expiresAt    : long epoch second + int nanos (Long.MIN_VALUE when null)
+ * </pre>
+ */
+final class TokenRecordCodec {
+
+    private static final long NULL_INSTANT = Long.MIN_VALUE;
+
+    /**
+     * Per-thread SHA-256 digests; {@link MessageDigest} instances are not thread-safe.
+     */
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private TokenRecordCodec() {
+    }
+
+    /**
+     * Serializes a token into its journal payload.
+     *
+     * @param token the token to encode
+     * @return the encoded payload
+     */
+    static byte[] encode(Token token) {
+        byte[] value = bytes(token.getToken());
+        byte[] id = bytes(token.getId());
+        byte[] subjectId = bytes(token.getSubjectId());
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                sizeOf(value) + sizeOf(id) + 1 + sizeOf(subjectId) + 1 + 12 + 12);
+        putBytes(buffer, value);
+        putBytes(buffer, id);
+        buffer.put(token.getTokenType() == null ? -1 : (byte) token.getTokenType().getCode());
+        putBytes(buffer, subjectId);
+        buffer.put(token.getSubjectType() == null ? -1 : (byte) token.getSubjectType().getCode());
+        putInstant(buffer, token.getIssuedAt());
+        putInstant(buffer, token.getExpiresAt());
+        return buffer.array();
+    }
+
+    /**
+     * Deserializes a token from a journal payload.
+     *
+     * @param buffer payload positioned at its first byte
+     * @return the decoded token
+     */
+    static Token decode(ByteBuffer buffer) {
+        String value = getString(buffer);
+        String id = getString(buffer);
+        byte tokenType = buffer.get();
+        String subjectId = getString(buffer);
+        byte subjectType = buffer.get();
+
+        return Token.builder()
+                .token(value)
+                .id(id)
+                .tokenType(tokenType < 0 ? null : TokenType.fromCode(tokenType))
+                .subjectId(subjectId)
+                .subjectType(subjectType < 0 ? null : SubjectType.fromCode(subjectType))
+                .issuedAt(getInstant(buffer))
+                .expiresAt(getInstant(buffer))
+                .build();
+    }
+
+    /**
+     * Reads only the token string of a payload, used to confirm an index hit.
+     *
+     * @param buffer payload positioned at its first byte
+     * @return the token value stored in the record
+     */
+    static String decodeTokenValue(ByteBuffer buffer) {
+        return getString(buffer);
+    }
+
+    /**
+     * Computes the index key of a token string: the first 128 bits of its SHA-256 digest.
+     *
+     * @param token the token value
+     * @return the digest used as in-memory index key
+     */
+    static TokenDigest digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        return new TokenDigest(hash.getLong(), hash.getLong());
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void putInstant(ByteBuffer buffer, Instant instant) {
+        buffer.putLong(instant == null ? NULL_INSTANT : instant.getEpochSecond());
+        buffer.putInt(instant == null ? 0 : instant.getNano());
+    }
+
+    private static Instant getInstant(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_INSTANT ? null : Instant.ofEpochSecond(seconds, nanos);
+    }
+
+    /**
+     * 128-bit token digest used as the key of the in-memory journal index.
+     *
+     * @param high most significant 64 bits
+     * @param low  least significant 64 bits
+     */
+    record TokenDigest(long high, long low) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+
+import java.util.List;
+
+/**
+ * Server-side metadata of an opaque access token; the token string itself is only a random
+ * reference to it.
+ *
+ * @param subject     username or client ID
+ * @param subjectType type of the subject
+ * @param familyId    {@code jti} of the refresh token issued with it, used for family revocation
+ * @param roles       granted roles
+ * @param scopes      granted scopes
+ * @param team        team of a client subject
+ * @param tier        service tier of a client subject
+ * @param issuedAt    issue time in epoch seconds
+ * @param expiresAt   expiry in epoch seconds
+ */
+public record OpaqueToken(
+        String subject,
+        SubjectType subjectType,
+        String familyId,
+        List<String> roles,
+        List<String> scopes,
+        String team,
+        String tier,
+        long issuedAt,
+        long expiresAt
+) {
+
+    /**
+     * @param epochSecond current time in epoch seconds
+     * @return {@code true} if the token has expired
+     */
+    public boolean isExpired(long epochSecond) {
+        return expiresAt <= epochSecond;
+    }
+}
@@ -0,0 +1,138 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import java.util.Arrays;
+
+/**
+ * Text form of opaque token ids.
+ * <p>
+ * An id is 128 bits held as two {@code long}s, random apart from the tag that
+ * {@link OpaqueTokenStore} puts into access token ids. Its token string is a four-character
+ * prefix naming the token type, followed by the 16 id bytes in unpadded Base64url: 26 characters
+ * in total. Access tokens use {@code nxo_} and session tokens {@code nxs_}. Parsing works directly on the characters and
+ * allocates nothing.
+ * </p>
+ */
+public final class OpaqueTokenCodec {
+
+    /**
+     * Prefix identifying opaque tokens.
+     */
+    public static final String PREFIX = "nxo_";
+
+    private static final int ENCODED_LENGTH = 22;
+    private static final char[] ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        Arrays.fill(VALUES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = (byte) i;
+        }
+    }
+
+    private OpaqueTokenCodec() {
+    }
+
+    /**
+     * @param token any token string
+     * @return {@code true} if it has the shape of an opaque token
+     */
+    public static boolean isOpaque(String token) {
+        return hasShape(token, PREFIX);
+    }
+
+    /**
+     * @param token  any token string
+     * @param prefix four-character type prefix
+     * @return {@code true} if the token is the prefix followed by an encoded id
+     */
+    public static boolean hasShape(String token, String prefix) {
+        if (token == null || token.length() != prefix.length() + ENCODED_LENGTH || !token.startsWith(prefix)) {
+            return false;
+        }
+        for (int i = prefix.length(); i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= 128 || VALUES[c] < 0) {
+                return false;
+            }
+        }
+        // the last character only carries two id bits; the remaining four must be zero
+        return (VALUES[token.charAt(token.length() - 1)] & 0xF) == 0;
+    }
+
+    /**
+     * Formats an id as an opaque access token string.
+     *
+     * @param high upper 64 bits
+     * @param low  lower 64 bits
+     * @return the token string
+     */
+    public static String format(long high, long low) {
+        return format(PREFIX, high, low);
+    }
+
+    /**
+     * Formats an id as a token string with the given prefix.
+     *
+     * @param prefix four-character type prefix
+     * @param high   upper 64 bits
+     * @param low    lower 64 bits
+     * @return the token string
+     */
+    public static String format(String prefix, long high, long low) {
+        char[] chars = new char[prefix.length() + ENCODED_LENGTH];
+        prefix.getChars(0, prefix.length(), chars, 0);
+        // 21 six-bit groups cover 126 bits, the last character holds the final two bits
+        for (int group = 0; group < ENCODED_LENGTH; group++) {
+            int shift = 122 - group * 6;
+            int value = shift >= 0 ? (int) bits(high, low, shift, 6) : (int) (low & 0x3) << 4;
+            chars[prefix.length() + group] = ALPHABET[value];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * @param token a token for which {@link #hasShape(String, String)} holds
+     * @return upper 64 bits of its id
+     */
+    public static long high(String token) {
+        return decode(token, true);
+    }
+
+    /**
+     * @param token a token for which {@link #hasShape(String, String)} holds
+     * @return lower 64 bits of its id
+     */
+    public static long low(String token) {
+        return decode(token, false);
+    }
+
+    private static long decode(String token, boolean upper) {
+        int start = token.length() - ENCODED_LENGTH;
+        long high = 0;
+        long low = 0;
+        for (int group = 0; group < ENCODED_LENGTH - 1; group++) {
+            high = (high << 6) | (low >>> 58);
+            low = (low << 6) | VALUES[token.charAt(start + group)];
+        }
+        high = (high << 2) | (low >>> 62);
+        low = (low << 2) | (VALUES[token.charAt(start + ENCODED_LENGTH - 1)] >>> 4);
+        return upper ? high : low;
+    }
+
+    /**
+     * Extracts {@code count} bits of the 128-bit value {@code high:low}, starting at bit {@code shift}
+     * counted from the least significant bit.
+     */
+    private static long bits(long high, long low, int shift, int count) {
+        long mask = (1L << count) - 1;
+        if (shift >= 64) {
+            return (high >>> (shift - 64)) & mask;
+        }
+        if (shift + count <= 64) {
+            return (low >>> shift) & mask;
+        }
+        return ((low >>> shift) | (high << (64 - shift))) & mask;
+    }
+}
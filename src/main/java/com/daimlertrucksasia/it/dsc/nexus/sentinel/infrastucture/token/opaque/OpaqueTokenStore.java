@@ -0,0 +1,260 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.OpaqueTokenProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import io.jsonwebtoken.io.Decoders;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonBinary;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Store of opaque access tokens: an {@link OpaqueTokenTable} in memory, written through to MongoDB.
+ * <p>
+ * Issuing a token inserts its document, keyed by the 16 id bytes as BSON binary, before the token
+ * is added to the table and handed out. A token therefore survives restarts and can be introspected
+ * on any node. Lookups are served from the table. On a miss, for example a token issued by another
+ * node, the document is loaded once and cached. MongoDB drops expired documents through a TTL
+ * index, and the table drops them every {@code token.opaque.sweep-interval}.
+ * </p>
+ *
+ * <p>
+ * Only the upper 96 id bits are random. The lower 32 bits are a tag: a truncated HMAC-SHA256 of
+ * the random bits under a key derived from {@code jwt.secret}, so every node can check it. A miss
+ * whose tag does not verify is rejected without a MongoDB query, so guessed or forged ids cost one
+ * HMAC instead of a round-trip. Guessing a live token still takes about 2<sup>128</sup> attempts
+ * per issued token, because the tag cannot be computed without the key.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OpaqueTokenStore {
+
+    private static final String HMAC = "HmacSHA256";
+    private static final String KEY_LABEL = "nexus-sentinel opaque token id tag";
+
+    private final OpaqueTokenProperties properties;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final MongoCollection<Document> collection;
+    private final OpaqueTokenTable table;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Mac> mac;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+
+    public OpaqueTokenStore(OpaqueTokenProperties properties, MongoTemplate mongoTemplate,
+                            MongoIndexInitializer mongoIndexInitializer, MeterRegistry meterRegistry,
+                            @Value("${jwt.secret}") String secret) {
+        this.properties = properties;
+        SecretKeySpec key = new SecretKeySpec(deriveKey(Decoders.BASE64.decode(secret)), HMAC);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance(HMAC);
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.collection = mongoTemplate.getCollection(properties.getCollection());
+        this.table = new OpaqueTokenTable(properties.getShards(), properties.getInitialCapacity());
+        this.hits = meterRegistry.counter("sentinel.token.opaque.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("sentinel.token.opaque.lookups", "result", "miss");
+        this.rejected = meterRegistry.counter("sentinel.token.opaque.lookups", "result", "rejected");
+        Gauge.builder("sentinel.token.opaque.size", table, OpaqueTokenTable::size).register(meterRegistry);
+    }
+
+    /**
+     * Registers the TTL index of the backing collection.
+     */
+    @PostConstruct
+    void initialize() {
+        mongoIndexInitializer.register(properties.getCollection(),
+                new Index().on("exp", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    /**
+     * @return lifetime of newly issued tokens
+     */
+    public Duration ttl() {
+        return properties.getTtl();
+    }
+
+    /**
+     * Persists a token under a new random id.
+     *
+     * @param token the token metadata
+     * @return the token string handed to the subject
+     */
+    public String issue(OpaqueToken token) {
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = tagged(high, random.nextInt());
+        } while (table.get(high, low) != null);
+
+        collection.insertOne(toDocument(high, low, token));
+        table.put(high, low, token);
+        return OpaqueTokenCodec.format(high, low);
+    }
+
+    /**
+     * Looks up an unexpired token.
+     *
+     * @param token the presented token string
+     * @return its metadata, or {@code null} if it is unknown, malformed or expired
+     */
+    public OpaqueToken find(String token) {
+        if (!OpaqueTokenCodec.isOpaque(token)) {
+            return null;
+        }
+        long high = OpaqueTokenCodec.high(token);
+        long low = OpaqueTokenCodec.low(token);
+        OpaqueToken found = table.get(high, low);
+        if (found != null) {
+            hits.increment();
+        } else if (!authentic(high, low)) {
+            rejected.increment();
+            return null;
+        } else {
+            misses.increment();
+            found = load(high, low);
+        }
+        return found == null || found.isExpired(Instant.now().getEpochSecond()) ? null : found;
+    }
+
+    /**
+     * Removes a token from memory and MongoDB.
+     *
+     * @param token the token string
+     * @return the removed token, if it existed
+     */
+    public Optional<OpaqueToken> remove(String token) {
+        if (!OpaqueTokenCodec.isOpaque(token)) {
+            return Optional.empty();
+        }
+        long high = OpaqueTokenCodec.high(token);
+        long low = OpaqueTokenCodec.low(token);
+        if (!authentic(high, low)) {
+            return Optional.empty();
+        }
+        OpaqueToken removed = table.remove(high, low);
+        Document document = collection.findOneAndDelete(Filters.eq("_id", id(high, low)));
+        if (removed == null && document != null) {
+            removed = fromDocument(document);
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    /**
+     * Drops expired tokens from the table.
+     */
+    @Scheduled(fixedDelayString = "${token.opaque.sweep-interval:1m}")
+    void sweep() {
+        int removed = table.removeExpired(Instant.now().getEpochSecond());
+        if (removed > 0) {
+            log.debug("Removed {} expired opaque tokens", removed);
+        }
+    }
+
+    private OpaqueToken load(long high, long low) {
+        Document document = collection.find(Filters.eq("_id", id(high, low))).first();
+        if (document == null) {
+            return null;
+        }
+        OpaqueToken token = fromDocument(document);
+        table.put(high, low, token);
+        return token;
+    }
+
+    /**
+     * Combines the random bits of an id with their tag.
+     *
+     * @param high   upper 64 random bits
+     * @param random next 32 random bits
+     * @return the lower 64 id bits
+     */
+    private long tagged(long high, int random) {
+        return ((long) random << 32) | (tag(high, random) & 0xFFFFFFFFL);
+    }
+
+    private boolean authentic(long high, long low) {
+        return tag(high, (int) (low >>> 32)) == (int) low;
+    }
+
+    private int tag(long high, int random) {
+        byte[] digest = mac.get().doFinal(ByteBuffer.allocate(12).putLong(high).putInt(random).array());
+        return ByteBuffer.wrap(digest).getInt();
+    }
+
+    /**
+     * Derives the tag key from the token signing secret, so that tags are never valid MACs of
+     * anything else.
+     */
+    private static byte[] deriveKey(byte[] secret) {
+        try {
+            Mac derivation = Mac.getInstance(HMAC);
+            derivation.init(new SecretKeySpec(secret, HMAC));
+            return derivation.doFinal(KEY_LABEL.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    private static BsonBinary id(long high, long low) {
+        return new BsonBinary(ByteBuffer.allocate(16).putLong(high).putLong(low).array());
+    }
+
+    private static Document toDocument(long high, long low, OpaqueToken token) {
+        return new Document("_id", id(high, low))
+                .append("sub", token.subject())
+                .append("st", token.subjectType().name())
+                .append("fid", token.familyId())
+                .append("roles", token.roles())
+                .append("scopes", token.scopes())
+                .append("team", token.team())
+                .append("tier", token.tier())
+                .append("iat", Date.from(Instant.ofEpochSecond(token.issuedAt())))
+                .append("exp", Date.from(Instant.ofEpochSecond(token.expiresAt())));
+    }
+
+    private static OpaqueToken fromDocument(Document document) {
+        return new OpaqueToken(
+                document.getString("sub"),
+                SubjectType.valueOf(document.getString("st")),
+                document.getString("fid"),
+                document.getList("roles", String.class, List.of()),
+                document.getList("scopes", String.class, List.of()),
+                document.getString("team"),
+                document.getString("tier"),
+                document.getDate("iat").toInstant().getEpochSecond(),
+                document.getDate("exp").toInstant().getEpochSecond());
+    }
+}
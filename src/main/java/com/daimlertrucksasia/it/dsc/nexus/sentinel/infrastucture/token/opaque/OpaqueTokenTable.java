@@ -0,0 +1,266 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * In-memory map from 128-bit opaque token ids to their {@link OpaqueToken}.
+ * <p>
+ * The map is split into a power-of-two number of shards, each guarded by its own
+ * {@link StampedLock}, so writers on different shards never contend. Within a shard, entries live in
+ * open-addressing arrays probed linearly: keys are two parallel {@code long[]}s and values a
+ * reference array. A lookup takes an optimistic read stamp, probes the arrays and validates the
+ * stamp. It takes the read lock only if a writer interfered, and it allocates nothing.
+ * </p>
+ *
+ * <p>
+ * Ids are random, so their bits are used directly: the low half selects the shard and the high half
+ * the home slot. Removal uses backward-shift deletion, so no tombstones build up.
+ * </p>
+ */
+public class OpaqueTokenTable {
+
+    private static final int MIN_SHARD_CAPACITY = 16;
+
+    private final Shard[] shards;
+    private final int shardMask;
+
+    /**
+     * Open-addressing arrays of one shard, replaced as a whole when the shard grows.
+     */
+    private static final class Slots {
+        final long[] highs;
+        final long[] lows;
+        final OpaqueToken[] values;
+        final int mask;
+
+        Slots(int capacity) {
+            highs = new long[capacity];
+            lows = new long[capacity];
+            values = new OpaqueToken[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private static final class Shard {
+        final StampedLock lock = new StampedLock();
+        volatile Slots slots;
+        int size;
+
+        Shard(int capacity) {
+            slots = new Slots(capacity);
+        }
+    }
+
+    /**
+     * @param shards          number of shards, rounded up to a power of two
+     * @param initialCapacity expected number of tokens, spread over all shards
+     */
+    public OpaqueTokenTable(int shards, int initialCapacity) {
+        int shardCount = powerOfTwo(Math.max(1, shards));
+        int shardCapacity = powerOfTwo(Math.max(MIN_SHARD_CAPACITY, 2 * initialCapacity / shardCount));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(shardCapacity);
+        }
+        this.shardMask = shardCount - 1;
+    }
+
+    /**
+     * @param high upper 64 bits of the id
+     * @param low  lower 64 bits of the id
+     * @return the token stored under the id, or {@code null}
+     */
+    public OpaqueToken get(long high, long low) {
+        Shard shard = shard(low);
+        long stamp = shard.lock.tryOptimisticRead();
+        OpaqueToken found = stamp == 0 ? null : find(shard.slots, high, low);
+        if (stamp == 0 || !shard.lock.validate(stamp)) {
+            stamp = shard.lock.readLock();
+            try {
+                found = find(shard.slots, high, low);
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Stores a token, replacing any previous one under the same id.
+     *
+     * @param high  upper 64 bits of the id
+     * @param low   lower 64 bits of the id
+     * @param token the token metadata
+     */
+    public void put(long high, long low, OpaqueToken token) {
+        Shard shard = shard(low);
+        long stamp = shard.lock.writeLock();
+        try {
+            Slots slots = shard.slots;
+            if ((shard.size + 1) * 2 > slots.values.length) {
+                slots = resize(slots, slots.values.length * 2);
+                shard.slots = slots;
+            }
+            if (insert(slots, high, low, token)) {
+                shard.size++;
+            }
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param high upper 64 bits of the id
+     * @param low  lower 64 bits of the id
+     * @return the removed token, or {@code null} if none was stored
+     */
+    public OpaqueToken remove(long high, long low) {
+        Shard shard = shard(low);
+        long stamp = shard.lock.writeLock();
+        try {
+            Slots slots = shard.slots;
+            int index = indexOf(slots, high, low);
+            if (index < 0) {
+                return null;
+            }
+            OpaqueToken removed = slots.values[index];
+            delete(slots, index);
+            shard.size--;
+            return removed;
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes expired tokens one shard at a time, so lookups on other shards are not held up.
+     *
+     * @param epochSecond current time in epoch seconds
+     * @return number of tokens removed
+     */
+    public int removeExpired(long epochSecond) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.writeLock();
+            try {
+                Slots slots = shard.slots;
+                Slots survivors = new Slots(slots.values.length);
+                int kept = 0;
+                for (int i = 0; i < slots.values.length; i++) {
+                    OpaqueToken token = slots.values[i];
+                    if (token != null && !token.isExpired(epochSecond)) {
+                        insert(survivors, slots.highs[i], slots.lows[i], token);
+                        kept++;
+                    }
+                }
+                removed += shard.size - kept;
+                shard.size = kept;
+                shard.slots = survivors;
+            } finally {
+                shard.lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return number of stored tokens, read without locking
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    private Shard shard(long low) {
+        return shards[(int) low & shardMask];
+    }
+
+    private static int home(long high, int mask) {
+        return (int) high & mask;
+    }
+
+    private static OpaqueToken find(Slots slots, long high, long low) {
+        int index = home(high, slots.mask);
+        for (int probes = 0; probes <= slots.mask; probes++) {
+            OpaqueToken token = slots.values[index];
+            if (token == null) {
+                return null;
+            }
+            if (slots.highs[index] == high && slots.lows[index] == low) {
+                return token;
+            }
+            index = (index + 1) & slots.mask;
+        }
+        return null;
+    }
+
+    private static int indexOf(Slots slots, long high, long low) {
+        int index = home(high, slots.mask);
+        while (slots.values[index] != null) {
+            if (slots.highs[index] == high && slots.lows[index] == low) {
+                return index;
+            }
+            index = (index + 1) & slots.mask;
+        }
+        return -1;
+    }
+
+    /**
+     * @return {@code true} if a new entry was added, {@code false} if an existing one was replaced
+     */
+    private static boolean insert(Slots slots, long high, long low, OpaqueToken token) {
+        int index = home(high, slots.mask);
+        while (slots.values[index] != null) {
+            if (slots.highs[index] == high && slots.lows[index] == low) {
+                slots.values[index] = token;
+                return false;
+            }
+            index = (index + 1) & slots.mask;
+        }
+        slots.highs[index] = high;
+        slots.lows[index] = low;
+        slots.values[index] = token;
+        return true;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the probe run back into the gap.
+     */
+    private static void delete(Slots slots, int index) {
+        int gap = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & slots.mask;
+            if (slots.values[next] == null) {
+                break;
+            }
+            int home = home(slots.highs[next], slots.mask);
+            boolean reachable = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            slots.highs[gap] = slots.highs[next];
+            slots.lows[gap] = slots.lows[next];
+            slots.values[gap] = slots.values[next];
+            gap = next;
+        }
+        slots.values[gap] = null;
+    }
+
+    private static Slots resize(Slots slots, int capacity) {
+        Slots resized = new Slots(capacity);
+        for (int i = 0; i < slots.values.length; i++) {
+            if (slots.values[i] != null) {
+                insert(resized, slots.highs[i], slots.lows[i], slots.values[i]);
+            }
+        }
+        return resized;
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
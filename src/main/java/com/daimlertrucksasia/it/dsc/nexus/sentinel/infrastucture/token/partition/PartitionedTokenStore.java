@@ -0,0 +1,304 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.MongoTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCollection;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * {@link TokenStore} that writes tokens into time-partitioned MongoDB collections.
+ *
+ * <p>Each token goes to the partition of its {@code expiresAt} (see {@link TokenPartitioning}).
+ * Once the end of a partition's bucket has passed, every token in it has expired and the
+ * collection is dropped as a whole, which is far cheaper than TTL deletes of individual
+ * documents and leaves no index churn behind.</p>
+ *
+ * <p>The token index of every partition from the current bucket up to {@code indexAhead} from
+ * now is created ahead of time by the maintenance task, so saving a token never waits for an
+ * index build. Should a token still land in a partition without its index, e.g. one expiring
+ * beyond {@code indexAhead}, the index is created in the background after the write.</p>
+ *
+ * <p>Lookups read the {@code iat} and {@code exp} claims from the (unverified) JWT payload and
+ * probe the partitions computed for the buckets between those two instants, oldest first, whether
+ * or not this node has seen them, since other nodes create partitions too. Tokens that are not JWTs
+ * fall back to probing all known partitions, newest first; the known partitions are refreshed from
+ * the database on every maintenance run and, at most every {@value #MIN_REFRESH_SECONDS} seconds,
+ * when such a lookup misses.</p>
+ */
+@Slf4j
+public class PartitionedTokenStore implements TokenStore, Closeable {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final long MIN_REFRESH_SECONDS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final TokenPartitioning partitioning;
+    private final int maxLookupPartitions;
+    private final Duration indexAhead;
+    private final ScheduledExecutorService maintenance;
+
+    /**
+     * Names of partitions known to exist, created by this node or discovered in the database.
+     */
+    private final Set<String> partitions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Partitions whose token index this node created or scheduled for creation.
+     */
+    private final Set<String> indexed = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong lastRefresh = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Creates the store and schedules partition maintenance, starting immediately in the
+     * background: discovery, creation of upcoming partition indexes and expired-partition drops.
+     *
+     * @param mongoTemplate       template used for all partition access
+     * @param partitioning        bucket scheme
+     * @param maxLookupPartitions upper bound of partitions probed by a single lookup
+     * @param dropInterval        interval between maintenance runs
+     * @param indexAhead          how far ahead of now partitions get their token index
+     */
+    public PartitionedTokenStore(MongoTemplate mongoTemplate, TokenPartitioning partitioning,
+                                 int maxLookupPartitions, Duration dropInterval, Duration indexAhead) {
+        this.mongoTemplate = mongoTemplate;
+        this.partitioning = partitioning;
+        this.maxLookupPartitions = maxLookupPartitions;
+        this.indexAhead = indexAhead;
+
+        this.maintenance = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-partition-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = dropInterval.toMillis();
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Token save(Token token) {
+        return MongoTokenStore.save(partition(ensurePartition(token.getExpiresAt())), token);
+    }
+
+    @Override
+    public void saveAll(List<Token> tokens) {
+        Map<String, List<Token>> byPartition = tokens.stream()
+                .collect(Collectors.groupingBy(token -> ensurePartition(token.getExpiresAt())));
+        byPartition.forEach((collection, batch) -> MongoTokenStore.upsertAll(
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Token.class, collection), batch));
+    }
+
+    @Override
+    public Optional<Token> findByToken(String token) {
+        Optional<Instant[]> lifetime = jwtLifetime(token);
+        if (lifetime.isPresent()) {
+            return probe(lifetimePartitions(lifetime.get()[0], lifetime.get()[1]), token);
+        }
+        Optional<Token> found = probe(knownPartitions(), token);
+        if (found.isEmpty() && refreshPartitions(false)) {
+            found = probe(knownPartitions(), token);
+        }
+        return found;
+    }
+
+    /**
+     * Drops expired partitions, then creates the indexes of the upcoming ones.
+     */
+    private void maintain() {
+        dropExpiredPartitions();
+        indexUpcomingPartitions();
+    }
+
+    /**
+     * Creates the token index of every partition from the current bucket up to
+     * {@code indexAhead} from now that this node has not indexed yet.
+     *
+     * @return number of partitions indexed
+     */
+    public int indexUpcomingPartitions() {
+        Instant now = Instant.now();
+        LocalDate last = partitioning.bucketStart(now.plus(indexAhead));
+        int created = 0;
+        for (LocalDate bucket = partitioning.bucketStart(now); !bucket.isAfter(last);
+             bucket = partitioning.nextBucket(bucket)) {
+            String collection = partitioning.collectionFor(bucket);
+            if (indexed.add(collection) && createIndex(collection)) {
+                created++;
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Refreshes the known partitions from the database, then drops every partition whose bucket
+     * has ended.
+     *
+     * @return number of partitions dropped
+     */
+    public int dropExpiredPartitions() {
+        Instant now = Instant.now();
+        int dropped = 0;
+        try {
+            refreshPartitions(true);
+            for (String collection : List.copyOf(partitions)) {
+                Optional<Instant> end = partitioning.partitionEnd(collection);
+                if (end.isPresent() && !end.get().isAfter(now)) {
+                    mongoTemplate.dropCollection(collection);
+                    partitions.remove(collection);
+                    indexed.remove(collection);
+                    dropped++;
+                    log.info("Dropped expired token partition {}", collection);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Dropping expired token partitions failed: {}", e.getMessage());
+        }
+        return dropped;
+    }
+
+    @Override
+    public void close() {
+        maintenance.shutdown();
+    }
+
+    private MongoCollection<Token> partition(String collection) {
+        return DocumentCodecs.collection(mongoTemplate, collection, Token.class);
+    }
+
+    /**
+     * Returns the partition for the given expiry. If its token index was not created ahead of
+     * time, creating it is scheduled on the maintenance thread instead of delaying the write.
+     */
+    private String ensurePartition(Instant expiresAt) {
+        String collection = partitioning.collectionFor(expiresAt == null ? Instant.now() : expiresAt);
+        if (indexed.add(collection)) {
+            partitions.add(collection);
+            maintenance.execute(() -> createIndex(collection));
+        }
+        return collection;
+    }
+
+    /**
+     * Creates the token index of a partition, which also creates the collection. Creating an index
+     * that another node already created is a no-op. On failure the partition is marked unindexed,
+     * so that the next write or maintenance run tries again.
+     */
+    private boolean createIndex(String collection) {
+        try {
+            mongoTemplate.indexOps(collection).createIndex(new Index().on("token", Sort.Direction.ASC));
+            partitions.add(collection);
+            return true;
+        } catch (RuntimeException e) {
+            indexed.remove(collection);
+            log.warn("Creating the token index of partition {} failed: {}", collection, e.getMessage());
+            return false;
+        }
+    }
+
+    private Optional<Token> probe(List<String> collections, String token) {
+        for (String collection : collections) {
+            Optional<Token> found = MongoTokenStore.findByToken(partition(collection), token);
+            if (found.isPresent()) {
+                return found;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Computes the partitions of the buckets between issuance and expiry. Probing a partition that
+     * does not exist simply finds nothing.
+     */
+    private List<String> lifetimePartitions(Instant issuedAt, Instant expiresAt) {
+        List<String> candidates = new ArrayList<>();
+        LocalDate last = partitioning.bucketStart(expiresAt);
+        for (LocalDate bucket = partitioning.bucketStart(issuedAt);
+             !bucket.isAfter(last) && candidates.size() < maxLookupPartitions;
+             bucket = partitioning.nextBucket(bucket)) {
+            candidates.add(partitioning.collectionFor(bucket));
+        }
+        return candidates;
+    }
+
+    private List<String> knownPartitions() {
+        return partitions.stream()
+                .sorted(Comparator.reverseOrder())
+                .limit(maxLookupPartitions)
+                .toList();
+    }
+
+    /**
+     * Replaces the known partitions by the partition collections present in the database. Partitions
+     * dropped elsewhere are forgotten, so their index is created again should this node write to them.
+     *
+     * @param force whether to refresh even if the last refresh was less than
+     *              {@value #MIN_REFRESH_SECONDS} seconds ago
+     * @return whether a refresh was performed
+     */
+    private boolean refreshPartitions(boolean force) {
+        long now = System.nanoTime();
+        long last = lastRefresh.get();
+        if (!force && last != Long.MIN_VALUE && now - last < TimeUnit.SECONDS.toNanos(MIN_REFRESH_SECONDS)
+                || !lastRefresh.compareAndSet(last, now)) {
+            return false;
+        }
+        Set<String> discovered = mongoTemplate.getCollectionNames().stream()
+                .filter(name -> partitioning.partitionEnd(name).isPresent())
+                .collect(Collectors.toSet());
+        partitions.retainAll(discovered);
+        partitions.addAll(discovered);
+        indexed.retainAll(discovered);
+        return true;
+    }
+
+    /**
+     * Reads {@code iat} and {@code exp} from a JWT payload without verifying it; the result is
+     * only used to route the lookup.
+     */
+    private static Optional<Instant[]> jwtLifetime(String token) {
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (second < 0) {
+            return Optional.empty();
+        }
+        try {
+            JsonNode claims = JSON.readTree(Base64.getUrlDecoder().decode(token.substring(first + 1, second)));
+            if (!claims.hasNonNull("iat") || !claims.hasNonNull("exp")) {
+                return Optional.empty();
+            }
+            return Optional.of(new Instant[]{
+                    Instant.ofEpochSecond(claims.get("iat").asLong()),
+                    Instant.ofEpochSecond(claims.get("exp").asLong())});
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
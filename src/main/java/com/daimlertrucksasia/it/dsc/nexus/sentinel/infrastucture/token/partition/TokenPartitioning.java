@@ -0,0 +1,120 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Optional;
+
+/**
+ * Maps token expiry instants to time-bucketed collection names and back.
+ *
+ * <p>A partition covers one UTC day or one ISO week (Monday to Sunday) and is named
+ * {@code <prefix>_<d|w><yyyyMMdd>}, where the date is the first day of the bucket,
+ * e.g. {@code tokens_d20250625} or {@code tokens_w20250623}. Every token in a partition
+ * expires before the end of its bucket, so the whole collection can be dropped afterwards.</p>
+ */
+public class TokenPartitioning {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    /**
+     * Width of a partition.
+     */
+    public enum Granularity {
+
+        /**
+         * One collection per UTC day.
+         */
+        DAY('d'),
+
+        /**
+         * One collection per ISO week, starting on Monday.
+         */
+        WEEK('w');
+
+        private final char code;
+
+        Granularity(char code) {
+            this.code = code;
+        }
+    }
+
+    private final String prefix;
+    private final Granularity granularity;
+
+    /**
+     * @param prefix      collection name prefix, e.g. {@code tokens}
+     * @param granularity partition width
+     */
+    public TokenPartitioning(String prefix, Granularity granularity) {
+        this.prefix = prefix + "_";
+        this.granularity = granularity;
+    }
+
+    /**
+     * Returns the collection holding tokens that expire at the given instant.
+     *
+     * @param expiresAt token expiry
+     * @return partition collection name
+     */
+    public String collectionFor(Instant expiresAt) {
+        return prefix + granularity.code + DATE.format(bucketStart(expiresAt));
+    }
+
+    /**
+     * Returns the first day of the bucket containing the given instant.
+     *
+     * @param instant any instant
+     * @return first UTC day of the bucket
+     */
+    public LocalDate bucketStart(Instant instant) {
+        LocalDate day = LocalDate.ofInstant(instant, ZoneOffset.UTC);
+        return granularity == Granularity.WEEK
+                ? day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                : day;
+    }
+
+    /**
+     * Returns the first day of the bucket following the given one.
+     *
+     * @param bucketStart first day of a bucket
+     * @return first day of the next bucket
+     */
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return granularity == Granularity.WEEK ? bucketStart.plusWeeks(1) : bucketStart.plusDays(1);
+    }
+
+    /**
+     * Returns the collection name of the bucket starting on the given day.
+     *
+     * @param bucketStart first day of a bucket
+     * @return partition collection name
+     */
+    public String collectionFor(LocalDate bucketStart) {
+        return prefix + granularity.code + DATE.format(bucketStart);
+    }
+
+    /**
+     * Parses a collection name produced by this partitioning and returns the instant at which
+     * every token in it has expired.
+     *
+     * @param collectionName any collection name
+     * @return end of the bucket, or empty if the name is not a partition of this scheme
+     */
+    public Optional<Instant> partitionEnd(String collectionName) {
+        if (!collectionName.startsWith(prefix) || collectionName.length() != prefix.length() + 9
+                || collectionName.charAt(prefix.length()) != granularity.code) {
+            return Optional.empty();
+        }
+        try {
+            LocalDate start = LocalDate.parse(collectionName.substring(prefix.length() + 1), DATE);
+            return Optional.of(nextBucket(start).atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,493 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Fixed-capacity session table held outside the Java heap.
+ * <p>
+ * Sessions live in fixed 256-byte slots of direct {@link ByteBuffer}s. The garbage collector
+ * therefore neither traces nor copies them, however many there are. A slot holds a 128-bit key,
+ * which {@link SessionStore} derives by hashing the session id, the last access and absolute expiry in epoch seconds, and up to {@link #MAX_DATA}
+ * bytes of serialized session data:
+ * </p>
+ * <pre>
+ *  0  id high     8  id low     16 last access     24 expires at
+ *  32 used flag   36 data length                   40 data ...
+ * </pre>
+ *
+ * <p>
+ * The slots are split into power-of-two shards, each an open-addressing table with linear
+ * probing and backward-shift deletion, guarded by its own {@link StampedLock}. The low id bits
+ * select the shard and the high bits the home slot. Lookups use optimistic reads. Memory is
+ * allocated once: when a shard reaches 7/8 occupancy, new sessions for it are refused rather
+ * than resizing.
+ * </p>
+ *
+ * <p>
+ * Expiry is lazy. A lookup removes a session it finds idle for {@code idleSeconds} or past its
+ * absolute expiry. It slides the last access forward only when it is older than
+ * {@code touchSeconds}, so most reads take no write lock. {@link #sweep(long)} removes sessions
+ * nobody asks for, one shard at a time. Checkpoints copy each shard under its read lock and
+ * write the raw slots to a file, readable by the owner only, that {@link #readCheckpoint(Path)}
+ * loads back in bulk.
+ * </p>
+ */
+public class OffHeapSessionTable {
+
+    /**
+     * Size of one slot in bytes.
+     */
+    public static final int SLOT_SIZE = 256;
+
+    private static final int ID_HIGH = 0;
+    private static final int ID_LOW = 8;
+    private static final int LAST_ACCESS = 16;
+    private static final int EXPIRES_AT = 24;
+    private static final int USED = 32;
+    private static final int LENGTH = 36;
+    private static final int DATA = 40;
+
+    /**
+     * Maximum size of the serialized data of one session.
+     */
+    public static final int MAX_DATA = SLOT_SIZE - DATA;
+
+    private static final int CHECKPOINT_MAGIC = 0x4E585332;
+    private static final int CHECKPOINT_HEADER = 24;
+    private static final byte[] EMPTY_SLOT = new byte[SLOT_SIZE];
+
+    private final Shard[] shards;
+    private final int shardMask;
+    private final int slotsPerShard;
+    private final int maxShardSize;
+    private final long idleSeconds;
+    private final long touchSeconds;
+
+    private static final class Shard {
+        final StampedLock lock = new StampedLock();
+        final ByteBuffer slots;
+        final int mask;
+        final byte[] scratch = new byte[SLOT_SIZE];
+        int size;
+
+        Shard(int slotCount) {
+            slots = ByteBuffer.allocateDirect(slotCount * SLOT_SIZE);
+            mask = slotCount - 1;
+        }
+    }
+
+    /**
+     * @param capacity     number of sessions to provide slots for, spread over all shards
+     * @param shards       number of shards, rounded up to a power of two
+     * @param idleSeconds  inactivity after which a session expires
+     * @param touchSeconds minimum age of the last access before a lookup refreshes it
+     */
+    public OffHeapSessionTable(int capacity, int shards, long idleSeconds, long touchSeconds) {
+        int shardCount = powerOfTwo(Math.max(1, shards));
+        this.slotsPerShard = powerOfTwo(Math.max(16, (int) (capacity * 8L / 7 / shardCount)));
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            this.shards[i] = new Shard(slotsPerShard);
+        }
+        this.shardMask = shardCount - 1;
+        this.maxShardSize = slotsPerShard - slotsPerShard / 8;
+        this.idleSeconds = idleSeconds;
+        this.touchSeconds = touchSeconds;
+    }
+
+    /**
+     * Stores a new session.
+     *
+     * @param high      upper 64 bits of the id
+     * @param low       lower 64 bits of the id
+     * @param now       current time in epoch seconds
+     * @param expiresAt absolute expiry in epoch seconds
+     * @param data      serialized session data, at most {@link #MAX_DATA} bytes
+     * @return {@code false} if the shard is full
+     */
+    public boolean insert(long high, long low, long now, long expiresAt, byte[] data) {
+        checkSize(data);
+        Shard shard = shard(low);
+        long stamp = shard.lock.writeLock();
+        try {
+            int index = find(shard, high, low);
+            if (index < 0) {
+                if (shard.size >= maxShardSize) {
+                    return false;
+                }
+                index = freeSlot(shard, high);
+                shard.size++;
+            }
+            int base = index * SLOT_SIZE;
+            ByteBuffer slots = shard.slots;
+            slots.putLong(base + ID_HIGH, high);
+            slots.putLong(base + ID_LOW, low);
+            slots.putLong(base + LAST_ACCESS, now);
+            slots.putLong(base + EXPIRES_AT, expiresAt);
+            writeData(slots, base, data);
+            slots.putInt(base + USED, 1);
+            return true;
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Reads a live session and slides its idle expiry.
+     *
+     * @param high upper 64 bits of the id
+     * @param low  lower 64 bits of the id
+     * @param now  current time in epoch seconds
+     * @return a copy of the session data, or {@code null} if the session does not exist or expired
+     */
+    public byte[] access(long high, long low, long now) {
+        Shard shard = shard(low);
+        long stamp = shard.lock.tryOptimisticRead();
+        boolean locked = false;
+        int index;
+        long lastAccess;
+        byte[] data;
+        while (true) {
+            index = find(shard, high, low);
+            lastAccess = 0;
+            data = null;
+            if (index >= 0) {
+                int base = index * SLOT_SIZE;
+                lastAccess = shard.slots.getLong(base + LAST_ACCESS);
+                data = isExpired(shard.slots, base, now) ? null : readData(shard.slots, base);
+            }
+            if (locked) {
+                shard.lock.unlockRead(stamp);
+                break;
+            }
+            if (stamp != 0 && shard.lock.validate(stamp)) {
+                break;
+            }
+            stamp = shard.lock.readLock();
+            locked = true;
+        }
+
+        if (index >= 0 && (data == null || now - lastAccess >= touchSeconds)) {
+            touchOrExpire(shard, high, low, now);
+        }
+        return data;
+    }
+
+    /**
+     * Replaces the data of a live session and slides its idle expiry.
+     *
+     * @param high upper 64 bits of the id
+     * @param low  lower 64 bits of the id
+     * @param now  current time in epoch seconds
+     * @param data serialized session data, at most {@link #MAX_DATA} bytes
+     * @return {@code false} if the session does not exist or expired
+     */
+    public boolean update(long high, long low, long now, byte[] data) {
+        checkSize(data);
+        Shard shard = shard(low);
+        long stamp = shard.lock.writeLock();
+        try {
+            int index = find(shard, high, low);
+            if (index < 0) {
+                return false;
+            }
+            int base = index * SLOT_SIZE;
+            if (isExpired(shard.slots, base, now)) {
+                delete(shard, index);
+                return false;
+            }
+            writeData(shard.slots, base, data);
+            shard.slots.putLong(base + LAST_ACCESS, now);
+            return true;
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param high upper 64 bits of the id
+     * @param low  lower 64 bits of the id
+     * @return {@code true} if a session was removed
+     */
+    public boolean remove(long high, long low) {
+        Shard shard = shard(low);
+        long stamp = shard.lock.writeLock();
+        try {
+            int index = find(shard, high, low);
+            if (index < 0) {
+                return false;
+            }
+            delete(shard, index);
+            return true;
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes expired sessions, holding only one shard's lock at a time.
+     *
+     * @param now current time in epoch seconds
+     * @return number of sessions removed
+     */
+    public int sweep(long now) {
+        int removed = 0;
+        for (Shard shard : shards) {
+            long stamp = shard.lock.writeLock();
+            try {
+                int index = 0;
+                while (index <= shard.mask) {
+                    int base = index * SLOT_SIZE;
+                    if (shard.slots.getInt(base + USED) != 0 && isExpired(shard.slots, base, now)) {
+                        // a later entry may have been shifted into this slot, so look at it again
+                        delete(shard, index);
+                        removed++;
+                    } else {
+                        index++;
+                    }
+                }
+            } finally {
+                shard.lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * @return number of stored sessions, read without locking
+     */
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    /**
+     * @return number of sessions that fit before shards start refusing new ones
+     */
+    public int capacity() {
+        return maxShardSize * shards.length;
+    }
+
+    /**
+     * Writes all slots to a file, replacing it atomically. Each shard is copied under its read lock
+     * and written to disk outside of it.
+     *
+     * @param file checkpoint file
+     * @throws IOException if writing fails
+     */
+    public void writeCheckpoint(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (FileChannel channel = openOwnerOnly(temporary, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE)) {
+            writeFully(channel, ByteBuffer.allocate(CHECKPOINT_HEADER)
+                    .putInt(CHECKPOINT_MAGIC)
+                    .putInt(SLOT_SIZE)
+                    .putInt(shards.length)
+                    .putInt(slotsPerShard)
+                    .putLong(System.currentTimeMillis())
+                    .flip());
+            ByteBuffer copy = ByteBuffer.allocateDirect(slotsPerShard * SLOT_SIZE);
+            for (Shard shard : shards) {
+                copy.clear();
+                long stamp = shard.lock.readLock();
+                try {
+                    copy.put(shard.slots.duplicate().clear());
+                } finally {
+                    shard.lock.unlockRead(stamp);
+                }
+                writeFully(channel, copy.flip());
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Loads a checkpoint written by a table of the same geometry.
+     *
+     * @param file checkpoint file
+     * @return {@code false} if the file does not exist or was written with a different geometry
+     * @throws IOException if reading fails
+     */
+    public boolean readCheckpoint(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(CHECKPOINT_HEADER);
+            readFully(channel, header);
+            header.flip();
+            if (header.getInt() != CHECKPOINT_MAGIC || header.getInt() != SLOT_SIZE
+                    || header.getInt() != shards.length || header.getInt() != slotsPerShard) {
+                return false;
+            }
+            ByteBuffer copy = ByteBuffer.allocateDirect(slotsPerShard * SLOT_SIZE);
+            for (Shard shard : shards) {
+                copy.clear();
+                readFully(channel, copy);
+                copy.flip();
+                long stamp = shard.lock.writeLock();
+                try {
+                    shard.slots.duplicate().clear().put(copy);
+                    int size = 0;
+                    for (int index = 0; index <= shard.mask; index++) {
+                        if (shard.slots.getInt(index * SLOT_SIZE + USED) != 0) {
+                            size++;
+                        }
+                    }
+                    shard.size = size;
+                } finally {
+                    shard.lock.unlockWrite(stamp);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Opens a file, creating it with permissions {@code rw-------} where the file system supports
+     * them. An existing file keeps its permissions.
+     *
+     * @param file    the file
+     * @param options open options
+     * @return the channel
+     * @throws IOException if opening fails
+     */
+    static FileChannel openOwnerOnly(Path file, OpenOption... options) throws IOException {
+        if (!file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return FileChannel.open(file, options);
+        }
+        FileAttribute<?> ownerOnly = PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+        return FileChannel.open(file, Set.of(options), ownerOnly);
+    }
+
+    private void touchOrExpire(Shard shard, long high, long low, long now) {
+        long stamp = shard.lock.writeLock();
+        try {
+            int index = find(shard, high, low);
+            if (index < 0) {
+                return;
+            }
+            int base = index * SLOT_SIZE;
+            if (isExpired(shard.slots, base, now)) {
+                delete(shard, index);
+            } else {
+                shard.slots.putLong(base + LAST_ACCESS, now);
+            }
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    private boolean isExpired(ByteBuffer slots, int base, long now) {
+        return now >= slots.getLong(base + EXPIRES_AT) || now - slots.getLong(base + LAST_ACCESS) >= idleSeconds;
+    }
+
+    private Shard shard(long low) {
+        return shards[(int) low & shardMask];
+    }
+
+    private static int find(Shard shard, long high, long low) {
+        ByteBuffer slots = shard.slots;
+        int index = (int) high & shard.mask;
+        for (int probes = 0; probes <= shard.mask; probes++) {
+            int base = index * SLOT_SIZE;
+            if (slots.getInt(base + USED) == 0) {
+                return -1;
+            }
+            if (slots.getLong(base + ID_HIGH) == high && slots.getLong(base + ID_LOW) == low) {
+                return index;
+            }
+            index = (index + 1) & shard.mask;
+        }
+        return -1;
+    }
+
+    private static int freeSlot(Shard shard, long high) {
+        int index = (int) high & shard.mask;
+        while (shard.slots.getInt(index * SLOT_SIZE + USED) != 0) {
+            index = (index + 1) & shard.mask;
+        }
+        return index;
+    }
+
+    /**
+     * Empties a slot and moves later entries of the probe run back into the gap.
+     */
+    private static void delete(Shard shard, int index) {
+        ByteBuffer slots = shard.slots;
+        int gap = index;
+        int next = index;
+        while (true) {
+            next = (next + 1) & shard.mask;
+            if (slots.getInt(next * SLOT_SIZE + USED) == 0) {
+                break;
+            }
+            int home = (int) slots.getLong(next * SLOT_SIZE + ID_HIGH) & shard.mask;
+            boolean reachable = gap <= next ? gap < home && home <= next : gap < home || home <= next;
+            if (reachable) {
+                continue;
+            }
+            slots.get(next * SLOT_SIZE, shard.scratch);
+            slots.put(gap * SLOT_SIZE, shard.scratch);
+            gap = next;
+        }
+        slots.put(gap * SLOT_SIZE, EMPTY_SLOT);
+        shard.size--;
+    }
+
+    private static byte[] readData(ByteBuffer slots, int base) {
+        // bounded, since the length may be torn under an optimistic read
+        int length = Math.min(Math.max(slots.getInt(base + LENGTH), 0), MAX_DATA);
+        byte[] data = new byte[length];
+        slots.get(base + DATA, data);
+        return data;
+    }
+
+    private static void writeData(ByteBuffer slots, int base, byte[] data) {
+        slots.putInt(base + LENGTH, data.length);
+        slots.put(base + DATA, data);
+    }
+
+    private static void checkSize(byte[] data) {
+        if (data.length > MAX_DATA) {
+            throw new IllegalArgumentException("Session data exceeds " + MAX_DATA + " bytes");
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Session checkpoint is truncated");
+            }
+        }
+    }
+
+    private static int powerOfTwo(int value) {
+        return value <= 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+}
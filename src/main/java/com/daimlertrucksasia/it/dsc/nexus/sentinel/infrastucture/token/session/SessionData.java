@@ -0,0 +1,27 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * State of a session, as stored in a slot of the {@link OffHeapSessionTable}.
+ *
+ * @param subject     username the session belongs to
+ * @param subjectType whether the subject is a user or a client
+ * @param roles       roles granted to the session
+ * @param attributes  application-defined session attributes
+ * @param issuedAt    creation time in epoch seconds
+ */
+public record SessionData(String subject, SubjectType subjectType, List<String> roles,
+                          Map<String, String> attributes, long issuedAt) {
+
+    /**
+     * @param attributes the new attributes
+     * @return a copy of this session with the given attributes
+     */
+    public SessionData withAttributes(Map<String, String> attributes) {
+        return new SessionData(subject, subjectType, roles, attributes, issuedAt);
+    }
+}
@@ -0,0 +1,146 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of {@link SessionData}, sized to fit a session slot.
+ * <p>
+ * Fields are written in a fixed order without names: a version byte, the subject type code,
+ * the issue time, the subject, the roles and the attribute pairs. Integers are unsigned varints
+ * and strings are a varint byte length followed by UTF-8, so a typical session takes a few dozen
+ * bytes instead of the hundreds its JSON form would.
+ * </p>
+ */
+public final class SessionDataCodec {
+
+    private static final byte VERSION = 1;
+
+    private SessionDataCodec() {
+    }
+
+    /**
+     * @param session the session to encode
+     * @return its binary form
+     * @throws IllegalArgumentException if it exceeds {@link OffHeapSessionTable#MAX_DATA} bytes
+     */
+    public static byte[] encode(SessionData session) {
+        Writer writer = new Writer();
+        writer.write(VERSION);
+        writer.write((byte) session.subjectType().getCode());
+        writer.writeVarint(session.issuedAt());
+        writer.writeString(session.subject());
+        List<String> roles = session.roles() == null ? List.of() : session.roles();
+        writer.writeVarint(roles.size());
+        roles.forEach(writer::writeString);
+        Map<String, String> attributes = session.attributes() == null ? Map.of() : session.attributes();
+        writer.writeVarint(attributes.size());
+        attributes.forEach((name, value) -> {
+            writer.writeString(name);
+            writer.writeString(value);
+        });
+        return writer.toByteArray();
+    }
+
+    /**
+     * @param data bytes produced by {@link #encode(SessionData)}
+     * @return the decoded session
+     * @throws IllegalArgumentException if the data is malformed
+     */
+    public static SessionData decode(byte[] data) {
+        Reader reader = new Reader(data);
+        if (reader.read() != VERSION) {
+            throw new IllegalArgumentException("Unsupported session data version");
+        }
+        SubjectType subjectType = SubjectType.fromCode(reader.read());
+        long issuedAt = reader.readVarint();
+        String subject = reader.readString();
+        int roleCount = (int) reader.readVarint();
+        List<String> roles = new ArrayList<>(roleCount);
+        for (int i = 0; i < roleCount; i++) {
+            roles.add(reader.readString());
+        }
+        int attributeCount = (int) reader.readVarint();
+        Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.put(reader.readString(), reader.readString());
+        }
+        return new SessionData(subject, subjectType, List.copyOf(roles), attributes, issuedAt);
+    }
+
+    private static final class Writer {
+        private final byte[] buffer = new byte[OffHeapSessionTable.MAX_DATA];
+        private int position;
+
+        void write(byte value) {
+            if (position == buffer.length) {
+                throw new IllegalArgumentException("Session data exceeds " + buffer.length + " bytes");
+            }
+            buffer[position++] = value;
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((byte) value);
+        }
+
+        void writeString(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length);
+            for (byte b : bytes) {
+                write(b);
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int read() {
+            if (position == data.length) {
+                throw new IllegalArgumentException("Session data is truncated");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in session data");
+        }
+
+        String readString() {
+            int length = (int) readVarint();
+            if (length > data.length - position) {
+                throw new IllegalArgumentException("Session data is truncated");
+            }
+            String value = new String(data, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file of the keys of sessions removed since the last checkpoint.
+ * <p>
+ * A checkpoint only captures the table as it was when it was written. Without this log, a session
+ * removed afterwards, for example by revocation, would come back if the node crashed before the
+ * next checkpoint. Every removal therefore appends the 16-byte slot key here and forces it to disk
+ * before returning, and {@link #replay(OffHeapSessionTable)} removes the logged keys again after a
+ * checkpoint has been read.
+ * </p>
+ *
+ * <p>
+ * A checkpoint takes a {@link #mark()} before copying the table and {@link #discard(long) discards}
+ * the entries up to it once the checkpoint is on disk. Those removals happened before the copy
+ * started and are therefore reflected in it; later ones stay in the log. Replaying a key whose
+ * session is already gone has no effect, since session keys are never reused.
+ * </p>
+ */
+class SessionRemovalLog {
+
+    private static final int ENTRY_SIZE = 16;
+
+    private final Path file;
+
+    /**
+     * @param file log file, created with permissions {@code rw-------} on first use
+     */
+    SessionRemovalLog(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Records a removal and forces it to disk.
+     *
+     * @param high upper 64 bits of the slot key
+     * @param low  lower 64 bits of the slot key
+     * @throws IOException if writing fails
+     */
+    synchronized void append(long high, long low) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = OffHeapSessionTable.openOwnerOnly(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer entry = ByteBuffer.allocate(ENTRY_SIZE).putLong(high).putLong(low).flip();
+            while (entry.hasRemaining()) {
+                channel.write(entry);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * @return position up to which the log holds removals recorded so far
+     * @throws IOException if the size of the log cannot be read
+     */
+    synchronized long mark() throws IOException {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    /**
+     * Drops the removals recorded before the given mark, keeping later ones.
+     *
+     * @param mark a position returned by {@link #mark()}
+     * @throws IOException if rewriting the log fails
+     */
+    synchronized void discard(long mark) throws IOException {
+        if (mark == 0 || !Files.exists(file)) {
+            return;
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.deleteIfExists(temporary);
+        try (FileChannel source = FileChannel.open(file, StandardOpenOption.READ);
+             FileChannel target = OffHeapSessionTable.openOwnerOnly(temporary, StandardOpenOption.CREATE_NEW,
+                     StandardOpenOption.WRITE)) {
+            long position = mark;
+            long size = source.size();
+            while (position < size) {
+                position += source.transferTo(position, size - position, target);
+            }
+            target.force(false);
+        }
+        Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Removes every logged key from the table. A torn entry at the end of the log is ignored.
+     *
+     * @param table the table, freshly read from a checkpoint
+     * @return number of sessions removed
+     * @throws IOException if reading the log fails
+     */
+    synchronized int replay(OffHeapSessionTable table) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return 0;
+        }
+        ByteBuffer entries = ByteBuffer.wrap(Files.readAllBytes(file));
+        int removed = 0;
+        while (entries.remaining() >= ENTRY_SIZE) {
+            if (table.remove(entries.getLong(), entries.getLong())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+}
@@ -0,0 +1,258 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.SessionProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Store of session tokens, kept in an {@link OffHeapSessionTable}.
+ * <p>
+ * A session token is {@code nxs_} followed by a random 128-bit id in the format of
+ * {@link OpaqueTokenCodec}. The session's subject, roles and attributes are encoded by
+ * {@link SessionDataCodec} into a slot keyed by the first 128 bits of the SHA-256 hash of the id,
+ * so neither the table nor its checkpoints hold ids that could be presented as tokens. Sessions expire after
+ * {@code token.session.idle-timeout} without use and after {@code token.session.absolute-timeout}
+ * in any case.
+ * </p>
+ *
+ * <p>
+ * Sessions are local to the node that created them and are not written to MongoDB. Deployments
+ * with several nodes need sticky routing for session tokens. To survive restarts, the table is
+ * written to {@code token.session.checkpoint-file} every {@code token.session.checkpoint-interval}
+ * and on shutdown, and read back at startup. Removals are also appended to a
+ * {@link SessionRemovalLog} next to the checkpoint and replayed on restore, so a revoked session
+ * stays revoked after a crash. Other changes made after the last checkpoint are lost if the node
+ * crashes.
+ * </p>
+ */
+@Slf4j
+@Component
+public class SessionStore {
+
+    /**
+     * Prefix identifying session tokens.
+     */
+    public static final String PREFIX = "nxs_";
+
+    private final SessionProperties properties;
+    private final OffHeapSessionTable table;
+    private final SessionRemovalLog removals;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<MessageDigest> sha256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter rejected;
+
+    public SessionStore(SessionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.table = new OffHeapSessionTable(properties.getCapacity(), properties.getShards(),
+                properties.getIdleTimeout().toSeconds(), properties.getTouchInterval().toSeconds());
+        Path file = checkpointFile();
+        this.removals = file == null ? null
+                : new SessionRemovalLog(file.resolveSibling(file.getFileName() + ".removed"));
+        this.hits = meterRegistry.counter("sentinel.token.session.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("sentinel.token.session.lookups", "result", "miss");
+        this.rejected = meterRegistry.counter("sentinel.token.session.rejected");
+        Gauge.builder("sentinel.token.session.size", table, OffHeapSessionTable::size).register(meterRegistry);
+        Gauge.builder("sentinel.token.session.capacity", table, OffHeapSessionTable::capacity).register(meterRegistry);
+    }
+
+    /**
+     * @param token any token string
+     * @return {@code true} if it has the shape of a session token
+     */
+    public static boolean isSession(String token) {
+        return OpaqueTokenCodec.hasShape(token, PREFIX);
+    }
+
+    /**
+     * Restores the last checkpoint, if any.
+     */
+    @PostConstruct
+    void restore() {
+        Path file = checkpointFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            if (table.readCheckpoint(file)) {
+                int removed = removals.replay(table);
+                int expired = table.sweep(Instant.now().getEpochSecond());
+                log.info("Restored {} sessions from {} ({} removed, {} expired)", table.size(), file, removed,
+                        expired);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Restoring sessions from {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return inactivity after which a session expires
+     */
+    public Duration idleTimeout() {
+        return properties.getIdleTimeout();
+    }
+
+    /**
+     * @return maximum lifetime of a session
+     */
+    public Duration absoluteTimeout() {
+        return properties.getAbsoluteTimeout();
+    }
+
+    /**
+     * Creates a session under a new random id.
+     *
+     * @param session the session state
+     * @return the session token, or {@code null} if the table has no room for it
+     * @throws IllegalArgumentException if the encoded session does not fit a slot
+     */
+    public String create(SessionData session) {
+        byte[] data = SessionDataCodec.encode(session);
+        long now = Instant.now().getEpochSecond();
+        long high = random.nextLong();
+        long low = random.nextLong();
+        ByteBuffer key = key(high, low);
+        if (!table.insert(key.getLong(0), key.getLong(8), now, now + properties.getAbsoluteTimeout().toSeconds(),
+                data)) {
+            rejected.increment();
+            return null;
+        }
+        return OpaqueTokenCodec.format(PREFIX, high, low);
+    }
+
+    /**
+     * Looks up a live session and extends its idle expiry.
+     *
+     * @param token the presented session token
+     * @return its state, or {@code null} if it is unknown, malformed or expired
+     */
+    public SessionData find(String token) {
+        if (!isSession(token)) {
+            return null;
+        }
+        ByteBuffer key = key(token);
+        byte[] data = table.access(key.getLong(0), key.getLong(8), Instant.now().getEpochSecond());
+        if (data == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return SessionDataCodec.decode(data);
+    }
+
+    /**
+     * Replaces the attributes of a live session.
+     *
+     * @param token      the session token
+     * @param attributes the new attributes
+     * @return {@code false} if the session is unknown or expired
+     * @throws IllegalArgumentException if the encoded session does not fit a slot
+     */
+    public boolean replaceAttributes(String token, Map<String, String> attributes) {
+        SessionData session = find(token);
+        if (session == null) {
+            return false;
+        }
+        byte[] data = SessionDataCodec.encode(session.withAttributes(attributes));
+        ByteBuffer key = key(token);
+        return table.update(key.getLong(0), key.getLong(8), Instant.now().getEpochSecond(), data);
+    }
+
+    /**
+     * Removes a session and records the removal, so it survives a crash before the next checkpoint.
+     *
+     * @param token the session token
+     * @return {@code true} if a session was removed
+     */
+    public boolean remove(String token) {
+        if (!isSession(token)) {
+            return false;
+        }
+        ByteBuffer key = key(token);
+        if (!table.remove(key.getLong(0), key.getLong(8))) {
+            return false;
+        }
+        if (removals != null) {
+            try {
+                removals.append(key.getLong(0), key.getLong(8));
+            } catch (IOException e) {
+                log.warn("Recording the removal of a session failed: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes expired sessions.
+     */
+    @Scheduled(fixedDelayString = "${token.session.sweep-interval:1m}")
+    void sweep() {
+        int removed = table.sweep(Instant.now().getEpochSecond());
+        if (removed > 0) {
+            log.debug("Removed {} expired sessions", removed);
+        }
+    }
+
+    /**
+     * Writes the table to the checkpoint file.
+     */
+    @Scheduled(initialDelayString = "${token.session.checkpoint-interval:5m}",
+            fixedDelayString = "${token.session.checkpoint-interval:5m}")
+    @PreDestroy
+    void checkpoint() {
+        Path file = checkpointFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            long mark = removals.mark();
+            table.writeCheckpoint(file);
+            removals.discard(mark);
+            log.debug("Checkpointed {} sessions to {}", table.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Checkpointing sessions to {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    private ByteBuffer key(String token) {
+        return key(OpaqueTokenCodec.high(token), OpaqueTokenCodec.low(token));
+    }
+
+    /**
+     * @return the SHA-256 hash of the id, whose first 16 bytes are the slot key
+     */
+    private ByteBuffer key(long high, long low) {
+        MessageDigest digest = sha256.get();
+        digest.update(ByteBuffer.allocate(16).putLong(high).putLong(low).array());
+        return ByteBuffer.wrap(digest.digest());
+    }
+
+    private Path checkpointFile() {
+        String file = properties.getCheckpointFile();
+        return file == null || file.isBlank() ? null : Path.of(file);
+    }
+}
@@ -0,0 +1,31 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment for the user credential lookup on the login path.
+ */
+public interface UserCredentialLookup {
+
+    /**
+     * Retrieves the fields of a {@link User} needed for authentication and token claims: id,
+     * username, password hash, roles, allowed token types, active flag, department, region and email.
+     *
+     * @param username the username to search for
+     * @return an {@link Optional} containing the partially populated user, or empty if no match is found
+     */
+    Optional<User> findCredentialsByUsername(String username);
+
+    /**
+     * Replaces the stored password hash of a user, but only if it still equals the hash that was
+     * verified, so a concurrent password change is never overwritten.
+     *
+     * @param id          the user id
+     * @param currentHash the hash that was verified
+     * @param newHash     the replacement hash
+     * @return {@code true} if the hash was replaced
+     */
+    boolean replacePasswordHash(String id, String currentHash, String newHash);
+}
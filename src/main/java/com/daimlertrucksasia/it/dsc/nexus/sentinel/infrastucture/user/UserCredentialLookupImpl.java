@@ -0,0 +1,42 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Updates;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.Optional;
+
+/**
+ * {@link UserCredentialLookup} reading a projection of {@code user_credentials} straight into
+ * {@link User} through {@link com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.UserCodec}.
+ */
+class UserCredentialLookupImpl implements UserCredentialLookup {
+
+    private static final Bson CREDENTIAL_FIELDS = Projections.include(
+            "username", "password", "roles", "allowedTokenTypes", "active", "department", "region", "email");
+
+    private final MongoCollection<User> users;
+
+    UserCredentialLookupImpl(MongoTemplate mongoTemplate) {
+        this.users = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(User.class), User.class);
+    }
+
+    @Override
+    public Optional<User> findCredentialsByUsername(String username) {
+        return Optional.ofNullable(users.find(Filters.eq("username", username))
+                .projection(CREDENTIAL_FIELDS)
+                .first());
+    }
+
+    @Override
+    public boolean replacePasswordHash(String id, String currentHash, String newHash) {
+        return users.updateOne(
+                Filters.and(DocumentCodecs.idFilter(id), Filters.eq("password", currentHash)),
+                Updates.set("password", newHash)).getModifiedCount() > 0;
+    }
+}
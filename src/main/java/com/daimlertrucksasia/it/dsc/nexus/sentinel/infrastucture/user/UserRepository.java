@@ -11,9 +11,10 @@ import java.util.Optional;
  * This interface extends {@link MongoRepository}, which provides generic implementations
  * for basic CRUD and paging operations. It also includes a custom method for retrieving
  * a user by their username.
+ * The credential lookup used on the authentication path is provided by {@link UserCredentialLookup}.
  * </p>
  */
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserCredentialLookup {
 
     /**
      * Retrieves a {@link User} entity by their username.
@@ -0,0 +1,79 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Long-lived API key issued to a client.
+ * <p>
+ * Persisted in the MongoDB collection {@code api_keys}. The id is the non-secret prefix embedded in
+ * the key, so a key is found with a single {@code _id} lookup. Only a keyed hash of the full key is
+ * stored. The grants of the client are copied at issuance, so later changes to the client do not
+ * widen an existing key. Keys with an expiry are removed by a TTL index on {@code expiresAt}.
+ * </p>
+ */
+@Document("api_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiKey {
+
+    /**
+     * Non-secret key id, also embedded in the key itself.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Client the key was issued to.
+     */
+    private String clientId;
+
+    /**
+     * Human-readable label chosen by the client.
+     */
+    private String name;
+
+    /**
+     * Base64-encoded HMAC-SHA256 of the full key under the server pepper.
+     */
+    private String hash;
+
+    /**
+     * Roles granted to the key.
+     */
+    private List<String> roles;
+
+    /**
+     * Scopes granted to the key.
+     */
+    private List<String> scopes;
+
+    /**
+     * Team of the client.
+     */
+    private String team;
+
+    /**
+     * Service tier of the client.
+     */
+    private String tier;
+
+    /**
+     * Issue time.
+     */
+    private Instant createdAt;
+
+    /**
+     * Expiry, or {@code null} for keys that do not expire.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,64 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import java.time.Instant;
+
+/**
+ * Compact, immutable audit record of one authentication or registration.
+ * <p>
+ * Events are published to the in-memory audit pipeline on the request thread and written to
+ * MongoDB in batches by a background writer.
+ * </p>
+ *
+ * @param timestamp     when the event happened
+ * @param type          what happened
+ * @param success       whether the operation succeeded
+ * @param subject       username or client ID, if known
+ * @param detail        failure reason or other short detail, may be {@code null}
+ * @param sourceAddress address the request came from, may be {@code null}
+ */
+public record AuditEvent(
+        Instant timestamp,
+        Type type,
+        boolean success,
+        String subject,
+        String detail,
+        String sourceAddress
+) {
+
+    /**
+     * Kinds of audited operations.
+     */
+    public enum Type {
+        USER_LOGIN,
+        CLIENT_AUTHENTICATION,
+        USER_TOKEN_REFRESH,
+        CLIENT_TOKEN_REFRESH,
+        USER_REGISTRATION,
+        CLIENT_REGISTRATION,
+        API_KEY_ISSUANCE,
+        API_KEY_REVOCATION,
+        SIGNING_KEY_ISSUANCE,
+        SIGNING_KEY_REVOCATION
+    }
+
+    /**
+     * @param type          what happened
+     * @param subject       username or client ID
+     * @param sourceAddress address the request came from, may be {@code null}
+     * @return a successful event stamped now
+     */
+    public static AuditEvent success(Type type, String subject, String sourceAddress) {
+        return new AuditEvent(Instant.now(), type, true, subject, null, sourceAddress);
+    }
+
+    /**
+     * @param type          what happened
+     * @param subject       username or client ID, if known
+     * @param reason        why it failed
+     * @param sourceAddress address the request came from, may be {@code null}
+     * @return a failed event stamped now
+     */
+    public static AuditEvent failure(Type type, String subject, String reason, String sourceAddress) {
+        return new AuditEvent(Instant.now(), type, false, subject, reason, sourceAddress);
+    }
+}
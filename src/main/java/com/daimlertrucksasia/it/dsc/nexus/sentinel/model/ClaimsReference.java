@@ -0,0 +1,49 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Claims held server-side for an access token that would otherwise exceed the size limit.
+ * <p>
+ * Persisted in the MongoDB collection {@code claims_references}. The token carries only the id in
+ * its {@code claims_ref} claim; resource servers resolve it through {@code GET /auth/claims/{id}}.
+ * A reference lives as long as the token it was created for and is removed by a TTL index on
+ * {@code expiresAt}.
+ * </p>
+ */
+@Document("claims_references")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ClaimsReference {
+
+    /**
+     * Random reference id, as carried in the token.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Username or client ID of the token's subject.
+     */
+    private String subject;
+
+    /**
+     * The claims moved out of the token.
+     */
+    private Map<String, Object> claims;
+
+    /**
+     * Expiry of the token the reference belongs to.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,36 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+/**
+ * Data Transfer Object (DTO) representing a request for a new API key.
+ * <p>
+ * The client authenticates with its ID and secret; the key is only issued if {@code API_KEY} is
+ * among the client's allowed token types.
+ * </p>
+ */
+@Data
+public class ApiKeyRequest {
+
+    /**
+     * The unique identifier of the client requesting the key.
+     */
+    private String clientId;
+
+    /**
+     * The secret associated with the client ID.
+     */
+    private String clientSecret;
+
+    /**
+     * Label of the key, e.g. the name of the integration using it.
+     */
+    private String name;
+
+    /**
+     * Requested validity as ISO-8601 duration, e.g. {@code P90D}; the configured default if omitted.
+     */
+    private Duration validity;
+}
@@ -0,0 +1,28 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a request to revoke an API key by its id.
+ * <p>
+ * Lets a client revoke one of its keys without presenting the key itself, e.g. after it was lost.
+ * </p>
+ */
+@Data
+public class ApiKeyRevocationRequest {
+
+    /**
+     * The unique identifier of the client owning the key.
+     */
+    private String clientId;
+
+    /**
+     * The secret associated with the client ID.
+     */
+    private String clientSecret;
+
+    /**
+     * The non-secret id of the key, i.e. the part between {@code nxk_} and the dot.
+     */
+    private String keyId;
+}
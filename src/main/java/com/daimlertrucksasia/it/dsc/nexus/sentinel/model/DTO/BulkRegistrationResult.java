@@ -0,0 +1,63 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Outcome of a single record of a bulk registration, streamed back as one NDJSON line.
+ * <p>
+ * Records are identified by their 1-based line number in the uploaded NDJSON stream.
+ * </p>
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkRegistrationResult {
+
+    /**
+     * Line number of the record in the request body.
+     */
+    private long line;
+
+    /**
+     * Outcome of the record.
+     */
+    private Status status;
+
+    /**
+     * Identifier of the registered entity (user id or client ID), set when {@code status} is {@code CREATED}.
+     */
+    private String id;
+
+    /**
+     * Reason of the failure, set for every status other than {@code CREATED}.
+     */
+    private String message;
+
+    /**
+     * Outcome of a bulk registration record.
+     */
+    public enum Status {
+
+        /**
+         * The entity was inserted.
+         */
+        CREATED,
+
+        /**
+         * The username or client ID is already registered.
+         */
+        DUPLICATE,
+
+        /**
+         * The line could not be parsed or converted into an entity.
+         */
+        INVALID,
+
+        /**
+         * The insert failed for another reason.
+         */
+        FAILED
+    }
+}
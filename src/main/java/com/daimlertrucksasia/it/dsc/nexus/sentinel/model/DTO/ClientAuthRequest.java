@@ -1,5 +1,6 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
 import lombok.Data;
 
 /**
@@ -29,4 +30,10 @@ public class ClientAuthRequest {
      * The secret or password associated with the client ID.
      */
     private String clientSecret;
+
+    /**
+     * The requested access token type, {@link TokenType#BEARER_JWT} if omitted.
+     * Other types must be listed in the client's allowed token types.
+     */
+    private TokenType tokenType;
 }
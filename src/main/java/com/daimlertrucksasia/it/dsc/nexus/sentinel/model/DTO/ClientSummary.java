@@ -0,0 +1,51 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) exposing a {@link Client} to administrators without its secret hash.
+ */
+@Data
+@Builder
+public class ClientSummary {
+
+    private String id;
+
+    private String clientId;
+
+    private List<String> scopes;
+
+    private List<String> grantTypes;
+
+    private List<TokenType> allowedTokenTypes;
+
+    private List<String> roles;
+
+    private String team;
+
+    private String serviceTier;
+
+    /**
+     * Creates the summary of a client.
+     *
+     * @param client the client, typically read with a projection that leaves out the secret
+     * @return the summary
+     */
+    public static ClientSummary from(Client client) {
+        return ClientSummary.builder()
+                .id(client.getId())
+                .clientId(client.getClientId())
+                .scopes(client.getScopes())
+                .grantTypes(client.getGrantTypes())
+                .allowedTokenTypes(client.getAllowedTokenTypes())
+                .roles(client.getRoles())
+                .team(client.getTeam())
+                .serviceTier(client.getServiceTier())
+                .build();
+    }
+}
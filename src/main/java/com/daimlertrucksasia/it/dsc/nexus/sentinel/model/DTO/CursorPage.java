@@ -0,0 +1,30 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ * <p>
+ * The next page is requested by passing {@link #nextCursor} as the {@code after} parameter; it is
+ * {@code null} on the last page.
+ * </p>
+ *
+ * @param <T> item type
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Items of this page, in ascending key order.
+     */
+    private List<T> items;
+
+    /**
+     * Key of the last item, or {@code null} if there are no further items.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing a request to replace the attributes of a session.
+ * <p>
+ * Attributes are stored with the session in a fixed-size slot; together with the subject and
+ * roles they must fit in a little over 200 bytes of UTF-8.
+ * </p>
+ */
+@Data
+public class SessionAttributesRequest {
+
+    /**
+     * The session token.
+     */
+    private String token;
+
+    /**
+     * The new attributes, replacing all existing ones.
+     */
+    private Map<String, String> attributes;
+}
@@ -0,0 +1,24 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a request for a new request-signing key.
+ * <p>
+ * The client authenticates with its ID and secret; the key is only issued if {@code HMAC} is among
+ * the client's allowed token types.
+ * </p>
+ */
+@Data
+public class SigningKeyRequest {
+
+    /**
+     * The unique identifier of the client requesting the key.
+     */
+    private String clientId;
+
+    /**
+     * The secret associated with the client ID.
+     */
+    private String clientSecret;
+}
@@ -0,0 +1,40 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object (DTO) returned when a request-signing key is issued.
+ * <p>
+ * The secret is only ever returned here. Requests are signed with HMAC-SHA256 under the decoded
+ * secret and carry the key id in the {@code X-Sentinel-Key-Id} header.
+ * </p>
+ */
+@Data
+@Builder
+@AllArgsConstructor
+public class SigningKeyResponse {
+
+    /**
+     * Id of the key, sent with every signed request.
+     */
+    private String keyId;
+
+    /**
+     * Base64-encoded 256-bit shared secret.
+     */
+    private String secret;
+
+    /**
+     * Signature algorithm, always {@code HMAC-SHA256}.
+     */
+    private String algorithm;
+
+    /**
+     * Expiry of the key.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,25 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a request to revoke a request-signing key.
+ */
+@Data
+public class SigningKeyRevocationRequest {
+
+    /**
+     * The unique identifier of the client owning the key.
+     */
+    private String clientId;
+
+    /**
+     * The secret associated with the client ID.
+     */
+    private String clientSecret;
+
+    /**
+     * The id of the key to revoke.
+     */
+    private String keyId;
+}
@@ -0,0 +1,18 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a token introspection request.
+ * <p>
+ * Carries an access token, opaque or JWT, whose state and metadata should be returned.
+ * </p>
+ */
+@Data
+public class TokenIntrospectionRequest {
+
+    /**
+     * The token to introspect.
+     */
+    private String token;
+}
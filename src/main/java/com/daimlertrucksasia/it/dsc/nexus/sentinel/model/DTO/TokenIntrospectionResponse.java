@@ -0,0 +1,91 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Data Transfer Object (DTO) representing the result of a token introspection, modelled on
+ * RFC 7662.
+ *
+ * <p>Only {@code active} is present for tokens that are unknown, expired or revoked; all other
+ * fields are omitted.</p>
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TokenIntrospectionResponse {
+
+    /**
+     * Shared response for every token that is not active.
+     */
+    public static final TokenIntrospectionResponse INACTIVE = TokenIntrospectionResponse.builder().active(false).build();
+
+    /**
+     * Whether the token is currently valid.
+     */
+    private boolean active;
+
+    /**
+     * The type of the token.
+     */
+    private TokenType tokenType;
+
+    /**
+     * The username or client ID the token was issued to.
+     */
+    private String subject;
+
+    /**
+     * Whether the subject is a user or a client.
+     */
+    private SubjectType subjectType;
+
+    /**
+     * Roles granted to the token.
+     */
+    private List<String> roles;
+
+    /**
+     * Scopes granted to the token.
+     */
+    private List<String> scopes;
+
+    /**
+     * Versioned {@code grants} claim of a JWT or CWT access token; omitted if the token was issued
+     * under another list of declared authorities.
+     */
+    private String grants;
+
+    /**
+     * Team of a client subject.
+     */
+    private String team;
+
+    /**
+     * Service tier of a client subject.
+     */
+    private String tier;
+
+    /**
+     * Issue time in epoch seconds.
+     */
+    private Long issuedAt;
+
+    /**
+     * Expiry in epoch seconds; for sessions, the absolute expiry.
+     */
+    private Long expiresAt;
+
+    /**
+     * Attributes of a session token.
+     */
+    private Map<String, String> attributes;
+}
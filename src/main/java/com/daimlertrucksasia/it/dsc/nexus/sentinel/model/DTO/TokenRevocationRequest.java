@@ -0,0 +1,19 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a token revocation request.
+ * <p>
+ * Carries an access or refresh token that should no longer be accepted. Revoking a refresh
+ * token ends its whole family, including the access tokens minted from it.
+ * </p>
+ */
+@Data
+public class TokenRevocationRequest {
+
+    /**
+     * The token to revoke.
+     */
+    private String token;
+}
@@ -1,5 +1,6 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
 import lombok.Data;
 
 /**
@@ -28,4 +29,10 @@ public class UserLoginRequest {
      * The password corresponding to the username.
      */
     private String password;
+
+    /**
+     * Requested token type: {@code BEARER_JWT} (default) or {@code SESSION}, if the user is allowed
+     * to use it.
+     */
+    private TokenType tokenType;
 }
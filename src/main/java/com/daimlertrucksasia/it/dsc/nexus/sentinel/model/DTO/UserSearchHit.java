@@ -0,0 +1,21 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Data Transfer Object (DTO) representing a user matched by an attribute search.
+ * <p>
+ * Holds exactly the fields of the search index, so the query is answered from the index alone.
+ * </p>
+ */
+@Data
+@Builder
+public class UserSearchHit {
+
+    private String username;
+
+    private String department;
+
+    private String region;
+}
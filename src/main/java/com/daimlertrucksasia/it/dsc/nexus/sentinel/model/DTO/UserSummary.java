@@ -0,0 +1,51 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) exposing a {@link User} to administrators without its password hash.
+ */
+@Data
+@Builder
+public class UserSummary {
+
+    private String id;
+
+    private String username;
+
+    private List<String> roles;
+
+    private List<TokenType> allowedTokenTypes;
+
+    private boolean active;
+
+    private String department;
+
+    private String region;
+
+    private String email;
+
+    /**
+     * Creates the summary of a user.
+     *
+     * @param user the user, typically read with a projection that leaves out the password
+     * @return the summary
+     */
+    public static UserSummary from(User user) {
+        return UserSummary.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .roles(user.getRoles())
+                .allowedTokenTypes(user.getAllowedTokenTypes())
+                .active(user.isActive())
+                .department(user.getDepartment())
+                .region(user.getRegion())
+                .email(user.getEmail())
+                .build();
+    }
+}
@@ -0,0 +1,41 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lockout of a username or source address, shared between nodes.
+ * <p>
+ * Persisted in the MongoDB collection {@code login_lockouts} and removed by a TTL index once
+ * {@code lockedUntil} has passed.
+ * </p>
+ */
+@Document("login_lockouts")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginLockout {
+
+    /**
+     * Locked key, {@code user:<username>} or {@code addr:<address>}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * End of the lockout.
+     */
+    private Instant lockedUntil;
+
+    /**
+     * Time of the last change, used for incremental synchronisation between nodes.
+     */
+    private Instant updatedAt;
+}
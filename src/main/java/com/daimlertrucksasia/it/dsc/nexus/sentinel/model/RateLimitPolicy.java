@@ -0,0 +1,61 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Token-issuance rate limits of a service tier.
+ * <p>
+ * Defaults are configured under {@code rate-limit.tiers}; documents in the MongoDB collection
+ * {@code rate_limit_policies}, keyed by tier name, override them and are picked up at runtime.
+ * </p>
+ */
+@Document("rate_limit_policies")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitPolicy {
+
+    /**
+     * Name of the service tier, matching {@link Client#getServiceTier()}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Limit applied to each client of the tier.
+     */
+    private Limit client;
+
+    /**
+     * Limit applied to each team, across all of its clients in the tier.
+     */
+    private Limit team;
+
+    /**
+     * Limit applied to the tier as a whole.
+     */
+    private Limit tier;
+
+    /**
+     * Token bucket parameters.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Bucket size, i.e. the largest burst accepted at once.
+         */
+        private int capacity;
+
+        /**
+         * Tokens added per second.
+         */
+        private double refillPerSecond;
+    }
+}
@@ -0,0 +1,53 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Compact record of a refresh-token family, persisted instead of individual tokens when
+ * issuance runs in stateless mode.
+ * <p>
+ * A family is created at login. Its id is the {@code jti} of the refresh token, and every access
+ * token minted from that refresh token carries it in the {@code fid} claim. Neither token value
+ * is stored; a refresh is only honoured while the family record exists, so deleting it ends the
+ * session. The record expires together with the refresh token.
+ * </p>
+ *
+ * <p>The record is persisted in the MongoDB collection {@code refresh_token_families} and removed
+ * by a TTL index on {@code expiresAt}.</p>
+ */
+@Document("refresh_token_families")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RefreshTokenFamily {
+
+    /**
+     * Family id, equal to the {@code jti} of the refresh token.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Identifier of the subject (user or client) the family was issued to.
+     */
+    private String subjectId;
+
+    /**
+     * Type of subject (e.g., USER or CLIENT), defined by {@link SubjectType}.
+     */
+    private SubjectType subjectType;
+
+    /**
+     * Timestamp at which the refresh token expires.
+     */
+    private Instant expiresAt;
+}
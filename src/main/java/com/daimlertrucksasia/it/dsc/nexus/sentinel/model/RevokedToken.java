@@ -0,0 +1,43 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Entry of the token deny-list, keyed by the {@code jti} of a revoked token or the id of a
+ * revoked refresh-token family.
+ * <p>
+ * Entries are persisted in the MongoDB collection {@code revoked_tokens}, so that every node
+ * can pull them into its in-memory deny-list. They are only needed until the revoked token
+ * expires and are then removed by a TTL index on {@code expiresAt}.
+ * </p>
+ */
+@Document("revoked_tokens")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    /**
+     * The revoked {@code jti} (or refresh-token family id).
+     */
+    @Id
+    private String id;
+
+    /**
+     * Timestamp of the revocation, used for incremental synchronisation between nodes.
+     */
+    private Instant revokedAt;
+
+    /**
+     * Expiry of the revoked token, after which the entry is no longer needed.
+     */
+    private Instant expiresAt;
+}
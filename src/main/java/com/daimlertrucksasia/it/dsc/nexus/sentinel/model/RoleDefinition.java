@@ -0,0 +1,35 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.List;
+
+/**
+ * A role and the roles it directly implies.
+ * <p>
+ * Persisted in the MongoDB collection {@code role_hierarchy}, keyed by role name. Implication is
+ * transitive: a role grants everything its implied roles grant. Changes are picked up at runtime
+ * every {@code security.role-hierarchy.refresh-interval}.
+ * </p>
+ */
+@Document("role_hierarchy")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoleDefinition {
+
+    /**
+     * Name of the role, as stored in {@code User.roles} and {@code Client.roles}.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Roles directly implied by this role.
+     */
+    private List<String> inherits;
+}
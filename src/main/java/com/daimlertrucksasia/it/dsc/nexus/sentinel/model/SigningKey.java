@@ -0,0 +1,75 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Shared secret a client uses to sign requests with HMAC-SHA256.
+ * <p>
+ * Persisted in the MongoDB collection {@code signing_keys}. Unlike passwords and API keys, the
+ * secret must be recoverable to verify signatures. It is therefore stored encrypted with AES-GCM
+ * under {@code security.request-signing.master-key}, with the key id as associated data. The
+ * client's grants are copied at issuance. Expired keys are removed by a TTL index on
+ * {@code expiresAt}.
+ * </p>
+ */
+@Document("signing_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SigningKey {
+
+    /**
+     * Key id sent by the client with every signed request.
+     */
+    @Id
+    private String id;
+
+    /**
+     * Client the key was issued to.
+     */
+    private String clientId;
+
+    /**
+     * Base64 of the GCM nonce followed by the encrypted secret and tag.
+     */
+    private String encryptedSecret;
+
+    /**
+     * Roles granted to signed requests.
+     */
+    private List<String> roles;
+
+    /**
+     * Scopes granted to signed requests.
+     */
+    private List<String> scopes;
+
+    /**
+     * Team of the client.
+     */
+    private String team;
+
+    /**
+     * Service tier of the client.
+     */
+    private String tier;
+
+    /**
+     * Issue time.
+     */
+    private Instant createdAt;
+
+    /**
+     * Expiry of the key.
+     */
+    private Instant expiresAt;
+}
@@ -0,0 +1,44 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects;
+
+/**
+ * Enumeration of the formats supported by streaming exports.
+ *
+ * <ul>
+ *     <li>{@link #NDJSON} - one JSON object per line ({@code application/x-ndjson}).</li>
+ *     <li>{@link #CSV} - comma-separated values with a header row ({@code text/csv}).</li>
+ * </ul>
+ */
+public enum ExportFormat {
+
+    /**
+     * Newline-delimited JSON.
+     */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /**
+     * Comma-separated values.
+     */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    /**
+     * @return the content type of the export
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @return the file extension of the export
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -10,17 +10,46 @@ package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects;
  *     <li>{@link #USER} - Represents a human user subject.</li>
  *     <li>{@link #CLIENT} - Represents a system or application client subject.</li>
  * </ul>
+ *
+ * <p>Each type has a fixed {@link #getCode() code} for binary formats, so constants can be
+ * reordered or added without changing the meaning of tokens and records already written.</p>
  */
 public enum SubjectType {
 
     /**
      * Represents a human user subject.
      */
-    USER,
+    USER(0),
 
     /**
      * Represents a system or application client subject.
      */
-    CLIENT
+    CLIENT(1);
+
+    private final int code;
+
+    SubjectType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return the fixed code identifying this type in binary token and record formats
+     */
+    public int getCode() {
+        return code;
+    }
 
+    /**
+     * @param code a code returned by {@link #getCode()}
+     * @return the type with that code
+     * @throws IllegalArgumentException if no type has that code
+     */
+    public static SubjectType fromCode(long code) {
+        for (SubjectType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown subject type code " + code);
+    }
 }
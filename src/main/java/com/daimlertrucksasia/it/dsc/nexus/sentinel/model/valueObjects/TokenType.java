@@ -14,37 +14,73 @@ package com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects;
  *     <li>{@link #API_KEY} - A static token often used for service-to-service authentication.</li>
  *     <li>{@link #SESSION} - A token used in stateful applications, usually stored in cookies to maintain user sessions.</li>
  *     <li>{@link #HMAC} - A custom token signed with HMAC using a shared secret for secure exchange.</li>
+ *     <li>{@link #CWT} - A CBOR Web Token, a compact binary alternative to JWTs for internal traffic.</li>
  * </ul>
+ *
+ * <p>Each type has a fixed {@link #getCode() code} for binary formats, so constants can be
+ * reordered or added without changing the meaning of tokens and records already written.</p>
  */
 public enum TokenType {
 
     /**
      * JSON Web Token (JWT) – a self-contained, signed token carrying user claims.
      */
-    BEARER_JWT,
+    BEARER_JWT(0),
 
     /**
      * Refresh token (if supported).
      */
-    REFRESH_TOKEN,
+    REFRESH_TOKEN(1),
 
     /**
      * Opaque token – a non-transparent token requiring server-side introspection.
      */
-    OPAQUE,
+    OPAQUE(2),
 
     /**
      * API key – a static token used for internal service authentication.
      */
-    API_KEY,
+    API_KEY(3),
 
     /**
      * Session token – used in stateful applications, stored in cookies.
      */
-    SESSION,
+    SESSION(4),
 
     /**
      * HMAC token – a custom, signed token (e.g., generated using HMAC with a shared secret).
      */
-    HMAC
+    HMAC(5),
+
+    /**
+     * CBOR Web Token (RFC 8392) – a compact, MACed binary token carrying the same claims as a JWT.
+     */
+    CWT(6);
+
+    private final int code;
+
+    TokenType(int code) {
+        this.code = code;
+    }
+
+    /**
+     * @return the fixed code identifying this type in binary token and record formats
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * @param code a code returned by {@link #getCode()}
+     * @return the type with that code
+     * @throws IllegalArgumentException if no type has that code
+     */
+    public static TokenType fromCode(long code) {
+        for (TokenType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown token type code " + code);
+    }
 }
@@ -0,0 +1,236 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal CBOR (RFC 8949) decoder, the counterpart of {@link CborWriter}.
+ * <p>
+ * Reads definite-length items from a byte array without copying more than the strings it
+ * returns. Indefinite lengths, half and single precision floats and simple values other than
+ * booleans and {@code null} are rejected, since this service never writes them. Every malformed
+ * input raises an {@link IllegalArgumentException}.
+ * </p>
+ */
+public final class CborReader {
+
+    private static final int MAX_DEPTH = 16;
+
+    private final byte[] data;
+    private int position;
+
+    /**
+     * @param data encoded CBOR
+     */
+    public CborReader(byte[] data) {
+        this(data, 0);
+    }
+
+    /**
+     * @param data   encoded CBOR
+     * @param offset position of the first item
+     */
+    public CborReader(byte[] data, int offset) {
+        this.data = data;
+        this.position = offset;
+    }
+
+    /**
+     * @return position of the next unread byte
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * @return {@code true} if all bytes have been read
+     */
+    public boolean isAtEnd() {
+        return position == data.length;
+    }
+
+    /**
+     * @return major type of the next item, without consuming it
+     */
+    public int peekMajorType() {
+        require(1);
+        return (data[position] & 0xFF) >>> 5;
+    }
+
+    /**
+     * @return {@code true} if the next item is a text string
+     */
+    public boolean isText() {
+        return peekMajorType() == CborWriter.TEXT;
+    }
+
+    /**
+     * Reads a signed integer of major type 0 or 1.
+     */
+    public long readInt() {
+        int major = peekMajorType();
+        if (major == CborWriter.UNSIGNED) {
+            return readArgument(CborWriter.UNSIGNED);
+        }
+        return -1 - readArgument(CborWriter.NEGATIVE);
+    }
+
+    /**
+     * Reads a text string.
+     */
+    public String readText() {
+        int length = readLength(CborWriter.TEXT);
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads a byte string.
+     */
+    public byte[] readBytes() {
+        int length = readLength(CborWriter.BYTES);
+        byte[] value = Arrays.copyOfRange(data, position, position + length);
+        position += length;
+        return value;
+    }
+
+    /**
+     * Reads a byte string and returns its offset in the input, without copying it.
+     *
+     * @return offset of the first content byte; the length is {@code position() - offset}
+     */
+    public int skipBytes() {
+        int length = readLength(CborWriter.BYTES);
+        int offset = position;
+        position += length;
+        return offset;
+    }
+
+    /**
+     * @return number of items of the array that starts here
+     */
+    public int readArrayHeader() {
+        return readLength(CborWriter.ARRAY);
+    }
+
+    /**
+     * @return number of pairs of the map that starts here
+     */
+    public int readMapHeader() {
+        return readLength(CborWriter.MAP);
+    }
+
+    /**
+     * @return the tag applying to the next item
+     */
+    public long readTag() {
+        return readArgument(CborWriter.TAG);
+    }
+
+    /**
+     * Reads any supported item: integers as {@link Long}, strings, byte arrays, booleans,
+     * {@code null}, doubles, lists and maps with text or integer keys. Tags are skipped.
+     */
+    public Object readValue() {
+        return readValue(0);
+    }
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("CBOR nesting too deep");
+        }
+        return switch (peekMajorType()) {
+            case CborWriter.UNSIGNED, CborWriter.NEGATIVE -> readInt();
+            case CborWriter.BYTES -> readBytes();
+            case CborWriter.TEXT -> readText();
+            case CborWriter.ARRAY -> {
+                int size = readArrayHeader();
+                List<Object> items = new ArrayList<>(Math.min(size, 64));
+                for (int i = 0; i < size; i++) {
+                    items.add(readValue(depth + 1));
+                }
+                yield items;
+            }
+            case CborWriter.MAP -> {
+                int size = readMapHeader();
+                Map<Object, Object> entries = new LinkedHashMap<>();
+                for (int i = 0; i < size; i++) {
+                    Object key = peekMajorType() == CborWriter.TEXT ? readText() : readInt();
+                    entries.put(key, readValue(depth + 1));
+                }
+                yield entries;
+            }
+            case CborWriter.TAG -> {
+                readTag();
+                yield readValue(depth + 1);
+            }
+            default -> readSimple();
+        };
+    }
+
+    private Object readSimple() {
+        int initial = data[position++] & 0x1F;
+        return switch (initial) {
+            case CborWriter.FALSE -> Boolean.FALSE;
+            case CborWriter.TRUE -> Boolean.TRUE;
+            case CborWriter.NULL -> null;
+            case CborWriter.FLOAT64 -> {
+                require(8);
+                long bits = 0;
+                for (int i = 0; i < 8; i++) {
+                    bits = bits << 8 | (data[position++] & 0xFF);
+                }
+                yield Double.longBitsToDouble(bits);
+            }
+            default -> throw new IllegalArgumentException("Unsupported CBOR simple value " + initial);
+        };
+    }
+
+    private int readLength(int majorType) {
+        long length = readArgument(majorType);
+        if (length > data.length - position) {
+            throw new IllegalArgumentException("CBOR item exceeds input");
+        }
+        return (int) length;
+    }
+
+    private long readArgument(int majorType) {
+        require(1);
+        int initial = data[position] & 0xFF;
+        if (initial >>> 5 != majorType) {
+            throw new IllegalArgumentException("Expected CBOR major type " + majorType + " but found " + (initial >>> 5));
+        }
+        position++;
+        int info = initial & 0x1F;
+        if (info < 24) {
+            return info;
+        }
+        int length = switch (info) {
+            case 24 -> 1;
+            case 25 -> 2;
+            case 26 -> 4;
+            case 27 -> 8;
+            default -> throw new IllegalArgumentException("Unsupported CBOR length encoding " + info);
+        };
+        require(length);
+        long value = 0;
+        for (int i = 0; i < length; i++) {
+            value = value << 8 | (data[position++] & 0xFF);
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("CBOR argument out of range");
+        }
+        return value;
+    }
+
+    private void require(int bytes) {
+        if (bytes > data.length - position) {
+            throw new IllegalArgumentException("CBOR input is truncated");
+        }
+    }
+}
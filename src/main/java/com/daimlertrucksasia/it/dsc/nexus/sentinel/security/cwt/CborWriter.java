@@ -0,0 +1,207 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Minimal CBOR (RFC 8949) encoder for the values that occur in token claims.
+ * <p>
+ * Only definite-length items are written, each head in its shortest form, as required for the
+ * deterministic encoding that MAC computation relies on. Supported values are integers, strings,
+ * byte arrays, booleans, {@code null}, doubles, collections, maps, enums (as their name) and dates
+ * (as epoch seconds).
+ * </p>
+ */
+public final class CborWriter {
+
+    static final int UNSIGNED = 0;
+    static final int NEGATIVE = 1;
+    static final int BYTES = 2;
+    static final int TEXT = 3;
+    static final int ARRAY = 4;
+    static final int MAP = 5;
+    static final int TAG = 6;
+    static final int SIMPLE = 7;
+
+    static final int FALSE = 20;
+    static final int TRUE = 21;
+    static final int NULL = 22;
+    static final int FLOAT64 = 27;
+
+    private byte[] buffer;
+    private int position;
+
+    public CborWriter() {
+        this(256);
+    }
+
+    /**
+     * @param initialCapacity initial buffer size in bytes
+     */
+    public CborWriter(int initialCapacity) {
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Writes a signed integer as major type 0 or 1.
+     */
+    public CborWriter writeInt(long value) {
+        return value >= 0 ? writeHead(UNSIGNED, value) : writeHead(NEGATIVE, -1 - value);
+    }
+
+    /**
+     * Writes a UTF-8 text string.
+     */
+    public CborWriter writeText(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeHead(TEXT, bytes.length);
+        return writeRaw(bytes);
+    }
+
+    /**
+     * Writes a byte string.
+     */
+    public CborWriter writeBytes(byte[] value) {
+        writeHead(BYTES, value.length);
+        return writeRaw(value);
+    }
+
+    /**
+     * Writes the head of a byte string of {@code length} bytes, whose content follows.
+     */
+    public CborWriter startBytes(int length) {
+        return writeHead(BYTES, length);
+    }
+
+    /**
+     * Starts an array of {@code size} items.
+     */
+    public CborWriter startArray(int size) {
+        return writeHead(ARRAY, size);
+    }
+
+    /**
+     * Starts a map of {@code size} key/value pairs.
+     */
+    public CborWriter startMap(int size) {
+        return writeHead(MAP, size);
+    }
+
+    /**
+     * Writes a tag applying to the next item.
+     */
+    public CborWriter writeTag(long tag) {
+        return writeHead(TAG, tag);
+    }
+
+    /**
+     * Writes a claim value of any supported type.
+     *
+     * @throws IllegalArgumentException if the value's type is not supported
+     */
+    public CborWriter writeValue(Object value) {
+        if (value == null) {
+            return writeByte(SIMPLE << 5 | NULL);
+        }
+        if (value instanceof String text) {
+            return writeText(text);
+        }
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            return writeInt(((Number) value).longValue());
+        }
+        if (value instanceof Number number) {
+            writeByte(SIMPLE << 5 | FLOAT64);
+            long bits = Double.doubleToLongBits(number.doubleValue());
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                writeByte((int) (bits >>> shift));
+            }
+            return this;
+        }
+        if (value instanceof Boolean bool) {
+            return writeByte(SIMPLE << 5 | (bool ? TRUE : FALSE));
+        }
+        if (value instanceof Enum<?> constant) {
+            return writeText(constant.name());
+        }
+        if (value instanceof Date date) {
+            return writeInt(date.getTime() / 1000);
+        }
+        if (value instanceof byte[] bytes) {
+            return writeBytes(bytes);
+        }
+        if (value instanceof Collection<?> items) {
+            startArray(items.size());
+            items.forEach(this::writeValue);
+            return this;
+        }
+        if (value instanceof Map<?, ?> entries) {
+            startMap(entries.size());
+            entries.forEach((key, item) -> {
+                writeText(String.valueOf(key));
+                writeValue(item);
+            });
+            return this;
+        }
+        throw new IllegalArgumentException("Unsupported CBOR value: " + value.getClass().getName());
+    }
+
+    /**
+     * Appends already encoded CBOR.
+     */
+    public CborWriter writeRaw(byte[] encoded) {
+        ensureCapacity(encoded.length);
+        System.arraycopy(encoded, 0, buffer, position, encoded.length);
+        position += encoded.length;
+        return this;
+    }
+
+    /**
+     * @return the bytes written so far
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private CborWriter writeHead(int majorType, long argument) {
+        int major = majorType << 5;
+        if (argument < 24) {
+            return writeByte(major | (int) argument);
+        }
+        if (argument < 0x100) {
+            writeByte(major | 24);
+            return writeByte((int) argument);
+        }
+        if (argument < 0x10000) {
+            writeByte(major | 25);
+            return writeBigEndian(argument, 2);
+        }
+        if (argument < 0x100000000L) {
+            writeByte(major | 26);
+            return writeBigEndian(argument, 4);
+        }
+        writeByte(major | 27);
+        return writeBigEndian(argument, 8);
+    }
+
+    private CborWriter writeBigEndian(long value, int length) {
+        for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+            writeByte((int) (value >>> shift));
+        }
+        return this;
+    }
+
+    private CborWriter writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+        return this;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt;
+
+import java.util.Map;
+
+/**
+ * Integer keys of the claims in CBOR Web Tokens.
+ * <p>
+ * The registered claims use their RFC 8392 keys. The Sentinel claims use negative keys from
+ * {@code -1} to {@code -24}, which CBOR encodes in a single byte. Claims missing from the
+ * dictionary are written with their name as a text key. Keys are part of the token format:
+ * entries may be added, but never renumbered or reused.
+ * </p>
+ */
+public final class CwtClaimKeys {
+
+    public static final int ISSUER = 1;
+    public static final int SUBJECT = 2;
+    public static final int EXPIRATION = 4;
+    public static final int ISSUED_AT = 6;
+    public static final int TOKEN_ID = 7;
+
+    /**
+     * {@code type}; the value is the {@code TokenType} code.
+     */
+    public static final int TYPE = -1;
+
+    /**
+     * {@code subject_type}; the value is the {@code SubjectType} code.
+     */
+    public static final int SUBJECT_TYPE = -2;
+
+    /**
+     * {@code fid}; the value is the 16 bytes of the family UUID.
+     */
+    public static final int FAMILY_ID = -8;
+
+    /**
+     * Claims whose values are encoded as they are.
+     */
+    private static final Map<String, Integer> KEYS = Map.of(
+            "roles", -3,
+            "scopes", -4,
+            "grantTypes", -5,
+            "team", -6,
+            "tier", -7,
+            "department", -9,
+            "region", -10,
+            "email", -11,
+            "claims_ref", -12,
+            "grants", -13);
+
+    private static final String[] NAMES = new String[25];
+
+    static {
+        KEYS.forEach((name, key) -> NAMES[-key] = name);
+    }
+
+    private CwtClaimKeys() {
+    }
+
+    /**
+     * @param name claim name, other than those with a dedicated constant
+     * @return its dictionary key, or {@code null} if it has none
+     */
+    public static Integer keyOf(String name) {
+        return KEYS.get(name);
+    }
+
+    /**
+     * @param key a negative dictionary key
+     * @return the claim name, or {@code null} if the key is not assigned
+     */
+    public static String nameOf(long key) {
+        return key < 0 && key >= -24 ? NAMES[(int) -key] : null;
+    }
+}
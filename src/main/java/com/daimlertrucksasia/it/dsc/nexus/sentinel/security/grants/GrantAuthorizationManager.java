@@ -0,0 +1,64 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.function.Supplier;
+
+/**
+ * Authorization rule of a route, evaluated with bitwise operations on {@link GrantSet}s.
+ * <p>
+ * The principal's grants are taken from the authentication details when an authentication filter
+ * stored a {@link GrantSet} there, e.g. one decoded from the {@code grants} token claim or built
+ * once per signed request. Otherwise they are looked up from the granted authorities, with roles
+ * expanded by the {@link RoleHierarchyService}.
+ * </p>
+ */
+public class GrantAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final RoleHierarchyService roleHierarchyService;
+    private final GrantSet anyOf;
+    private final GrantSet allOf;
+
+    /**
+     * @param roleHierarchyService service resolving the grants of authentications without precomputed grants
+     * @param anyOf                grants of which at least one is required; empty for no such requirement
+     * @param allOf                grants that are all required
+     */
+    public GrantAuthorizationManager(RoleHierarchyService roleHierarchyService, GrantSet anyOf, GrantSet allOf) {
+        this.roleHierarchyService = roleHierarchyService;
+        this.anyOf = anyOf;
+        this.allOf = allOf;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication.get());
+    }
+
+    /**
+     * @deprecated use {@link #authorize(Supplier, RequestAuthorizationContext)}
+     */
+    @Deprecated
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        return decide(authentication.get());
+    }
+
+    private AuthorizationDecision decide(Authentication current) {
+        if (current == null || !current.isAuthenticated() || current instanceof AnonymousAuthenticationToken) {
+            return DENIED;
+        }
+        GrantSet grants = current.getDetails() instanceof GrantSet precomputed
+                ? precomputed
+                : roleHierarchyService.grantsOf(current.getAuthorities());
+        return (anyOf.isEmpty() || grants.intersects(anyOf)) && grants.containsAll(allOf) ? GRANTED : DENIED;
+    }
+}
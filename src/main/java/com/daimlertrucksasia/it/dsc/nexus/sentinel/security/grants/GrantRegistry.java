@@ -0,0 +1,214 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.GrantProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry interning role and scope strings to small integer ids, so that grants can be held and
+ * compared as {@link GrantSet}s.
+ * <p>
+ * Authorities listed in {@code security.grants.authorities} get their position in the list as id;
+ * these ids are the same on every node and are the only ones written to the {@code grants} token
+ * claim. The claim is prefixed with a version derived from the declared list, so that a claim
+ * encoded under a different list, e.g. by a node with another configuration, is rejected instead
+ * of being read with shifted ids. Any other authority is interned on first sight with a node-local id above the declared
+ * range, up to {@code security.grants.max-interned} ids in total. Scopes are interned with the
+ * {@code SCOPE_} prefix, matching the authorities of signed requests.
+ * </p>
+ *
+ * <p>Metrics: {@code sentinel.grants.interned} - number of interned authorities.</p>
+ */
+@Slf4j
+@Component
+public class GrantRegistry {
+
+    /**
+     * Access token claim carrying the encoded {@link GrantSet} of the token's roles and scopes, as
+     * {@code <version>.<grants>}.
+     */
+    public static final String CLAIM = "grants";
+
+    /**
+     * Prefix distinguishing scopes from roles.
+     */
+    public static final String SCOPE_PREFIX = "SCOPE_";
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final int declared;
+    private final int maxInterned;
+    private final String claimVersion;
+
+    public GrantRegistry(GrantProperties properties, MeterRegistry meterRegistry) {
+        List<String> declaredAuthorities = new ArrayList<>();
+        for (String authority : properties.getAuthorities()) {
+            if (ids.putIfAbsent(authority, next.get()) == null) {
+                next.incrementAndGet();
+                declaredAuthorities.add(authority);
+            } else {
+                log.warn("Authority {} is declared more than once; later entries are ignored", authority);
+            }
+        }
+        this.declared = next.get();
+        this.maxInterned = Math.max(properties.getMaxInterned(), declared);
+        this.claimVersion = claimVersion(declaredAuthorities);
+        Gauge.builder("sentinel.grants.interned", ids, Map::size)
+                .description("Interned role and scope strings")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the id of an authority, interning it if necessary.
+     *
+     * @param authority a role, or a scope with {@link #SCOPE_PREFIX}
+     * @return the id, or {@code -1} if the registry is full
+     */
+    public int idOf(String authority) {
+        Integer id = ids.get(authority);
+        if (id != null) {
+            return id;
+        }
+        id = ids.computeIfAbsent(authority, name -> {
+            int assigned = next.getAndIncrement();
+            if (assigned < maxInterned) {
+                return assigned;
+            }
+            next.decrementAndGet();
+            return null;
+        });
+        if (id == null) {
+            log.warn("Grant registry is full; authority {} cannot be interned", authority);
+            return -1;
+        }
+        return id;
+    }
+
+    /**
+     * @param roles  roles, or {@code null}
+     * @param scopes scopes without prefix, or {@code null}
+     * @return the grants of the roles and scopes
+     */
+    public GrantSet grantsOf(Collection<String> roles, Collection<String> scopes) {
+        int size = (roles == null ? 0 : roles.size()) + (scopes == null ? 0 : scopes.size());
+        int[] grantIds = new int[size];
+        int i = 0;
+        if (roles != null) {
+            for (String role : roles) {
+                grantIds[i++] = idOf(role);
+            }
+        }
+        if (scopes != null) {
+            for (String scope : scopes) {
+                grantIds[i++] = idOf(SCOPE_PREFIX + scope);
+            }
+        }
+        return GrantSet.of(grantIds);
+    }
+
+    /**
+     * @param authorities Spring Security authorities, scopes carrying {@link #SCOPE_PREFIX}
+     * @return the grants of the authorities
+     */
+    public GrantSet grantsOf(Collection<? extends GrantedAuthority> authorities) {
+        int[] grantIds = new int[authorities.size()];
+        int i = 0;
+        for (GrantedAuthority authority : authorities) {
+            grantIds[i++] = authority.getAuthority() == null ? -1 : idOf(authority.getAuthority());
+        }
+        return GrantSet.of(grantIds);
+    }
+
+    /**
+     * Interns the authorities of a route requirement.
+     *
+     * @param authorities roles and prefixed scopes
+     * @return the grants of the authorities
+     * @throws IllegalStateException if an authority cannot be interned, since the requirement
+     *                               could then never be met
+     */
+    public GrantSet require(Collection<String> authorities) {
+        int[] grantIds = new int[authorities.size()];
+        int i = 0;
+        for (String authority : authorities) {
+            grantIds[i] = idOf(authority);
+            if (grantIds[i++] < 0) {
+                throw new IllegalStateException("Grant registry is full; cannot intern " + authority);
+            }
+        }
+        return GrantSet.of(grantIds);
+    }
+
+    /**
+     * @return version of the {@link #CLAIM} claim: the first 48 bits of the SHA-256 of the
+     * declared authorities, in id order, as 8 base64url characters
+     */
+    public String claimVersion() {
+        return claimVersion;
+    }
+
+    /**
+     * Encodes roles and scopes for the {@link #CLAIM} claim.
+     *
+     * @param roles  roles, or {@code null}
+     * @param scopes scopes without prefix, or {@code null}
+     * @return the versioned grants, or {@code null} if any of them has no declared id
+     */
+    public String encodeClaim(Collection<String> roles, Collection<String> scopes) {
+        if (!allDeclared(roles, "") || !allDeclared(scopes, SCOPE_PREFIX)) {
+            return null;
+        }
+        return claimVersion + '.' + grantsOf(roles, scopes).encode();
+    }
+
+    /**
+     * @param claim a {@link #CLAIM} claim value
+     * @return the grants it encodes, or {@code null} if it is unversioned or was encoded under
+     * another list of declared authorities
+     * @throws IllegalArgumentException if the grants are malformed
+     */
+    public GrantSet decodeClaim(String claim) {
+        int separator = claim.indexOf('.');
+        if (separator != claimVersion.length() || !claim.startsWith(claimVersion)) {
+            return null;
+        }
+        return GrantSet.decode(claim.substring(separator + 1));
+    }
+
+    private static String claimVersion(List<String> authorities) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(String.join("\n", authorities).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 6));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private boolean allDeclared(Collection<String> names, String prefix) {
+        if (names != null) {
+            for (String name : names) {
+                Integer id = ids.get(prefix + name);
+                if (id == null || id >= declared) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
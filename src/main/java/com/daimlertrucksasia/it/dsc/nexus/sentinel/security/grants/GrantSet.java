@@ -0,0 +1,168 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Immutable set of authority ids interned by the {@link GrantRegistry}.
+ * <p>
+ * The ids are bits of a {@code long[]}, so membership, subset and intersection tests are a few
+ * word-wise {@code AND}s without string comparisons or allocation. Trailing zero words are never
+ * stored, which keeps {@link #equals} and {@link #encode} independent of how a set was built.
+ * </p>
+ */
+public final class GrantSet {
+
+    /**
+     * The set without any grants.
+     */
+    public static final GrantSet EMPTY = new GrantSet(new long[0]);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final long[] words;
+
+    private GrantSet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * @param ids authority ids; negative ids are ignored
+     * @return the set of the given ids
+     */
+    public static GrantSet of(int... ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        if (max < 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(max >>> 6) + 1];
+        for (int id : ids) {
+            if (id >= 0) {
+                words[id >>> 6] |= 1L << id;
+            }
+        }
+        return new GrantSet(words);
+    }
+
+    /**
+     * @param id an authority id
+     * @return whether the id is in this set
+     */
+    public boolean contains(int id) {
+        int word = id >>> 6;
+        return id >= 0 && word < words.length && (words[word] & (1L << id)) != 0;
+    }
+
+    /**
+     * @param other the required grants
+     * @return whether every grant of {@code other} is in this set
+     */
+    public boolean containsAll(GrantSet other) {
+        if (other.words.length > words.length) {
+            return false;
+        }
+        for (int i = 0; i < other.words.length; i++) {
+            if ((words[i] & other.words[i]) != other.words[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param other the alternative grants
+     * @return whether this set shares at least one grant with {@code other}
+     */
+    public boolean intersects(GrantSet other) {
+        int length = Math.min(words.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param other grants to add
+     * @return the union of both sets; one of them if it contains the other
+     */
+    public GrantSet union(GrantSet other) {
+        if (containsAll(other)) {
+            return this;
+        }
+        if (other.containsAll(this)) {
+            return other;
+        }
+        long[] union = Arrays.copyOf(words, Math.max(words.length, other.words.length));
+        for (int i = 0; i < other.words.length; i++) {
+            union[i] |= other.words[i];
+        }
+        return new GrantSet(union);
+    }
+
+    /**
+     * @return whether the set has no grants
+     */
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * Encodes the set as an unpadded base64url string of its little-endian bytes, trimmed of
+     * trailing zero bytes.
+     *
+     * @return the encoded set
+     */
+    public String encode() {
+        byte[] bytes = new byte[words.length * Long.BYTES];
+        int length = 0;
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (words[i >>> 3] >>> ((i & 7) << 3));
+            if (bytes[i] != 0) {
+                length = i + 1;
+            }
+        }
+        return ENCODER.encodeToString(Arrays.copyOf(bytes, length));
+    }
+
+    /**
+     * @param encoded a value produced by {@link #encode()}
+     * @return the decoded set
+     * @throws IllegalArgumentException if the value is not base64url
+     */
+    public static GrantSet decode(String encoded) {
+        byte[] bytes = DECODER.decode(encoded);
+        int length = bytes.length;
+        while (length > 0 && bytes[length - 1] == 0) {
+            length--;
+        }
+        if (length == 0) {
+            return EMPTY;
+        }
+        long[] words = new long[(length + Long.BYTES - 1) / Long.BYTES];
+        for (int i = 0; i < length; i++) {
+            words[i >>> 3] |= (bytes[i] & 0xFFL) << ((i & 7) << 3);
+        }
+        return new GrantSet(words);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof GrantSet set && Arrays.equals(words, set.words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    @Override
+    public String toString() {
+        return "GrantSet" + Arrays.toString(words);
+    }
+}
@@ -0,0 +1,255 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RoleHierarchyProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.role.RoleDefinitionRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RoleDefinition;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service expanding roles by the hierarchy stored in {@code role_hierarchy}.
+ * <p>
+ * The transitive closure of every defined role is precomputed into an immutable map, together
+ * with its {@link GrantSet}, so expanding a role is a single lookup and never walks the graph or
+ * queries MongoDB. Roles without a definition expand to themselves.
+ * </p>
+ *
+ * <p>
+ * The definitions are reloaded every {@code security.role-hierarchy.refresh-interval}. Only the
+ * closures of changed roles and of the roles implying them are recomputed; closures of unaffected
+ * roles are reused, both as results and as shortcuts while recomputing. Cycles are tolerated and
+ * make the roles on them equivalent.
+ * </p>
+ *
+ * <p>Metrics:</p>
+ * <ul>
+ *     <li>{@code sentinel.roles.hierarchy.roles} - roles with a precomputed closure</li>
+ *     <li>{@code sentinel.roles.hierarchy.recompute} - time spent recomputing closures</li>
+ * </ul>
+ */
+@Slf4j
+@Service
+public class RoleHierarchyService {
+
+    private final RoleDefinitionRepository roleDefinitionRepository;
+    private final GrantRegistry grantRegistry;
+    private final RoleHierarchyProperties properties;
+    private final Timer recomputeTimer;
+
+    /**
+     * Directly implied roles by role, as last loaded; only accessed by {@link #refresh()}.
+     */
+    private Map<String, List<String>> definitions = Map.of();
+
+    private volatile Map<String, Expansion> closures = Map.of();
+
+    /**
+     * Transitive closure of a role, the role itself first.
+     */
+    private record Expansion(List<String> roles, GrantSet grants) {
+    }
+
+    public RoleHierarchyService(RoleDefinitionRepository roleDefinitionRepository, GrantRegistry grantRegistry,
+                                RoleHierarchyProperties properties, MeterRegistry meterRegistry) {
+        this.roleDefinitionRepository = roleDefinitionRepository;
+        this.grantRegistry = grantRegistry;
+        this.properties = properties;
+        this.recomputeTimer = Timer.builder("sentinel.roles.hierarchy.recompute")
+                .description("Time spent recomputing role closures")
+                .register(meterRegistry);
+        Gauge.builder("sentinel.roles.hierarchy.roles", this, service -> service.closures.size())
+                .description("Roles with a precomputed closure")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Expands roles by everything they imply.
+     *
+     * @param roles assigned roles, or {@code null}
+     * @return the assigned and implied roles without duplicates, or {@code null}
+     */
+    public List<String> expand(Collection<String> roles) {
+        if (roles == null) {
+            return null;
+        }
+        Map<String, Expansion> current = closures;
+        if (roles.size() == 1) {
+            Expansion expansion = current.get(roles.iterator().next());
+            return expansion == null ? List.copyOf(roles) : expansion.roles();
+        }
+        Set<String> expanded = new LinkedHashSet<>();
+        for (String role : roles) {
+            Expansion expansion = current.get(role);
+            if (expansion == null) {
+                expanded.add(role);
+            } else {
+                expanded.addAll(expansion.roles());
+            }
+        }
+        return List.copyOf(expanded);
+    }
+
+    /**
+     * Roles to place into an access token: expanded if {@code security.role-hierarchy.expand-token-roles}
+     * is enabled, as assigned otherwise.
+     *
+     * @param roles assigned roles, or {@code null}
+     * @return the roles of the token
+     */
+    public List<String> tokenRoles(List<String> roles) {
+        return properties.isExpandTokenRoles() ? expand(roles) : roles;
+    }
+
+    /**
+     * @param roles  assigned roles, or {@code null}
+     * @param scopes scopes without prefix, or {@code null}
+     * @return the grants of the expanded roles and the scopes
+     */
+    public GrantSet grantsOf(Collection<String> roles, Collection<String> scopes) {
+        GrantSet grants = grantRegistry.grantsOf(null, scopes);
+        if (roles != null) {
+            Map<String, Expansion> current = closures;
+            for (String role : roles) {
+                grants = grants.union(grantsOfRole(current, role));
+            }
+        }
+        return grants;
+    }
+
+    /**
+     * @param authorities Spring Security authorities; roles are expanded, {@code SCOPE_} authorities
+     *                    are taken as they are
+     * @return the grants of the authorities
+     */
+    public GrantSet grantsOf(Collection<? extends GrantedAuthority> authorities) {
+        GrantSet grants = GrantSet.EMPTY;
+        Map<String, Expansion> current = closures;
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null) {
+                grants = grants.union(name.startsWith(GrantRegistry.SCOPE_PREFIX)
+                        ? GrantSet.of(grantRegistry.idOf(name))
+                        : grantsOfRole(current, name));
+            }
+        }
+        return grants;
+    }
+
+    /**
+     * Reloads the hierarchy from MongoDB and recomputes the closures affected by changes.
+     */
+    @Scheduled(fixedDelayString = "${security.role-hierarchy.refresh-interval:30s}")
+    synchronized void refresh() {
+        try {
+            Map<String, List<String>> loaded = new HashMap<>();
+            for (RoleDefinition definition : roleDefinitionRepository.findAll()) {
+                loaded.put(definition.getId(),
+                        definition.getInherits() == null ? List.of() : List.copyOf(definition.getInherits()));
+            }
+            apply(loaded);
+        } catch (RuntimeException e) {
+            log.warn("Reloading role hierarchy failed: {}", e.getMessage());
+        }
+    }
+
+    private void apply(Map<String, List<String>> loaded) {
+        Set<String> changed = new HashSet<>();
+        definitions.forEach((role, inherits) -> {
+            if (!inherits.equals(loaded.get(role))) {
+                changed.add(role);
+            }
+        });
+        for (String role : loaded.keySet()) {
+            if (!definitions.containsKey(role)) {
+                changed.add(role);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        long started = System.nanoTime();
+        Set<String> affected = withImplyingRoles(changed, loaded);
+        Map<String, Expansion> updated = new HashMap<>(closures);
+        updated.keySet().removeAll(affected);
+        for (String role : affected) {
+            if (loaded.containsKey(role)) {
+                updated.put(role, close(role, loaded, updated));
+            }
+        }
+        closures = Map.copyOf(updated);
+        definitions = loaded;
+        recomputeTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.info("Role hierarchy changed for {} roles; recomputed {} of {} closures", changed.size(),
+                affected.size(), updated.size());
+    }
+
+    /**
+     * Adds to the changed roles every role that implies one of them, directly or transitively.
+     */
+    private static Set<String> withImplyingRoles(Set<String> changed, Map<String, List<String>> loaded) {
+        Map<String, List<String>> implyingRoles = new HashMap<>();
+        loaded.forEach((role, inherits) -> inherits.forEach(inherited ->
+                implyingRoles.computeIfAbsent(inherited, key -> new ArrayList<>()).add(role)));
+
+        Set<String> affected = new HashSet<>(changed);
+        Deque<String> pending = new ArrayDeque<>(changed);
+        while (!pending.isEmpty()) {
+            for (String implying : implyingRoles.getOrDefault(pending.pop(), List.of())) {
+                if (affected.add(implying)) {
+                    pending.push(implying);
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Computes the closure of a role breadth-first, taking over the closures already known for
+     * roles reached on the way.
+     */
+    private Expansion close(String role, Map<String, List<String>> loaded, Map<String, Expansion> known) {
+        Set<String> roles = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(role);
+        while (!pending.isEmpty()) {
+            String next = pending.poll();
+            if (!roles.add(next)) {
+                continue;
+            }
+            Expansion expansion = next.equals(role) ? null : known.get(next);
+            if (expansion != null) {
+                roles.addAll(expansion.roles());
+                continue;
+            }
+            for (String inherited : loaded.getOrDefault(next, List.of())) {
+                if (!roles.contains(inherited)) {
+                    pending.add(inherited);
+                }
+            }
+        }
+        return new Expansion(List.copyOf(roles), grantRegistry.grantsOf(roles, null));
+    }
+
+    private GrantSet grantsOfRole(Map<String, Expansion> current, String role) {
+        Expansion expansion = current.get(role);
+        return expansion == null ? GrantSet.of(grantRegistry.idOf(role)) : expansion.grants();
+    }
+}
@@ -0,0 +1,99 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Picks hashing cost parameters so that one verification takes about a target latency on the
+ * running hardware.
+ * <p>
+ * Each measurement is the fastest of a few {@link PasswordEncoder#encode(CharSequence)} calls,
+ * which costs the same as a verification. The configured cost is always a floor; calibration
+ * only ever raises it.
+ * </p>
+ */
+public final class PasswordHashCalibrator {
+
+    private static final String SAMPLE = "calibration-sample-secret";
+    private static final int RUNS = 3;
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * Returns the largest BCrypt strength, starting at the floor, whose cost does not exceed the
+     * target. Each step doubles the cost, so the search stops once the next step would overshoot.
+     *
+     * @param floor  minimum strength
+     * @param target target verification latency
+     * @return calibrated strength
+     */
+    public static int bcryptStrength(int floor, Duration target) {
+        int strength = floor;
+        long nanos = measure(new BCryptPasswordEncoder(strength));
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos = measure(new BCryptPasswordEncoder(strength));
+        }
+        return strength;
+    }
+
+    /**
+     * Scales the PBKDF2 iteration count linearly from a measurement at the floor.
+     *
+     * @param floor  minimum iterations
+     * @param target target verification latency
+     * @return calibrated iteration count, rounded to thousands
+     */
+    public static int pbkdf2Iterations(int floor, Duration target) {
+        return scale(floor, target, Pbkdf2Sha256PasswordEncoder::new, 1000);
+    }
+
+    /**
+     * Scales the Argon2 pass count linearly from a measurement at the floor, keeping memory and
+     * parallelism fixed.
+     *
+     * @param memoryKib   memory cost in KiB
+     * @param parallelism degree of parallelism
+     * @param floor       minimum pass count
+     * @param target      target verification latency
+     * @return calibrated pass count
+     */
+    public static int argon2Iterations(int memoryKib, int parallelism, int floor, Duration target) {
+        return scale(floor, target, passes -> argon2(memoryKib, parallelism, passes), 1);
+    }
+
+    /**
+     * Creates an Argon2id encoder with a 16-byte salt and a 32-byte hash.
+     *
+     * @param memoryKib   memory cost in KiB
+     * @param parallelism degree of parallelism
+     * @param iterations  pass count
+     * @return the encoder
+     */
+    public static Argon2PasswordEncoder argon2(int memoryKib, int parallelism, int iterations) {
+        return new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations);
+    }
+
+    private static int scale(int floor, Duration target, IntFunction<PasswordEncoder> encoder, int granularity) {
+        long nanos = Math.max(1, measure(encoder.apply(floor)));
+        long scaled = (long) floor * target.toNanos() / nanos;
+        long rounded = scaled / granularity * granularity;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(floor, rounded));
+    }
+
+    private static long measure(PasswordEncoder encoder) {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,247 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.ApiKeyProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.ApiKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ApiKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Service issuing, validating and revoking client API keys.
+ * <p>
+ * A key has the form {@code nxk_<id>.<secret>}: a 12-character non-secret id followed by 256
+ * random bits, both Base64url. Only an HMAC-SHA256 of the full key, keyed with the server pepper
+ * ({@code token.api-key.pepper}), is stored. Keys carry enough entropy that a slow password hash
+ * adds nothing, so a check costs one HMAC rather than a BCrypt round.
+ * </p>
+ *
+ * <p>
+ * Validation looks the key up by its id in a bounded {@link HotKeyCache} and falls back to a single
+ * {@code _id} read on a miss. Cached entries are trusted for {@code token.api-key.cache-ttl}.
+ * Revocation evicts the entry locally, and other nodes re-read it at the latest when it expires
+ * from their cache.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ApiKeyService {
+
+    /**
+     * Prefix identifying API keys.
+     */
+    public static final String PREFIX = "nxk_";
+
+    private static final int ID_BYTES = 9;
+    private static final int SECRET_BYTES = 32;
+    private static final int MIN_PEPPER_BYTES = 32;
+    private static final int ID_LENGTH = 12;
+    private static final int KEY_LENGTH = PREFIX.length() + ID_LENGTH + 1 + 43;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Key metadata together with its decoded hash.
+     */
+    private record CachedKey(ApiKey apiKey, byte[] hash) {
+    }
+
+    /**
+     * A newly issued key; the plain key is only available here.
+     *
+     * @param key    the full key to hand to the client
+     * @param apiKey the stored metadata
+     */
+    public record IssuedApiKey(String key, ApiKey apiKey) {
+    }
+
+    private final ApiKeyProperties properties;
+    private final ApiKeyRepository apiKeyRepository;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final HotKeyCache<CachedKey> cache;
+    private final ThreadLocal<Mac> mac;
+    private final SecureRandom random = new SecureRandom();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ApiKeyService(ApiKeyProperties properties, ApiKeyRepository apiKeyRepository,
+                         MongoIndexInitializer mongoIndexInitializer, MeterRegistry meterRegistry) {
+        if (properties.getPepper() == null || properties.getPepper().isBlank()) {
+            throw new IllegalStateException("token.api-key.pepper must be set, e.g. through API_KEY_PEPPER");
+        }
+        byte[] pepperBytes = Base64.getDecoder().decode(properties.getPepper());
+        if (pepperBytes.length < MIN_PEPPER_BYTES) {
+            throw new IllegalStateException("token.api-key.pepper must decode to at least " + MIN_PEPPER_BYTES + " bytes");
+        }
+        this.properties = properties;
+        this.apiKeyRepository = apiKeyRepository;
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.cache = new HotKeyCache<>(properties.getCacheSize(), properties.getCacheTtl().toNanos());
+
+        SecretKeySpec pepper = new SecretKeySpec(pepperBytes, "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(pepper);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+
+        this.hits = meterRegistry.counter("sentinel.token.apikey.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("sentinel.token.apikey.lookups", "result", "miss");
+        Gauge.builder("sentinel.token.apikey.cache.size", cache, HotKeyCache::size).register(meterRegistry);
+    }
+
+    /**
+     * Registers the indexes of the {@code api_keys} collection.
+     */
+    @PostConstruct
+    void initialize() {
+        mongoIndexInitializer.register(ApiKey.class,
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+        mongoIndexInitializer.register(ApiKey.class, new Index().on("clientId", Sort.Direction.ASC));
+    }
+
+    /**
+     * @param token any token string
+     * @return {@code true} if it has the shape of an API key
+     */
+    public static boolean isApiKey(String token) {
+        return token != null && token.length() == KEY_LENGTH && token.startsWith(PREFIX)
+                && token.charAt(PREFIX.length() + ID_LENGTH) == '.';
+    }
+
+    /**
+     * Issues a key carrying the current grants of a client.
+     *
+     * @param client   the authenticated client
+     * @param name     label of the key, may be {@code null}
+     * @param validity requested validity, or {@code null} for the default; capped at the maximum
+     * @return the key and its stored metadata
+     */
+    public IssuedApiKey issue(Client client, String name, Duration validity) {
+        Duration effective = validity == null || validity.isNegative() || validity.isZero()
+                ? properties.getDefaultValidity()
+                : validity;
+        if (effective.compareTo(properties.getMaxValidity()) > 0) {
+            effective = properties.getMaxValidity();
+        }
+
+        String id = ENCODER.encodeToString(randomBytes(ID_BYTES));
+        String key = PREFIX + id + '.' + ENCODER.encodeToString(randomBytes(SECRET_BYTES));
+        Instant now = Instant.now();
+        ApiKey apiKey = ApiKey.builder()
+                .id(id)
+                .clientId(client.getClientId())
+                .name(name)
+                .hash(Base64.getEncoder().encodeToString(hash(key)))
+                .roles(client.getRoles())
+                .scopes(client.getScopes())
+                .team(client.getTeam())
+                .tier(client.getServiceTier())
+                .createdAt(now)
+                .expiresAt(now.plus(effective))
+                .build();
+        apiKeyRepository.insert(apiKey);
+        return new IssuedApiKey(key, apiKey);
+    }
+
+    /**
+     * Validates a key.
+     *
+     * @param key the presented key
+     * @return its metadata, or {@code null} if it is malformed, unknown, expired or does not match
+     */
+    public ApiKey validate(String key) {
+        if (!isApiKey(key)) {
+            return null;
+        }
+        String id = key.substring(PREFIX.length(), PREFIX.length() + ID_LENGTH);
+        CachedKey cached = cache.get(id);
+        if (cached != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            ApiKey stored = apiKeyRepository.findById(id).orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            cached = new CachedKey(stored, Base64.getDecoder().decode(stored.getHash()));
+            cache.put(id, cached);
+        }
+
+        ApiKey apiKey = cached.apiKey();
+        if (apiKey.getExpiresAt() != null && !apiKey.getExpiresAt().isAfter(Instant.now())) {
+            return null;
+        }
+        return MessageDigest.isEqual(cached.hash(), hash(key)) ? apiKey : null;
+    }
+
+    /**
+     * Revokes a key presented in full.
+     *
+     * @param key the key to revoke
+     * @return {@code true} if a valid key was revoked
+     */
+    public boolean revoke(String key) {
+        ApiKey apiKey = validate(key);
+        if (apiKey == null) {
+            return false;
+        }
+        delete(apiKey.getId());
+        return true;
+    }
+
+    /**
+     * Revokes a key of the given client by its id.
+     *
+     * @param keyId    the non-secret key id
+     * @param clientId the authenticated client
+     * @return {@code true} if the client owned the key and it was revoked
+     */
+    public boolean revoke(String keyId, String clientId) {
+        if (keyId == null) {
+            return false;
+        }
+        ApiKey apiKey = apiKeyRepository.findById(keyId).orElse(null);
+        if (apiKey == null || !apiKey.getClientId().equals(clientId)) {
+            return false;
+        }
+        delete(keyId);
+        return true;
+    }
+
+    private void delete(String id) {
+        apiKeyRepository.deleteById(id);
+        cache.invalidate(id);
+        log.info("Revoked API key {}", id);
+    }
+
+    private byte[] hash(String key) {
+        return mac.get().doFinal(key.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -1,30 +1,57 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.TokenIssuanceProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailureException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationThrottledException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client.ClientRepository;
-import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RefreshTokenFamilyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueToken;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionData;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionStore;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user.UserRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRevocationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientAuthRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RefreshTokenRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SessionAttributesRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.SigningKeyRevocationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenResponse;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserLoginRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.ClientRateLimiter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.LoginFailureTracker;
 import com.fasterxml.jackson.core.type.TypeReference;
+import io.jsonwebtoken.Claims;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Builder;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Service class responsible for handling authentication logic for both users and clients.
@@ -34,12 +61,33 @@ import java.util.Map;
  *     <li>Authenticates users and clients using their respective credentials</li>
  *     <li>Generates and returns JWT access and refresh tokens</li>
  *     <li>Supports token refresh mechanisms for both users and clients</li>
- *     <li>Stores generated tokens with expiration metadata in MongoDB</li>
+ *     <li>Stores generated tokens with expiration metadata in the configured {@link TokenStore}</li>
  * </ul>
  * </p>
  *
  * <p>
- * It interacts with {@code UserRepository}, {@code ClientRepository}, and {@code TokenRepository}
+ * In stateless mode ({@code token.issuance.mode: stateless}) access tokens are not persisted at all.
+ * A login stores a single {@link RefreshTokenFamily} record whose id is the refresh token's {@code jti}
+ * and which expires with the refresh token. Refreshes require the family record to exist and, in both
+ * modes, are checked against the {@link TokenRevocationService} deny-list. In both modes access tokens
+ * carry the refresh token's {@code jti} in the {@code fid} claim, so revoking the refresh token revokes
+ * them as well.
+ * </p>
+ *
+ * <p>
+ * A client may request an {@link TokenType#OPAQUE} access token if that type is among its allowed
+ * token types. Its metadata is kept by the {@link OpaqueTokenStore} instead of the token store, and the
+ * refresh token remembers the type so that refreshes issue opaque tokens as well.
+ * </p>
+ *
+ * <p>
+ * Clients that are allowed {@link TokenType#API_KEY} can also exchange their credentials for a
+ * long-lived API key, which is managed by the {@link ApiKeyService}. Clients allowed
+ * {@link TokenType#HMAC} can obtain a request-signing key from the {@link SigningKeyService}.
+ * </p>
+ *
+ * <p>
+ * It interacts with {@code UserRepository}, {@code ClientRepository}, and {@code TokenStore}
  * for persistence, and uses {@code JwtService} to issue and validate tokens.
  * </p>
  * <p>
@@ -54,30 +102,85 @@ import java.util.Map;
  * <ul>
  *     <li>{@link UserRepository} for user data access</li>
  *     <li>{@link ClientRepository} for client data access</li>
- *     <li>{@link TokenRepository} for token persistence</li>
+ *     <li>{@link TokenStore} for token persistence</li>
+ *     <li>{@link OpaqueTokenStore} for opaque access tokens</li>
+ *     <li>{@link ApiKeyService} for client API keys</li>
+ *     <li>{@link SigningKeyService} for HMAC request-signing keys</li>
+ *     <li>{@link RefreshTokenFamilyRepository} for refresh-token families in stateless mode</li>
+ *     <li>{@link TokenRevocationService} for deny-list checks</li>
+ *     <li>{@link LoginFailureTracker} for failed-login lockouts</li>
+ *     <li>{@link ClientRateLimiter} for learning the team and tier of authenticated clients</li>
+ *     <li>{@link CredentialSingleFlight} for coalescing concurrent identical client authentications</li>
+ *     <li>{@link AuditPipeline} for recording every login, client authentication and refresh</li>
  *     <li>{@link JwtService} for JWT creation and validation</li>
- *     <li>{@link PasswordEncoder} for credential verification</li>
+ *     <li>{@link CwtService} for compact CBOR Web Token access tokens</li>
+ *     <li>{@link ClaimsPolicyService} for claim projection and the access token size limit</li>
+ *     <li>{@link RoleHierarchyService} for the implied roles of opaque access tokens</li>
+ *     <li>{@link PasswordEncoder} for credential verification and re-hashing of outdated hashes</li>
  * </ul>
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AuthenticationService {
 
+    /**
+     * Refresh token claim recording a non-default access token type.
+     */
+    private static final String ACCESS_TOKEN_TYPE_CLAIM = "access_token_type";
+
+    /**
+     * Access token types a client may request instead of a JWT.
+     */
+    private static final Set<TokenType> CLIENT_ACCESS_TOKEN_TYPES = EnumSet.of(TokenType.OPAQUE, TokenType.CWT);
+
+    /**
+     * Access token types a user may request instead of a JWT.
+     */
+    private static final Set<TokenType> USER_ACCESS_TOKEN_TYPES = EnumSet.of(TokenType.SESSION);
+
+    /**
+     * Claims of a client access token that are carried over from the refresh token.
+     */
+    private static final List<String> CLIENT_CLAIMS = List.of("roles", "scopes", "grantTypes", "team", "tier");
+
+    /**
+     * Claims of a user access token that are carried over from the refresh token.
+     */
+    private static final List<String> USER_CLAIMS = List.of("roles", "department", "region", "email");
+
     @Value("${jwt.issuer:nexus-auth:nexus-auth}")
     private String issuer;
 
     @Value("${jwt.access.token.time.to.expire:15}")
     private String accessTokenTTE;
 
-    @Value("${jwt.refresh.token.time.to.expire:30}")
-    private String refreshTokenTTE;
-
     private final UserRepository userRepository;
     private final ClientRepository clientRepository;
-    private final TokenRepository tokenRepository;
+    private final TokenStore tokenStore;
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final SessionStore sessionStore;
+    private final ApiKeyService apiKeyService;
+    private final SigningKeyService signingKeyService;
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final TokenIssuanceProperties issuanceProperties;
+    private final LoginFailureTracker loginFailureTracker;
+    private final ClientRateLimiter clientRateLimiter;
+    private final CredentialSingleFlight credentialSingleFlight;
+    private final AuditPipeline auditPipeline;
     private final JwtService jwtService;
+    private final CwtService cwtService;
+    private final ClaimsPolicyService claimsPolicyService;
+    private final RoleHierarchyService roleHierarchyService;
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Hash of a random secret, verified against when the user or client does not exist so that an
+     * unknown principal costs as much as a wrong password. Created on first use.
+     */
+    private volatile String dummyHash;
+
     /**
      * Immutable DTO representing claims to embed into JWTs for client authentication.
      */
@@ -105,18 +208,52 @@ public class AuthenticationService {
 
     /**
      * Authenticates a user using a username-password pair and issues access and refresh tokens.
+     * <p>
+     * Usernames and source addresses locked out by the {@link LoginFailureTracker} are rejected
+     * before the user lookup and password check; every failure is recorded with the tracker.
+     * Users allowed to use {@link TokenType#SESSION} tokens may request one instead of the JWT
+     * pair; it is kept in the {@link SessionStore} and has no refresh token.
+     * </p>
      *
-     * @param request user login request
-     * @return {@link TokenResponse} containing both tokens and claims
-     * @throws UsernameNotFoundException if the user is not found
-     * @throws BadCredentialsException   if the password is incorrect
+     * @param request       user login request
+     * @param sourceAddress address the request came from, or {@code null} if unknown
+     * @return {@link TokenResponse} containing both tokens and claims, or only a session token
+     * @throws AuthenticationThrottledException if the username or address is locked out
+     * @throws AuthenticationFailureException   if the user is not found, the password is incorrect,
+     *                                          the requested token type is not allowed or the
+     *                                          session table is full
      */
-    public TokenResponse authenticateUser(UserLoginRequest request) {
-        var user = userRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public TokenResponse authenticateUser(UserLoginRequest request, String sourceAddress) {
+        try {
+            loginFailureTracker.checkAllowed(request.getUsername(), sourceAddress);
+        } catch (AuthenticationThrottledException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.USER_LOGIN, request.getUsername(), "THROTTLED", sourceAddress));
+            throw e;
+        }
+
+        var user = userRepository.findCredentialsByUsername(request.getUsername()).orElse(null);
+        if (user == null) {
+            passwordEncoder.matches(request.getPassword(), dummyHash());
+            loginFailureTracker.recordFailure(request.getUsername(), sourceAddress);
+            throw rejected(AuditEvent.Type.USER_LOGIN, request.getUsername(), sourceAddress,
+                    AuthenticationFailure.USER_NOT_FOUND);
+        }
 
         if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
-            throw new BadCredentialsException("Invalid credentials");
+            loginFailureTracker.recordFailure(request.getUsername(), sourceAddress);
+            throw rejected(AuditEvent.Type.USER_LOGIN, request.getUsername(), sourceAddress,
+                    AuthenticationFailure.INVALID_PASSWORD);
+        }
+        loginFailureTracker.recordSuccess(request.getUsername());
+        rehashIfOutdated(request.getPassword(), user.getPassword(),
+                hash -> userRepository.replacePasswordHash(user.getId(), user.getPassword(), hash));
+
+        if (accessTokenType(request.getTokenType(), USER_ACCESS_TOKEN_TYPES, user.getAllowedTokenTypes())
+                == TokenType.SESSION) {
+            TokenResponse response = createSession(user.getUsername(), user.getRoles());
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.USER_LOGIN, user.getUsername(), sourceAddress));
+            return response;
         }
 
         Map<String, Object> claims = new ObjectMapper().convertValue(UserClaims.builder()
@@ -127,17 +264,17 @@ public class AuthenticationService {
                 .build(), new TypeReference<>() {
         });
 
-        String accessToken = jwtService.generateAccessToken(
-                user.getUsername(), TokenType.BEARER_JWT, claims, SubjectType.USER);
+        String familyId = UUID.randomUUID().toString();
+
+        String accessToken = issueAccessToken(
+                TokenType.BEARER_JWT, user.getUsername(), SubjectType.USER, withFamily(claims, familyId));
 
         String refreshToken = jwtService.generateRefreshToken(
-                user.getUsername(), TokenType.REFRESH_TOKEN, claims, SubjectType.USER
+                user.getUsername(), TokenType.REFRESH_TOKEN, claims, SubjectType.USER, familyId
         );
 
-        saveToken(user.getId(), SubjectType.USER, accessToken, TokenType.BEARER_JWT,
-                parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
-        saveToken(user.getId(), SubjectType.USER, refreshToken, TokenType.REFRESH_TOKEN,
-                parseDuration(refreshTokenTTE, Duration.ofDays(15)));
+        saveTokens(user.getId(), SubjectType.USER, accessToken, TokenType.BEARER_JWT, refreshToken, familyId);
+        auditPipeline.publish(AuditEvent.success(AuditEvent.Type.USER_LOGIN, user.getUsername(), sourceAddress));
 
         return TokenResponse.builder()
                 .accessToken(accessToken)
@@ -152,19 +289,39 @@ public class AuthenticationService {
 
     /**
      * Authenticates a client using client ID and secret and issues access and refresh tokens.
+     * <p>
+     * Concurrent requests for the same client presenting the same secret are coalesced by the
+     * {@link CredentialSingleFlight}: one request performs the lookup, secret check and issuance,
+     * and the others receive its tokens. A request with a different secret or token type is handled
+     * on its own.
+     * </p>
      *
      * @param request client authentication request
      * @return {@link TokenResponse} with access and refresh tokens
-     * @throws UsernameNotFoundException if the client is not found
-     * @throws BadCredentialsException   if the secret is incorrect
+     * @throws AuthenticationFailureException if the client is not found, the secret is incorrect or the
+     *                                        requested token type is not allowed
      */
     public TokenResponse authenticateClient(ClientAuthRequest request) {
-        var client = clientRepository.findByClientId(request.getClientId())
-                .orElseThrow(() -> new UsernameNotFoundException("Client not found"));
-
-        if (!passwordEncoder.matches(request.getClientSecret(), client.getClientSecret())) {
-            throw new BadCredentialsException("Invalid client credentials");
+        String flightKey = request.getTokenType() == null
+                ? request.getClientId()
+                : request.getClientId() + '#' + request.getTokenType();
+        try {
+            TokenResponse response = credentialSingleFlight.execute(flightKey, request.getClientSecret(),
+                    () -> issueClientTokens(request));
+            auditPipeline.publish(AuditEvent.success(
+                    AuditEvent.Type.CLIENT_AUTHENTICATION, request.getClientId(), null));
+            return response;
+        } catch (AuthenticationFailureException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.CLIENT_AUTHENTICATION, request.getClientId(), e.getFailure().name(), null));
+            throw e;
         }
+    }
+
+    private TokenResponse issueClientTokens(ClientAuthRequest request) {
+        var client = verifiedClient(request.getClientId(), request.getClientSecret());
+        TokenType accessTokenType = accessTokenType(request.getTokenType(), CLIENT_ACCESS_TOKEN_TYPES,
+                client.getAllowedTokenTypes());
 
         ClientClaims clientClaims = ClientClaims.builder()
                 .roles(client.getRoles())
@@ -177,17 +334,54 @@ public class AuthenticationService {
         Map<String, Object> claims = new ObjectMapper().convertValue(clientClaims, new TypeReference<>() {
         });
 
-        String accessToken = jwtService.generateAccessToken(
-                client.getClientId(), TokenType.BEARER_JWT, claims, SubjectType.CLIENT);
+        String familyId = UUID.randomUUID().toString();
+
+        if (accessTokenType == TokenType.OPAQUE) {
+            String accessToken = issueOpaque(client.getClientId(), SubjectType.CLIENT, familyId,
+                    client.getRoles(), client.getScopes(), client.getTeam(), client.getServiceTier());
+            String refreshToken = jwtService.generateRefreshToken(client.getClientId(), TokenType.REFRESH_TOKEN,
+                    withAccessTokenType(claims, TokenType.OPAQUE), SubjectType.CLIENT, familyId);
+
+            saveTokens(client.getId(), SubjectType.CLIENT, null, TokenType.OPAQUE, refreshToken, familyId);
+
+            return TokenResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .scopes(client.getScopes())
+                    .subject(client.getClientId())
+                    .tokenType(TokenType.OPAQUE)
+                    .expiresAt(Instant.now().plus(opaqueTokenStore.ttl()))
+                    .issuer(issuer)
+                    .build();
+        }
+
+        if (accessTokenType == TokenType.CWT) {
+            String accessToken = issueAccessToken(
+                    TokenType.CWT, client.getClientId(), SubjectType.CLIENT, withFamily(claims, familyId));
+            String refreshToken = jwtService.generateRefreshToken(client.getClientId(), TokenType.REFRESH_TOKEN,
+                    withAccessTokenType(claims, TokenType.CWT), SubjectType.CLIENT, familyId);
+
+            saveTokens(client.getId(), SubjectType.CLIENT, accessToken, TokenType.CWT, refreshToken, familyId);
+
+            return TokenResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .scopes(client.getScopes())
+                    .subject(client.getClientId())
+                    .tokenType(TokenType.CWT)
+                    .expiresAt(Instant.now().plus(CwtService.ACCESS_TOKEN_TTL))
+                    .issuer(issuer)
+                    .build();
+        }
+
+        String accessToken = issueAccessToken(
+                TokenType.BEARER_JWT, client.getClientId(), SubjectType.CLIENT, withFamily(claims, familyId));
 
         String refreshToken = jwtService.generateRefreshToken(
-                client.getClientId(), TokenType.REFRESH_TOKEN, claims, SubjectType.CLIENT
+                client.getClientId(), TokenType.REFRESH_TOKEN, claims, SubjectType.CLIENT, familyId
         );
 
-        saveToken(client.getId(), SubjectType.CLIENT, accessToken, TokenType.BEARER_JWT,
-                parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
-        saveToken(client.getId(), SubjectType.CLIENT, refreshToken, TokenType.REFRESH_TOKEN,
-                parseDuration(refreshTokenTTE, Duration.ofDays(15)));
+        saveTokens(client.getId(), SubjectType.CLIENT, accessToken, TokenType.BEARER_JWT, refreshToken, familyId);
 
         return TokenResponse.builder()
                 .accessToken(accessToken)
@@ -200,30 +394,130 @@ public class AuthenticationService {
                 .build();
     }
 
+    /**
+     * Issues an API key to a client authenticating with its ID and secret.
+     *
+     * @param request API key request
+     * @return {@link TokenResponse} whose access token is the new key; the key cannot be retrieved again
+     * @throws AuthenticationFailureException if the client is not found, the secret is incorrect or the
+     *                                        client is not allowed API keys
+     */
+    public TokenResponse issueApiKey(ApiKeyRequest request) {
+        try {
+            var client = verifiedClient(request.getClientId(), request.getClientSecret());
+            if (client.getAllowedTokenTypes() == null || !client.getAllowedTokenTypes().contains(TokenType.API_KEY)) {
+                throw AuthenticationFailure.UNSUPPORTED_TOKEN_TYPE.exception();
+            }
+            ApiKeyService.IssuedApiKey issued = apiKeyService.issue(client, request.getName(), request.getValidity());
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.API_KEY_ISSUANCE, client.getClientId(), null));
+
+            return TokenResponse.builder()
+                    .accessToken(issued.key())
+                    .scopes(issued.apiKey().getScopes())
+                    .subject(client.getClientId())
+                    .tokenType(TokenType.API_KEY)
+                    .expiresAt(issued.apiKey().getExpiresAt())
+                    .issuer(issuer)
+                    .build();
+        } catch (AuthenticationFailureException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.API_KEY_ISSUANCE, request.getClientId(), e.getFailure().name(), null));
+            throw e;
+        }
+    }
+
+    /**
+     * Revokes an API key of a client authenticating with its ID and secret. Unknown ids and keys of
+     * other clients are ignored.
+     *
+     * @param request API key revocation request
+     * @throws AuthenticationFailureException if the client is not found or the secret is incorrect
+     */
+    public void revokeApiKey(ApiKeyRevocationRequest request) {
+        try {
+            var client = verifiedClient(request.getClientId(), request.getClientSecret());
+            if (apiKeyService.revoke(request.getKeyId(), client.getClientId())) {
+                auditPipeline.publish(AuditEvent.success(
+                        AuditEvent.Type.API_KEY_REVOCATION, client.getClientId(), null));
+            }
+        } catch (AuthenticationFailureException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.API_KEY_REVOCATION, request.getClientId(), e.getFailure().name(), null));
+            throw e;
+        }
+    }
+
+    /**
+     * Issues an HMAC request-signing key to a client authenticating with its ID and secret.
+     *
+     * @param request signing key request
+     * @return {@link SigningKeyResponse} with the key id and secret; the secret cannot be retrieved again
+     * @throws AuthenticationFailureException if the client is not found, the secret is incorrect or the
+     *                                        client is not allowed HMAC signing
+     */
+    public SigningKeyResponse issueSigningKey(SigningKeyRequest request) {
+        try {
+            var client = verifiedClient(request.getClientId(), request.getClientSecret());
+            if (client.getAllowedTokenTypes() == null || !client.getAllowedTokenTypes().contains(TokenType.HMAC)) {
+                throw AuthenticationFailure.UNSUPPORTED_TOKEN_TYPE.exception();
+            }
+            SigningKeyService.IssuedSigningKey issued = signingKeyService.issue(client);
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.SIGNING_KEY_ISSUANCE, client.getClientId(), null));
+
+            return SigningKeyResponse.builder()
+                    .keyId(issued.signingKey().getId())
+                    .secret(Base64.getEncoder().encodeToString(issued.secret()))
+                    .algorithm("HMAC-SHA256")
+                    .expiresAt(issued.signingKey().getExpiresAt())
+                    .build();
+        } catch (AuthenticationFailureException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.SIGNING_KEY_ISSUANCE, request.getClientId(), e.getFailure().name(), null));
+            throw e;
+        }
+    }
+
+    /**
+     * Revokes a request-signing key of a client authenticating with its ID and secret. Unknown ids
+     * and keys of other clients are ignored.
+     *
+     * @param request signing key revocation request
+     * @throws AuthenticationFailureException if the client is not found or the secret is incorrect
+     */
+    public void revokeSigningKey(SigningKeyRevocationRequest request) {
+        try {
+            var client = verifiedClient(request.getClientId(), request.getClientSecret());
+            if (signingKeyService.revoke(request.getKeyId(), client.getClientId())) {
+                auditPipeline.publish(AuditEvent.success(
+                        AuditEvent.Type.SIGNING_KEY_REVOCATION, client.getClientId(), null));
+            }
+        } catch (AuthenticationFailureException e) {
+            auditPipeline.publish(AuditEvent.failure(
+                    AuditEvent.Type.SIGNING_KEY_REVOCATION, request.getClientId(), e.getFailure().name(), null));
+            throw e;
+        }
+    }
+
     /**
      * Issues a new access token for a user using a valid refresh token.
      *
      * @param refreshToken refresh token request
      * @return {@link TokenResponse} containing new access token
-     * @throws BadCredentialsException if refresh token is invalid or not a refresh token
+     * @throws AuthenticationFailureException if refresh token is invalid, revoked or not a refresh token
      */
     public TokenResponse userRefreshAccessToken(RefreshTokenRequest refreshToken) {
-        if (!jwtService.validate(refreshToken.getRefresh_token()) ||
-                !jwtService.isRefreshToken(refreshToken.getRefresh_token())) {
-            throw new BadCredentialsException("Invalid or expired refresh token");
-        }
-
-        var claims = jwtService.extractAllClaims(refreshToken.getRefresh_token());
+        var claims = verifiedRefreshClaims(refreshToken.getRefresh_token(), AuditEvent.Type.USER_TOKEN_REFRESH);
         var subject = claims.getSubject();
         var subjectType = SubjectType.valueOf(claims.get("subject_type", String.class));
 
-        Map<String, Object> newUserClaims = new HashMap<>(claims);
-        newUserClaims.keySet().removeIf(key -> key.equals("exp") || key.equals("iat") || key.equals("jti") || key.equals("type"));
+        String newAccessToken = issueAccessToken(TokenType.BEARER_JWT, subject, subjectType,
+                withFamily(copyClaims(claims, USER_CLAIMS), claims.getId()));
 
-        String newAccessToken = jwtService.generateAccessToken(subject, TokenType.BEARER_JWT, newUserClaims, subjectType);
-
-        saveToken(subject, subjectType, newAccessToken, TokenType.BEARER_JWT,
-                parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
+        if (!issuanceProperties.isStateless()) {
+            saveToken(subject, subjectType, newAccessToken, TokenType.BEARER_JWT,
+                    parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
+        }
+        auditPipeline.publish(AuditEvent.success(AuditEvent.Type.USER_TOKEN_REFRESH, subject, null));
 
         return TokenResponse.builder()
                 .accessToken(newAccessToken)
@@ -235,31 +529,59 @@ public class AuthenticationService {
     }
 
     /**
-     * Issues a new access token for a client using a valid refresh token.
+     * Issues a new access token for a client using a valid refresh token. The new token has the same
+     * type as the one issued with the refresh token.
      *
      * @param refreshToken refresh token request
      * @return {@link TokenResponse} with a new access token
-     * @throws BadCredentialsException if token is invalid or not refresh type
+     * @throws AuthenticationFailureException if token is invalid, revoked or not refresh type
      */
     public TokenResponse clientRefreshAccessToken(RefreshTokenRequest refreshToken) {
-        if (!jwtService.validate(refreshToken.getRefresh_token()) ||
-                !jwtService.isRefreshToken(refreshToken.getRefresh_token())) {
-            throw new BadCredentialsException("Invalid or expired refresh token");
-        }
-
-        var claims = jwtService.extractAllClaims(refreshToken.getRefresh_token());
+        var claims = verifiedRefreshClaims(refreshToken.getRefresh_token(), AuditEvent.Type.CLIENT_TOKEN_REFRESH);
         var subject = claims.getSubject();
         var subjectType = SubjectType.valueOf(claims.get("subject_type", String.class));
 
-        Map<String, Object> newClientClaims = new HashMap<>(claims);
-        newClientClaims.keySet().removeIf(key ->
-                key.equals("roles") || key.equals("scopes") || key.equals("grant_types") ||
-                        key.equals("team") || key.equals("tier"));
+        String accessTokenType = claims.get(ACCESS_TOKEN_TYPE_CLAIM, String.class);
+        if (TokenType.OPAQUE.name().equals(accessTokenType)) {
+            String newAccessToken = issueOpaque(subject, subjectType, claims.getId(),
+                    stringList(claims, "roles"), stringList(claims, "scopes"),
+                    claims.get("team", String.class), claims.get("tier", String.class));
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.CLIENT_TOKEN_REFRESH, subject, null));
+
+            return TokenResponse.builder()
+                    .accessToken(newAccessToken)
+                    .refreshToken(refreshToken.getRefresh_token())
+                    .tokenType(TokenType.OPAQUE)
+                    .expiresAt(Instant.now().plus(opaqueTokenStore.ttl()))
+                    .issuer(issuer)
+                    .build();
+        }
+
+        if (TokenType.CWT.name().equals(accessTokenType)) {
+            String newAccessToken = issueAccessToken(TokenType.CWT, subject, subjectType,
+                    withFamily(copyClaims(claims, CLIENT_CLAIMS), claims.getId()));
+            if (!issuanceProperties.isStateless()) {
+                saveToken(subject, subjectType, newAccessToken, TokenType.CWT, CwtService.ACCESS_TOKEN_TTL);
+            }
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.CLIENT_TOKEN_REFRESH, subject, null));
+
+            return TokenResponse.builder()
+                    .accessToken(newAccessToken)
+                    .refreshToken(refreshToken.getRefresh_token())
+                    .tokenType(TokenType.CWT)
+                    .expiresAt(Instant.now().plus(CwtService.ACCESS_TOKEN_TTL))
+                    .issuer(issuer)
+                    .build();
+        }
 
-        String newAccessToken = jwtService.generateAccessToken(subject, TokenType.BEARER_JWT, newClientClaims, subjectType);
+        String newAccessToken = issueAccessToken(TokenType.BEARER_JWT, subject, subjectType,
+                withFamily(copyClaims(claims, CLIENT_CLAIMS), claims.getId()));
 
-        saveToken(subject, subjectType, newAccessToken, TokenType.BEARER_JWT,
-                parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
+        if (!issuanceProperties.isStateless()) {
+            saveToken(subject, subjectType, newAccessToken, TokenType.BEARER_JWT,
+                    parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
+        }
+        auditPipeline.publish(AuditEvent.success(AuditEvent.Type.CLIENT_TOKEN_REFRESH, subject, null));
 
         return TokenResponse.builder()
                 .accessToken(newAccessToken)
@@ -270,6 +592,303 @@ public class AuthenticationService {
                 .build();
     }
 
+    /**
+     * Revokes an access or refresh token.
+     *
+     * @param token the token to revoke
+     * @see TokenRevocationService#revoke(String)
+     */
+    public void revoke(String token) {
+        tokenRevocationService.revoke(token);
+    }
+
+    /**
+     * Replaces the attributes of a live session.
+     *
+     * @param request the session token and its new attributes
+     * @throws AuthenticationFailureException if the session is unknown or expired
+     * @throws IllegalArgumentException       if the session no longer fits its slot
+     */
+    public void updateSessionAttributes(SessionAttributesRequest request) {
+        Map<String, String> attributes = request.getAttributes() == null ? Map.of() : request.getAttributes();
+        if (!sessionStore.replaceAttributes(request.getToken(), attributes)) {
+            throw AuthenticationFailure.INVALID_SESSION.exception();
+        }
+    }
+
+    /**
+     * Persists the token pair issued at login. In stateful mode both tokens go to the token store;
+     * in stateless mode only the refresh-token family record is written.
+     *
+     * @param subjectId    ID of user or client
+     * @param subjectType  subject type enum (USER or CLIENT)
+     * @param accessToken     the issued access token, or {@code null} for opaque tokens, which the
+     *                        {@link OpaqueTokenStore} already persisted
+     * @param accessTokenType type of the access token
+     * @param refreshToken    the issued refresh token; both records expire with its {@code exp} claim
+     * @param familyId        the refresh token's {@code jti}
+     */
+    private void saveTokens(String subjectId, SubjectType subjectType, String accessToken, TokenType accessTokenType,
+                            String refreshToken, String familyId) {
+        Instant refreshExpiresAt = jwtService.parse(refreshToken).claims().getExpiration().toInstant();
+        if (issuanceProperties.isStateless()) {
+            refreshTokenFamilyRepository.save(RefreshTokenFamily.builder()
+                    .id(familyId)
+                    .subjectId(subjectId)
+                    .subjectType(subjectType)
+                    .expiresAt(refreshExpiresAt)
+                    .build());
+            return;
+        }
+        if (accessToken != null) {
+            saveToken(subjectId, subjectType, accessToken, accessTokenType,
+                    parseDuration(accessTokenTTE, Duration.ofMinutes(15)));
+        }
+        saveToken(subjectId, subjectType, refreshToken, TokenType.REFRESH_TOKEN,
+                Duration.between(Instant.now(), refreshExpiresAt));
+    }
+
+    /**
+     * Parses a refresh token once and returns its claims if it is a valid, unrevoked refresh token.
+     *
+     * @param refreshToken the presented refresh token
+     * @param auditType    audit event type recorded on rejection
+     * @return verified claims of the refresh token
+     * @throws AuthenticationFailureException if the token is invalid, not a refresh token or revoked
+     */
+    private Claims verifiedRefreshClaims(String refreshToken, AuditEvent.Type auditType) {
+        JwtValidation validation = jwtService.parse(refreshToken);
+        if (!validation.isValid()
+                || !TokenType.REFRESH_TOKEN.name().equals(validation.claims().get("type", String.class))) {
+            throw rejected(auditType, null, null, AuthenticationFailure.INVALID_REFRESH_TOKEN);
+        }
+        Claims claims = validation.claims();
+        if (isRefreshFamilyRevoked(claims)) {
+            throw rejected(auditType, claims.getSubject(), null, AuthenticationFailure.REVOKED_REFRESH_TOKEN);
+        }
+        return claims;
+    }
+
+    /**
+     * Checks whether a refresh token is on the deny-list or, in stateless mode, its family record
+     * no longer exists.
+     *
+     * @param claims verified claims of the refresh token
+     * @return {@code true} if the refresh token has been revoked
+     */
+    private boolean isRefreshFamilyRevoked(Claims claims) {
+        return tokenRevocationService.isRevoked(claims)
+                || (issuanceProperties.isStateless() && !tokenRevocationService.isFamilyActive(claims.getId()));
+    }
+
+    /**
+     * Records a rejected operation in the audit trail.
+     *
+     * @param type          audited operation
+     * @param subject       username or client ID, if known
+     * @param sourceAddress address the request came from, may be {@code null}
+     * @param failure       reason of the rejection
+     * @return the exception to throw
+     */
+    private AuthenticationFailureException rejected(AuditEvent.Type type, String subject, String sourceAddress,
+                                                    AuthenticationFailure failure) {
+        auditPipeline.publish(AuditEvent.failure(type, subject, failure.name(), sourceAddress));
+        return failure.exception();
+    }
+
+    /**
+     * Signs a JWT or CWT access token, with its claims projected and sized by the
+     * {@link ClaimsPolicyService}.
+     *
+     * @param format      {@code BEARER_JWT} or {@code CWT}
+     * @param subject     username or client ID
+     * @param subjectType whether the subject is a user or a client
+     * @param claims      custom claims of the token
+     * @return the signed access token
+     */
+    private String issueAccessToken(TokenType format, String subject, SubjectType subjectType,
+                                    Map<String, Object> claims) {
+        if (format == TokenType.CWT) {
+            return claimsPolicyService.issue(format, subject, subjectType, claims, CwtService.ACCESS_TOKEN_TTL,
+                    accessClaims -> cwtService.generateAccessToken(subject, format, accessClaims, subjectType));
+        }
+        return claimsPolicyService.issue(format, subject, subjectType, claims, JwtService.ACCESS_TOKEN_TTL,
+                accessClaims -> jwtService.generateAccessToken(subject, format, accessClaims, subjectType));
+    }
+
+    /**
+     * Copies the named claims of a refresh token, skipping absent ones.
+     *
+     * @param claims refresh token claims
+     * @param names  claims to carry over to the access token
+     * @return the access token claims
+     */
+    private static Map<String, Object> copyClaims(Claims claims, List<String> names) {
+        Map<String, Object> copied = new HashMap<>();
+        for (String name : names) {
+            Object value = claims.get(name);
+            if (value != null) {
+                copied.put(name, value);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Adds the refresh-token family claim to access token claims, so that revoking the refresh
+     * token also revokes them.
+     *
+     * @param claims   access token claims
+     * @param familyId the refresh token's {@code jti}
+     * @return the claims to sign
+     */
+    private static Map<String, Object> withFamily(Map<String, Object> claims, String familyId) {
+        Map<String, Object> accessClaims = new HashMap<>(claims);
+        accessClaims.put(TokenRevocationService.FAMILY_CLAIM, familyId);
+        return accessClaims;
+    }
+
+    /**
+     * Records in refresh token claims which access token type to mint on refresh.
+     *
+     * @param claims          refresh token claims
+     * @param accessTokenType non-default access token type
+     * @return the claims to sign
+     */
+    private static Map<String, Object> withAccessTokenType(Map<String, Object> claims, TokenType accessTokenType) {
+        Map<String, Object> refreshClaims = new HashMap<>(claims);
+        refreshClaims.put(ACCESS_TOKEN_TYPE_CLAIM, accessTokenType.name());
+        return refreshClaims;
+    }
+
+    /**
+     * Looks up a client and verifies its secret, upgrading an outdated secret hash and remembering
+     * the client's team and tier for rate limiting.
+     *
+     * @param clientId     the client ID
+     * @param clientSecret the presented secret
+     * @return the client's credential projection
+     * @throws AuthenticationFailureException if the client is not found or the secret is incorrect
+     */
+    private Client verifiedClient(String clientId, String clientSecret) {
+        var client = clientRepository.findCredentialsByClientId(clientId).orElse(null);
+        if (client == null) {
+            passwordEncoder.matches(clientSecret, dummyHash());
+            throw AuthenticationFailure.CLIENT_NOT_FOUND.exception();
+        }
+
+        if (!passwordEncoder.matches(clientSecret, client.getClientSecret())) {
+            throw AuthenticationFailure.INVALID_CLIENT_SECRET.exception();
+        }
+        rehashIfOutdated(clientSecret, client.getClientSecret(),
+                hash -> clientRepository.replaceSecretHash(client.getId(), client.getClientSecret(), hash));
+        clientRateLimiter.rememberClient(client.getClientId(), client.getTeam(), client.getServiceTier());
+        return client;
+    }
+
+    /**
+     * Resolves the requested access token type. JWTs are always available; the alternatives of the
+     * subject kind (opaque tokens and CWTs for clients, sessions for users) only to subjects that
+     * list them among their allowed token types.
+     *
+     * @param requested         requested type, or {@code null} for the default
+     * @param alternatives      the non-JWT types this kind of subject can be issued
+     * @param allowedTokenTypes the subject's allowed token types, may be {@code null}
+     * @return the access token type to issue
+     * @throws AuthenticationFailureException if the type cannot be issued to the subject
+     */
+    private TokenType accessTokenType(TokenType requested, Set<TokenType> alternatives,
+                                      List<TokenType> allowedTokenTypes) {
+        if (requested == null || requested == TokenType.BEARER_JWT) {
+            return TokenType.BEARER_JWT;
+        }
+        if (alternatives.contains(requested) && allowedTokenTypes != null && allowedTokenTypes.contains(requested)) {
+            return requested;
+        }
+        throw AuthenticationFailure.UNSUPPORTED_TOKEN_TYPE.exception();
+    }
+
+    /**
+     * Issues an opaque access token through the {@link OpaqueTokenStore}.
+     *
+     * @return the opaque token string
+     */
+    private String issueOpaque(String subject, SubjectType subjectType, String familyId, List<String> roles,
+                               List<String> scopes, String team, String tier) {
+        long now = Instant.now().getEpochSecond();
+        return opaqueTokenStore.issue(new OpaqueToken(subject, subjectType, familyId,
+                roleHierarchyService.tokenRoles(roles), scopes, team, tier,
+                now, now + opaqueTokenStore.ttl().toSeconds()));
+    }
+
+    /**
+     * Creates a session in the {@link SessionStore}. Sessions have no refresh token; they stay valid
+     * while in use, up to their absolute timeout.
+     *
+     * @return a {@link TokenResponse} carrying the session token
+     * @throws AuthenticationFailureException if the session table is full
+     */
+    private TokenResponse createSession(String username, List<String> roles) {
+        Instant now = Instant.now();
+        String token = sessionStore.create(new SessionData(username, SubjectType.USER, roles, Map.of(),
+                now.getEpochSecond()));
+        if (token == null) {
+            throw AuthenticationFailure.SESSION_CAPACITY_EXHAUSTED.exception();
+        }
+        return TokenResponse.builder()
+                .accessToken(token)
+                .subject(username)
+                .scopes(roles)
+                .tokenType(TokenType.SESSION)
+                .expiresAt(now.plus(sessionStore.idleTimeout()))
+                .issuer(issuer)
+                .build();
+    }
+
+    /**
+     * Reads a list claim as strings.
+     */
+    private static List<String> stringList(Claims claims, String name) {
+        List<?> values = claims.get(name, List.class);
+        return values == null ? List.of() : values.stream().map(String::valueOf).toList();
+    }
+
+    /**
+     * Re-hashes a just-verified credential whose stored hash uses an outdated algorithm or cost.
+     * A failed write only delays the upgrade to the next login, so it never fails the login.
+     *
+     * @param rawCredential the presented password or secret
+     * @param storedHash    the hash it was verified against
+     * @param store         replaces the stored hash, returning {@code false} if it changed meanwhile
+     */
+    private void rehashIfOutdated(String rawCredential, String storedHash, Predicate<String> store) {
+        if (!passwordEncoder.upgradeEncoding(storedHash)) {
+            return;
+        }
+        try {
+            if (!store.test(passwordEncoder.encode(rawCredential))) {
+                log.debug("Stored credential hash changed before it could be upgraded");
+            }
+        } catch (RuntimeException e) {
+            log.warn("Upgrading a credential hash failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the hash verified against for unknown principals, hashing a random secret with the
+     * current algorithm and cost on first use.
+     *
+     * @return the dummy hash
+     */
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyHash = hash;
+        }
+        return hash;
+    }
+
     /**
      * Persists a generated token into the token repository with metadata.
      *
@@ -288,7 +907,7 @@ public class AuthenticationService {
                 .issuedAt(Instant.now())
                 .expiresAt(Instant.now().plus(duration))
                 .build();
-        tokenRepository.save(token);
+        tokenStore.save(token);
     }
 
     /**
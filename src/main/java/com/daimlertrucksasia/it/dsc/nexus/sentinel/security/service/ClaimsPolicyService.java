@@ -0,0 +1,265 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.GrantProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.TokenClaimsProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailureException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.ClaimsReferenceRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenCodec;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantRegistry;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Service keeping the claims of JWT and CWT access tokens within a size budget.
+ * <p>
+ * Before a token is encoded, the roles are expanded by the {@link RoleHierarchyService} if
+ * {@code security.role-hierarchy.expand-token-roles} is enabled. The claims are then reduced by
+ * the projection configured for the client, or by the default projection: only the listed claims
+ * are kept, and roles can be narrowed to given prefixes. The refresh-token family claim is always
+ * kept, since revocation depends on it. With {@code security.grants.token-claim} enabled, the
+ * projected roles, always expanded, and scopes are also added as a {@code grants} bitset claim,
+ * provided all of them have declared ids in the {@link GrantRegistry}.
+ * </p>
+ *
+ * <p>
+ * If the encoded token still exceeds {@code token.claims.max-token-size}, its claims are stored as
+ * a {@link ClaimsReference} and the token is re-encoded with only a {@code claims_ref} handle and
+ * the {@code grants} claim.
+ * Resource servers resolve the handle through {@code GET /auth/claims/{handle}} with a signed
+ * request. The route is served from a {@link HotKeyCache}, and its answer may be cached by the
+ * caller until the token expires. With references disabled, oversized tokens are rejected instead.
+ * </p>
+ *
+ * <p>
+ * The size of every issued token is recorded in the {@code sentinel.token.size} distribution,
+ * tagged by format and by whether its claims are inline or referenced.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ClaimsPolicyService {
+
+    /**
+     * Claim carrying the handle of a {@link ClaimsReference}.
+     */
+    public static final String REFERENCE_CLAIM = "claims_ref";
+
+    /**
+     * Prefix identifying claims reference handles.
+     */
+    private static final String REFERENCE_PREFIX = "nxr_";
+
+    private final TokenClaimsProperties properties;
+    private final ClaimsReferenceRepository claimsReferenceRepository;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final GrantRegistry grantRegistry;
+    private final GrantProperties grantProperties;
+    private final RoleHierarchyService roleHierarchyService;
+    private final HotKeyCache<ClaimsReference> cache;
+    private final SecureRandom random = new SecureRandom();
+    private final Map<TokenType, DistributionSummary> inlineSizes = new EnumMap<>(TokenType.class);
+    private final Map<TokenType, DistributionSummary> referenceSizes = new EnumMap<>(TokenType.class);
+    private final Counter rejected;
+
+    public ClaimsPolicyService(TokenClaimsProperties properties, ClaimsReferenceRepository claimsReferenceRepository,
+                               MongoIndexInitializer mongoIndexInitializer, GrantRegistry grantRegistry,
+                               GrantProperties grantProperties, RoleHierarchyService roleHierarchyService,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.claimsReferenceRepository = claimsReferenceRepository;
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.grantRegistry = grantRegistry;
+        this.grantProperties = grantProperties;
+        this.roleHierarchyService = roleHierarchyService;
+        this.cache = new HotKeyCache<>(properties.getReferenceCacheSize(), properties.getReferenceCacheTtl().toNanos());
+        for (TokenType format : List.of(TokenType.BEARER_JWT, TokenType.CWT)) {
+            inlineSizes.put(format, sizeSummary(meterRegistry, format, "inline"));
+            referenceSizes.put(format, sizeSummary(meterRegistry, format, "reference"));
+        }
+        this.rejected = meterRegistry.counter("sentinel.token.size.rejected");
+    }
+
+    /**
+     * Registers the TTL index of the claims references.
+     */
+    @PostConstruct
+    void initialize() {
+        mongoIndexInitializer.register(ClaimsReference.class,
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    /**
+     * Projects the claims and encodes an access token within the size budget.
+     *
+     * @param format      {@code BEARER_JWT} or {@code CWT}, used to tag the size metrics
+     * @param subject     username or client ID
+     * @param subjectType whether the subject is a user or a client
+     * @param claims      custom claims of the token
+     * @param ttl         lifetime of the token
+     * @param encoder     signs the given claims into a token
+     * @return the encoded token
+     * @throws AuthenticationFailureException if the token cannot be brought within the budget
+     */
+    public String issue(TokenType format, String subject, SubjectType subjectType, Map<String, Object> claims,
+                        Duration ttl, Function<Map<String, Object>, String> encoder) {
+        Map<String, Object> projected = withGrants(project(subject, subjectType, withTokenRoles(claims)));
+        String token = encoder.apply(projected);
+        if (token.length() <= properties.getMaxTokenSize()) {
+            inlineSizes.get(format).record(token.length());
+            return token;
+        }
+        if (properties.isReferences()) {
+            token = encoder.apply(reference(subject, projected, ttl));
+            if (token.length() <= properties.getMaxTokenSize()) {
+                referenceSizes.get(format).record(token.length());
+                return token;
+            }
+        }
+        rejected.increment();
+        log.warn("Access token for {} is {} bytes, exceeding the limit of {}", subject, token.length(),
+                properties.getMaxTokenSize());
+        throw AuthenticationFailure.TOKEN_TOO_LARGE.exception();
+    }
+
+    /**
+     * Resolves a claims reference.
+     *
+     * @param handle the {@code claims_ref} value of a token
+     * @return the reference, or {@code null} if it is unknown or expired
+     */
+    public ClaimsReference resolve(String handle) {
+        if (!OpaqueTokenCodec.hasShape(handle, REFERENCE_PREFIX)) {
+            return null;
+        }
+        ClaimsReference reference = cache.get(handle);
+        if (reference == null) {
+            reference = claimsReferenceRepository.findById(handle).orElse(null);
+            if (reference == null) {
+                return null;
+            }
+            cache.put(handle, reference);
+        }
+        return reference.getExpiresAt().isAfter(Instant.now()) ? reference : null;
+    }
+
+    private static DistributionSummary sizeSummary(MeterRegistry meterRegistry, TokenType format, String claims) {
+        return DistributionSummary.builder("sentinel.token.size")
+                .description("Encoded size of issued access tokens")
+                .baseUnit("bytes")
+                .tag("format", format.name())
+                .tag("claims", claims)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * Applies the projection of the subject to the claims.
+     */
+    private Map<String, Object> project(String subject, SubjectType subjectType, Map<String, Object> claims) {
+        TokenClaimsProperties.Projection projection = subjectType == SubjectType.CLIENT
+                ? properties.getClientProjections().getOrDefault(subject, properties.getDefaultProjection())
+                : properties.getDefaultProjection();
+        if (projection == null || (projection.getClaims() == null && projection.getRolePrefixes() == null)) {
+            return claims;
+        }
+        Map<String, Object> projected = new HashMap<>();
+        claims.forEach((name, value) -> {
+            if (projection.getClaims() == null || projection.getClaims().contains(name)
+                    || TokenRevocationService.FAMILY_CLAIM.equals(name)) {
+                projected.put(name, value);
+            }
+        });
+        List<String> prefixes = projection.getRolePrefixes();
+        if (prefixes != null && projected.get("roles") instanceof List<?> roles) {
+            projected.put("roles", roles.stream()
+                    .map(String::valueOf)
+                    .filter(role -> prefixes.stream().anyMatch(role::startsWith))
+                    .toList());
+        }
+        return projected;
+    }
+
+    /**
+     * Replaces the roles of the claims by the roles to place into the token.
+     */
+    private Map<String, Object> withTokenRoles(Map<String, Object> claims) {
+        List<String> roles = stringList(claims.get("roles"));
+        List<String> tokenRoles = roleHierarchyService.tokenRoles(roles);
+        if (tokenRoles == roles) {
+            return claims;
+        }
+        Map<String, Object> expanded = new HashMap<>(claims);
+        expanded.put("roles", tokenRoles);
+        return expanded;
+    }
+
+    /**
+     * Adds the {@code grants} claim for the expanded roles and the scopes of the claims, if enabled
+     * and encodable.
+     */
+    private Map<String, Object> withGrants(Map<String, Object> claims) {
+        if (!grantProperties.isTokenClaim()) {
+            return claims;
+        }
+        String grants = grantRegistry.encodeClaim(roleHierarchyService.expand(stringList(claims.get("roles"))),
+                stringList(claims.get("scopes")));
+        if (grants == null) {
+            return claims;
+        }
+        Map<String, Object> withGrants = new HashMap<>(claims);
+        withGrants.put(GrantRegistry.CLAIM, grants);
+        return withGrants;
+    }
+
+    private static List<String> stringList(Object value) {
+        return value instanceof List<?> values ? values.stream().map(String::valueOf).toList() : null;
+    }
+
+    /**
+     * Stores all claims but the family id and grants as a reference and returns the claims that replace them.
+     */
+    private Map<String, Object> reference(String subject, Map<String, Object> claims, Duration ttl) {
+        Map<String, Object> referenced = new HashMap<>(claims);
+        Object familyId = referenced.remove(TokenRevocationService.FAMILY_CLAIM);
+        Object grants = referenced.remove(GrantRegistry.CLAIM);
+
+        ClaimsReference reference = claimsReferenceRepository.save(ClaimsReference.builder()
+                .id(OpaqueTokenCodec.format(REFERENCE_PREFIX, random.nextLong(), random.nextLong()))
+                .subject(subject)
+                .claims(referenced)
+                .expiresAt(Instant.now().plus(ttl))
+                .build());
+        cache.put(reference.getId(), reference);
+
+        Map<String, Object> remaining = new HashMap<>();
+        if (familyId != null) {
+            remaining.put(TokenRevocationService.FAMILY_CLAIM, familyId);
+        }
+        if (grants != null) {
+            remaining.put(GrantRegistry.CLAIM, grants);
+        }
+        remaining.put(REFERENCE_CLAIM, reference.getId());
+        return remaining;
+    }
+}
@@ -0,0 +1,116 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent authentications of the same principal into one in-flight computation.
+ * <p>
+ * The first request for a key becomes the leader and runs the computation; requests arriving while
+ * it runs wait for its result instead of repeating the lookup, password hash, signing and writes.
+ * A waiter only shares the result if its presented secret is identical to the leader's, compared
+ * as SHA-256 digests in constant time. A waiter presenting a different secret runs its own
+ * computation, so no request is ever answered on the strength of another request's secret. The
+ * leader's digest is dropped as soon as the computation completes.
+ * </p>
+ *
+ * <p>Metrics ({@code sentinel.auth.singleflight.requests}, tagged by {@code role}):</p>
+ * <ul>
+ *     <li>{@code leader} - requests that ran the computation</li>
+ *     <li>{@code coalesced} - requests that shared a leader's result</li>
+ *     <li>{@code mismatch} - requests that found a flight with a different secret and ran their own</li>
+ * </ul>
+ * The coalescing ratio is {@code coalesced / (leader + coalesced + mismatch)}.
+ */
+@Component
+public class CredentialSingleFlight {
+
+    /**
+     * A running computation and the digest of the secret it verifies.
+     */
+    private record Flight(byte[] secretDigest, CompletableFuture<Object> result) {
+    }
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter mismatches;
+
+    public CredentialSingleFlight(MeterRegistry meterRegistry) {
+        this.leaders = counter(meterRegistry, "leader");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.mismatches = counter(meterRegistry, "mismatch");
+    }
+
+    /**
+     * Runs the computation for the key, or joins an identical one already in flight.
+     *
+     * @param key         principal identifier, e.g. the client ID
+     * @param secret      the presented secret
+     * @param computation authentication to run when leading
+     * @param <T>         result type
+     * @return the result of this request's or the shared computation
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, String secret, Supplier<T> computation) {
+        byte[] digest = digest(secret);
+        Flight flight = new Flight(digest, new CompletableFuture<>());
+        Flight existing = flights.putIfAbsent(key, flight);
+
+        if (existing == null) {
+            leaders.increment();
+            try {
+                T result = computation.get();
+                flight.result().complete(result);
+                return result;
+            } catch (RuntimeException e) {
+                flight.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.remove(key, flight);
+            }
+        }
+
+        if (!MessageDigest.isEqual(existing.secretDigest(), digest)) {
+            mismatches.increment();
+            return computation.get();
+        }
+
+        coalesced.increment();
+        try {
+            return (T) existing.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static byte[] digest(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256")
+                    .digest(String.valueOf(secret).getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("sentinel.auth.singleflight.requests")
+                .description("Client authentications by single-flight role")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,277 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.logging.LogSampler;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt.CborReader;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt.CborWriter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt.CwtClaimKeys;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Service issuing and verifying CBOR Web Tokens (RFC 8392), a compact binary alternative to JWT
+ * access tokens for internal traffic.
+ * <p>
+ * A token is {@code nxc_} followed by the Base64url form of a tagged {@code COSE_Mac0} structure
+ * (RFC 9052). It is authenticated with HMAC 256/256 under the {@code jwt.secret} key, so the
+ * format changes but the key does not. Claims are a CBOR map with the integer keys of
+ * {@link CwtClaimKeys}: times are integers, the token and family ids are 16 UUID bytes, and the
+ * token and subject types are their fixed
+ * {@link TokenType#getCode() codes}. A typical client token is about half the size of
+ * the equivalent JWT.
+ * </p>
+ *
+ * <p>{@link #parse(String)} reports failures like {@link JwtService#parse(String)} and returns the
+ * claims under their JWT names, so callers handle both formats the same way.</p>
+ */
+@Slf4j
+@Component
+public class CwtService {
+
+    /**
+     * Prefix identifying CBOR Web Tokens.
+     */
+    public static final String PREFIX = "nxc_";
+
+    /**
+     * Lifetime of CWT access tokens, the same as that of JWT access tokens.
+     */
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofHours(1);
+
+    /**
+     * Tokens longer than this are rejected before decoding.
+     */
+    private static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final long COSE_MAC0_TAG = 17;
+    private static final int COSE_ALGORITHM = 1;
+    private static final int HMAC_256_256 = 5;
+
+    /**
+     * Protected header {@code {1: 5}}, the only one this service writes or accepts.
+     */
+    private static final byte[] PROTECTED_HEADER = new CborWriter(4)
+            .startMap(1).writeInt(COSE_ALGORITHM).writeInt(HMAC_256_256)
+            .toByteArray();
+
+    /**
+     * Encoded start of the {@code MAC_structure}: the context string, the protected header and an
+     * empty external AAD. The payload byte string completes it.
+     */
+    private static final byte[] MAC_STRUCTURE_PREFIX = new CborWriter(16)
+            .startArray(4).writeText("MAC0").writeBytes(PROTECTED_HEADER).writeBytes(new byte[0])
+            .toByteArray();
+
+    private final String issuer;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Lets at most ten rejected-token warnings per minute through.
+     */
+    private final LogSampler rejectionLog = new LogSampler(10, Duration.ofMinutes(1));
+
+    public CwtService(@Value("${jwt.secret}") String secret, @Value("${jwt.issuer:nexus-auth}") String issuer) {
+        this.issuer = issuer;
+        SecretKeySpec key = new SecretKeySpec(Decoders.BASE64.decode(secret), "HmacSHA256");
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac instance = Mac.getInstance("HmacSHA256");
+                instance.init(key);
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("HmacSHA256 is not available", e);
+            }
+        });
+    }
+
+    /**
+     * @param token any token string
+     * @return {@code true} if it carries the CWT prefix
+     */
+    public static boolean isCwt(String token) {
+        return token != null && token.startsWith(PREFIX);
+    }
+
+    /**
+     * Generates a CWT access token valid for {@link #ACCESS_TOKEN_TTL}.
+     *
+     * @param subject      the identifier for the subject (e.g., username or client ID)
+     * @param tokenType    the type recorded in the {@code type} claim
+     * @param customClaims additional claims; {@code null} values are omitted
+     * @param subjectType  type of the subject (e.g., USER or CLIENT)
+     * @return the token string
+     */
+    public String generateAccessToken(String subject, TokenType tokenType, Map<String, Object> customClaims,
+                                      SubjectType subjectType) {
+        Instant now = Instant.now();
+        int customCount = (int) customClaims.values().stream().filter(value -> value != null).count();
+
+        CborWriter claims = new CborWriter();
+        claims.startMap(7 + customCount)
+                .writeInt(CwtClaimKeys.ISSUER).writeText(issuer)
+                .writeInt(CwtClaimKeys.SUBJECT).writeText(subject)
+                .writeInt(CwtClaimKeys.EXPIRATION).writeInt(now.plus(ACCESS_TOKEN_TTL).getEpochSecond())
+                .writeInt(CwtClaimKeys.ISSUED_AT).writeInt(now.getEpochSecond())
+                .writeInt(CwtClaimKeys.TOKEN_ID).writeBytes(uuidBytes(UUID.randomUUID()))
+                .writeInt(CwtClaimKeys.TYPE).writeInt(tokenType.getCode())
+                .writeInt(CwtClaimKeys.SUBJECT_TYPE).writeInt(subjectType.getCode());
+        customClaims.forEach((name, value) -> {
+            if (value == null) {
+                return;
+            }
+            if (TokenRevocationService.FAMILY_CLAIM.equals(name) && value instanceof String familyId) {
+                claims.writeInt(CwtClaimKeys.FAMILY_ID).writeBytes(uuidBytes(UUID.fromString(familyId)));
+                return;
+            }
+            Integer key = CwtClaimKeys.keyOf(name);
+            if (key != null) {
+                claims.writeInt(key);
+            } else {
+                claims.writeText(name);
+            }
+            claims.writeValue(value);
+        });
+        byte[] payload = claims.toByteArray();
+
+        byte[] token = new CborWriter(payload.length + 48)
+                .writeTag(COSE_MAC0_TAG)
+                .startArray(4)
+                .writeBytes(PROTECTED_HEADER)
+                .startMap(0)
+                .writeBytes(payload)
+                .writeBytes(mac(payload, 0, payload.length))
+                .toByteArray();
+        return PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Decodes and verifies a CWT without throwing.
+     * <p>
+     * Tokens that lack the prefix or are longer than {@value #MAX_TOKEN_LENGTH} characters are
+     * rejected without decoding anything. The MAC is checked before the claims are decoded.
+     * </p>
+     *
+     * @param token the token string
+     * @return the verified claims, or the reason of the rejection
+     */
+    public JwtValidation parse(String token) {
+        if (!isCwt(token) || token.length() > MAX_TOKEN_LENGTH) {
+            return rejected(JwtValidation.Failure.MALFORMED);
+        }
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token.substring(PREFIX.length()));
+            CborReader reader = new CborReader(bytes);
+            if (reader.readTag() != COSE_MAC0_TAG || reader.readArrayHeader() != 4) {
+                return rejected(JwtValidation.Failure.MALFORMED);
+            }
+            if (!Arrays.equals(reader.readBytes(), PROTECTED_HEADER) || reader.readMapHeader() != 0) {
+                return rejected(JwtValidation.Failure.UNSUPPORTED);
+            }
+            int payloadOffset = reader.skipBytes();
+            int payloadLength = reader.position() - payloadOffset;
+            byte[] tag = reader.readBytes();
+            if (!reader.isAtEnd()) {
+                return rejected(JwtValidation.Failure.MALFORMED);
+            }
+            if (!MessageDigest.isEqual(tag, mac(bytes, payloadOffset, payloadLength))) {
+                return rejected(JwtValidation.Failure.INVALID_SIGNATURE);
+            }
+
+            Claims claims = decodeClaims(bytes, payloadOffset, payloadLength);
+            if (claims.getExpiration() == null || !claims.getExpiration().after(new Date())) {
+                return rejected(JwtValidation.Failure.EXPIRED);
+            }
+            return new JwtValidation(claims, null);
+        } catch (IllegalArgumentException e) {
+            return rejected(JwtValidation.Failure.MALFORMED);
+        }
+    }
+
+    private Claims decodeClaims(byte[] bytes, int offset, int length) {
+        CborReader reader = new CborReader(bytes, offset);
+        Claims claims = Jwts.claims();
+        int size = reader.readMapHeader();
+        for (int i = 0; i < size; i++) {
+            if (reader.isText()) {
+                claims.put(reader.readText(), reader.readValue());
+                continue;
+            }
+            long key = reader.readInt();
+            if (key == CwtClaimKeys.ISSUER) {
+                claims.setIssuer(reader.readText());
+            } else if (key == CwtClaimKeys.SUBJECT) {
+                claims.setSubject(reader.readText());
+            } else if (key == CwtClaimKeys.EXPIRATION) {
+                claims.setExpiration(Date.from(Instant.ofEpochSecond(reader.readInt())));
+            } else if (key == CwtClaimKeys.ISSUED_AT) {
+                claims.setIssuedAt(Date.from(Instant.ofEpochSecond(reader.readInt())));
+            } else if (key == CwtClaimKeys.TOKEN_ID) {
+                claims.setId(uuid(reader.readBytes()).toString());
+            } else if (key == CwtClaimKeys.TYPE) {
+                claims.put("type", TokenType.fromCode(reader.readInt()).name());
+            } else if (key == CwtClaimKeys.SUBJECT_TYPE) {
+                claims.put("subject_type", SubjectType.fromCode(reader.readInt()).name());
+            } else if (key == CwtClaimKeys.FAMILY_ID) {
+                claims.put(TokenRevocationService.FAMILY_CLAIM, uuid(reader.readBytes()).toString());
+            } else {
+                String name = CwtClaimKeys.nameOf(key);
+                if (name == null) {
+                    throw new IllegalArgumentException("Unknown CWT claim key " + key);
+                }
+                claims.put(name, reader.readValue());
+            }
+        }
+        if (reader.position() != offset + length) {
+            throw new IllegalArgumentException("Trailing bytes after CWT claims");
+        }
+        return claims;
+    }
+
+    private byte[] mac(byte[] payload, int offset, int length) {
+        Mac instance = mac.get();
+        instance.update(MAC_STRUCTURE_PREFIX);
+        instance.update(new CborWriter(9).startBytes(length).toByteArray());
+        instance.update(payload, offset, length);
+        return instance.doFinal();
+    }
+
+    private JwtValidation rejected(JwtValidation.Failure failure) {
+        if (rejectionLog.sample()) {
+            log.warn("Invalid CWT: {} ({} similar messages suppressed)", failure, rejectionLog.drainSuppressed());
+        }
+        return JwtValidation.rejected(failure);
+    }
+
+    private static byte[] uuidBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static UUID uuid(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("CWT id must be 16 bytes");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
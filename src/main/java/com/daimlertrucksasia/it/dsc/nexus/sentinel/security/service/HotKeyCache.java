@@ -0,0 +1,101 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of recently used keys with a per-entry time to live.
+ * <p>
+ * Entries are spread over a fixed number of access-ordered {@link LinkedHashMap} segments, each
+ * guarded by its own monitor and limited to an equal share of the capacity. When a segment is full,
+ * its least recently used entry is evicted. Hot keys therefore stay cached and cold keys age out,
+ * without a global lock.
+ * </p>
+ *
+ * @param <V> cached value type
+ */
+final class HotKeyCache<V> {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment<V>[] segments;
+    private final long ttlNanos;
+
+    private record Entry<V>(V value, long loadedAt) {
+    }
+
+    private static final class Segment<V> extends LinkedHashMap<String, Entry<V>> {
+        private final int maxSize;
+
+        Segment(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * @param capacity maximum number of entries
+     * @param ttlNanos time an entry stays valid after it was put
+     */
+    @SuppressWarnings("unchecked")
+    HotKeyCache(int capacity, long ttlNanos) {
+        this.segments = new Segment[SEGMENTS];
+        int perSegment = Math.max(1, (capacity + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * @return the live value cached under the key, or {@code null}
+     */
+    V get(String key) {
+        Segment<V> segment = segment(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.loadedAt() >= ttlNanos) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+    }
+
+    void put(String key, V value) {
+        Segment<V> segment = segment(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, System.nanoTime()));
+        }
+    }
+
+    void invalidate(String key) {
+        Segment<V> segment = segment(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<V> segment(String key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+}
@@ -1,10 +1,12 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.logging.LogSampler;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -20,6 +22,10 @@ import java.util.*;
  * <p>This class provides functionalities for creating access and refresh tokens,
  * extracting claims and subjects, verifying token types, and checking expiration status.</p>
  *
+ * <p>{@link #parse(String)} is the cheap rejection path: it screens the token shape before any
+ * decoding, reports failures as shared {@link JwtValidation} results instead of exceptions and
+ * logs rejected tokens through a {@link LogSampler}.</p>
+ *
  * <p>Configuration:</p>
  * <ul>
  *     <li>{@code jwt.secret} - Secret key used for signing JWTs</li>
@@ -50,11 +56,31 @@ public class JwtService {
     @Value("${jwt.issuer:nexus-auth}")
     private String issuer;
 
+    /**
+     * Tokens longer than this are rejected before parsing.
+     */
+    private static final int MAX_TOKEN_LENGTH = 8192;
+
+    /**
+     * Lifetime of access tokens.
+     */
+    public static final Duration ACCESS_TOKEN_TTL = Duration.ofHours(1);
+
     /**
      * The secret key object generated from the decoded Base64 secret.
      */
     private SecretKey secretKey;
 
+    /**
+     * Parser bound to {@link #secretKey}; immutable and shared by all threads.
+     */
+    private JwtParser parser;
+
+    /**
+     * Lets at most ten rejected-token warnings per minute through.
+     */
+    private final LogSampler rejectionLog = new LogSampler(10, Duration.ofMinutes(1));
+
     /**
      * Initializes the {@link SecretKey} used for JWT signing by decoding the Base64 secret.
      * This method runs automatically after bean construction.
@@ -63,6 +89,9 @@ public class JwtService {
     public void init() {
         byte[] keyBytes = Decoders.BASE64.decode(secret);
         this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(secretKey)
+                .build();
     }
 
     /**
@@ -75,7 +104,7 @@ public class JwtService {
      * @return signed JWT access token as a String
      */
     public String generateAccessToken(String subject, TokenType tokenType, Map<String, Object> customClaims, SubjectType subjectType) {
-        return generateToken(subject, tokenType, customClaims, subjectType, Duration.ofHours(1));
+        return generateToken(UUID.randomUUID().toString(), subject, tokenType, customClaims, subjectType, ACCESS_TOKEN_TTL);
     }
 
     /**
@@ -88,12 +117,32 @@ public class JwtService {
      * @return signed JWT refresh token as a String
      */
     public String generateRefreshToken(String subject, TokenType tokenType, Map<String, Object> customClaims, SubjectType subjectType) {
-        return generateToken(subject, tokenType, customClaims, subjectType, Duration.ofDays(30));
+        return generateRefreshToken(subject, tokenType, customClaims, subjectType, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Generates a long-lived JWT refresh token with a 30-day expiration time and a caller-chosen token ID.
+     * <p>
+     * The ID ({@code jti}) identifies the refresh-token family, so that access tokens minted from it
+     * can reference the family and be revoked together with it.
+     * </p>
+     *
+     * @param subject       the identifier for the subject
+     * @param tokenType     the type of token being created (REFRESH_TOKEN)
+     * @param customClaims  additional claims to be included in the token
+     * @param subjectType   type of the subject (e.g., USER or CLIENT)
+     * @param tokenId       value of the {@code jti} claim
+     * @return signed JWT refresh token as a String
+     */
+    public String generateRefreshToken(String subject, TokenType tokenType, Map<String, Object> customClaims,
+                                       SubjectType subjectType, String tokenId) {
+        return generateToken(tokenId, subject, tokenType, customClaims, subjectType, Duration.ofDays(30));
     }
 
     /**
      * Internal method for building JWT tokens with dynamic expiration durations.
      *
+     * @param tokenId       value of the {@code jti} claim
      * @param subject       the identifier for the subject
      * @param tokenType     the type of token (ACCESS_TOKEN or REFRESH_TOKEN)
      * @param customClaims  additional claims
@@ -101,11 +150,11 @@ public class JwtService {
      * @param duration      expiration duration of the token
      * @return signed JWT token string
      */
-    private String generateToken(String subject, TokenType tokenType, Map<String, Object> customClaims, SubjectType subjectType, Duration duration) {
+    private String generateToken(String tokenId, String subject, TokenType tokenType, Map<String, Object> customClaims, SubjectType subjectType, Duration duration) {
         Instant now = Instant.now();
 
         return Jwts.builder()
-                .setId(UUID.randomUUID().toString())
+                .setId(tokenId)
                 .setSubject(subject)
                 .setIssuer(issuer)
                 .setIssuedAt(Date.from(now))
@@ -125,11 +174,34 @@ public class JwtService {
      * @throws JwtException if token is invalid
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(secretKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Parses and verifies the given JWT without throwing.
+     * <p>
+     * Tokens that are empty, longer than {@value #MAX_TOKEN_LENGTH} characters or do not have
+     * exactly three segments are rejected without decoding anything.
+     * </p>
+     *
+     * @param token the JWT token string
+     * @return the verified claims, or the reason of the rejection
+     */
+    public JwtValidation parse(String token) {
+        if (!hasCompactShape(token)) {
+            return rejected(JwtValidation.Failure.MALFORMED);
+        }
+        try {
+            return new JwtValidation(parser.parseClaimsJws(token).getBody(), null);
+        } catch (ExpiredJwtException e) {
+            return rejected(JwtValidation.Failure.EXPIRED);
+        } catch (SignatureException e) {
+            return rejected(JwtValidation.Failure.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return rejected(JwtValidation.Failure.UNSUPPORTED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return rejected(JwtValidation.Failure.MALFORMED);
+        }
     }
 
     /**
@@ -169,13 +241,7 @@ public class JwtService {
      * @return {@code true} if token is valid; {@code false} otherwise
      */
     public boolean validate(String token) {
-        try {
-            extractAllClaims(token); // throws if invalid
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            log.warn("Invalid JWT: {}", e.getMessage());
-            return false;
-        }
+        return parse(token).isValid();
     }
 
     /**
@@ -192,5 +258,20 @@ public class JwtService {
             return false;
         }
     }
-}
 
+    private JwtValidation rejected(JwtValidation.Failure failure) {
+        if (rejectionLog.sample()) {
+            log.warn("Invalid JWT: {} ({} similar messages suppressed)", failure, rejectionLog.drainSuppressed());
+        }
+        return JwtValidation.rejected(failure);
+    }
+
+    private static boolean hasCompactShape(String token) {
+        if (token == null || token.isEmpty() || token.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        int first = token.indexOf('.');
+        int second = first < 0 ? -1 : token.indexOf('.', first + 1);
+        return second > 0 && token.indexOf('.', second + 1) < 0;
+    }
+}
@@ -0,0 +1,56 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Outcome of parsing and verifying a JWT or CWT, returned instead of throwing so that rejecting a bad
+ * token costs one check and no allocation.
+ *
+ * @param claims  verified claims, or {@code null} if the token was rejected
+ * @param failure reason of the rejection, or {@code null} if the token is valid
+ */
+public record JwtValidation(Claims claims, Failure failure) {
+
+    /**
+     * Reasons a token is rejected.
+     */
+    public enum Failure {
+
+        /**
+         * Not a compact JWS: empty, oversized, wrong number of segments or undecodable.
+         */
+        MALFORMED,
+
+        /**
+         * Signature does not verify against the signing key.
+         */
+        INVALID_SIGNATURE,
+
+        /**
+         * Past its {@code exp} claim.
+         */
+        EXPIRED,
+
+        /**
+         * Well-formed but not a signed claims JWT.
+         */
+        UNSUPPORTED;
+
+        private final JwtValidation result = new JwtValidation(null, this);
+    }
+
+    /**
+     * @param failure reason of the rejection
+     * @return the shared result for that reason
+     */
+    static JwtValidation rejected(Failure failure) {
+        return failure.result;
+    }
+
+    /**
+     * @return {@code true} if the token is valid
+     */
+    public boolean isValid() {
+        return failure == null;
+    }
+}
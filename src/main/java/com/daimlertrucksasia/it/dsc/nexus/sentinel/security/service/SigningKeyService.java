@@ -0,0 +1,200 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RequestSigningProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.SigningKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Cipher;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Service issuing, resolving and revoking the HMAC keys clients sign requests with.
+ * <p>
+ * Secrets are 256 random bits, stored AES-GCM encrypted under the master key. Verifying a request
+ * needs the plain secret. {@link #resolve(String)} therefore keeps decrypted keys in a bounded
+ * {@link HotKeyCache} for {@code security.request-signing.cache-ttl}, so a signed request normally
+ * costs neither a MongoDB read nor a decryption.
+ * </p>
+ */
+@Slf4j
+@Service
+public class SigningKeyService {
+
+    private static final int SECRET_BYTES = 32;
+    private static final int GCM_NONCE_BYTES = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final Base64.Encoder ID_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * A signing key ready for verification.
+     *
+     * @param signingKey stored metadata
+     * @param secret     decrypted HMAC key
+     */
+    public record ResolvedSigningKey(SigningKey signingKey, SecretKey secret) {
+    }
+
+    /**
+     * A newly issued signing key; the plain secret is only available here.
+     *
+     * @param signingKey stored metadata
+     * @param secret     the raw secret to hand to the client
+     */
+    public record IssuedSigningKey(SigningKey signingKey, byte[] secret) {
+    }
+
+    private final RequestSigningProperties properties;
+    private final SigningKeyRepository signingKeyRepository;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final HotKeyCache<ResolvedSigningKey> cache;
+    private final SecretKey masterKey;
+    private final SecureRandom random = new SecureRandom();
+    private final Counter hits;
+    private final Counter misses;
+
+    public SigningKeyService(RequestSigningProperties properties, SigningKeyRepository signingKeyRepository,
+                             MongoIndexInitializer mongoIndexInitializer, MeterRegistry meterRegistry) {
+        if (properties.getMasterKey() == null || properties.getMasterKey().isBlank()) {
+            throw new IllegalStateException(
+                    "security.request-signing.master-key must be set, e.g. through REQUEST_SIGNING_MASTER_KEY");
+        }
+        this.properties = properties;
+        this.signingKeyRepository = signingKeyRepository;
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.cache = new HotKeyCache<>(properties.getCacheSize(), properties.getCacheTtl().toNanos());
+        byte[] master = Base64.getDecoder().decode(properties.getMasterKey());
+        if (master.length != 16 && master.length != 24 && master.length != 32) {
+            throw new IllegalStateException("security.request-signing.master-key must be a 128, 192 or 256-bit AES key");
+        }
+        this.masterKey = new SecretKeySpec(master, "AES");
+        this.hits = meterRegistry.counter("sentinel.request.signing.key.lookups", "result", "hit");
+        this.misses = meterRegistry.counter("sentinel.request.signing.key.lookups", "result", "miss");
+    }
+
+    /**
+     * Registers the indexes of the {@code signing_keys} collection.
+     */
+    @PostConstruct
+    void initialize() {
+        mongoIndexInitializer.register(SigningKey.class,
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+        mongoIndexInitializer.register(SigningKey.class, new Index().on("clientId", Sort.Direction.ASC));
+    }
+
+    /**
+     * Issues a signing key carrying the current grants of a client.
+     *
+     * @param client the authenticated client
+     * @return the stored metadata and the raw secret
+     */
+    public IssuedSigningKey issue(Client client) {
+        byte[] idBytes = new byte[12];
+        random.nextBytes(idBytes);
+        String id = ID_ENCODER.encodeToString(idBytes);
+        byte[] secret = new byte[SECRET_BYTES];
+        random.nextBytes(secret);
+
+        Instant now = Instant.now();
+        SigningKey signingKey = SigningKey.builder()
+                .id(id)
+                .clientId(client.getClientId())
+                .encryptedSecret(Base64.getEncoder().encodeToString(encrypt(id, secret)))
+                .roles(client.getRoles())
+                .scopes(client.getScopes())
+                .team(client.getTeam())
+                .tier(client.getServiceTier())
+                .createdAt(now)
+                .expiresAt(now.plus(properties.getKeyValidity()))
+                .build();
+        signingKeyRepository.insert(signingKey);
+        return new IssuedSigningKey(signingKey, secret);
+    }
+
+    /**
+     * Resolves an unexpired signing key.
+     *
+     * @param keyId the key id sent with a request
+     * @return the key, or {@code null} if it is unknown or expired
+     */
+    public ResolvedSigningKey resolve(String keyId) {
+        ResolvedSigningKey resolved = cache.get(keyId);
+        if (resolved != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            SigningKey stored = signingKeyRepository.findById(keyId).orElse(null);
+            if (stored == null) {
+                return null;
+            }
+            byte[] secret = decrypt(stored.getId(), Base64.getDecoder().decode(stored.getEncryptedSecret()));
+            resolved = new ResolvedSigningKey(stored, new SecretKeySpec(secret, "HmacSHA256"));
+            cache.put(keyId, resolved);
+        }
+        Instant expiresAt = resolved.signingKey().getExpiresAt();
+        return expiresAt != null && !expiresAt.isAfter(Instant.now()) ? null : resolved;
+    }
+
+    /**
+     * Revokes a signing key of the given client.
+     *
+     * @param keyId    the key id
+     * @param clientId the authenticated client
+     * @return {@code true} if the client owned the key and it was revoked
+     */
+    public boolean revoke(String keyId, String clientId) {
+        if (keyId == null) {
+            return false;
+        }
+        SigningKey signingKey = signingKeyRepository.findById(keyId).orElse(null);
+        if (signingKey == null || !signingKey.getClientId().equals(clientId)) {
+            return false;
+        }
+        signingKeyRepository.deleteById(keyId);
+        cache.invalidate(keyId);
+        log.info("Revoked signing key {}", keyId);
+        return true;
+    }
+
+    private byte[] encrypt(String keyId, byte[] secret) {
+        try {
+            byte[] nonce = new byte[GCM_NONCE_BYTES];
+            random.nextBytes(nonce);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, masterKey, new GCMParameterSpec(GCM_TAG_BITS, nonce));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.US_ASCII));
+            byte[] ciphertext = cipher.doFinal(secret);
+            return ByteBuffer.allocate(nonce.length + ciphertext.length).put(nonce).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Encrypting a signing key failed", e);
+        }
+    }
+
+    private byte[] decrypt(String keyId, byte[] stored) {
+        try {
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.DECRYPT_MODE, masterKey, new GCMParameterSpec(GCM_TAG_BITS, stored, 0, GCM_NONCE_BYTES));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.US_ASCII));
+            return cipher.doFinal(stored, GCM_NONCE_BYTES, stored.length - GCM_NONCE_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Decrypting signing key " + keyId + " failed", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueToken;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenCodec;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionData;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ApiKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenIntrospectionResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantRegistry;
+import io.jsonwebtoken.Claims;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service reporting whether an access token is active and what it grants.
+ * <p>
+ * Opaque tokens are looked up in the {@link OpaqueTokenStore}. This is a table lookup that touches
+ * MongoDB only for tokens this node has not seen yet. JWT access tokens are verified and read by
+ * the {@link JwtService}, CBOR Web Tokens by the {@link CwtService}. In all these cases the
+ * {@link TokenRevocationService} deny-list is checked. Tokens whose claims were moved into a
+ * claims reference report the referenced claims, resolved by the {@link ClaimsPolicyService}.
+ * Their {@code grants} claim is reported only if the {@link GrantRegistry} can decode it, i.e. if
+ * it was encoded under the declared authorities of this node.
+ * API keys are validated by the {@link ApiKeyService} and session tokens are looked up in the
+ * {@link SessionStore}, which extends their idle expiry. Refresh tokens are never reported as active.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenIntrospectionService {
+
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtService jwtService;
+    private final CwtService cwtService;
+    private final ApiKeyService apiKeyService;
+    private final SessionStore sessionStore;
+    private final ClaimsPolicyService claimsPolicyService;
+    private final GrantRegistry grantRegistry;
+
+    /**
+     * @param token an opaque, JWT or CWT access token, a session token or an API key
+     * @return the token's state; {@link TokenIntrospectionResponse#INACTIVE} if it is unknown,
+     * expired or revoked
+     */
+    public TokenIntrospectionResponse introspect(String token) {
+        if (OpaqueTokenCodec.isOpaque(token)) {
+            return introspectOpaque(token);
+        }
+        if (ApiKeyService.isApiKey(token)) {
+            return introspectApiKey(token);
+        }
+        if (SessionStore.isSession(token)) {
+            return introspectSession(token);
+        }
+        boolean compact = CwtService.isCwt(token);
+        JwtValidation validation = compact ? cwtService.parse(token) : jwtService.parse(token);
+        if (!validation.isValid()) {
+            return TokenIntrospectionResponse.INACTIVE;
+        }
+        Claims claims = validation.claims();
+        TokenType tokenType = compact ? TokenType.CWT : TokenType.BEARER_JWT;
+        if (!tokenType.name().equals(claims.get("type", String.class))
+                || tokenRevocationService.isRevoked(claims)) {
+            return TokenIntrospectionResponse.INACTIVE;
+        }
+        Map<String, Object> granted = claims;
+        String handle = claims.get(ClaimsPolicyService.REFERENCE_CLAIM, String.class);
+        if (handle != null) {
+            ClaimsReference reference = claimsPolicyService.resolve(handle);
+            if (reference == null) {
+                return TokenIntrospectionResponse.INACTIVE;
+            }
+            granted = reference.getClaims();
+        }
+        String subjectType = claims.get("subject_type", String.class);
+        return TokenIntrospectionResponse.builder()
+                .active(true)
+                .tokenType(tokenType)
+                .subject(claims.getSubject())
+                .subjectType(subjectType == null ? null : SubjectType.valueOf(subjectType))
+                .roles(stringList(granted, "roles"))
+                .scopes(stringList(granted, "scopes"))
+                .grants(grants(claims))
+                .team((String) granted.get("team"))
+                .tier((String) granted.get("tier"))
+                .issuedAt(claims.getIssuedAt().toInstant().getEpochSecond())
+                .expiresAt(claims.getExpiration().toInstant().getEpochSecond())
+                .build();
+    }
+
+    private TokenIntrospectionResponse introspectOpaque(String token) {
+        OpaqueToken found = opaqueTokenStore.find(token);
+        if (found == null || tokenRevocationService.isRevoked(token, found.familyId())) {
+            return TokenIntrospectionResponse.INACTIVE;
+        }
+        return TokenIntrospectionResponse.builder()
+                .active(true)
+                .tokenType(TokenType.OPAQUE)
+                .subject(found.subject())
+                .subjectType(found.subjectType())
+                .roles(found.roles())
+                .scopes(found.scopes())
+                .team(found.team())
+                .tier(found.tier())
+                .issuedAt(found.issuedAt())
+                .expiresAt(found.expiresAt())
+                .build();
+    }
+
+    private TokenIntrospectionResponse introspectApiKey(String key) {
+        ApiKey apiKey = apiKeyService.validate(key);
+        if (apiKey == null) {
+            return TokenIntrospectionResponse.INACTIVE;
+        }
+        return TokenIntrospectionResponse.builder()
+                .active(true)
+                .tokenType(TokenType.API_KEY)
+                .subject(apiKey.getClientId())
+                .subjectType(SubjectType.CLIENT)
+                .roles(apiKey.getRoles())
+                .scopes(apiKey.getScopes())
+                .team(apiKey.getTeam())
+                .tier(apiKey.getTier())
+                .issuedAt(apiKey.getCreatedAt().getEpochSecond())
+                .expiresAt(apiKey.getExpiresAt() == null ? null : apiKey.getExpiresAt().getEpochSecond())
+                .build();
+    }
+
+    private TokenIntrospectionResponse introspectSession(String token) {
+        SessionData session = sessionStore.find(token);
+        if (session == null) {
+            return TokenIntrospectionResponse.INACTIVE;
+        }
+        return TokenIntrospectionResponse.builder()
+                .active(true)
+                .tokenType(TokenType.SESSION)
+                .subject(session.subject())
+                .subjectType(session.subjectType())
+                .roles(session.roles())
+                .issuedAt(session.issuedAt())
+                .expiresAt(session.issuedAt() + sessionStore.absoluteTimeout().toSeconds())
+                .attributes(session.attributes())
+                .build();
+    }
+
+    /**
+     * @return the {@code grants} claim, or {@code null} if it is absent, malformed or of another version
+     */
+    private String grants(Claims claims) {
+        if (!(claims.get(GrantRegistry.CLAIM) instanceof String claim)) {
+            return null;
+        }
+        try {
+            return grantRegistry.decodeClaim(claim) == null ? null : claim;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<String> stringList(Map<String, Object> claims, String name) {
+        return claims.get(name) instanceof List<?> values ? values.stream().map(String::valueOf).toList() : null;
+    }
+}
@@ -0,0 +1,213 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RefreshTokenFamilyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RevokedTokenRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenCodec;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RevokedToken;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service maintaining the {@code jti} deny-list used to revoke self-contained tokens.
+ * <p>
+ * Revoked ids are kept in an in-memory map so that checks on the hot path never touch MongoDB.
+ * Every revocation is also written to the {@code revoked_tokens} collection, from which all
+ * nodes pull new entries at {@code token.issuance.deny-list-sync-interval}. An entry is only
+ * needed until the revoked token expires; after that it is dropped from memory and removed from
+ * MongoDB by a TTL index. The first sync, run in the background right after startup, loads every
+ * live entry; until it succeeds the deny-list only holds revocations made on this node.
+ * </p>
+ *
+ * <p>
+ * A token counts as revoked when either its own {@code jti} or its refresh-token family
+ * ({@code fid} claim) is on the deny-list. Revoking a refresh token therefore also revokes every
+ * access token minted from it, and deletes its {@link RefreshTokenFamily} record.
+ * </p>
+ *
+ * <p>
+ * Opaque access tokens are removed from the {@link OpaqueTokenStore}. The token string itself is
+ * also put on the deny-list, so that other nodes drop their cached copy at their next sync.
+ * API keys are deleted by the {@link ApiKeyService}. Sessions are removed from the
+ * {@link SessionStore}; they only exist on one node and need no deny-list entry.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+
+    /**
+     * Claim carrying the refresh-token family id in access tokens.
+     */
+    public static final String FAMILY_CLAIM = "fid";
+
+    /**
+     * Overlap applied to incremental syncs to tolerate clock skew between nodes.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final JwtService jwtService;
+    private final CwtService cwtService;
+    private final OpaqueTokenStore opaqueTokenStore;
+    private final ApiKeyService apiKeyService;
+    private final SessionStore sessionStore;
+
+    /**
+     * Revoked ids mapped to the expiry of the revoked token.
+     */
+    private final Map<String, Instant> denyList = new ConcurrentHashMap<>();
+
+    /**
+     * Start of the last successful sync; {@link Instant#EPOCH} until the initial load succeeded.
+     */
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    /**
+     * Registers the TTL indexes of the deny-list and the refresh-token families.
+     */
+    @PostConstruct
+    void initialize() {
+        mongoIndexInitializer.register(RevokedToken.class,
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+        mongoIndexInitializer.register(RevokedToken.class, new Index().on("revokedAt", Sort.Direction.ASC));
+        mongoIndexInitializer.register(RefreshTokenFamily.class,
+                new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+    }
+
+    /**
+     * Revokes the given access or refresh token. Tokens that are malformed or already expired are
+     * ignored, since they are rejected anyway.
+     *
+     * @param token the JWT, CWT, opaque token, session token or API key to revoke
+     */
+    public void revoke(String token) {
+        if (SessionStore.isSession(token)) {
+            sessionStore.remove(token);
+            return;
+        }
+        if (ApiKeyService.isApiKey(token)) {
+            apiKeyService.revoke(token);
+            return;
+        }
+        if (OpaqueTokenCodec.isOpaque(token)) {
+            opaqueTokenStore.remove(token)
+                    .ifPresent(revoked -> deny(token, Instant.ofEpochSecond(revoked.expiresAt())));
+            return;
+        }
+        Claims claims;
+        if (CwtService.isCwt(token)) {
+            JwtValidation validation = cwtService.parse(token);
+            if (!validation.isValid()) {
+                return;
+            }
+            claims = validation.claims();
+        } else {
+            try {
+                claims = jwtService.extractAllClaims(token);
+            } catch (JwtException | IllegalArgumentException e) {
+                return;
+            }
+        }
+        if (claims.getId() == null) {
+            return;
+        }
+
+        Instant expiresAt = claims.getExpiration().toInstant();
+        deny(claims.getId(), expiresAt);
+        if (TokenType.REFRESH_TOKEN.name().equals(claims.get("type", String.class))) {
+            refreshTokenFamilyRepository.deleteById(claims.getId());
+        }
+    }
+
+    /**
+     * Checks the deny-list for the token described by the given claims.
+     *
+     * @param claims verified claims of the token
+     * @return {@code true} if the token or its refresh-token family has been revoked
+     */
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims.getId(), claims.get(FAMILY_CLAIM, String.class));
+    }
+
+    /**
+     * Checks the deny-list for a token id and refresh-token family.
+     *
+     * @param id       token id, i.e. the {@code jti} or the opaque token string
+     * @param familyId refresh-token family id, or {@code null}
+     * @return {@code true} if either has been revoked
+     */
+    public boolean isRevoked(String id, String familyId) {
+        return isDenied(id) || isDenied(familyId);
+    }
+
+    /**
+     * Checks whether the refresh-token family is still on record.
+     *
+     * @param familyId family id, i.e. the refresh token's {@code jti}
+     * @return {@code true} if the family record exists
+     */
+    public boolean isFamilyActive(String familyId) {
+        return familyId != null && refreshTokenFamilyRepository.existsById(familyId);
+    }
+
+    /**
+     * Pulls revocations recorded by other nodes and evicts expired entries. Until the first
+     * successful sync, all live entries are loaded instead.
+     */
+    @Scheduled(fixedDelayString = "${token.issuance.deny-list-sync-interval:10s}")
+    void synchronize() {
+        Instant now = Instant.now();
+        try {
+            boolean initial = lastSync.equals(Instant.EPOCH);
+            List<RevokedToken> entries = initial
+                    ? revokedTokenRepository.findByExpiresAtAfter(now)
+                    : revokedTokenRepository.findByRevokedAtAfter(lastSync.minus(SYNC_OVERLAP));
+            entries.forEach(entry -> denyList.put(entry.getId(), entry.getExpiresAt()));
+            lastSync = now;
+            if (initial) {
+                log.info("Loaded {} token deny-list entries", denyList.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Token deny-list sync failed: {}", e.getMessage());
+        }
+        denyList.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+    }
+
+    private void deny(String id, Instant expiresAt) {
+        denyList.put(id, expiresAt);
+        revokedTokenRepository.save(RevokedToken.builder()
+                .id(id)
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private boolean isDenied(String id) {
+        if (id == null) {
+            return false;
+        }
+        Instant expiresAt = denyList.get(id);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+}
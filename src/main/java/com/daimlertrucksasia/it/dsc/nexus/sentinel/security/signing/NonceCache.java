@@ -0,0 +1,97 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Fixed-memory set of recently seen request fingerprints, used to reject replayed signed requests.
+ * <p>
+ * Signed requests are only accepted within {@code maxClockSkew} of the server clock, so a
+ * fingerprint only has to be remembered as long as its timestamp is acceptable. The cache is a
+ * ring of buckets, each covering one {@code slice} of request timestamps and holding an
+ * open-addressing {@code long[]} of fixed capacity. The ring has enough buckets for the whole
+ * accepted range plus a spare, and a bucket is cleared when a timestamp of a newer slice maps
+ * to it. All memory is allocated up front; a full bucket rejects further requests of its slice
+ * instead of growing.
+ * </p>
+ */
+public class NonceCache {
+
+    /**
+     * Outcome of recording a fingerprint.
+     */
+    public enum Result {
+        ACCEPTED,
+        REPLAYED,
+        FULL
+    }
+
+    private final Bucket[] buckets;
+    private final long sliceSeconds;
+    private final int maxEntries;
+
+    private static final class Bucket {
+        final long[] fingerprints;
+        long slice = Long.MIN_VALUE;
+        int size;
+
+        Bucket(int capacity) {
+            fingerprints = new long[capacity];
+        }
+    }
+
+    /**
+     * @param maxClockSkew  accepted distance of request timestamps from the server clock
+     * @param slice         width of the time slice covered by one bucket
+     * @param sliceCapacity number of fingerprints one bucket holds
+     */
+    public NonceCache(Duration maxClockSkew, Duration slice, int sliceCapacity) {
+        this.sliceSeconds = Math.max(1, slice.toSeconds());
+        int count = (int) ((2 * maxClockSkew.toSeconds() + 1 + sliceSeconds - 1) / sliceSeconds) + 2;
+        int capacity = Integer.highestOneBit(Math.max(16, sliceCapacity) - 1) << 1;
+        this.buckets = new Bucket[count];
+        for (int i = 0; i < count; i++) {
+            buckets[i] = new Bucket(capacity);
+        }
+        this.maxEntries = capacity - capacity / 4;
+    }
+
+    /**
+     * Records a request fingerprint.
+     *
+     * @param epochSecond the request's timestamp, already checked against the clock skew
+     * @param fingerprint uniformly distributed fingerprint of the request
+     * @return whether the request is new, a replay, or its slice is full
+     */
+    public Result record(long epochSecond, long fingerprint) {
+        long slice = Math.floorDiv(epochSecond, sliceSeconds);
+        Bucket bucket = buckets[(int) Math.floorMod(slice, (long) buckets.length)];
+        long value = fingerprint == 0 ? 1 : fingerprint;
+        synchronized (bucket) {
+            if (bucket.slice != slice) {
+                if (bucket.slice > slice) {
+                    // older than anything the ring still remembers, so a replay cannot be ruled out
+                    return Result.REPLAYED;
+                }
+                Arrays.fill(bucket.fingerprints, 0L);
+                bucket.slice = slice;
+                bucket.size = 0;
+            }
+            long[] table = bucket.fingerprints;
+            int mask = table.length - 1;
+            int index = (int) (value ^ (value >>> 32)) & mask;
+            while (table[index] != 0) {
+                if (table[index] == value) {
+                    return Result.REPLAYED;
+                }
+                index = (index + 1) & mask;
+            }
+            if (bucket.size >= maxEntries) {
+                return Result.FULL;
+            }
+            table[index] = value;
+            bucket.size++;
+            return Result.ACCEPTED;
+        }
+    }
+}
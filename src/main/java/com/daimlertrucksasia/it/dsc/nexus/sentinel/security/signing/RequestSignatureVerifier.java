@@ -0,0 +1,250 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RequestSigningProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.SigningKeyService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Verifies HMAC-SHA256 request signatures.
+ * <p>
+ * A signed request carries these headers:
+ * <ul>
+ *     <li>{@code X-Sentinel-Key-Id} - id of the client's signing key</li>
+ *     <li>{@code X-Sentinel-Timestamp} - request time in epoch seconds</li>
+ *     <li>{@code X-Sentinel-Nonce} - random value making identical requests distinct</li>
+ *     <li>{@code X-Sentinel-Content-SHA256} - Base64 SHA-256 of the body</li>
+ *     <li>{@code X-Sentinel-Signature} - Base64 HMAC-SHA256 of the canonical request</li>
+ * </ul>
+ * The canonical request is the method, path, raw query, timestamp, nonce and content digest,
+ * joined by {@code \n}. Its signature is checked first. The body is then read in full and checked
+ * against the signed digest before the request is passed on, see {@link SpooledBodyRequest}; bodies
+ * above {@code security.request-signing.spool-threshold} are spooled to a temporary file. A request
+ * with a body must declare its {@code Content-Length}.
+ * </p>
+ *
+ * <p>
+ * Requests outside {@code security.request-signing.max-clock-skew} are rejected. The first eight
+ * bytes of each accepted signature are recorded in a {@link NonceCache}, which rejects any
+ * repetition within that window.
+ * </p>
+ */
+@Component
+public class RequestSignatureVerifier {
+
+    public static final String KEY_ID_HEADER = "X-Sentinel-Key-Id";
+    public static final String TIMESTAMP_HEADER = "X-Sentinel-Timestamp";
+    public static final String NONCE_HEADER = "X-Sentinel-Nonce";
+    public static final String CONTENT_DIGEST_HEADER = "X-Sentinel-Content-SHA256";
+    public static final String SIGNATURE_HEADER = "X-Sentinel-Signature";
+
+    private static final int MAX_NONCE_LENGTH = 64;
+    private static final byte[] EMPTY_DIGEST;
+
+    static {
+        try {
+            EMPTY_DIGEST = MessageDigest.getInstance("SHA-256").digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Reasons a signed request is rejected.
+     */
+    public enum Failure {
+        MISSING_HEADERS(HttpStatus.UNAUTHORIZED),
+        STALE_TIMESTAMP(HttpStatus.UNAUTHORIZED),
+        UNKNOWN_KEY(HttpStatus.UNAUTHORIZED),
+        INVALID_SIGNATURE(HttpStatus.UNAUTHORIZED),
+        INVALID_CONTENT_DIGEST(HttpStatus.UNAUTHORIZED),
+        REPLAYED(HttpStatus.UNAUTHORIZED),
+        REPLAY_CACHE_FULL(HttpStatus.SERVICE_UNAVAILABLE);
+
+        private final HttpStatus status;
+
+        Failure(HttpStatus status) {
+            this.status = status;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * Result of verifying the headers of a signed request.
+     *
+     * @param signingKey the key that signed the request, if valid
+     * @param request    the request to pass on, replaying its verified body
+     * @param failure    the reason of a rejection, or {@code null}
+     */
+    public record Verification(SigningKey signingKey, HttpServletRequest request, Failure failure) {
+
+        public boolean isValid() {
+            return failure == null;
+        }
+
+        static Verification rejected(Failure failure) {
+            return new Verification(null, null, failure);
+        }
+    }
+
+    private final SigningKeyService signingKeyService;
+    private final NonceCache nonceCache;
+    private final long maxSkewSeconds;
+    private final long spoolThreshold;
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance("HmacSHA256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    });
+    private final Map<Failure, Counter> rejections = new EnumMap<>(Failure.class);
+    private final Counter accepted;
+
+    public RequestSignatureVerifier(RequestSigningProperties properties, SigningKeyService signingKeyService,
+                                    MeterRegistry meterRegistry) {
+        this.signingKeyService = signingKeyService;
+        this.nonceCache = new NonceCache(properties.getMaxClockSkew(), properties.getNonceSlice(),
+                properties.getNonceSliceCapacity());
+        this.maxSkewSeconds = properties.getMaxClockSkew().toSeconds();
+        this.spoolThreshold = properties.getSpoolThreshold().toBytes();
+        for (Failure failure : Failure.values()) {
+            rejections.put(failure, meterRegistry.counter("sentinel.request.signing.verifications",
+                    "result", failure.name().toLowerCase()));
+        }
+        this.accepted = meterRegistry.counter("sentinel.request.signing.verifications", "result", "accepted");
+    }
+
+    /**
+     * @param request an incoming request
+     * @return {@code true} if the request claims to be signed
+     */
+    public static boolean isSigned(HttpServletRequest request) {
+        return request.getHeader(SIGNATURE_HEADER) != null;
+    }
+
+    /**
+     * Verifies the signature of a request, records it against replays and verifies its body.
+     *
+     * @param request a request for which {@link #isSigned(HttpServletRequest)} holds
+     * @return the verification result; a valid result with a body carries a {@link SpooledBodyRequest}
+     * the caller must close once the request is complete
+     * @throws IOException if reading the body fails
+     */
+    public Verification verify(HttpServletRequest request) throws IOException {
+        Verification verification = check(request);
+        (verification.isValid() ? accepted : rejections.get(verification.failure())).increment();
+        return verification;
+    }
+
+    private Verification check(HttpServletRequest request) throws IOException {
+        String keyId = request.getHeader(KEY_ID_HEADER);
+        String timestamp = request.getHeader(TIMESTAMP_HEADER);
+        String nonce = request.getHeader(NONCE_HEADER);
+        String contentDigest = request.getHeader(CONTENT_DIGEST_HEADER);
+        byte[] signature = decode(request.getHeader(SIGNATURE_HEADER));
+        byte[] expectedDigest = decode(contentDigest);
+        if (keyId == null || timestamp == null || nonce == null || nonce.isEmpty() || nonce.length() > MAX_NONCE_LENGTH
+                || signature == null || expectedDigest == null) {
+            return Verification.rejected(Failure.MISSING_HEADERS);
+        }
+
+        long epochSecond;
+        try {
+            epochSecond = Long.parseLong(timestamp);
+        } catch (NumberFormatException e) {
+            return Verification.rejected(Failure.MISSING_HEADERS);
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - epochSecond) > maxSkewSeconds) {
+            return Verification.rejected(Failure.STALE_TIMESTAMP);
+        }
+
+        long contentLength = request.getContentLengthLong();
+        boolean chunked = contentLength < 0 && request.getHeader(HttpHeaders.TRANSFER_ENCODING) != null;
+        if (chunked || (contentLength <= 0 && !MessageDigest.isEqual(expectedDigest, EMPTY_DIGEST))) {
+            return Verification.rejected(Failure.INVALID_CONTENT_DIGEST);
+        }
+
+        SigningKeyService.ResolvedSigningKey key = signingKeyService.resolve(keyId);
+        if (key == null) {
+            return Verification.rejected(Failure.UNKNOWN_KEY);
+        }
+
+        byte[] computed = sign(key, request, timestamp, nonce, contentDigest);
+        if (!MessageDigest.isEqual(computed, signature)) {
+            return Verification.rejected(Failure.INVALID_SIGNATURE);
+        }
+
+        NonceCache.Result recorded = nonceCache.record(epochSecond, fingerprint(computed));
+        if (recorded == NonceCache.Result.REPLAYED) {
+            return Verification.rejected(Failure.REPLAYED);
+        }
+        if (recorded == NonceCache.Result.FULL) {
+            return Verification.rejected(Failure.REPLAY_CACHE_FULL);
+        }
+
+        if (contentLength <= 0) {
+            return new Verification(key.signingKey(), request, null);
+        }
+        SpooledBodyRequest verified = SpooledBodyRequest.spool(request, expectedDigest, contentLength, spoolThreshold);
+        return verified == null
+                ? Verification.rejected(Failure.INVALID_CONTENT_DIGEST)
+                : new Verification(key.signingKey(), verified, null);
+    }
+
+    private byte[] sign(SigningKeyService.ResolvedSigningKey key, HttpServletRequest request, String timestamp,
+                        String nonce, String contentDigest) {
+        String query = request.getQueryString();
+        String canonical = request.getMethod() + '\n'
+                + request.getRequestURI() + '\n'
+                + (query == null ? "" : query) + '\n'
+                + timestamp + '\n'
+                + nonce + '\n'
+                + contentDigest;
+        Mac instance = mac.get();
+        try {
+            instance.init(key.secret());
+        } catch (InvalidKeyException e) {
+            throw new IllegalStateException("Signing key " + key.signingKey().getId() + " is unusable", e);
+        }
+        return instance.doFinal(canonical.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long fingerprint(byte[] signature) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (signature[i] & 0xFF);
+        }
+        return value;
+    }
+
+    private static byte[] decode(String base64) {
+        if (base64 == null) {
+            return null;
+        }
+        try {
+            return Base64.getDecoder().decode(base64);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
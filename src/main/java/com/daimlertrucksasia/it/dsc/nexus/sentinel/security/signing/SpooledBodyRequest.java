@@ -0,0 +1,259 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Request wrapper replaying the body of a signed request after it has been read in full and
+ * verified against its signed SHA-256 digest.
+ * <p>
+ * {@link #spool} reads exactly {@code Content-Length} bytes before the request is passed on, so no
+ * handler ever sees a byte of a body whose digest does not match. Bodies up to the spool threshold
+ * are held in memory; larger ones go to a temporary file readable only by the owner, which
+ * {@link #close()} deletes. Because the container can no longer read form parameters from the
+ * consumed stream, those of an {@code application/x-www-form-urlencoded} POST body are parsed from
+ * the verified bytes and merged after the query parameters.
+ * </p>
+ */
+public final class SpooledBodyRequest extends HttpServletRequestWrapper implements Closeable {
+
+    private static final int COPY_BUFFER = 8192;
+
+    private final byte[] memory;
+    private final Path file;
+    private ServletInputStream stream;
+    private Map<String, String[]> parameters;
+
+    private SpooledBodyRequest(HttpServletRequest request, byte[] memory, Path file) {
+        super(request);
+        this.memory = memory;
+        this.file = file;
+    }
+
+    /**
+     * Reads and verifies the body of a signed request.
+     *
+     * @param request        the signed request
+     * @param expectedDigest SHA-256 digest covered by the signature
+     * @param contentLength  declared body length, positive
+     * @param spoolThreshold largest body kept in memory, in bytes
+     * @return the request replaying the verified body, or {@code null} if the body is shorter than
+     * declared or does not match the digest
+     * @throws IOException if reading the body or writing the spool file fails
+     */
+    static SpooledBodyRequest spool(HttpServletRequest request, byte[] expectedDigest, long contentLength,
+                                    long spoolThreshold) throws IOException {
+        MessageDigest digest = sha256();
+        InputStream body = request.getInputStream();
+        if (contentLength <= Math.min(spoolThreshold, Integer.MAX_VALUE - 8)) {
+            byte[] bytes = body.readNBytes((int) contentLength);
+            digest.update(bytes);
+            return bytes.length == contentLength && MessageDigest.isEqual(digest.digest(), expectedDigest)
+                    ? new SpooledBodyRequest(request, bytes, null)
+                    : null;
+        }
+
+        Path file = Files.createTempFile("sentinel-signed-", ".body");
+        try {
+            long copied = 0;
+            try (OutputStream out = Files.newOutputStream(file)) {
+                byte[] buffer = new byte[COPY_BUFFER];
+                int read;
+                while (copied < contentLength
+                        && (read = body.read(buffer, 0, (int) Math.min(buffer.length, contentLength - copied))) >= 0) {
+                    digest.update(buffer, 0, read);
+                    out.write(buffer, 0, read);
+                    copied += read;
+                }
+            }
+            if (copied == contentLength && MessageDigest.isEqual(digest.digest(), expectedDigest)) {
+                return new SpooledBodyRequest(request, null, file);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        Files.deleteIfExists(file);
+        return null;
+    }
+
+    /**
+     * @return {@code true} if the body was spooled to a temporary file
+     */
+    boolean isSpooledToFile() {
+        return file != null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        if (stream == null) {
+            stream = new ReplayStream(open());
+        }
+        return stream;
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset()));
+    }
+
+    @Override
+    public String getParameter(String name) {
+        String[] values = getParameterMap().get(name);
+        return values == null ? null : values[0];
+    }
+
+    @Override
+    public String[] getParameterValues(String name) {
+        String[] values = getParameterMap().get(name);
+        return values == null ? null : values.clone();
+    }
+
+    @Override
+    public Enumeration<String> getParameterNames() {
+        return Collections.enumeration(getParameterMap().keySet());
+    }
+
+    @Override
+    public Map<String, String[]> getParameterMap() {
+        if (parameters == null) {
+            parameters = isForm() ? Collections.unmodifiableMap(withFormParameters()) : super.getParameterMap();
+        }
+        return parameters;
+    }
+
+    /**
+     * Deletes the spool file, if any.
+     */
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private InputStream open() throws IOException {
+        return memory != null ? new ByteArrayInputStream(memory) : Files.newInputStream(file);
+    }
+
+    private Charset charset() {
+        String encoding = getCharacterEncoding();
+        return encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+    }
+
+    private boolean isForm() {
+        if (!HttpMethod.POST.matches(getMethod()) || getContentType() == null) {
+            return false;
+        }
+        try {
+            return MediaType.APPLICATION_FORM_URLENCODED.includes(MediaType.parseMediaType(getContentType()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private Map<String, String[]> withFormParameters() {
+        Map<String, List<String>> merged = new LinkedHashMap<>();
+        super.getParameterMap().forEach((name, values) -> merged.put(name, new ArrayList<>(List.of(values))));
+        String body;
+        try (InputStream in = open()) {
+            body = new String(in.readAllBytes(), charset());
+        } catch (IOException e) {
+            throw new IllegalStateException("Reading the spooled request body failed", e);
+        }
+        for (String pair : body.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int separator = pair.indexOf('=');
+            String name = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), charset());
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), charset());
+            merged.computeIfAbsent(name, key -> new ArrayList<>()).add(value);
+        }
+        Map<String, String[]> result = new LinkedHashMap<>();
+        merged.forEach((name, values) -> result.put(name, values.toArray(String[]::new)));
+        return result;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class ReplayStream extends ServletInputStream {
+
+        private final InputStream delegate;
+        private boolean finished;
+
+        ReplayStream(InputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = delegate.read();
+            finished = value < 0;
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = delegate.read(buffer, offset, length);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                readListener.onAllDataRead();
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+}
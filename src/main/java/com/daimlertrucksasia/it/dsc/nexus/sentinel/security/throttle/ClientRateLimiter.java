@@ -0,0 +1,194 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RateLimitProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.RateLimitExceededException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.ratelimit.RateLimitPolicyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtValidation;
+import io.jsonwebtoken.Claims;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rate limiter for token issuance to clients, keyed by client ID, team and service tier.
+ * <p>
+ * Each key has its own lock-free {@link TokenBucket} in a {@link ConcurrentHashMap}, so requests
+ * for different keys never contend and throughput grows with the number of cores. A request must
+ * pass the client, team and tier buckets, in that order; tokens already taken from earlier buckets
+ * are not returned when a later one rejects.
+ * </p>
+ *
+ * <p>
+ * The check runs before any MongoDB query or password hash. The team and tier of a client are
+ * therefore taken from a profile cache that is filled after each successful authentication; until
+ * a client is known only its client bucket applies, using the default tier's limits. Refreshes
+ * take team and tier from the refresh token's claims.
+ * </p>
+ *
+ * <p>
+ * Limits come from {@link RateLimitProperties} and are overridden by {@link RateLimitPolicy}
+ * documents, reloaded every {@code rate-limit.refresh-interval} without a restart.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ClientRateLimiter {
+
+    private final RateLimitProperties properties;
+    private final RateLimitPolicyRepository rateLimitPolicyRepository;
+    private final JwtService jwtService;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, ClientProfile> profiles = new ConcurrentHashMap<>();
+
+    private volatile Map<String, RateLimitPolicy> policies;
+
+    /**
+     * Team and tier of a client.
+     */
+    private record ClientProfile(String team, String tier) {
+    }
+
+    public ClientRateLimiter(RateLimitProperties properties, RateLimitPolicyRepository rateLimitPolicyRepository,
+                             JwtService jwtService) {
+        this.properties = properties;
+        this.rateLimitPolicyRepository = rateLimitPolicyRepository;
+        this.jwtService = jwtService;
+        this.policies = Map.copyOf(properties.getTiers());
+    }
+
+    /**
+     * Takes a token for a client whose team and tier are looked up in the profile cache.
+     *
+     * @param clientId the client ID
+     * @return the decision of the most restrictive bucket
+     * @throws RateLimitExceededException if a bucket is empty
+     */
+    public RateLimitDecision acquire(String clientId) {
+        ClientProfile profile = profiles.get(clientId);
+        return profile == null ? acquire(clientId, null, null) : acquire(clientId, profile.team(), profile.tier());
+    }
+
+    /**
+     * Takes a token for a client with known team and tier.
+     *
+     * @param clientId the client ID
+     * @param team     the client's team, or {@code null}
+     * @param tier     the client's service tier, or {@code null}
+     * @return the decision of the most restrictive bucket
+     * @throws RateLimitExceededException if a bucket is empty
+     */
+    public RateLimitDecision acquire(String clientId, String team, String tier) {
+        if (!properties.isEnabled()) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        RateLimitPolicy policy = policyFor(tier);
+        if (policy == null) {
+            return RateLimitDecision.UNLIMITED;
+        }
+
+        long now = System.nanoTime();
+        RateLimitDecision decision = take("client:" + clientId, policy.getClient(), now, null);
+        if (team != null) {
+            decision = take("team:" + tierName(tier) + "/" + team, policy.getTeam(), now, decision);
+        }
+        if (tier != null) {
+            decision = take("tier:" + tier, policy.getTier(), now, decision);
+        }
+        return decision == null ? RateLimitDecision.UNLIMITED : decision;
+    }
+
+    /**
+     * Takes a token for the client a refresh token was issued to, with team and tier read from its
+     * claims. Tokens that cannot be verified are let through, since the refresh itself rejects them.
+     *
+     * @param refreshToken the presented refresh token
+     * @return the decision of the most restrictive bucket
+     * @throws RateLimitExceededException if a bucket is empty
+     */
+    public RateLimitDecision acquireForRefreshToken(String refreshToken) {
+        if (!properties.isEnabled()) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        JwtValidation validation = jwtService.parse(refreshToken);
+        if (!validation.isValid()) {
+            return RateLimitDecision.UNLIMITED;
+        }
+        Claims claims = validation.claims();
+        return acquire(claims.getSubject(), claims.get("team", String.class), claims.get("tier", String.class));
+    }
+
+    /**
+     * Remembers the team and tier of an authenticated client for subsequent checks.
+     *
+     * @param clientId the client ID
+     * @param team     the client's team
+     * @param tier     the client's service tier
+     */
+    public void rememberClient(String clientId, String team, String tier) {
+        profiles.put(clientId, new ClientProfile(team, tier));
+    }
+
+    /**
+     * Reloads policy overrides from MongoDB.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.refresh-interval:30s}")
+    void refreshPolicies() {
+        try {
+            Map<String, RateLimitPolicy> merged = new HashMap<>(properties.getTiers());
+            rateLimitPolicyRepository.findAll().forEach(policy -> merged.merge(policy.getId(), policy, ClientRateLimiter::override));
+            policies = Map.copyOf(merged);
+        } catch (RuntimeException e) {
+            log.warn("Reloading rate limit policies failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Drops buckets that are full again; they are indistinguishable from new ones.
+     */
+    @Scheduled(fixedDelay = 60_000)
+    void evictIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private RateLimitDecision take(String scope, RateLimitPolicy.Limit limit, long now, RateLimitDecision previous) {
+        if (limit == null || limit.getCapacity() <= 0 || limit.getRefillPerSecond() <= 0) {
+            return previous;
+        }
+        RateLimitDecision decision = buckets.computeIfAbsent(scope, key -> new TokenBucket()).tryAcquire(scope, limit, now);
+        if (!decision.allowed()) {
+            throw new RateLimitExceededException(decision);
+        }
+        if (previous == null || decision.remaining() < previous.remaining()) {
+            return decision;
+        }
+        return decision.remaining() == previous.remaining() && decision.resetSeconds() > previous.resetSeconds()
+                ? decision : previous;
+    }
+
+    private RateLimitPolicy policyFor(String tier) {
+        RateLimitPolicy policy = tier == null ? null : policies.get(tier);
+        return policy != null ? policy : policies.get(properties.getDefaultTier());
+    }
+
+    private String tierName(String tier) {
+        return tier == null ? properties.getDefaultTier() : tier;
+    }
+
+    /**
+     * Applies the limits set in an override on top of a configured policy.
+     */
+    private static RateLimitPolicy override(RateLimitPolicy configured, RateLimitPolicy override) {
+        return new RateLimitPolicy(configured.getId(),
+                override.getClient() != null ? override.getClient() : configured.getClient(),
+                override.getTeam() != null ? override.getTeam() : configured.getTeam(),
+                override.getTier() != null ? override.getTier() : configured.getTier());
+    }
+}
@@ -0,0 +1,153 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size, lock-free table of decaying failure counters and lockout deadlines.
+ * <p>
+ * Keys are not stored. Each key is hashed with a per-process random seed to two slots, and reads
+ * take the minimum of both, in the manner of a count-min sketch. Colliding keys can therefore only
+ * inflate each other's counts when they share both slots. The seed keeps attackers from crafting
+ * keys that collide with a victim.
+ * </p>
+ *
+ * <p>A counter slot packs the start of its decay epoch (epoch seconds) into the upper 40 bits and
+ * the count into the lower 24 bits. The count halves for every elapsed {@code halfLife}. All
+ * updates are compare-and-set loops on {@link AtomicLongArray} elements.</p>
+ */
+final class FailureCounterTable {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray counters;
+    private final AtomicLongArray lockedUntil;
+    private final int mask;
+    private final long seed;
+    private final long halfLifeSeconds;
+
+    /**
+     * @param slots           requested number of slots, rounded up to a power of two
+     * @param halfLifeSeconds time after which a failure counts half
+     */
+    FailureCounterTable(int slots, long halfLifeSeconds) {
+        int size = Integer.highestOneBit(Math.max(2, slots - 1)) << 1;
+        this.counters = new AtomicLongArray(size);
+        this.lockedUntil = new AtomicLongArray(size);
+        this.mask = size - 1;
+        this.seed = new SecureRandom().nextLong();
+        this.halfLifeSeconds = Math.max(1, halfLifeSeconds);
+    }
+
+    /**
+     * Adds a failure for the key.
+     *
+     * @param key the key
+     * @param now current epoch second
+     * @return estimated decayed failure count including this failure
+     */
+    int increment(String key, long now) {
+        long hash = hash(key);
+        int first = increment(firstSlot(hash), now);
+        int second = increment(secondSlot(hash), now);
+        return Math.min(first, second);
+    }
+
+    /**
+     * Clears the counters of the key.
+     *
+     * @param key the key
+     */
+    void reset(String key) {
+        long hash = hash(key);
+        counters.set(firstSlot(hash), 0);
+        counters.set(secondSlot(hash), 0);
+    }
+
+    /**
+     * @param key the key
+     * @return epoch second until which the key is locked, or a past value if it is not
+     */
+    long lockedUntil(String key) {
+        long hash = hash(key);
+        return Math.min(lockedUntil.get(firstSlot(hash)), lockedUntil.get(secondSlot(hash)));
+    }
+
+    /**
+     * Locks the key until the given epoch second, unless it is already locked for longer.
+     *
+     * @param key   the key
+     * @param until epoch second at which the lockout ends
+     */
+    void lockUntil(String key, long until) {
+        long hash = hash(key);
+        extend(firstSlot(hash), until);
+        extend(secondSlot(hash), until);
+    }
+
+    private int increment(int slot, long now) {
+        while (true) {
+            long current = counters.get(slot);
+            long decayed = decay(current, now);
+            long count = Math.min((decayed & COUNT_MASK) + 1, COUNT_MASK);
+            long next = (decayed & ~COUNT_MASK) | count;
+            if (counters.compareAndSet(slot, current, next)) {
+                return (int) count;
+            }
+        }
+    }
+
+    private long decay(long slot, long now) {
+        long count = slot & COUNT_MASK;
+        long epoch = slot >>> COUNT_BITS;
+        if (count == 0) {
+            return now << COUNT_BITS;
+        }
+        long halvings = (now - epoch) / halfLifeSeconds;
+        if (halvings <= 0) {
+            return slot;
+        }
+        if (halvings >= COUNT_BITS) {
+            return now << COUNT_BITS;
+        }
+        return ((epoch + halvings * halfLifeSeconds) << COUNT_BITS) | (count >>> halvings);
+    }
+
+    private void extend(int slot, long until) {
+        long current;
+        do {
+            current = lockedUntil.get(slot);
+            if (current >= until) {
+                return;
+            }
+        } while (!lockedUntil.compareAndSet(slot, current, until));
+    }
+
+    private int firstSlot(long hash) {
+        return (int) hash & mask;
+    }
+
+    private int secondSlot(long hash) {
+        int slot = (int) (hash >>> 32) & mask;
+        return slot == firstSlot(hash) ? (slot + 1) & mask : slot;
+    }
+
+    /**
+     * Seeded 64-bit hash (FNV-1a over UTF-8 bytes followed by the MurmurHash3 finalizer).
+     */
+    private long hash(String key) {
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,170 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.LoginThrottleProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationThrottledException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.lockout.LoginLockoutRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.LoginLockout;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tracks failed logins per username and per source address and locks out keys that fail too often.
+ * <p>
+ * Failures are counted in a fixed-size, lock-free {@link FailureCounterTable} whose counts halve
+ * every {@code security.login-throttle.half-life}. Once a key reaches its threshold it is locked
+ * for {@code base-lockout}, doubling with each further failure up to {@code max-lockout}.
+ * {@link #checkAllowed} is called before any credential lookup, so locked keys cost neither a
+ * MongoDB query nor a password hash.
+ * </p>
+ *
+ * <p>
+ * Lockouts are published to the {@code login_lockouts} collection and pulled by every node at
+ * {@code sync-interval}, so an attacker cannot spread attempts across nodes. Counters themselves
+ * stay local.
+ * </p>
+ */
+@Slf4j
+@Component
+public class LoginFailureTracker {
+
+    /**
+     * Overlap applied to incremental syncs to tolerate clock skew between nodes.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final LoginThrottleProperties properties;
+    private final LoginLockoutRepository loginLockoutRepository;
+    private final MongoTemplate mongoTemplate;
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final FailureCounterTable table;
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    public LoginFailureTracker(LoginThrottleProperties properties, LoginLockoutRepository loginLockoutRepository,
+                               MongoTemplate mongoTemplate, MongoIndexInitializer mongoIndexInitializer) {
+        this.properties = properties;
+        this.loginLockoutRepository = loginLockoutRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.table = new FailureCounterTable(properties.getSlots(), properties.getHalfLife().toSeconds());
+    }
+
+    /**
+     * Registers the TTL index of the lockout collection.
+     */
+    @PostConstruct
+    void initialize() {
+        if (properties.isEnabled()) {
+            mongoIndexInitializer.register(LoginLockout.class,
+                    new Index().on("lockedUntil", Sort.Direction.ASC).expire(Duration.ZERO));
+        }
+    }
+
+    /**
+     * Rejects the attempt if the username or the source address is locked out.
+     *
+     * @param username the presented username
+     * @param address  the source address, or {@code null} if unknown
+     * @throws AuthenticationThrottledException if either key is locked
+     */
+    public void checkAllowed(String username, String address) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        long until = table.lockedUntil(userKey(username));
+        if (address != null) {
+            until = Math.max(until, table.lockedUntil(addressKey(address)));
+        }
+        if (until > now) {
+            throw new AuthenticationThrottledException("Too many failed login attempts", Duration.ofSeconds(until - now));
+        }
+    }
+
+    /**
+     * Records a failed attempt and locks the username or address once its threshold is reached.
+     *
+     * @param username the presented username
+     * @param address  the source address, or {@code null} if unknown
+     */
+    public void recordFailure(String username, String address) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long now = Instant.now().getEpochSecond();
+        String userKey = userKey(username);
+        lockIfExceeded(userKey, table.increment(userKey, now), properties.getUsernameThreshold(), now);
+        if (address != null) {
+            String addressKey = addressKey(address);
+            lockIfExceeded(addressKey, table.increment(addressKey, now), properties.getAddressThreshold(), now);
+        }
+    }
+
+    /**
+     * Clears the failure count of a username after a successful login.
+     *
+     * @param username the authenticated username
+     */
+    public void recordSuccess(String username) {
+        if (properties.isEnabled()) {
+            table.reset(userKey(username));
+        }
+    }
+
+    /**
+     * Pulls lockouts recorded by other nodes.
+     */
+    @Scheduled(fixedDelayString = "${security.login-throttle.sync-interval:5s}")
+    void synchronize() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Instant now = Instant.now();
+        try {
+            loginLockoutRepository.findByUpdatedAtAfter(lastSync.minus(SYNC_OVERLAP))
+                    .forEach(lockout -> table.lockUntil(lockout.getId(), lockout.getLockedUntil().getEpochSecond()));
+            lastSync = now;
+        } catch (RuntimeException e) {
+            log.warn("Login lockout sync failed: {}", e.getMessage());
+        }
+    }
+
+    private void lockIfExceeded(String key, int failures, int threshold, long now) {
+        if (failures < threshold) {
+            return;
+        }
+        long base = properties.getBaseLockout().toSeconds();
+        long lockout = Math.min(base << Math.min(failures - threshold, 30), properties.getMaxLockout().toSeconds());
+        long until = now + lockout;
+        table.lockUntil(key, until);
+        log.debug("Locked {} for {}s after {} failures", key, lockout, failures);
+
+        try {
+            mongoTemplate.upsert(Query.query(Criteria.where("id").is(key)),
+                    new Update().max("lockedUntil", Instant.ofEpochSecond(until)).set("updatedAt", Instant.now()),
+                    LoginLockout.class);
+        } catch (RuntimeException e) {
+            log.warn("Publishing login lockout failed: {}", e.getMessage());
+        }
+    }
+
+    private static String userKey(String username) {
+        return "user:" + username;
+    }
+
+    private static String addressKey(String address) {
+        return "addr:" + address;
+    }
+}
@@ -0,0 +1,42 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Outcome of a rate limit check, carrying the values of the {@code RateLimit-*} response headers.
+ *
+ * @param allowed      whether the request may proceed
+ * @param scope        bucket that determined the outcome, e.g. {@code team:logistics}
+ * @param limit        capacity of that bucket
+ * @param remaining    requests left in that bucket
+ * @param resetSeconds seconds until that bucket is full again, i.e. its theoretical arrival time minus now
+ * @param retryAfter   seconds until that bucket has a token again; {@code 0} when allowed
+ */
+public record RateLimitDecision(boolean allowed, String scope, long limit, long remaining, long resetSeconds,
+                                long retryAfter) {
+
+    /**
+     * Decision used when rate limiting is disabled.
+     */
+    public static final RateLimitDecision UNLIMITED = new RateLimitDecision(true, "none", -1, -1, 0, 0);
+
+    /**
+     * Returns the {@code RateLimit-Limit}, {@code RateLimit-Remaining} and {@code RateLimit-Reset}
+     * headers, plus {@code Retry-After} for rejections.
+     *
+     * @return the headers, empty when rate limiting is disabled
+     */
+    public HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        if (limit < 0) {
+            return headers;
+        }
+        headers.set("RateLimit-Limit", String.valueOf(limit));
+        headers.set("RateLimit-Remaining", String.valueOf(remaining));
+        headers.set("RateLimit-Reset", String.valueOf(resetSeconds));
+        if (!allowed) {
+            headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter)));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,69 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as the generic cell rate algorithm (GCRA).
+ * <p>
+ * The whole bucket state is a single "theoretical arrival time" updated by compare-and-set, so
+ * acquiring needs no lock and no refill task. The limit is passed on every call, which lets
+ * policy changes take effect immediately. A bucket whose arrival time lies in the past is full
+ * and therefore equivalent to a new one, so idle buckets can be discarded at any time.
+ * </p>
+ *
+ * <p>
+ * The reported reset is the arrival time minus now, i.e. the time until the bucket is full again,
+ * taken after the update when a token is granted and from the unchanged state when rejected. The
+ * retry-after of a rejection is only the time until a single token becomes available.
+ * </p>
+ */
+final class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Theoretical arrival time, in {@link System#nanoTime()} units.
+     */
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * Takes one token.
+     *
+     * @param scope label reported in the decision
+     * @param limit bucket parameters
+     * @param now   current {@link System#nanoTime()}
+     * @return the decision, including the header values
+     */
+    RateLimitDecision tryAcquire(String scope, RateLimitPolicy.Limit limit, long now) {
+        long interval = (long) (NANOS_PER_SECOND / limit.getRefillPerSecond());
+        long burst = interval * limit.getCapacity();
+        while (true) {
+            long current = arrival.get();
+            long tat = current == Long.MIN_VALUE ? now : Math.max(current, now);
+            long next = tat + interval;
+            if (next - now > burst) {
+                return new RateLimitDecision(false, scope, limit.getCapacity(), 0,
+                        seconds(tat - now), seconds(next - now - burst));
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return new RateLimitDecision(true, scope, limit.getCapacity(), (burst - (next - now)) / interval,
+                        seconds(next - now), 0);
+            }
+        }
+    }
+
+    /**
+     * @param now current {@link System#nanoTime()}
+     * @return {@code true} if the bucket is full and can be discarded
+     */
+    boolean isIdle(long now) {
+        long current = arrival.get();
+        return current == Long.MIN_VALUE || current - now <= 0;
+    }
+
+    private static long seconds(long nanos) {
+        return (nanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND;
+    }
+}
@@ -0,0 +1,294 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.BulkRegistrationResult;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationEntity;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service registering users or clients from an NDJSON stream.
+ * <p>
+ * The request body is read line by line and processed in batches of
+ * {@code registration.bulk.batch-size} records, so memory use is bounded by one batch regardless of
+ * the upload size. For each batch:
+ * <ul>
+ *     <li>every record is converted into its entity by {@link RegistrationService#prepare} on a pool
+ *     of {@code registration.bulk.hashing-threads} threads, half the cores by default, so password
+ *     hashing runs in parallel without taking every core. The pool's queue holds one batch; a
+ *     request submitting into a full queue waits, so concurrent uploads share the pool's threads
+ *     instead of adding CPU load</li>
+ *     <li>the entities are written with one unordered bulk insert, so a duplicate does not stop the
+ *     rest of the batch</li>
+ *     <li>one {@link BulkRegistrationResult} per record is written to the response as an NDJSON line
+ *     and the response is flushed</li>
+ * </ul>
+ * Inserted entities are added to the {@link FacetCountService} counts and recorded in the audit trail.
+ * Lines longer than {@code registration.bulk.max-line-length} characters are skipped without being
+ * buffered and reported as {@link BulkRegistrationResult.Status#INVALID}.
+ * </p>
+ */
+@Slf4j
+@Service
+public class BulkRegistrationService {
+
+    /**
+     * MongoDB error code for unique index violations.
+     */
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final RegistrationServiceResolver registrationServiceResolver;
+    private final FacetCountService facetCountService;
+    private final AuditPipeline auditPipeline;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter resultWriter;
+    private final ExecutorService hashingPool;
+    private final int batchSize;
+    private final int maxLineLength;
+
+    public BulkRegistrationService(RegistrationServiceResolver registrationServiceResolver,
+                                   FacetCountService facetCountService, AuditPipeline auditPipeline,
+                                   MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+                                   @Value("${registration.bulk.batch-size:500}") int batchSize,
+                                   @Value("${registration.bulk.max-line-length:65536}") int maxLineLength,
+                                   @Value("${registration.bulk.hashing-threads:0}") int hashingThreads) {
+        this.registrationServiceResolver = registrationServiceResolver;
+        this.facetCountService = facetCountService;
+        this.auditPipeline = auditPipeline;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.resultWriter = objectMapper.writerFor(BulkRegistrationResult.class)
+                .without(SerializationFeature.INDENT_OUTPUT);
+        this.batchSize = batchSize;
+        this.maxLineLength = maxLineLength;
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-registration-hashing");
+                    thread.setDaemon(true);
+                    return thread;
+                }, BulkRegistrationService::awaitQueueSpace);
+    }
+
+    /**
+     * Registers every record of the NDJSON input and streams one result line per record.
+     *
+     * @param entityType type of the records
+     * @param input      NDJSON request body
+     * @param output     response body receiving NDJSON {@link BulkRegistrationResult}s
+     * @throws IOException if reading the request or writing the response fails
+     */
+    public void registerAll(EntityType entityType, InputStream input, OutputStream output) throws IOException {
+        RegistrationService service = registrationServiceResolver.resolve(entityType);
+        ObjectReader requestReader = objectMapper.readerFor(service.getRequestType());
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        StringBuilder buffer = new StringBuilder();
+        List<String> lines = new ArrayList<>(batchSize);
+        long firstLine = 1;
+        long lineNumber = 0;
+        while (readLine(reader, buffer)) {
+            lineNumber++;
+            lines.add(buffer.length() > maxLineLength ? null : buffer.toString());
+            if (lines.size() == batchSize) {
+                processBatch(service, requestReader, firstLine, lines, output);
+                firstLine = lineNumber + 1;
+                lines.clear();
+            }
+        }
+        if (!lines.isEmpty()) {
+            processBatch(service, requestReader, firstLine, lines, output);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    /**
+     * Reads the next line into the buffer, without its terminator. At most one character beyond
+     * {@link #maxLineLength} is kept; the rest of a longer line is read and discarded.
+     *
+     * @return {@code false} at the end of the input
+     */
+    private boolean readLine(BufferedReader reader, StringBuilder buffer) throws IOException {
+        buffer.setLength(0);
+        int next = reader.read();
+        if (next < 0) {
+            return false;
+        }
+        while (next >= 0 && next != '\n') {
+            if (buffer.length() <= maxLineLength) {
+                buffer.append((char) next);
+            }
+            next = reader.read();
+        }
+        int last = buffer.length() - 1;
+        if (last >= 0 && last < maxLineLength && buffer.charAt(last) == '\r') {
+            buffer.setLength(last);
+        }
+        return true;
+    }
+
+    /**
+     * Blocks the submitting request thread until the hashing queue has room.
+     */
+    private static void awaitQueueSpace(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Bulk registration hashing pool is shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the hashing pool", e);
+        }
+    }
+
+    private void processBatch(RegistrationService service, ObjectReader requestReader, long firstLine,
+                              List<String> lines, OutputStream output) throws IOException {
+        BulkRegistrationResult[] results = new BulkRegistrationResult[lines.size()];
+        List<CompletableFuture<RegistrationEntity>> prepared = new ArrayList<>(lines.size());
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line == null) {
+                results[i] = result(firstLine + i, BulkRegistrationResult.Status.INVALID, null,
+                        "Record exceeds " + maxLineLength + " characters");
+            }
+            prepared.add(line == null || line.isBlank() ? null : CompletableFuture.supplyAsync(() -> {
+                try {
+                    return service.prepare(requestReader.readValue(line));
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, hashingPool));
+        }
+
+        List<RegistrationEntity> entities = new ArrayList<>(lines.size());
+        List<Integer> positions = new ArrayList<>(lines.size());
+        for (int i = 0; i < prepared.size(); i++) {
+            if (prepared.get(i) == null) {
+                continue;
+            }
+            try {
+                entities.add(prepared.get(i).join());
+                positions.add(i);
+            } catch (CompletionException e) {
+                results[i] = result(firstLine + i, BulkRegistrationResult.Status.INVALID, null,
+                        e.getCause().getMessage());
+            }
+        }
+
+        insert(entities, positions, firstLine, results);
+
+        for (BulkRegistrationResult result : results) {
+            if (result != null) {
+                resultWriter.writeValue(output, result);
+                output.write('\n');
+            }
+        }
+        output.flush();
+    }
+
+    private void insert(List<RegistrationEntity> entities, List<Integer> positions, long firstLine,
+                        BulkRegistrationResult[] results) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < entities.size(); i++) {
+            int position = positions.get(i);
+            results[position] = result(firstLine + position, BulkRegistrationResult.Status.CREATED,
+                    idOf(entities.get(i)), null);
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, entities.get(0).getClass())
+                    .insert(entities)
+                    .execute();
+            entities.forEach(this::recordCreated);
+        } catch (BulkOperationException e) {
+            Set<Integer> failed = new HashSet<>();
+            for (BulkWriteError error : e.getErrors()) {
+                failed.add(error.getIndex());
+                int position = positions.get(error.getIndex());
+                BulkRegistrationResult.Status status = error.getCode() == DUPLICATE_KEY
+                        ? BulkRegistrationResult.Status.DUPLICATE
+                        : BulkRegistrationResult.Status.FAILED;
+                results[position] = result(firstLine + position, status, null, error.getMessage());
+            }
+            for (int i = 0; i < entities.size(); i++) {
+                if (!failed.contains(i)) {
+                    recordCreated(entities.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Bulk registration batch starting at line {} failed: {}", firstLine, e.getMessage());
+            for (int position : positions) {
+                results[position] = result(firstLine + position, BulkRegistrationResult.Status.FAILED, null,
+                        e.getMessage());
+            }
+        }
+    }
+
+    private void recordCreated(RegistrationEntity entity) {
+        facetCountService.record(entity);
+        if (entity instanceof User user) {
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.USER_REGISTRATION, user.getUsername(), null));
+        } else if (entity instanceof Client client) {
+            auditPipeline.publish(AuditEvent.success(AuditEvent.Type.CLIENT_REGISTRATION, client.getClientId(), null));
+        }
+    }
+
+    private static String idOf(RegistrationEntity entity) {
+        if (entity instanceof User user) {
+            return user.getId();
+        }
+        if (entity instanceof Client client) {
+            return client.getClientId();
+        }
+        return null;
+    }
+
+    private static BulkRegistrationResult result(long line, BulkRegistrationResult.Status status, String id,
+                                                 String message) {
+        return BulkRegistrationResult.builder()
+                .line(line)
+                .status(status)
+                .id(id)
+                .message(message)
+                .build();
+    }
+}
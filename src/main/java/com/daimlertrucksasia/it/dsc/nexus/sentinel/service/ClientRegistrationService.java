@@ -1,6 +1,8 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client.ClientRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientRegistrationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationResponse;
@@ -27,6 +29,8 @@ import java.util.UUID;
  * <ul>
  *     <li>{@link ClientRepository} - for storing the client entity</li>
  *     <li>{@link PasswordEncoder} - for securely encoding the client secret</li>
+ *     <li>{@link FacetCountService} - for counting the client in its team and tier facets</li>
+ *     <li>{@link AuditPipeline} - for recording the registration in the audit trail</li>
  * </ul>
  * </p>
  */
@@ -44,6 +48,16 @@ public final class ClientRegistrationService implements RegistrationService {
      */
     private final PasswordEncoder passwordEncoder;
 
+    /**
+     * Cache of client counts per team and service tier.
+     */
+    private final FacetCountService facetCountService;
+
+    /**
+     * Audit trail receiving one event per registration.
+     */
+    private final AuditPipeline auditPipeline;
+
     /**
      * Specifies the type of entity this service handles.
      *
@@ -67,11 +81,23 @@ public final class ClientRegistrationService implements RegistrationService {
      */
     @Override
     public RegistrationResponse register(RegistrationEntity registrationRequest) {
+        Client client = clientRepository.save((Client) prepare(registrationRequest));
+        facetCountService.record(client);
+        auditPipeline.publish(AuditEvent.success(AuditEvent.Type.CLIENT_REGISTRATION, client.getClientId(), null));
+
+        return RegistrationResponse.builder()
+                .registeredEntity(client)
+                .entityType(EntityType.CLIENT.name())
+                .build();
+    }
+
+    @Override
+    public RegistrationEntity prepare(RegistrationEntity registrationRequest) {
         if (!(registrationRequest instanceof ClientRegistrationRequest request)) {
             throw new IllegalArgumentException("Invalid client registration request type.");
         }
 
-        Client client = Client.builder()
+        return Client.builder()
                 .id(UUID.randomUUID().toString())
                 .clientId(request.getClientId())
                 .clientSecret(passwordEncoder.encode(request.getClientSecret()))
@@ -82,10 +108,10 @@ public final class ClientRegistrationService implements RegistrationService {
                 .team(request.getTeam())
                 .serviceTier(request.getServiceTier())
                 .build();
+    }
 
-        return RegistrationResponse.builder()
-                .registeredEntity(clientRepository.save(client))
-                .entityType(EntityType.CLIENT.name())
-                .build();
+    @Override
+    public Class<ClientRegistrationRequest> getRequestType() {
+        return ClientRegistrationRequest.class;
     }
 }
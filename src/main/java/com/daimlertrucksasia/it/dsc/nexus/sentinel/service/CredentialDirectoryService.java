@@ -0,0 +1,235 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.CursorPage;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserSummary;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service listing and exporting registered users and clients for administrators.
+ * <p>
+ * Both operations walk the collections in ascending order of their unique keys ({@code username}
+ * and {@code clientId}), which are indexed, so:
+ * <ul>
+ *     <li>listings use keyset pagination ({@code key > after}) instead of offsets and cost the same
+ *     on every page</li>
+ *     <li>exports iterate a single server-side cursor and write each record as it arrives, so memory
+ *     use does not depend on the collection size</li>
+ * </ul>
+ * Documents are read with server-side projections that leave out {@code password} and
+ * {@code clientSecret}, so hashes never leave the database.
+ * </p>
+ *
+ * <p>
+ * CSV cells starting with {@code =}, {@code +}, {@code -}, {@code @}, a tab or a carriage return
+ * are prefixed with {@code '} and quoted, so that spreadsheet applications show registered values
+ * as text instead of evaluating them as formulas.
+ * </p>
+ */
+@Service
+public class CredentialDirectoryService {
+
+    /**
+     * Upper bound of the page size accepted by listings.
+     */
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Number of documents fetched per cursor round trip during exports.
+     */
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
+    private static final Bson USER_FIELDS = Projections.include(
+            "username", "roles", "allowedTokenTypes", "active", "department", "region", "email");
+
+    private static final Bson CLIENT_FIELDS = Projections.include(
+            "clientId", "scopes", "grantTypes", "allowedTokenTypes", "roles", "team", "serviceTier");
+
+    private static final List<String> USER_COLUMNS = List.of(
+            "id", "username", "roles", "allowedTokenTypes", "active", "department", "region", "email");
+
+    private static final List<String> CLIENT_COLUMNS = List.of(
+            "id", "clientId", "scopes", "grantTypes", "allowedTokenTypes", "roles", "team", "serviceTier");
+
+    private final MongoCollection<User> users;
+    private final MongoCollection<Client> clients;
+    private final ObjectWriter lineWriter;
+
+    public CredentialDirectoryService(MongoTemplate mongoTemplate, ObjectMapper objectMapper) {
+        this.users = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(User.class), User.class);
+        this.clients = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(Client.class), Client.class);
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Returns the users following {@code after} in username order.
+     *
+     * @param after username of the last user of the previous page, or {@code null} for the first page
+     * @param limit page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page
+     */
+    public CursorPage<UserSummary> listUsers(String after, int limit) {
+        return page(users, "username", USER_FIELDS, after, limit, UserSummary::from, UserSummary::getUsername);
+    }
+
+    /**
+     * Returns the clients following {@code after} in client ID order.
+     *
+     * @param after client ID of the last client of the previous page, or {@code null} for the first page
+     * @param limit page size, capped at {@link #MAX_PAGE_SIZE}
+     * @return the page
+     */
+    public CursorPage<ClientSummary> listClients(String after, int limit) {
+        return page(clients, "clientId", CLIENT_FIELDS, after, limit, ClientSummary::from, ClientSummary::getClientId);
+    }
+
+    /**
+     * Streams all users to the given output.
+     *
+     * @param format export format
+     * @param output response body
+     * @throws IOException if writing fails
+     */
+    public void exportUsers(ExportFormat format, OutputStream output) throws IOException {
+        export(users, "username", USER_FIELDS, format, output, UserSummary::from, USER_COLUMNS,
+                user -> List.of(nullToEmpty(user.getId()), nullToEmpty(user.getUsername()), join(user.getRoles()),
+                        join(user.getAllowedTokenTypes()), user.isActive(), nullToEmpty(user.getDepartment()),
+                        nullToEmpty(user.getRegion()), nullToEmpty(user.getEmail())));
+    }
+
+    /**
+     * Streams all clients to the given output.
+     *
+     * @param format export format
+     * @param output response body
+     * @throws IOException if writing fails
+     */
+    public void exportClients(ExportFormat format, OutputStream output) throws IOException {
+        export(clients, "clientId", CLIENT_FIELDS, format, output, ClientSummary::from, CLIENT_COLUMNS,
+                client -> List.of(nullToEmpty(client.getId()), nullToEmpty(client.getClientId()),
+                        join(client.getScopes()), join(client.getGrantTypes()), join(client.getAllowedTokenTypes()),
+                        join(client.getRoles()), nullToEmpty(client.getTeam()), nullToEmpty(client.getServiceTier())));
+    }
+
+    private <T, S> CursorPage<S> page(MongoCollection<T> collection, String key, Bson projection, String after,
+                                      int limit, Function<T, S> toSummary, Function<S, String> keyOf) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Bson filter = after == null ? Filters.empty() : Filters.gt(key, after);
+
+        List<S> items = new ArrayList<>(size + 1);
+        collection.find(filter)
+                .projection(projection)
+                .sort(Sorts.ascending(key))
+                .limit(size + 1)
+                .forEach(document -> items.add(toSummary.apply(document)));
+
+        if (items.size() <= size) {
+            return new CursorPage<>(items, null);
+        }
+        items.remove(size);
+        return new CursorPage<>(items, keyOf.apply(items.get(size - 1)));
+    }
+
+    private <T, S> void export(MongoCollection<T> collection, String key, Bson projection, ExportFormat format,
+                               OutputStream output, Function<T, S> toSummary, List<String> columns,
+                               Function<S, List<Object>> toRow) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, new ArrayList<>(columns));
+        }
+        try (MongoCursor<T> cursor = collection.find()
+                .projection(projection)
+                .sort(Sorts.ascending(key))
+                .batchSize(EXPORT_BATCH_SIZE)
+                .iterator()) {
+            while (cursor.hasNext()) {
+                S summary = toSummary.apply(cursor.next());
+                if (format == ExportFormat.CSV) {
+                    writeCsvRow(writer, toRow.apply(summary));
+                } else {
+                    writer.write(lineWriter.writeValueAsString(summary));
+                    writer.write('\n');
+                }
+            }
+        }
+        writer.flush();
+    }
+
+    static void writeCsvRow(Writer writer, List<Object> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = String.valueOf(values.get(i));
+            if (isFormula(value)) {
+                writer.write("\"'");
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * @return whether a spreadsheet application would evaluate the cell as a formula
+     */
+    private static boolean isFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+
+    /**
+     * Joins a list into a single CSV cell, separating values with {@code ;}.
+     */
+    private static String join(List<?> values) {
+        if (values == null) {
+            return "";
+        }
+        StringBuilder joined = new StringBuilder();
+        for (Object value : values) {
+            if (!joined.isEmpty()) {
+                joined.append(';');
+            }
+            joined.append(value);
+        }
+        return joined.toString();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
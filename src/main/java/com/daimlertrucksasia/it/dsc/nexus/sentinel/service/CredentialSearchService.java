@@ -0,0 +1,156 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec.DocumentCodecs;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ClientSearchHit;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserSearchHit;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.conversions.Bson;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Service searching users by {@code department}/{@code region} and clients by
+ * {@code team}/{@code serviceTier}.
+ * <p>
+ * The service owns two compound indexes per collection, one led by each attribute and both ending
+ * with the unique key, created in the background by the {@link MongoIndexInitializer}:
+ * <ul>
+ *     <li>{@code user_credentials}: {@code (department, region, username)} and {@code (region, department, username)}</li>
+ *     <li>{@code client_credentials}: {@code (team, serviceTier, clientId)} and {@code (serviceTier, team, clientId)}</li>
+ * </ul>
+ * Searches filter on equality of one or both attributes and project only the indexed fields
+ * without {@code _id}, so MongoDB answers them as covered queries without fetching documents.
+ * Matches are streamed as NDJSON in index order.
+ * </p>
+ */
+@Slf4j
+@Service
+public class CredentialSearchService {
+
+    private static final Bson USER_FIELDS = Projections.fields(
+            Projections.include("username", "department", "region"), Projections.excludeId());
+
+    private static final Bson CLIENT_FIELDS = Projections.fields(
+            Projections.include("clientId", "team", "serviceTier"), Projections.excludeId());
+
+    private final MongoIndexInitializer mongoIndexInitializer;
+    private final MongoCollection<User> users;
+    private final MongoCollection<Client> clients;
+    private final ObjectWriter lineWriter;
+
+    public CredentialSearchService(MongoTemplate mongoTemplate, MongoIndexInitializer mongoIndexInitializer,
+                                   ObjectMapper objectMapper) {
+        this.mongoIndexInitializer = mongoIndexInitializer;
+        this.users = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(User.class), User.class);
+        this.clients = DocumentCodecs.collection(mongoTemplate, mongoTemplate.getCollectionName(Client.class), Client.class);
+        this.lineWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Registers the search indexes.
+     */
+    @PostConstruct
+    void registerIndexes() {
+        mongoIndexInitializer.register(User.class, new Index()
+                .on("department", Sort.Direction.ASC).on("region", Sort.Direction.ASC).on("username", Sort.Direction.ASC)
+                .named("search_department_region"));
+        mongoIndexInitializer.register(User.class, new Index()
+                .on("region", Sort.Direction.ASC).on("department", Sort.Direction.ASC).on("username", Sort.Direction.ASC)
+                .named("search_region_department"));
+        mongoIndexInitializer.register(Client.class, new Index()
+                .on("team", Sort.Direction.ASC).on("serviceTier", Sort.Direction.ASC).on("clientId", Sort.Direction.ASC)
+                .named("search_team_tier"));
+        mongoIndexInitializer.register(Client.class, new Index()
+                .on("serviceTier", Sort.Direction.ASC).on("team", Sort.Direction.ASC).on("clientId", Sort.Direction.ASC)
+                .named("search_tier_team"));
+    }
+
+    /**
+     * Streams users matching the given attributes.
+     *
+     * @param department department to match, or {@code null}
+     * @param region     region to match, or {@code null}
+     * @param output     response body receiving NDJSON {@link UserSearchHit}s
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if neither attribute is given
+     */
+    public void searchUsers(String department, String region, OutputStream output) throws IOException {
+        stream(users, filter("department", department, "region", region), USER_FIELDS, output,
+                user -> UserSearchHit.builder()
+                        .username(user.getUsername())
+                        .department(user.getDepartment())
+                        .region(user.getRegion())
+                        .build());
+    }
+
+    /**
+     * Streams clients matching the given attributes.
+     *
+     * @param team        team to match, or {@code null}
+     * @param serviceTier service tier to match, or {@code null}
+     * @param output      response body receiving NDJSON {@link ClientSearchHit}s
+     * @throws IOException              if writing fails
+     * @throws IllegalArgumentException if neither attribute is given
+     */
+    public void searchClients(String team, String serviceTier, OutputStream output) throws IOException {
+        stream(clients, filter("team", team, "serviceTier", serviceTier), CLIENT_FIELDS, output,
+                client -> ClientSearchHit.builder()
+                        .clientId(client.getClientId())
+                        .team(client.getTeam())
+                        .serviceTier(client.getServiceTier())
+                        .build());
+    }
+
+    /**
+     * Builds an equality filter on the given attributes. At least one value is required, so that
+     * the filter always has an index prefix to use.
+     */
+    private static Bson filter(String firstField, String first, String secondField, String second) {
+        List<Bson> conditions = new ArrayList<>(2);
+        if (first != null) {
+            conditions.add(Filters.eq(firstField, first));
+        }
+        if (second != null) {
+            conditions.add(Filters.eq(secondField, second));
+        }
+        if (conditions.isEmpty()) {
+            throw new IllegalArgumentException("At least one of " + firstField + " and " + secondField + " is required");
+        }
+        return conditions.size() == 1 ? conditions.get(0) : Filters.and(conditions);
+    }
+
+    private <T, H> void stream(MongoCollection<T> collection, Bson filter, Bson projection, OutputStream output,
+                               Function<T, H> toHit) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        try (MongoCursor<T> cursor = collection.find(filter).projection(projection).iterator()) {
+            while (cursor.hasNext()) {
+                writer.write(lineWriter.writeValueAsString(toHit.apply(cursor.next())));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+}
@@ -0,0 +1,143 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationEntity;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Service caching the number of users and clients per attribute value, e.g. users per region.
+ * <p>
+ * Counts are built once with a {@code $group} aggregation per facet and then incremented in memory
+ * by the registration services, so dashboards read them without touching MongoDB. Registrations
+ * made on other nodes are picked up by a full rebuild every
+ * {@code search.facets.reconcile-interval}, which also corrects any drift.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FacetCountService {
+
+    /**
+     * Label under which entities without a value for the facet are counted.
+     */
+    public static final String NONE = "(none)";
+
+    /**
+     * Attributes with cached counts.
+     */
+    public enum Facet {
+        USER_DEPARTMENT(EntityType.USER, "department", entity -> ((User) entity).getDepartment()),
+        USER_REGION(EntityType.USER, "region", entity -> ((User) entity).getRegion()),
+        CLIENT_TEAM(EntityType.CLIENT, "team", entity -> ((Client) entity).getTeam()),
+        CLIENT_SERVICE_TIER(EntityType.CLIENT, "serviceTier", entity -> ((Client) entity).getServiceTier());
+
+        private final EntityType entityType;
+        private final String field;
+        private final Function<RegistrationEntity, String> value;
+
+        Facet(EntityType entityType, String field, Function<RegistrationEntity, String> value) {
+            this.entityType = entityType;
+            this.field = field;
+            this.value = value;
+        }
+
+        /**
+         * Resolves a facet by entity type and document field name.
+         *
+         * @param entityType entity type
+         * @param field      field name, e.g. {@code region}
+         * @return the facet, or empty if the field is not a facet of the entity type
+         */
+        public static Optional<Facet> of(EntityType entityType, String field) {
+            for (Facet facet : values()) {
+                if (facet.entityType == entityType && facet.field.equals(field)) {
+                    return Optional.of(facet);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final MongoTemplate mongoTemplate;
+
+    private volatile Map<Facet, Map<String, LongAdder>> counts = emptyCounts();
+
+    /**
+     * Returns the cached counts of a facet.
+     *
+     * @param facet the facet
+     * @return counts per value, ordered by value
+     */
+    public Map<String, Long> counts(Facet facet) {
+        Map<String, Long> snapshot = new TreeMap<>();
+        counts.get(facet).forEach((value, count) -> snapshot.put(value, count.sum()));
+        return snapshot;
+    }
+
+    /**
+     * Adds a newly registered user or client to the counts of its facets.
+     *
+     * @param entity the persisted {@link User} or {@link Client}
+     */
+    public void record(RegistrationEntity entity) {
+        EntityType entityType = entity instanceof User ? EntityType.USER : EntityType.CLIENT;
+        Map<Facet, Map<String, LongAdder>> current = counts;
+        for (Facet facet : Facet.values()) {
+            if (facet.entityType == entityType) {
+                current.get(facet).computeIfAbsent(label(facet.value.apply(entity)), key -> new LongAdder()).increment();
+            }
+        }
+    }
+
+    /**
+     * Rebuilds all facet counts from MongoDB and swaps them in.
+     */
+    @Scheduled(fixedDelayString = "${search.facets.reconcile-interval:15m}")
+    void rebuild() {
+        try {
+            Map<Facet, Map<String, LongAdder>> rebuilt = emptyCounts();
+            for (Facet facet : Facet.values()) {
+                Class<?> type = facet.entityType == EntityType.USER ? User.class : Client.class;
+                mongoTemplate.aggregate(Aggregation.newAggregation(Aggregation.group(facet.field).count().as("count")),
+                                type, Document.class)
+                        .forEach(group -> {
+                            LongAdder count = new LongAdder();
+                            count.add(((Number) group.get("count")).longValue());
+                            rebuilt.get(facet).put(label(group.getString("_id")), count);
+                        });
+            }
+            counts = rebuilt;
+        } catch (RuntimeException e) {
+            log.warn("Rebuilding facet counts failed: {}", e.getMessage());
+        }
+    }
+
+    private static Map<Facet, Map<String, LongAdder>> emptyCounts() {
+        Map<Facet, Map<String, LongAdder>> empty = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            empty.put(facet, new ConcurrentHashMap<>());
+        }
+        return empty;
+    }
+
+    private static String label(String value) {
+        return value == null ? NONE : value;
+    }
+}
@@ -37,6 +37,22 @@ public sealed interface RegistrationService permits UserRegistrationService, Cli
      */
     RegistrationResponse register(RegistrationEntity registration);
 
+    /**
+     * Builds the entity to persist from a registration request, including hashing of its secret,
+     * without persisting it. Used by bulk registration, which hashes in parallel and writes in batches.
+     *
+     * @param registration the registration data, must be of type {@link #getRequestType()}
+     * @return the entity ready to be inserted
+     */
+    RegistrationEntity prepare(RegistrationEntity registration);
+
+    /**
+     * Returns the request type accepted by {@link #register} and {@link #prepare}.
+     *
+     * @return the concrete {@link RegistrationEntity} request class
+     */
+    Class<? extends RegistrationEntity> getRequestType();
+
     /**
      * Returns the type of entity this registration service supports.
      *
@@ -1,12 +1,15 @@
 package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
 
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user.UserRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationResponse;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.RegistrationEntity;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserRegistrationRequest;
 import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -30,6 +33,8 @@ import org.springframework.stereotype.Service;
  * <ul>
  *     <li>{@link UserRepository} - for storing the user entity</li>
  *     <li>{@link PasswordEncoder} - for securely encoding the user password</li>
+ *     <li>{@link FacetCountService} - for counting the user in its department and region facets</li>
+ *     <li>{@link AuditPipeline} - for recording the registration in the audit trail</li>
  * </ul>
  * </p>
  *
@@ -51,6 +56,16 @@ public final class UserRegistrationService implements RegistrationService {
      */
     private final UserRepository userRepository;
 
+    /**
+     * Cache of user counts per department and region.
+     */
+    private final FacetCountService facetCountService;
+
+    /**
+     * Audit trail receiving one event per registration.
+     */
+    private final AuditPipeline auditPipeline;
+
     /**
      * Returns the supported entity type for this service, which is {@link EntityType#USER}.
      *
@@ -76,11 +91,24 @@ public final class UserRegistrationService implements RegistrationService {
      */
     @Override
     public RegistrationResponse register(RegistrationEntity registrationRequest) {
+        User user = userRepository.save((User) prepare(registrationRequest));
+        facetCountService.record(user);
+        auditPipeline.publish(AuditEvent.success(AuditEvent.Type.USER_REGISTRATION, user.getUsername(), null));
+
+        return RegistrationResponse.builder()
+                .registeredEntity(user)
+                .entityType(EntityType.USER.name())
+                .build();
+    }
+
+    @Override
+    public RegistrationEntity prepare(RegistrationEntity registrationRequest) {
         if (!(registrationRequest instanceof UserRegistrationRequest request)) {
             throw new IllegalArgumentException("Invalid user registration request type.");
         }
 
-        User user = User.builder()
+        return User.builder()
+                .id(new ObjectId().toHexString())
                 .username(request.getUsername())
                 .password(passwordEncoder.encode(request.getPassword()))
                 .roles(request.getRoles())
@@ -90,10 +118,10 @@ public final class UserRegistrationService implements RegistrationService {
                 .region(request.getRegion())
                 .email(request.getEmail())
                 .build();
+    }
 
-        return RegistrationResponse.builder()
-                .registeredEntity(userRepository.save(user))
-                .entityType(EntityType.USER.name())
-                .build();
+    @Override
+    public Class<UserRegistrationRequest> getRequestType() {
+        return UserRegistrationRequest.class;
     }
 }
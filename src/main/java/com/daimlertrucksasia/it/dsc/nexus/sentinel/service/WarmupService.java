@@ -0,0 +1,211 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.AuditProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.WarmupProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client.ClientRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user.UserRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.CwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.ClientRateLimiter;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Sorts;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Warm-up phase that runs before the application reports readiness.
+ * <p>
+ * Spring Boot moves the readiness state to {@code ACCEPTING_TRAFFIC} only after all
+ * {@link ApplicationRunner}s have completed, so a readiness probe on
+ * {@code /actuator/health/readiness} keeps traffic away until this runner returns. On a pool of
+ * {@code warmup.connections} workers it, in parallel:
+ * </p>
+ * <ul>
+ *     <li>pings MongoDB from every worker at once, so the connection pool is filled</li>
+ *     <li>loads the credentials of the most active clients and users, ranked by successful
+ *     authentications in the audit trail, which pulls their documents and index entries into
+ *     MongoDB's cache and fills the rate limiter's client profile cache</li>
+ *     <li>signs and verifies synthetic tokens with the {@link JwtService} and {@link CwtService}</li>
+ *     <li>verifies a synthetic password with the {@link PasswordEncoder}</li>
+ * </ul>
+ * <p>
+ * Every step, including ranking the subjects and hashing the synthetic password, runs on the
+ * workers, so the whole phase is bounded by {@code warmup.timeout}; work still pending then is
+ * interrupted. Failures are logged and never prevent startup.
+ * Its duration is recorded in the {@code sentinel.warmup.duration} timer.
+ * </p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmupService implements ApplicationRunner {
+
+    private static final String SYNTHETIC_SUBJECT = "warmup";
+    private static final String SYNTHETIC_SECRET = "warmup-synthetic-secret";
+
+    private final WarmupProperties properties;
+    private final AuditProperties auditProperties;
+    private final MongoTemplate mongoTemplate;
+    private final ClientRepository clientRepository;
+    private final UserRepository userRepository;
+    private final ClientRateLimiter clientRateLimiter;
+    private final JwtService jwtService;
+    private final CwtService cwtService;
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int workers = Math.max(1, properties.getConnections());
+        ExecutorService pool = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < workers; i++) {
+                tasks.add(CompletableFuture.runAsync(this::ping, pool));
+            }
+            tasks.add(preload(pool, AuditEvent.Type.CLIENT_AUTHENTICATION, properties.getClients(), this::loadClient));
+            tasks.add(preload(pool, AuditEvent.Type.USER_LOGIN, properties.getUsers(),
+                    username -> userRepository.findCredentialsByUsername(username)));
+            tasks.add(spread(pool, properties.getJwtIterations(), workers, this::exerciseJwt));
+            tasks.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(SYNTHETIC_SECRET), pool)
+                    .thenCompose(hash -> spread(pool, properties.getPasswordIterations(), workers,
+                            () -> passwordEncoder.matches(SYNTHETIC_SECRET, hash))));
+
+            allOf(tasks).get(properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("Warm-up did not finish within {}, reporting readiness anyway", properties.getTimeout());
+        } catch (ExecutionException | RuntimeException e) {
+            log.warn("Warm-up failed: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Duration duration = Duration.ofNanos(System.nanoTime() - start);
+        Timer.builder("sentinel.warmup.duration")
+                .description("Time spent warming up before reporting readiness")
+                .register(meterRegistry)
+                .record(duration);
+        log.info("Warm-up finished in {} ms", duration.toMillis());
+    }
+
+    private void ping() {
+        mongoTemplate.executeCommand(new Document("ping", 1));
+    }
+
+    private void loadClient(String clientId) {
+        clientRepository.findCredentialsByClientId(clientId).ifPresent(client ->
+                clientRateLimiter.rememberClient(client.getClientId(), client.getTeam(), client.getServiceTier()));
+    }
+
+    private void exerciseJwt() {
+        String token = jwtService.generateAccessToken(SYNTHETIC_SUBJECT, TokenType.BEARER_JWT,
+                Map.of("roles", List.of(SYNTHETIC_SUBJECT)), SubjectType.CLIENT);
+        jwtService.parse(token);
+        cwtService.parse(cwtService.generateAccessToken(SYNTHETIC_SUBJECT, TokenType.CWT,
+                Map.of("roles", List.of(SYNTHETIC_SUBJECT)), SubjectType.CLIENT));
+    }
+
+    /**
+     * Ranks the most active subjects of the given audit event type on a worker, then queues one
+     * load per subject.
+     */
+    private CompletableFuture<Void> preload(ExecutorService pool, AuditEvent.Type type, int limit,
+                                            Consumer<String> loader) {
+        return CompletableFuture.supplyAsync(() -> mostActive(type, limit), pool)
+                .thenCompose(subjects -> allOf(subjects.stream()
+                        .map(subject -> CompletableFuture.runAsync(() -> loader.accept(subject), pool))
+                        .toList()));
+    }
+
+    /**
+     * Queues {@code iterations} runs of the action, split evenly across the workers. Workers stop
+     * early when interrupted by the timeout.
+     */
+    private static CompletableFuture<Void> spread(ExecutorService pool, int iterations, int workers, Runnable action) {
+        AtomicInteger remaining = new AtomicInteger(iterations);
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, iterations); i++) {
+            tasks.add(CompletableFuture.runAsync(() -> {
+                while (!Thread.currentThread().isInterrupted() && remaining.getAndDecrement() > 0) {
+                    action.run();
+                }
+            }, pool));
+        }
+        return allOf(tasks);
+    }
+
+    private static CompletableFuture<Void> allOf(List<? extends CompletableFuture<?>> tasks) {
+        return CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Ranks subjects by successful authentications in the audit trail.
+     *
+     * @return up to {@code limit} subjects, most active first; empty if auditing is off or unreadable
+     */
+    private List<String> mostActive(AuditEvent.Type type, int limit) {
+        if (limit <= 0 || !auditProperties.isEnabled()) {
+            return List.of();
+        }
+        Instant since = Instant.now().minus(properties.getActivityWindow());
+        try {
+            return mongoTemplate.getCollection(auditProperties.getCollection())
+                    .aggregate(List.of(
+                            Aggregates.match(Filters.and(
+                                    Filters.gte("timestamp", Date.from(since)),
+                                    Filters.eq("meta.type", type.name()),
+                                    Filters.eq("meta.success", true),
+                                    Filters.ne("subject", null))),
+                            Aggregates.group("$subject", Accumulators.sum("count", 1)),
+                            Aggregates.sort(Sorts.descending("count")),
+                            Aggregates.limit(limit)))
+                    .map(document -> document.getString("_id"))
+                    .into(new ArrayList<>())
+                    .stream()
+                    .filter(Objects::nonNull)
+                    .toList();
+        } catch (RuntimeException e) {
+            log.warn("Ranking {} subjects for warm-up failed: {}", type, e.getMessage());
+            return List.of();
+        }
+    }
+}
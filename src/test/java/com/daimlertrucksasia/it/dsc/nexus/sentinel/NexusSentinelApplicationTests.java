@@ -3,7 +3,11 @@ package com.daimlertrucksasia.it.dsc.nexus.sentinel;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+		"token.api-key.pepper=dGVzdC1wZXBwZXItdGVzdC1wZXBwZXItdGVzdC1wZXBwZXI=",
+		"security.request-signing.master-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+		"warmup.enabled=false"
+})
 class NexusSentinelApplicationTests {
 
 	@Test
@@ -0,0 +1,77 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.CursorPage;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.CredentialDirectoryService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+		"token.api-key.pepper=dGVzdC1wZXBwZXItdGVzdC1wZXBwZXItdGVzdC1wZXBwZXI=",
+		"security.request-signing.master-key=MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=",
+		"warmup.enabled=false"
+})
+@AutoConfigureMockMvc
+class AdminRouteSecurityTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@MockitoBean
+	private CredentialDirectoryService credentialDirectoryService;
+
+	@Test
+	void adminRoutesRejectAnonymousRequests() throws Exception {
+		mockMvc.perform(get("/user/users")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/user/clients/export")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/user/search/users").param("department", "it")).andExpect(status().isForbidden());
+		mockMvc.perform(get("/user/facets/users/department")).andExpect(status().isForbidden());
+		mockMvc.perform(post("/api/register/user/bulk").contentType("application/x-ndjson").content("{}"))
+				.andExpect(status().isForbidden());
+	}
+
+	@Test
+	void adminRoutesRejectPrincipalsWithoutAdminAuthority() throws Exception {
+		mockMvc.perform(get("/user/users").session(session("USER"))).andExpect(status().isForbidden());
+		mockMvc.perform(get("/user/search/clients").session(session("USER"))).andExpect(status().isForbidden());
+	}
+
+	@Test
+	void adminRoutesAcceptAdmins() throws Exception {
+		when(credentialDirectoryService.listUsers(any(), anyInt())).thenReturn(new CursorPage<>(List.of(), null));
+
+		mockMvc.perform(get("/user/users").session(session("ADMIN"))).andExpect(status().isOk());
+	}
+
+	@Test
+	void claimsReferencesRequireAnAuthenticatedClient() throws Exception {
+		mockMvc.perform(get("/auth/claims/nxr_AAAAAAAAAAAAAAAAAAAAAA")).andExpect(status().isForbidden());
+
+		mockMvc.perform(get("/auth/claims/unknown").session(session("SERVICE"))).andExpect(status().isNotFound());
+	}
+
+	private static MockHttpSession session(String... authorities) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY,
+				new SecurityContextImpl(UsernamePasswordAuthenticationToken.authenticated("principal", null,
+						AuthorityUtils.createAuthorityList(authorities))));
+		return session;
+	}
+}
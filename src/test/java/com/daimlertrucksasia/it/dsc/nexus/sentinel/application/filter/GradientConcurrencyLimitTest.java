@@ -0,0 +1,126 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientConcurrencyLimitTest {
+
+	private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+	@Test
+	void rejectsOverLimitOnceQueueDelayElapses() throws InterruptedException {
+		GradientConcurrencyLimit limit = limit(2, 1, 10, 20 * MILLIS);
+
+		assertThat(limit.acquire()).isTrue();
+		assertThat(limit.acquire()).isTrue();
+		long started = System.nanoTime();
+		assertThat(limit.acquire()).isFalse();
+
+		assertThat(System.nanoTime() - started).isGreaterThanOrEqualTo(20 * MILLIS);
+		assertThat(limit.getInFlight()).isEqualTo(2);
+	}
+
+	@Test
+	void waitingRequestTakesTheReleasedSlot() throws Exception {
+		GradientConcurrencyLimit limit = limit(1, 1, 10, TimeUnit.SECONDS.toNanos(5));
+		assertThat(limit.acquire()).isTrue();
+
+		CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+			try {
+				return limit.acquire();
+			} catch (InterruptedException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		Thread.sleep(50);
+		limit.release(MILLIS, false);
+
+		assertThat(waiter.get(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(limit.getInFlight()).isEqualTo(1);
+	}
+
+	@Test
+	void growsWhileLatencyIsStableAndTheLimitIsUsed() throws InterruptedException {
+		GradientConcurrencyLimit limit = limit(10, 1, 100, 0);
+
+		for (int i = 0; i < 20; i++) {
+			saturate(limit, MILLIS);
+		}
+
+		assertThat(limit.getLimit()).isGreaterThan(10).isLessThanOrEqualTo(100);
+	}
+
+	@Test
+	void doesNotGrowWhileMostlyIdle() {
+		GradientConcurrencyLimit limit = limit(10, 1, 100, 0);
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(tryAcquire(limit)).isTrue();
+			limit.release(MILLIS, true);
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(10);
+	}
+
+	@Test
+	void shrinksWhenLatencyRisesButNotBelowMinimum() throws InterruptedException {
+		GradientConcurrencyLimit limit = new GradientConcurrencyLimit(20, 5, 50, 0.2, 2.0, 1000, 0);
+		for (int i = 0; i < 5; i++) {
+			saturate(limit, MILLIS);
+		}
+		assertThat(limit.getLimit()).isEqualTo(50);
+
+		saturate(limit, 50 * MILLIS);
+		assertThat(limit.getLimit()).isLessThan(50);
+
+		saturate(limit, 50 * MILLIS);
+		assertThat(limit.getLimit()).isEqualTo(5);
+	}
+
+	@Test
+	void unsampledReleasesLeaveTheLimitUnchanged() throws InterruptedException {
+		GradientConcurrencyLimit limit = limit(10, 1, 100, 0);
+
+		for (int i = 0; i < 20; i++) {
+			int taken = 0;
+			while (limit.acquire()) {
+				taken++;
+			}
+			for (int j = 0; j < taken; j++) {
+				limit.release(50 * MILLIS, false);
+			}
+		}
+
+		assertThat(limit.getLimit()).isEqualTo(10);
+		assertThat(limit.getInFlight()).isZero();
+	}
+
+	/**
+	 * Takes every available slot and releases them all with the given latency.
+	 */
+	private static void saturate(GradientConcurrencyLimit limit, long rttNanos) throws InterruptedException {
+		int taken = 0;
+		while (limit.acquire()) {
+			taken++;
+		}
+		for (int i = 0; i < taken; i++) {
+			limit.release(rttNanos, true);
+		}
+	}
+
+	private static boolean tryAcquire(GradientConcurrencyLimit limit) {
+		try {
+			return limit.acquire();
+		} catch (InterruptedException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static GradientConcurrencyLimit limit(int initial, int min, int max, long maxQueueDelayNanos) {
+		return new GradientConcurrencyLimit(initial, min, max, 0.2, 2.0, 100, maxQueueDelayNanos);
+	}
+}
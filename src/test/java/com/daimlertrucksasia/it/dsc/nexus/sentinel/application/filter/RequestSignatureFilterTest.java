@@ -0,0 +1,210 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.application.filter;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RequestSigningProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.SigningKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserRegistrationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.SigningKeyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.RequestSignatureVerifier;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.BulkRegistrationService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.FacetCountService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.RegistrationServiceResolver;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.service.UserRegistrationService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RequestSignatureFilterTest {
+
+	private static final String BULK_PATH = "/api/register/user/bulk";
+	private static final byte[] BULK_BODY = ("""
+			{"username":"user-1","password":"secret-1"}
+			{"username":"user-2","password":"secret-2"}
+			{"username":"user-3","password":"secret-3"}
+			{"username":"user-4","password":"secret-4"}
+			{"username":"user-5","password":"secret-5"}
+			""").getBytes(StandardCharsets.UTF_8);
+
+	private final RequestSigningProperties properties = new RequestSigningProperties();
+	private final SigningKeyRepository signingKeyRepository = mock(SigningKeyRepository.class);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulkOperations = mock(BulkOperations.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+	private SigningKeyService.IssuedSigningKey key;
+	private RequestSignatureFilter filter;
+	private BulkRegistrationService bulkRegistrationService;
+
+	@BeforeEach
+	void setUp() {
+		properties.setMasterKey("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+		properties.setNonceSliceCapacity(64);
+		SigningKeyService signingKeyService = new SigningKeyService(properties, signingKeyRepository,
+				mock(MongoIndexInitializer.class), meterRegistry);
+		key = signingKeyService.issue(Client.builder().clientId("admin-tool").roles(List.of("ADMIN")).build());
+		when(signingKeyRepository.findById(key.signingKey().getId())).thenReturn(Optional.of(key.signingKey()));
+		filter = new RequestSignatureFilter(new RequestSignatureVerifier(properties, signingKeyService, meterRegistry),
+				mock(RoleHierarchyService.class), objectMapper);
+
+		UserRegistrationService userRegistrationService = mock(UserRegistrationService.class);
+		doReturn(UserRegistrationRequest.class).when(userRegistrationService).getRequestType();
+		when(userRegistrationService.prepare(any())).thenAnswer(invocation -> {
+			UserRegistrationRequest request = invocation.getArgument(0);
+			return User.builder().id(request.getUsername()).username(request.getUsername()).build();
+		});
+		RegistrationServiceResolver resolver = mock(RegistrationServiceResolver.class);
+		when(resolver.resolve(EntityType.USER)).thenReturn(userRegistrationService);
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), any(Class.class))).thenReturn(bulkOperations);
+		when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+		bulkRegistrationService = new BulkRegistrationService(resolver, mock(FacetCountService.class),
+				mock(AuditPipeline.class), mongoTemplate, objectMapper, 2, 65536, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		ReflectionTestUtils.invokeMethod(bulkRegistrationService, "shutdown");
+	}
+
+	@Test
+	void verifiedBulkUploadIsRegistered() throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(signed("nonce-1", BULK_BODY, BULK_BODY), response, bulkUpload());
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString().lines()).hasSize(5);
+		verify(bulkOperations, times(3)).execute();
+	}
+
+	@Test
+	void tamperedBulkUploadIsRejectedBeforeAnyBatchIsSaved() throws Exception {
+		byte[] tampered = BULK_BODY.clone();
+		tampered[tampered.length - 5] ^= 1;
+		FilterChain chain = mock(FilterChain.class);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(signed("nonce-1", BULK_BODY, tampered), response, chain);
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		assertThat(response.getContentAsString()).contains("Invalid request signature");
+		verify(chain, never()).doFilter(any(), any());
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+	}
+
+	@Test
+	void truncatedBulkUploadIsRejected() throws Exception {
+		MockHttpServletRequest request = signed("nonce-1", BULK_BODY, BULK_BODY);
+		request.setContent(Arrays.copyOf(BULK_BODY, BULK_BODY.length / 2));
+		request.addHeader("Content-Length", BULK_BODY.length);
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, bulkUpload());
+
+		assertThat(response.getStatus()).isEqualTo(401);
+		verify(mongoTemplate, never()).bulkOps(any(BulkOperations.BulkMode.class), any(Class.class));
+	}
+
+	@Test
+	void spooledBodyOutlivesTheFilterUntilTheAsyncResponseCompletes() throws Exception {
+		properties.setSpoolThreshold(DataSize.ofBytes(16));
+		setUp();
+		MockHttpServletRequest request = signed("nonce-1", BULK_BODY, BULK_BODY);
+		request.setAsyncSupported(true);
+		AtomicReference<Path> spoolFile = new AtomicReference<>();
+		FilterChain asyncChain = (chainRequest, chainResponse) -> {
+			spoolFile.set(spoolFile(chainRequest));
+			chainRequest.startAsync();
+		};
+
+		filter.doFilter(request, new MockHttpServletResponse(), asyncChain);
+
+		assertThat(spoolFile.get()).exists();
+		request.getAsyncContext().complete();
+		assertThat(spoolFile.get()).doesNotExist();
+	}
+
+	@Test
+	void spooledBodyIsDeletedAfterASynchronousRequest() throws Exception {
+		properties.setSpoolThreshold(DataSize.ofBytes(16));
+		setUp();
+		AtomicReference<Path> spoolFile = new AtomicReference<>();
+		FilterChain chain = (chainRequest, chainResponse) -> {
+			spoolFile.set(spoolFile(chainRequest));
+			bulkUpload().doFilter(chainRequest, chainResponse);
+		};
+
+		filter.doFilter(signed("nonce-1", BULK_BODY, BULK_BODY), new MockHttpServletResponse(), chain);
+
+		assertThat(spoolFile.get()).isNotNull().doesNotExist();
+		verify(bulkOperations, times(3)).execute();
+	}
+
+	private FilterChain bulkUpload() {
+		return (request, response) -> bulkRegistrationService.registerAll(EntityType.USER, request.getInputStream(),
+				response.getOutputStream());
+	}
+
+	private static Path spoolFile(ServletRequest request) {
+		return (Path) ReflectionTestUtils.getField(request, "file");
+	}
+
+	private MockHttpServletRequest signed(String nonce, byte[] signedBody, byte[] sentBody)
+			throws GeneralSecurityException {
+		long timestamp = Instant.now().getEpochSecond();
+		String digest = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(signedBody));
+		String canonical = "POST\n" + BULK_PATH + "\n\n" + timestamp + '\n' + nonce + '\n' + digest;
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(key.secret(), "HmacSHA256"));
+		String signature = Base64.getEncoder().encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", BULK_PATH);
+		request.setContentType("application/x-ndjson");
+		request.setContent(sentBody);
+		request.addHeader(RequestSignatureVerifier.KEY_ID_HEADER, key.signingKey().getId());
+		request.addHeader(RequestSignatureVerifier.TIMESTAMP_HEADER, String.valueOf(timestamp));
+		request.addHeader(RequestSignatureVerifier.NONCE_HEADER, nonce);
+		request.addHeader(RequestSignatureVerifier.CONTENT_DIGEST_HEADER, digest);
+		request.addHeader(RequestSignatureVerifier.SIGNATURE_HEADER, signature);
+		return request;
+	}
+}
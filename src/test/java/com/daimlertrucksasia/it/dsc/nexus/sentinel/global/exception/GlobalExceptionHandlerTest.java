@@ -0,0 +1,49 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.error.ErrorResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTest {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+
+	@Test
+	void authenticationFailuresMapToTheirStatusAndMessage() {
+		for (AuthenticationFailure failure : AuthenticationFailure.values()) {
+			ResponseEntity<ErrorResponse> response =
+					handler.handleAuthenticationFailure(failure.exception(), request);
+
+			assertThat(response.getStatusCode()).isEqualTo(failure.getStatus());
+			assertThat(response.getBody().getStatus()).isEqualTo(failure.getStatus().value());
+			assertThat(response.getBody().getError()).isEqualTo(failure.getStatus().getReasonPhrase());
+			assertThat(response.getBody().getMessage()).isEqualTo(failure.getMessage());
+		}
+	}
+
+	@Test
+	void authenticationFailuresUseTheCommonErrorSchema() {
+		Instant before = Instant.now();
+
+		ErrorResponse body = handler.handleAuthenticationFailure(
+				AuthenticationFailure.INVALID_PASSWORD.exception(), request).getBody();
+
+		assertThat(body.getTimestamp()).isBetween(before, Instant.now());
+		assertThat(body.getPath()).isEqualTo("/auth/login");
+	}
+
+	@Test
+	void failureExceptionsAreSharedAndStackless() {
+		AuthenticationFailureException exception = AuthenticationFailure.INVALID_CLIENT_SECRET.exception();
+
+		assertThat(AuthenticationFailure.INVALID_CLIENT_SECRET.exception()).isSameAs(exception);
+		assertThat(exception.getStackTrace()).isEmpty();
+		assertThat(exception.getFailure()).isEqualTo(AuthenticationFailure.INVALID_CLIENT_SECRET);
+	}
+}
@@ -0,0 +1,188 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.AuditProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.AuditEvent;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditPipelineTest {
+
+	private final AuditProperties properties = new AuditProperties();
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final MongoCollection<Document> collection = mock(MongoCollection.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<Integer> batchSizes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		properties.setBatchSize(10);
+		properties.setFlushInterval(Duration.ofSeconds(10));
+		when(mongoTemplate.collectionExists(anyString())).thenReturn(true);
+		when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+		doAnswer(invocation -> {
+			synchronized (batchSizes) {
+				batchSizes.add(invocation.<List<Document>>getArgument(0).size());
+			}
+			return null;
+		}).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+	}
+
+	@Test
+	void batchesNeverExceedTheBatchSize() throws InterruptedException {
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+		for (int i = 0; i < 95; i++) {
+			pipeline.publish(event(i));
+		}
+
+		pipeline.stop();
+
+		synchronized (batchSizes) {
+			assertThat(batchSizes).allSatisfy(size -> assertThat(size).isBetween(1, 10));
+			assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(95);
+		}
+		assertThat(count("published")).isEqualTo(95);
+		assertThat(count("written")).isEqualTo(95);
+	}
+
+	@Test
+	void failedBatchesAreCountedAndDropped() throws InterruptedException {
+		doThrow(new IllegalStateException("down")).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+		for (int i = 0; i < 25; i++) {
+			pipeline.publish(event(i));
+		}
+
+		pipeline.stop();
+
+		assertThat(count("failed")).isEqualTo(25);
+		assertThat(count("written")).isZero();
+	}
+
+	@Test
+	void dropsEventsWhenTheBufferIsFull() throws InterruptedException {
+		properties.setBufferCapacity(2);
+		CountDownLatch writerBlocked = new CountDownLatch(1);
+		when(mongoTemplate.collectionExists(anyString())).thenAnswer(invocation -> {
+			writerBlocked.await();
+			return true;
+		});
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+
+		for (int i = 0; i < 5; i++) {
+			pipeline.publish(event(i));
+		}
+		writerBlocked.countDown();
+		pipeline.stop();
+
+		assertThat(count("published")).isEqualTo(2);
+		assertThat(count("dropped")).isEqualTo(3);
+		assertThat(count("written")).isEqualTo(2);
+	}
+
+	@Test
+	void disabledPipelineIgnoresEvents() throws InterruptedException {
+		properties.setEnabled(false);
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+
+		pipeline.publish(event(0));
+		pipeline.stop();
+
+		assertThat(count("published")).isZero();
+		assertThat(count("dropped")).isZero();
+	}
+
+	@Test
+	void collectionCreationIsRetriedBeforeTheFirstWrite() throws InterruptedException {
+		properties.setFlushInterval(Duration.ofMillis(10));
+		properties.setCreateRetryInterval(Duration.ofMillis(20));
+		when(mongoTemplate.collectionExists(anyString())).thenReturn(false);
+		when(mongoTemplate.createCollection(anyString(), any(CollectionOptions.class)))
+				.thenThrow(new IllegalStateException("down"))
+				.thenReturn(collection);
+		CountDownLatch inserted = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			inserted.countDown();
+			return null;
+		}).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+
+		pipeline.publish(event(0));
+
+		assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+		pipeline.stop();
+		InOrder order = inOrder(mongoTemplate, collection);
+		order.verify(mongoTemplate, times(2)).createCollection(anyString(), any(CollectionOptions.class));
+		order.verify(collection).insertMany(anyList(), any(InsertManyOptions.class));
+		assertThat(count("written")).isEqualTo(1);
+	}
+
+	@Test
+	void eventsAreNeverInsertedWithoutTheCollection() throws InterruptedException {
+		when(mongoTemplate.collectionExists(anyString())).thenReturn(false);
+		when(mongoTemplate.createCollection(anyString(), any(CollectionOptions.class)))
+				.thenThrow(new IllegalStateException("down"));
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.start();
+		for (int i = 0; i < 5; i++) {
+			pipeline.publish(event(i));
+		}
+
+		pipeline.stop();
+
+		verify(collection, never()).insertMany(anyList(), any(InsertManyOptions.class));
+		assertThat(count("failed")).isEqualTo(5);
+	}
+
+	@Test
+	void eventsPublishedWhileStoppedAreCountedAsDropped() throws InterruptedException {
+		AuditPipeline pipeline = new AuditPipeline(properties, mongoTemplate, meterRegistry);
+		pipeline.publish(event(0));
+		pipeline.start();
+		pipeline.stop();
+
+		pipeline.publish(event(1));
+
+		assertThat(count("dropped")).isEqualTo(2);
+		assertThat(count("published")).isZero();
+	}
+
+	private double count(String result) {
+		return meterRegistry.get("sentinel.audit.events").tag("result", result).counter().count();
+	}
+
+	private static AuditEvent event(int i) {
+		return AuditEvent.success(AuditEvent.Type.USER_LOGIN, "user-" + i, null);
+	}
+}
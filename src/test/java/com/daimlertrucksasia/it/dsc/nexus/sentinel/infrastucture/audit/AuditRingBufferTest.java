@@ -0,0 +1,101 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTest {
+
+	@Test
+	void roundsCapacityUpToPowerOfTwo() {
+		assertThat(new AuditRingBuffer<>(1).capacity()).isEqualTo(2);
+		assertThat(new AuditRingBuffer<>(5).capacity()).isEqualTo(8);
+		assertThat(new AuditRingBuffer<>(8).capacity()).isEqualTo(8);
+	}
+
+	@Test
+	void rejectsOffersWhenFull() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+
+		assertThat(buffer.offer(4)).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+	}
+
+	@Test
+	void drainsInOrderUpToMax() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(8);
+		for (int i = 0; i < 5; i++) {
+			buffer.offer(i);
+		}
+		List<Integer> target = new ArrayList<>();
+
+		assertThat(buffer.drainTo(target, 3)).isEqualTo(3);
+		assertThat(buffer.drainTo(target, 0)).isZero();
+		assertThat(buffer.drainTo(target, 10)).isEqualTo(2);
+		assertThat(target).containsExactly(0, 1, 2, 3, 4);
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void reusesSlotsAcrossManyWraparounds() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+		List<Integer> target = new ArrayList<>();
+		int next = 0;
+		for (int round = 0; round < 100; round++) {
+			for (int i = 0; i < 3; i++) {
+				assertThat(buffer.offer(next++)).isTrue();
+			}
+			buffer.drainTo(target, 3);
+		}
+
+		assertThat(target).hasSize(300);
+		for (int i = 0; i < target.size(); i++) {
+			assertThat(target.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+		int producers = 4;
+		int perProducer = 50_000;
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch done = new CountDownLatch(producers);
+		for (int p = 0; p < producers; p++) {
+			int offset = p * perProducer;
+			executor.execute(() -> {
+				for (int i = 0; i < perProducer; i++) {
+					while (!buffer.offer(offset + i)) {
+						Thread.onSpinWait();
+					}
+				}
+				done.countDown();
+			});
+		}
+
+		List<Integer> drained = new ArrayList<>();
+		while (drained.size() < producers * perProducer) {
+			if (buffer.drainTo(drained, 256) == 0 && done.getCount() == 0 && buffer.size() == 0) {
+				break;
+			}
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		Set<Integer> distinct = new HashSet<>(drained);
+		assertThat(drained).hasSize(producers * perProducer);
+		assertThat(distinct).hasSize(producers * perProducer);
+	}
+}
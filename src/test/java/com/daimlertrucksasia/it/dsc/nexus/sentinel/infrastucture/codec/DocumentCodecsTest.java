@@ -0,0 +1,86 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.codec;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.BsonString;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DocumentCodecsTest {
+
+	@Test
+	void tokenRoundTripsWithObjectId() {
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		Token token = Token.builder()
+				.id(new ObjectId().toHexString())
+				.token("value")
+				.tokenType(TokenType.REFRESH_TOKEN)
+				.subjectId("jane")
+				.subjectType(SubjectType.USER)
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(60))
+				.build();
+
+		BsonDocument document = encode(Token.class, token);
+
+		assertThat(document.get("_id").isObjectId()).isTrue();
+		assertThat(decode(Token.class, document)).isEqualTo(token);
+	}
+
+	@Test
+	void userRoundTripsAndSkipsUnknownFields() {
+		User user = User.builder()
+				.id("user-1")
+				.username("jane")
+				.password("hash")
+				.roles(List.of("USER", "ADMIN"))
+				.allowedTokenTypes(List.of(TokenType.BEARER_JWT))
+				.active(true)
+				.email("jane@example.com")
+				.build();
+
+		BsonDocument document = encode(User.class, user);
+		document.put("legacyField", new BsonString("ignored"));
+
+		assertThat(decode(User.class, document)).isEqualTo(user);
+	}
+
+	@Test
+	void clientRoundTripsWithMissingOptionalFields() {
+		Client client = Client.builder()
+				.id(new ObjectId().toHexString())
+				.clientId("order-service")
+				.clientSecret("hash")
+				.scopes(List.of("orders:read"))
+				.build();
+
+		assertThat(decode(Client.class, encode(Client.class, client))).isEqualTo(client);
+	}
+
+	private static <T> BsonDocument encode(Class<T> type, T value) {
+		BsonDocument document = new BsonDocument();
+		DocumentCodecs.REGISTRY.get(type).encode(new BsonDocumentWriter(document), value,
+				EncoderContext.builder().build());
+		return document;
+	}
+
+	private static <T> T decode(Class<T> type, BsonDocument document) {
+		Codec<T> codec = DocumentCodecs.REGISTRY.get(type);
+		return codec.decode(new BsonDocumentReader(document), DecoderContext.builder().build());
+	}
+}
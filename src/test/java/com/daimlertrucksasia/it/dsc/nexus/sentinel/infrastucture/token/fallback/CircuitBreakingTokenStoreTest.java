@@ -0,0 +1,154 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback.TokenPersistenceCircuitBreaker.State;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.FsyncPolicy;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal.TokenJournal;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakingTokenStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private final FakeStore delegate = new FakeStore();
+	private CircuitBreakingTokenStore store;
+
+	@AfterEach
+	void close() {
+		delegate.release.countDown();
+		if (store != null) {
+			store.close();
+		}
+	}
+
+	@Test
+	void writesToDelegateWhileClosed() throws IOException {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		store = store(breaker, Duration.ofMinutes(1));
+
+		store.save(token("a"));
+
+		assertThat(delegate.tokens).containsKey("a");
+		assertThat(store.findByToken("a")).isPresent();
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void hangingWriteTimesOutCountsAsFailureAndIsJournaled() throws IOException {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		store = store(breaker, Duration.ofMinutes(1));
+		delegate.hang = true;
+
+		long started = System.nanoTime();
+		store.save(token("a"));
+
+		assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		assertThat(store.findByToken("a")).map(Token::getSubjectId).contains("subject-a");
+	}
+
+	@Test
+	void readsFallBackToJournalWhileOpenOrFailing() throws IOException {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMinutes(1));
+		store = store(breaker, Duration.ofMinutes(1));
+		delegate.fail = true;
+
+		store.save(token("a"));
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+		assertThat(store.findByToken("a")).isPresent();
+		assertThat(store.findByToken("unknown")).isEmpty();
+		assertThat(delegate.reads).isZero();
+	}
+
+	@Test
+	void replaysJournaledTokensOnceDelegateRecovers() throws IOException, InterruptedException {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMillis(50));
+		store = store(breaker, Duration.ofMillis(20));
+		delegate.fail = true;
+		store.save(token("a"));
+		store.save(token("b"));
+		store.save(token("c"));
+		assertThat(delegate.tokens).isEmpty();
+
+		delegate.fail = false;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (delegate.tokens.size() < 3 && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+
+		assertThat(delegate.tokens).containsOnlyKeys("a", "b", "c");
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	private CircuitBreakingTokenStore store(TokenPersistenceCircuitBreaker breaker, Duration replayInterval)
+			throws IOException {
+		TokenJournal journal = TokenJournal.open(directory, 64 * 1024, FsyncPolicy.NEVER);
+		return new CircuitBreakingTokenStore(delegate, journal, breaker, 1, replayInterval,
+				Duration.ofMillis(100), 4, new SimpleMeterRegistry());
+	}
+
+	private static TokenPersistenceCircuitBreaker breaker(Duration openDuration) {
+		return new TokenPersistenceCircuitBreaker(0.5, 0.5, Duration.ofSeconds(1), 10, 1, openDuration, 1);
+	}
+
+	private static Token token(String value) {
+		return Token.builder()
+				.token(value)
+				.subjectId("subject-" + value)
+				.issuedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(60))
+				.build();
+	}
+
+	private static final class FakeStore implements TokenStore {
+
+		private final Map<String, Token> tokens = new ConcurrentHashMap<>();
+		private final CountDownLatch release = new CountDownLatch(1);
+		private volatile boolean fail;
+		private volatile boolean hang;
+		private volatile int reads;
+
+		@Override
+		public Token save(Token token) {
+			if (hang) {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			if (fail) {
+				throw new IllegalStateException("unavailable");
+			}
+			tokens.put(token.getToken(), token);
+			return token;
+		}
+
+		@Override
+		public Optional<Token> findByToken(String token) {
+			reads++;
+			if (fail) {
+				throw new IllegalStateException("unavailable");
+			}
+			return Optional.ofNullable(tokens.get(token));
+		}
+	}
+}
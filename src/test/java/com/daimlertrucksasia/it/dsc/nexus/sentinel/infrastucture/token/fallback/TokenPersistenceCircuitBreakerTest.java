@@ -0,0 +1,99 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.fallback.TokenPersistenceCircuitBreaker.State;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenPersistenceCircuitBreakerTest {
+
+	private static final long FAST = Duration.ofMillis(1).toNanos();
+	private static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+	@Test
+	void opensOnceFailureRateIsReachedAfterMinimumCalls() {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+
+		breaker.onFailure(FAST);
+		breaker.onFailure(FAST);
+		breaker.onSuccess(FAST);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+		breaker.onFailure(FAST);
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+		assertThat(breaker.isCallPermitted()).isFalse();
+	}
+
+	@Test
+	void opensOnSlowCalls() {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ofMinutes(1), 2);
+
+		for (int i = 0; i < 4; i++) {
+			breaker.onSuccess(SLOW);
+		}
+
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void halfOpenGrantsOnlyTrialPermitsAndClosesWhenAllSucceed() {
+		TokenPersistenceCircuitBreaker breaker = openedBreaker(2);
+
+		assertThat(breaker.isCallPermitted()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.tryAcquirePermission()).isFalse();
+
+		breaker.onSuccess(FAST);
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+		breaker.onSuccess(FAST);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+	}
+
+	@Test
+	void halfOpenReopensOnBadTrialOutcome() {
+		TokenPersistenceCircuitBreaker breaker = openedBreaker(2);
+
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		breaker.onSuccess(SLOW);
+
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	@Test
+	void halfOpenIgnoresOutcomesBeyondGrantedTrialPermits() {
+		TokenPersistenceCircuitBreaker breaker = openedBreaker(1);
+		assertThat(breaker.tryAcquirePermission()).isTrue();
+		assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+
+		breaker.onSuccess(FAST);
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+		TokenPersistenceCircuitBreaker reopened = openedBreaker(2);
+		assertThat(reopened.tryAcquirePermission()).isTrue();
+		reopened.onSuccess(FAST);
+		// Outcome of a call that never received a trial permit, e.g. one started before opening
+		reopened.onSuccess(FAST);
+		assertThat(reopened.getState()).isEqualTo(State.HALF_OPEN);
+		reopened.onFailure(FAST);
+		assertThat(reopened.getState()).isEqualTo(State.HALF_OPEN);
+	}
+
+	private static TokenPersistenceCircuitBreaker openedBreaker(int halfOpenCalls) {
+		TokenPersistenceCircuitBreaker breaker = breaker(Duration.ZERO, halfOpenCalls);
+		for (int i = 0; i < 4; i++) {
+			breaker.onFailure(FAST);
+		}
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		return breaker;
+	}
+
+	private static TokenPersistenceCircuitBreaker breaker(Duration openDuration, int halfOpenCalls) {
+		return new TokenPersistenceCircuitBreaker(0.5, 0.5, Duration.ofMillis(100), 10, 4, openDuration,
+				halfOpenCalls);
+	}
+}
@@ -0,0 +1,140 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.journal;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenJournalTest {
+
+	private static final int SEGMENT_SIZE = 4096;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void findsAppendedTokensAfterReopening() throws IOException {
+		try (TokenJournal journal = open()) {
+			journal.append(token("a", 60));
+			journal.append(token("b", 60));
+		}
+
+		try (TokenJournal journal = open()) {
+			assertThat(journal.find("a")).map(Token::getSubjectId).contains("subject-a");
+			assertThat(journal.find("b")).map(Token::getTokenType).contains(TokenType.BEARER_JWT);
+			assertThat(journal.find("c")).isEmpty();
+			assertThat(journal.recordCount()).isEqualTo(2);
+		}
+	}
+
+	@Test
+	void latestRecordOfATokenWins() throws IOException {
+		try (TokenJournal journal = open()) {
+			journal.append(token("a", 60));
+			Token replaced = token("a", 60);
+			replaced.setSubjectId("other");
+			journal.append(replaced);
+
+			assertThat(journal.find("a")).map(Token::getSubjectId).contains("other");
+			assertThat(journal.size()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void recoveryStopsAtTornTailAndOverwritesIt() throws IOException {
+		try (TokenJournal journal = open()) {
+			journal.append(token("a", 60));
+			journal.append(token("b", 60));
+			journal.append(token("c", 60));
+		}
+		// Corrupt one payload byte of the last record, as left by a write interrupted by a crash
+		int tail = 8 + recordSize("a") + recordSize("b");
+		corrupt(segmentFile(1), tail + 16 + 6);
+
+		try (TokenJournal journal = open()) {
+			assertThat(journal.find("a")).isPresent();
+			assertThat(journal.find("b")).isPresent();
+			assertThat(journal.find("c")).isEmpty();
+			assertThat(journal.recordCount()).isEqualTo(2);
+
+			journal.append(token("d", 60));
+		}
+
+		try (TokenJournal journal = open()) {
+			assertThat(journal.find("d")).isPresent();
+			assertThat(journal.find("c")).isEmpty();
+			assertThat(journal.recordCount()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void rollsSegmentsAndPurgesOnlyFullyExpiredOnes() throws IOException {
+		try (TokenJournal journal = open()) {
+			int perSegment = (SEGMENT_SIZE - 8) / recordSize("expired-00");
+			for (int i = 0; i < perSegment; i++) {
+				journal.append(token("expired-%02d".formatted(i), -60));
+			}
+			journal.append(token("live-00000", 60));
+			assertThat(journal.segmentCount()).isEqualTo(2);
+
+			assertThat(journal.purgeExpired(Instant.now())).isEqualTo(1);
+			assertThat(journal.segmentCount()).isEqualTo(1);
+			assertThat(journal.size()).isEqualTo(1);
+			assertThat(journal.find("live-00000")).isPresent();
+		}
+	}
+
+	@Test
+	void expiredTokensAreNotFound() throws IOException {
+		try (TokenJournal journal = open()) {
+			journal.append(token("a", -1));
+
+			assertThat(journal.find("a")).isEmpty();
+		}
+	}
+
+	private TokenJournal open() throws IOException {
+		return TokenJournal.open(directory, SEGMENT_SIZE, FsyncPolicy.ALWAYS);
+	}
+
+	private Path segmentFile(long id) {
+		return directory.resolve(JournalSegment.fileName(id));
+	}
+
+	private static int recordSize(String value) {
+		return 16 + TokenRecordCodec.encode(token(value, 60)).length;
+	}
+
+	private static void corrupt(Path file, int position) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			ByteBuffer value = ByteBuffer.allocate(1);
+			channel.read(value, position);
+			value.put(0, (byte) ~value.get(0)).rewind();
+			channel.write(value, position);
+		}
+	}
+
+	private static Token token(String value, long expiresInSeconds) {
+		Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+		return Token.builder()
+				.id("id-" + value)
+				.token(value)
+				.tokenType(TokenType.BEARER_JWT)
+				.subjectId("subject-" + value)
+				.subjectType(SubjectType.USER)
+				.issuedAt(now)
+				.expiresAt(now.plusSeconds(expiresInSeconds))
+				.build();
+	}
+}
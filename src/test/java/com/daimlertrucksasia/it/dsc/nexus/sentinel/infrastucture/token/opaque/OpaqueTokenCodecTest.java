@@ -0,0 +1,49 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpaqueTokenCodecTest {
+
+	@Test
+	void formattedIdsRoundTrip() {
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 0; i < 10_000; i++) {
+			long high = random.nextLong();
+			long low = random.nextLong();
+
+			String token = OpaqueTokenCodec.format(high, low);
+
+			assertThat(token).startsWith(OpaqueTokenCodec.PREFIX);
+			assertThat(OpaqueTokenCodec.isOpaque(token)).isTrue();
+			assertThat(OpaqueTokenCodec.high(token)).isEqualTo(high);
+			assertThat(OpaqueTokenCodec.low(token)).isEqualTo(low);
+		}
+	}
+
+	@Test
+	void extremeIdsRoundTrip() {
+		for (long value : new long[]{0, -1, Long.MIN_VALUE, Long.MAX_VALUE}) {
+			String token = OpaqueTokenCodec.format(value, ~value);
+
+			assertThat(OpaqueTokenCodec.high(token)).isEqualTo(value);
+			assertThat(OpaqueTokenCodec.low(token)).isEqualTo(~value);
+		}
+	}
+
+	@Test
+	void rejectsMalformedTokens() {
+		String valid = OpaqueTokenCodec.format(1, 2);
+
+		assertThat(OpaqueTokenCodec.isOpaque(null)).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque("")).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque(valid.substring(0, valid.length() - 1))).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque(valid + "A")).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque("xxx_" + valid.substring(4))).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque(valid.substring(0, 10) + "*" + valid.substring(11))).isFalse();
+		assertThat(OpaqueTokenCodec.isOpaque("eyJhbGciOiJIUzI1NiJ9.e30.c2ln")).isFalse();
+	}
+}
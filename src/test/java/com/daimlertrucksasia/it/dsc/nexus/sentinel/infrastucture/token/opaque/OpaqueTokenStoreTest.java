@@ -0,0 +1,113 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.OpaqueTokenProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OpaqueTokenStoreTest {
+
+	private static final String SECRET = "ZGFpbWxlci10cnVja3MtbmV4dXMtYXV0aC1zZXJ2aWNlLXNlY3JldC1rZXk=";
+
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	@SuppressWarnings("unchecked")
+	private final MongoCollection<Document> collection = mock(MongoCollection.class);
+	@SuppressWarnings("unchecked")
+	private final FindIterable<Document> found = mock(FindIterable.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private OpaqueTokenStore store;
+
+	@BeforeEach
+	void setUp() {
+		when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+		when(collection.find(any(Bson.class))).thenReturn(found);
+		store = store(SECRET);
+	}
+
+	@Test
+	void issuedTokensAreServedFromMemory() {
+		OpaqueToken token = token();
+
+		String issued = store.issue(token);
+
+		assertThat(store.find(issued)).isSameAs(token);
+		verify(collection, never()).find(any(Bson.class));
+	}
+
+	@Test
+	void forgedIdsAreRejectedWithoutAQuery() {
+		SecureRandom random = new SecureRandom();
+		for (int i = 0; i < 100; i++) {
+			assertThat(store.find(OpaqueTokenCodec.format(random.nextLong(), random.nextLong()))).isNull();
+		}
+
+		verify(collection, never()).find(any(Bson.class));
+		assertThat(lookups("rejected")).isEqualTo(100);
+	}
+
+	@Test
+	void tokensIssuedByAnotherNodeAreLoadedOnce() {
+		String issued = store.issue(token());
+		ArgumentCaptor<Document> document = ArgumentCaptor.forClass(Document.class);
+		verify(collection).insertOne(document.capture());
+		when(found.first()).thenReturn(document.getValue());
+		OpaqueTokenStore otherNode = store(SECRET);
+
+		assertThat(otherNode.find(issued).subject()).isEqualTo("client-1");
+		assertThat(otherNode.find(issued).subject()).isEqualTo("client-1");
+
+		verify(collection, times(1)).find(any(Bson.class));
+	}
+
+	@Test
+	void tokensTaggedUnderAnotherSecretAreRejected() {
+		String issued = store("b3RoZXItc2VjcmV0LW90aGVyLXNlY3JldC1vdGhlci1zZWNyZXQ=").issue(token());
+
+		assertThat(store.find(issued)).isNull();
+		verify(collection, never()).find(any(Bson.class));
+	}
+
+	@Test
+	void forgedIdsAreNotRevoked() {
+		SecureRandom random = new SecureRandom();
+
+		assertThat(store.remove(OpaqueTokenCodec.format(random.nextLong(), random.nextLong()))).isEmpty();
+		verify(collection, never()).findOneAndDelete(any(Bson.class));
+	}
+
+	private OpaqueTokenStore store(String secret) {
+		return new OpaqueTokenStore(new OpaqueTokenProperties(), mongoTemplate, mock(MongoIndexInitializer.class),
+				meterRegistry, secret);
+	}
+
+	private double lookups(String result) {
+		return meterRegistry.get("sentinel.token.opaque.lookups").tag("result", result).counter().count();
+	}
+
+	private static OpaqueToken token() {
+		long now = Instant.now().getEpochSecond();
+		return new OpaqueToken("client-1", SubjectType.CLIENT, "family-1", List.of("SERVICE"), List.of("read"),
+				"team-a", "gold", now, now + 3600);
+	}
+}
@@ -0,0 +1,141 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OpaqueTokenTableTest {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void storesReplacesAndRemovesTokens() {
+		OpaqueTokenTable table = new OpaqueTokenTable(4, 16);
+		OpaqueToken first = token("a", 60);
+		OpaqueToken second = token("b", 60);
+
+		table.put(1, 2, first);
+		assertThat(table.get(1, 2)).isSameAs(first);
+		assertThat(table.get(1, 3)).isNull();
+
+		table.put(1, 2, second);
+		assertThat(table.get(1, 2)).isSameAs(second);
+		assertThat(table.size()).isEqualTo(1);
+
+		assertThat(table.remove(1, 2)).isSameAs(second);
+		assertThat(table.remove(1, 2)).isNull();
+		assertThat(table.get(1, 2)).isNull();
+		assertThat(table.size()).isZero();
+	}
+
+	@Test
+	void removalShiftsCollidingEntriesAcrossTheArrayEnd() {
+		// One shard of 16 slots: ids 15, 31 and 47 share home slot 15 and wrap to slots 0 and 1
+		OpaqueTokenTable table = new OpaqueTokenTable(1, 1);
+		table.put(15, 0, token("a", 60));
+		table.put(31, 0, token("b", 60));
+		table.put(47, 0, token("c", 60));
+		table.put(0, 0, token("d", 60));
+
+		assertThat(table.remove(15, 0).subject()).isEqualTo("a");
+
+		assertThat(table.get(31, 0).subject()).isEqualTo("b");
+		assertThat(table.get(47, 0).subject()).isEqualTo("c");
+		assertThat(table.get(0, 0).subject()).isEqualTo("d");
+
+		assertThat(table.remove(31, 0).subject()).isEqualTo("b");
+		assertThat(table.get(47, 0).subject()).isEqualTo("c");
+		assertThat(table.get(0, 0).subject()).isEqualTo("d");
+		assertThat(table.size()).isEqualTo(2);
+	}
+
+	@Test
+	void growsShardsBeyondInitialCapacity() {
+		OpaqueTokenTable table = new OpaqueTokenTable(2, 4);
+		for (long i = 0; i < 1_000; i++) {
+			table.put(i * 31, i, token("t" + i, 60));
+		}
+
+		assertThat(table.size()).isEqualTo(1_000);
+		for (long i = 0; i < 1_000; i++) {
+			assertThat(table.get(i * 31, i).subject()).isEqualTo("t" + i);
+		}
+	}
+
+	@Test
+	void sweepRemovesOnlyExpiredTokensIncludingWrappedOnes() {
+		OpaqueTokenTable table = new OpaqueTokenTable(1, 1);
+		table.put(15, 0, token("expired", -1));
+		table.put(31, 0, token("live", 60));
+		table.put(47, 0, token("expired", -1));
+		table.put(63, 0, token("live", 60));
+
+		assertThat(table.removeExpired(NOW)).isEqualTo(2);
+
+		assertThat(table.size()).isEqualTo(2);
+		assertThat(table.get(15, 0)).isNull();
+		assertThat(table.get(31, 0).subject()).isEqualTo("live");
+		assertThat(table.get(47, 0)).isNull();
+		assertThat(table.get(63, 0).subject()).isEqualTo("live");
+	}
+
+	@Test
+	void readersSeeStoredTokensWhileWritersChurn() throws Exception {
+		OpaqueTokenTable table = new OpaqueTokenTable(4, 16);
+		int stable = 1_000;
+		for (long i = 0; i < stable; i++) {
+			table.put(i, -i, token("stable", 60));
+		}
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int w = 0; w < 2; w++) {
+				long seed = w;
+				futures.add(executor.submit(() -> {
+					SplittableRandom random = new SplittableRandom(seed);
+					while (running.get()) {
+						long high = random.nextLong() | Long.MIN_VALUE;
+						table.put(high, high, token("churn", 60));
+						table.remove(high, high);
+					}
+				}));
+			}
+			for (int r = 0; r < 2; r++) {
+				futures.add(executor.submit(() -> {
+					for (int round = 0; round < 200; round++) {
+						for (long i = 0; i < stable; i++) {
+							assertThat(table.get(i, -i)).isNotNull();
+						}
+					}
+				}));
+			}
+			for (Future<?> reader : futures.subList(2, 4)) {
+				reader.get();
+			}
+			running.set(false);
+			for (Future<?> writer : futures.subList(0, 2)) {
+				writer.get();
+			}
+		} finally {
+			running.set(false);
+			executor.shutdownNow();
+		}
+
+		assertThat(table.size()).isEqualTo(stable);
+	}
+
+	private static OpaqueToken token(String subject, long expiresInSeconds) {
+		return new OpaqueToken(subject, SubjectType.CLIENT, "family", List.of(), List.of("orders:read"),
+				"logistics", "gold", NOW, NOW + expiresInSeconds);
+	}
+}
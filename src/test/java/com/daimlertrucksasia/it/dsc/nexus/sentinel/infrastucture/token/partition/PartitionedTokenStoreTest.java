@@ -0,0 +1,136 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition.TokenPartitioning.Granularity;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartitionedTokenStoreTest {
+
+	private final TokenPartitioning partitioning = new TokenPartitioning("tokens", Granularity.DAY);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final IndexOperations indexOperations = mock(IndexOperations.class);
+	private final Set<String> collections = new HashSet<>();
+	private PartitionedTokenStore store;
+
+	@AfterEach
+	void close() {
+		if (store != null) {
+			store.close();
+		}
+	}
+
+	@Test
+	void createsIndexesOfUpcomingPartitionsAhead() throws InterruptedException {
+		when(mongoTemplate.getCollectionNames()).thenReturn(collections);
+		when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+		CountDownLatch maintained = new CountDownLatch(3);
+		when(indexOperations.createIndex(any())).thenAnswer(invocation -> {
+			maintained.countDown();
+			return "token_1";
+		});
+
+		store = store(Duration.ofDays(2));
+
+		assertThat(maintained.await(5, TimeUnit.SECONDS)).isTrue();
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		verify(mongoTemplate, timeout(1_000)).indexOps(partitioning.collectionFor(today));
+		verify(mongoTemplate, timeout(1_000)).indexOps(partitioning.collectionFor(today.plusDays(2)));
+		assertThat(store.indexUpcomingPartitions()).isZero();
+	}
+
+	@Test
+	void savingIntoAPartitionWithoutIndexDoesNotWaitForTheIndex() throws InterruptedException {
+		when(mongoTemplate.getCollectionNames()).thenThrow(new IllegalStateException("unavailable"));
+		CountDownLatch release = new CountDownLatch(1);
+		when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+		when(indexOperations.createIndex(any())).thenAnswer(invocation -> {
+			release.await();
+			return "token_1";
+		});
+		MongoCollection<Token> partition = stubPartitions();
+		store = store(Duration.ZERO);
+
+		Instant expiresAt = Instant.now().plus(Duration.ofDays(20));
+		store.save(Token.builder().token("a").expiresAt(expiresAt).build());
+
+		verify(partition).insertOne(any());
+		release.countDown();
+		verify(mongoTemplate, timeout(1_000)).indexOps(partitioning.collectionFor(expiresAt));
+	}
+
+	@Test
+	void failedIndexCreationIsRetried() throws InterruptedException {
+		when(mongoTemplate.getCollectionNames()).thenReturn(collections);
+		when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+		when(indexOperations.createIndex(any())).thenThrow(new IllegalStateException("unavailable"))
+				.thenReturn("token_1");
+		store = store(Duration.ZERO);
+
+		verify(indexOperations, timeout(1_000)).createIndex(any());
+		// The failed partition is retried once the background attempt has given it up
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		int created = 0;
+		while (created == 0 && System.nanoTime() < deadline) {
+			created = store.indexUpcomingPartitions();
+			Thread.sleep(10);
+		}
+		assertThat(created).isEqualTo(1);
+		assertThat(store.indexUpcomingPartitions()).isZero();
+	}
+
+	@Test
+	void dropsOnlyPartitionsWhoseBucketHasEnded() {
+		LocalDate today = LocalDate.now(ZoneOffset.UTC);
+		String expired = partitioning.collectionFor(today.minusDays(1));
+		String current = partitioning.collectionFor(today);
+		collections.addAll(Set.of(expired, current, "tokens", "users"));
+		when(mongoTemplate.getCollectionNames()).thenReturn(collections);
+		when(mongoTemplate.indexOps(anyString())).thenReturn(indexOperations);
+		store = store(Duration.ZERO);
+
+		verify(mongoTemplate, timeout(1_000)).dropCollection(expired);
+		Mockito.clearInvocations(mongoTemplate);
+		collections.remove(expired);
+
+		assertThat(store.dropExpiredPartitions()).isZero();
+		verify(mongoTemplate, never()).dropCollection(current);
+	}
+
+	@SuppressWarnings("unchecked")
+	private MongoCollection<Token> stubPartitions() {
+		MongoCollection<Document> documents = mock(MongoCollection.class);
+		MongoCollection<Token> partition = mock(MongoCollection.class);
+		when(mongoTemplate.getCollection(anyString())).thenReturn(documents);
+		when(documents.withCodecRegistry(any())).thenReturn(documents);
+		when(documents.withDocumentClass(Token.class)).thenReturn(partition);
+		return partition;
+	}
+
+	private PartitionedTokenStore store(Duration indexAhead) {
+		return new PartitionedTokenStore(mongoTemplate, partitioning, 32, Duration.ofHours(1), indexAhead);
+	}
+}
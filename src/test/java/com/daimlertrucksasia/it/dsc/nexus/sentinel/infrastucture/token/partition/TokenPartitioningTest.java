@@ -0,0 +1,53 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.partition.TokenPartitioning.Granularity;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenPartitioningTest {
+
+	@Test
+	void routesByUtcDay() {
+		TokenPartitioning partitioning = new TokenPartitioning("tokens", Granularity.DAY);
+
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-25T00:00:00Z"))).isEqualTo("tokens_d20250625");
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-25T23:59:59Z"))).isEqualTo("tokens_d20250625");
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-26T00:00:00Z"))).isEqualTo("tokens_d20250626");
+		assertThat(partitioning.nextBucket(LocalDate.parse("2025-12-31"))).isEqualTo(LocalDate.parse("2026-01-01"));
+	}
+
+	@Test
+	void routesByIsoWeekStartingMonday() {
+		TokenPartitioning partitioning = new TokenPartitioning("tokens", Granularity.WEEK);
+
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-23T00:00:00Z"))).isEqualTo("tokens_w20250623");
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-29T23:59:59Z"))).isEqualTo("tokens_w20250623");
+		assertThat(partitioning.collectionFor(Instant.parse("2025-06-30T00:00:00Z"))).isEqualTo("tokens_w20250630");
+		// Week spanning the turn of the year
+		assertThat(partitioning.collectionFor(Instant.parse("2026-01-01T12:00:00Z"))).isEqualTo("tokens_w20251229");
+	}
+
+	@Test
+	void partitionEndsWhenItsBucketEnds() {
+		TokenPartitioning days = new TokenPartitioning("tokens", Granularity.DAY);
+		TokenPartitioning weeks = new TokenPartitioning("tokens", Granularity.WEEK);
+
+		assertThat(days.partitionEnd("tokens_d20250625")).contains(Instant.parse("2025-06-26T00:00:00Z"));
+		assertThat(weeks.partitionEnd("tokens_w20250623")).contains(Instant.parse("2025-06-30T00:00:00Z"));
+	}
+
+	@Test
+	void ignoresCollectionsOfOtherSchemes() {
+		TokenPartitioning partitioning = new TokenPartitioning("tokens", Granularity.DAY);
+
+		assertThat(partitioning.partitionEnd("tokens")).isEmpty();
+		assertThat(partitioning.partitionEnd("tokens_w20250623")).isEmpty();
+		assertThat(partitioning.partitionEnd("tokens_d2025062")).isEmpty();
+		assertThat(partitioning.partitionEnd("tokens_d20251345")).isEmpty();
+		assertThat(partitioning.partitionEnd("other_d20250625")).isEmpty();
+	}
+}
@@ -0,0 +1,147 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffHeapSessionTableTest {
+
+	private static final long NOW = 1_700_000_000L;
+	private static final long IDLE = 600;
+	private static final long TOUCH = 60;
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void storesUpdatesAndRemovesSessions() {
+		OffHeapSessionTable table = table(1_000, 4);
+
+		assertThat(table.insert(1, 2, NOW, NOW + 3_600, data("a"))).isTrue();
+		assertThat(table.access(1, 2, NOW)).isEqualTo(data("a"));
+		assertThat(table.access(1, 3, NOW)).isNull();
+
+		assertThat(table.update(1, 2, NOW, data("b"))).isTrue();
+		assertThat(table.access(1, 2, NOW)).isEqualTo(data("b"));
+		assertThat(table.size()).isEqualTo(1);
+
+		assertThat(table.remove(1, 2)).isTrue();
+		assertThat(table.remove(1, 2)).isFalse();
+		assertThat(table.update(1, 2, NOW, data("c"))).isFalse();
+		assertThat(table.size()).isZero();
+	}
+
+	@Test
+	void deletionShiftsCollidingSessionsAcrossTheBufferEnd() {
+		// One shard of 16 slots: ids 15, 31 and 47 share home slot 15 and wrap to slots 0 and 1
+		OffHeapSessionTable table = table(14, 1);
+		table.insert(15, 0, NOW, NOW + 3_600, data("a"));
+		table.insert(31, 0, NOW, NOW + 3_600, data("b"));
+		table.insert(47, 0, NOW, NOW + 3_600, data("c"));
+		table.insert(0, 0, NOW, NOW + 3_600, data("d"));
+
+		assertThat(table.remove(15, 0)).isTrue();
+
+		assertThat(table.access(31, 0, NOW)).isEqualTo(data("b"));
+		assertThat(table.access(47, 0, NOW)).isEqualTo(data("c"));
+		assertThat(table.access(0, 0, NOW)).isEqualTo(data("d"));
+
+		assertThat(table.remove(31, 0)).isTrue();
+		assertThat(table.access(47, 0, NOW)).isEqualTo(data("c"));
+		assertThat(table.access(0, 0, NOW)).isEqualTo(data("d"));
+		assertThat(table.size()).isEqualTo(2);
+	}
+
+	@Test
+	void sweepRemovesExpiredSessionsInWrappedProbeRuns() {
+		OffHeapSessionTable table = table(14, 1);
+		// Probe run starting at slot 14 and wrapping to slots 0 to 3
+		table.insert(14, 0, NOW, NOW + 10, data("expired"));
+		table.insert(30, 0, NOW, NOW + 3_600, data("live-1"));
+		table.insert(46, 0, NOW, NOW + 10, data("expired"));
+		table.insert(62, 0, NOW, NOW + 10, data("expired"));
+		table.insert(78, 0, NOW, NOW + 3_600, data("live-2"));
+		table.insert(1, 0, NOW, NOW + 10, data("expired"));
+
+		assertThat(table.sweep(NOW + 20)).isEqualTo(4);
+
+		assertThat(table.size()).isEqualTo(2);
+		assertThat(table.access(30, 0, NOW + 20)).isEqualTo(data("live-1"));
+		assertThat(table.access(78, 0, NOW + 20)).isEqualTo(data("live-2"));
+		assertThat(table.access(14, 0, NOW + 20)).isNull();
+		assertThat(table.access(1, 0, NOW + 20)).isNull();
+	}
+
+	@Test
+	void idleSessionsExpireUnlessTouched() {
+		OffHeapSessionTable table = table(1_000, 4);
+		table.insert(1, 1, NOW, NOW + 3_600, data("a"));
+		table.insert(2, 2, NOW, NOW + 3_600, data("b"));
+
+		// Reading within the touch interval does not slide the idle expiry
+		assertThat(table.access(1, 1, NOW + TOUCH - 1)).isNotNull();
+		assertThat(table.access(1, 1, NOW + IDLE)).isNull();
+		assertThat(table.size()).isEqualTo(1);
+
+		// Reading after the touch interval does
+		assertThat(table.access(2, 2, NOW + TOUCH)).isNotNull();
+		assertThat(table.access(2, 2, NOW + IDLE)).isNotNull();
+		assertThat(table.access(2, 2, NOW + 3_600)).isNull();
+	}
+
+	@Test
+	void fullShardRefusesNewSessionsButAcceptsReplacements() {
+		OffHeapSessionTable table = table(14, 1);
+		assertThat(table.capacity()).isEqualTo(14);
+		for (long i = 0; i < 14; i++) {
+			assertThat(table.insert(i, 0, NOW, NOW + 3_600, data("s" + i))).isTrue();
+		}
+
+		assertThat(table.insert(100, 0, NOW, NOW + 3_600, data("new"))).isFalse();
+		assertThat(table.insert(3, 0, NOW, NOW + 3_600, data("replaced"))).isTrue();
+		assertThat(table.access(3, 0, NOW)).isEqualTo(data("replaced"));
+	}
+
+	@Test
+	void rejectsOversizedData() {
+		OffHeapSessionTable table = table(1_000, 4);
+
+		assertThatThrownBy(() -> table.insert(1, 1, NOW, NOW + 60, new byte[OffHeapSessionTable.MAX_DATA + 1]))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThat(table.insert(1, 1, NOW, NOW + 60, new byte[OffHeapSessionTable.MAX_DATA])).isTrue();
+	}
+
+	@Test
+	void checkpointRestoresSessionsIntoTableOfSameGeometry() throws IOException {
+		OffHeapSessionTable table = table(1_000, 4);
+		for (long i = 0; i < 100; i++) {
+			table.insert(i * 7, i, NOW, NOW + 3_600, data("s" + i));
+		}
+		Path file = directory.resolve("sessions.ckpt");
+		table.writeCheckpoint(file);
+
+		OffHeapSessionTable restored = table(1_000, 4);
+		assertThat(restored.readCheckpoint(file)).isTrue();
+		assertThat(restored.size()).isEqualTo(100);
+		for (long i = 0; i < 100; i++) {
+			assertThat(restored.access(i * 7, i, NOW)).isEqualTo(data("s" + i));
+		}
+
+		assertThat(table(1_000, 8).readCheckpoint(file)).isFalse();
+		assertThat(table(1_000, 4).readCheckpoint(directory.resolve("missing.ckpt"))).isFalse();
+	}
+
+	private static OffHeapSessionTable table(int capacity, int shards) {
+		return new OffHeapSessionTable(capacity, shards, IDLE, TOUCH);
+	}
+
+	private static byte[] data(String value) {
+		return value.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,129 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.SessionProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenCodec;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionStoreTest {
+
+	@TempDir
+	Path directory;
+
+	private final SessionProperties properties = new SessionProperties();
+
+	@BeforeEach
+	void setUp() {
+		properties.setCapacity(1_000);
+		properties.setShards(4);
+		properties.setCheckpointFile(directory.resolve("sessions.ckpt").toString());
+	}
+
+	@Test
+	void restoresSessionsFromTheCheckpoint() {
+		SessionStore store = store();
+		String token = store.create(session("alice"));
+		store.checkpoint();
+
+		SessionStore restarted = store();
+		restarted.restore();
+
+		assertThat(restarted.find(token).subject()).isEqualTo("alice");
+	}
+
+	@Test
+	void removalsAfterTheLastCheckpointSurviveACrash() {
+		SessionStore store = store();
+		String revoked = store.create(session("alice"));
+		String kept = store.create(session("bob"));
+		store.checkpoint();
+		assertThat(store.remove(revoked)).isTrue();
+
+		SessionStore restarted = store();
+		restarted.restore();
+
+		assertThat(restarted.find(revoked)).isNull();
+		assertThat(restarted.find(kept).subject()).isEqualTo("bob");
+	}
+
+	@Test
+	void checkpointDiscardsRemovalsItAlreadyReflects() throws IOException {
+		SessionStore store = store();
+		String first = store.create(session("alice"));
+		String second = store.create(session("bob"));
+		store.remove(first);
+		store.checkpoint();
+		assertThat(Files.size(directory.resolve("sessions.ckpt.removed"))).isZero();
+
+		store.remove(second);
+		assertThat(Files.size(directory.resolve("sessions.ckpt.removed"))).isEqualTo(16);
+
+		SessionStore restarted = store();
+		restarted.restore();
+		assertThat(restarted.find(first)).isNull();
+		assertThat(restarted.find(second)).isNull();
+	}
+
+	@Test
+	void checkpointHoldsNoSessionIds() throws IOException {
+		SessionStore store = store();
+		String token = store.create(session("alice"));
+		store.checkpoint();
+		store.remove(token);
+
+		byte[] id = ByteBuffer.allocate(16)
+				.putLong(OpaqueTokenCodec.high(token))
+				.putLong(OpaqueTokenCodec.low(token))
+				.array();
+		assertThat(indexOf(Files.readAllBytes(directory.resolve("sessions.ckpt")), id)).isNegative();
+		assertThat(indexOf(Files.readAllBytes(directory.resolve("sessions.ckpt.removed")), id)).isNegative();
+	}
+
+	@Test
+	void checkpointAndRemovalLogAreReadableByTheOwnerOnly() throws IOException {
+		SessionStore store = store();
+		store.remove(store.create(session("alice")));
+		store.checkpoint();
+		store.remove(store.create(session("bob")));
+
+		for (String file : List.of("sessions.ckpt", "sessions.ckpt.removed")) {
+			assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(directory.resolve(file))))
+					.isEqualTo("rw-------");
+		}
+	}
+
+	private SessionStore store() {
+		return new SessionStore(properties, new SimpleMeterRegistry());
+	}
+
+	private static SessionData session(String subject) {
+		return new SessionData(subject, SubjectType.USER, List.of("USER"), Map.of(), Instant.now().getEpochSecond());
+	}
+
+	private static int indexOf(byte[] haystack, byte[] needle) {
+		for (int i = 0; i + needle.length <= haystack.length; i++) {
+			int j = 0;
+			while (j < needle.length && haystack[i + j] == needle[j]) {
+				j++;
+			}
+			if (j == needle.length) {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,105 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.cwt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CborReaderTest {
+
+	@Test
+	void readsWhatTheWriterWrites() {
+		Map<String, Object> nested = new LinkedHashMap<>();
+		nested.put("flag", true);
+		nested.put("none", null);
+		nested.put("ratio", 0.25);
+		byte[] encoded = new CborWriter(4)
+				.writeInt(0).writeInt(23).writeInt(24).writeInt(65_536).writeInt(Long.MAX_VALUE)
+				.writeInt(-1).writeInt(-25)
+				.writeText("grüße")
+				.writeBytes(new byte[]{1, 2, 3})
+				.writeValue(List.of("a", 1L, List.of()))
+				.writeValue(nested)
+				.toByteArray();
+
+		CborReader reader = new CborReader(encoded);
+
+		assertThat(reader.readInt()).isZero();
+		assertThat(reader.readInt()).isEqualTo(23);
+		assertThat(reader.readInt()).isEqualTo(24);
+		assertThat(reader.readInt()).isEqualTo(65_536);
+		assertThat(reader.readInt()).isEqualTo(Long.MAX_VALUE);
+		assertThat(reader.readInt()).isEqualTo(-1);
+		assertThat(reader.readInt()).isEqualTo(-25);
+		assertThat(reader.readText()).isEqualTo("grüße");
+		assertThat(reader.readBytes()).containsExactly(1, 2, 3);
+		assertThat(reader.readValue()).isEqualTo(List.of("a", 1L, List.of()));
+		assertThat(reader.readValue()).isEqualTo(nested);
+		assertThat(reader.isAtEnd()).isTrue();
+	}
+
+	@Test
+	void writesHeadsInShortestForm() {
+		assertThat(new CborWriter().writeInt(23).toByteArray()).containsExactly(0x17);
+		assertThat(new CborWriter().writeInt(24).toByteArray()).containsExactly(0x18, 0x18);
+		assertThat(new CborWriter().writeInt(256).toByteArray()).containsExactly(0x19, 0x01, 0x00);
+		assertThat(new CborWriter().writeInt(-24).toByteArray()).containsExactly(0x37);
+		assertThat(new CborWriter().startMap(0).toByteArray()).containsExactly(0xA0);
+	}
+
+	@Test
+	void everyTruncationOfAValueIsRejected() {
+		byte[] encoded = new CborWriter()
+				.writeTag(17)
+				.writeValue(Map.of("roles", List.of("admin", "user"), "exp", 1_700_000_000L, "ratio", 1.5,
+						"id", new byte[16]))
+				.toByteArray();
+
+		for (int length = 0; length < encoded.length; length++) {
+			byte[] truncated = Arrays.copyOf(encoded, length);
+			assertThatThrownBy(() -> new CborReader(truncated).readValue())
+					.as("truncated to %d bytes", length)
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+		assertThat(new CborReader(encoded).readValue()).isNotNull();
+	}
+
+	@Test
+	void rejectsLengthsBeyondTheInput() {
+		// Text string declaring 2^32 bytes
+		byte[] oversized = {0x7B, 0, 0, 0, 1, 0, 0, 0, 0, 'a'};
+		// Array declaring 2^63 + 1 items
+		byte[] negative = {(byte) 0x9B, (byte) 0x80, 0, 0, 0, 0, 0, 0, 1};
+
+		assertThatThrownBy(() -> new CborReader(oversized).readText()).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CborReader(negative).readValue()).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsUnsupportedAndMistypedItems() {
+		// Indefinite-length array, half precision float, undefined
+		assertThatThrownBy(() -> new CborReader(new byte[]{(byte) 0x9F, (byte) 0xFF}).readValue())
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CborReader(new byte[]{(byte) 0xF9, 0, 0}).readValue())
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CborReader(new byte[]{(byte) 0xF7}).readValue())
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new CborReader(new CborWriter().writeText("1").toByteArray()).readInt())
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsDeepNesting() {
+		byte[] nested = new byte[32];
+		Arrays.fill(nested, (byte) 0x81);
+
+		assertThatThrownBy(() -> new CborReader(nested).readValue())
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessageContaining("too deep");
+	}
+}
@@ -0,0 +1,67 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GrantAuthorizationManagerTest {
+
+	private final RoleHierarchyService roleHierarchyService = mock(RoleHierarchyService.class);
+
+	@Test
+	void grantsWhenAnyOfIntersectsAndAllOfIsContained() {
+		GrantAuthorizationManager manager = manager(GrantSet.of(0, 1), GrantSet.of(5));
+
+		assertThat(granted(manager, withGrants(GrantSet.of(1, 5)))).isTrue();
+		assertThat(granted(manager, withGrants(GrantSet.of(1)))).isFalse();
+		assertThat(granted(manager, withGrants(GrantSet.of(5)))).isFalse();
+		assertThat(granted(manager(GrantSet.EMPTY, GrantSet.of(5)), withGrants(GrantSet.of(5)))).isTrue();
+		verifyNoInteractions(roleHierarchyService);
+	}
+
+	@Test
+	void resolvesGrantsFromAuthoritiesWithoutPrecomputedGrants() {
+		Authentication authentication = new UsernamePasswordAuthenticationToken("user", null,
+				AuthorityUtils.createAuthorityList("USER"));
+		when(roleHierarchyService.grantsOf(any())).thenReturn(GrantSet.of(0));
+
+		assertThat(granted(manager(GrantSet.of(0), GrantSet.EMPTY), authentication)).isTrue();
+	}
+
+	@Test
+	void deniesMissingAndAnonymousAuthentications() {
+		GrantAuthorizationManager manager = manager(GrantSet.EMPTY, GrantSet.EMPTY);
+		Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymous",
+				AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+		Authentication unauthenticated = new UsernamePasswordAuthenticationToken("user", null);
+
+		assertThat(granted(manager, null)).isFalse();
+		assertThat(granted(manager, anonymous)).isFalse();
+		assertThat(granted(manager, unauthenticated)).isFalse();
+	}
+
+	private GrantAuthorizationManager manager(GrantSet anyOf, GrantSet allOf) {
+		return new GrantAuthorizationManager(roleHierarchyService, anyOf, allOf);
+	}
+
+	private static boolean granted(GrantAuthorizationManager manager, Authentication authentication) {
+		return manager.authorize(() -> authentication, null).isGranted();
+	}
+
+	private static Authentication withGrants(GrantSet grants) {
+		UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken("client", null,
+				List.of());
+		authentication.setDetails(grants);
+		return authentication;
+	}
+}
@@ -0,0 +1,76 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.GrantProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrantRegistryTest {
+
+	@Test
+	void declaredAuthoritiesGetTheirListPosition() {
+		GrantRegistry registry = registry(16, "ADMIN", "USER", "ADMIN", "SCOPE_read");
+
+		assertThat(registry.idOf("ADMIN")).isZero();
+		assertThat(registry.idOf("USER")).isEqualTo(1);
+		assertThat(registry.idOf("SCOPE_read")).isEqualTo(2);
+		assertThat(registry.idOf("OTHER")).isEqualTo(3);
+		assertThat(registry.idOf("OTHER")).isEqualTo(3);
+		assertThat(registry.grantsOf(List.of("USER"), List.of("read"))).isEqualTo(GrantSet.of(1, 2));
+		assertThat(registry.grantsOf(List.of(new SimpleGrantedAuthority("SCOPE_read"))))
+				.isEqualTo(GrantSet.of(2));
+	}
+
+	@Test
+	void fullRegistryRefusesNewAuthorities() {
+		GrantRegistry registry = registry(2, "ADMIN");
+
+		assertThat(registry.idOf("A")).isEqualTo(1);
+		assertThat(registry.idOf("B")).isEqualTo(-1);
+		assertThat(registry.grantsOf(List.of("B"), null)).isEqualTo(GrantSet.EMPTY);
+		assertThatThrownBy(() -> registry.require(List.of("B"))).isInstanceOf(IllegalStateException.class);
+		assertThat(registry.require(List.of("ADMIN", "A"))).isEqualTo(GrantSet.of(0, 1));
+	}
+
+	@Test
+	void claimCarriesOnlyDeclaredAuthoritiesAndRoundTrips() {
+		GrantRegistry registry = registry(16, "ADMIN", "USER", "SCOPE_read");
+
+		String claim = registry.encodeClaim(List.of("USER"), List.of("read"));
+
+		assertThat(claim).startsWith(registry.claimVersion() + ".");
+		assertThat(registry.decodeClaim(claim)).isEqualTo(GrantSet.of(1, 2));
+		assertThat(registry.encodeClaim(List.of("USER", "UNDECLARED"), null)).isNull();
+		assertThat(registry.encodeClaim(List.of("USER"), List.of("write"))).isNull();
+		registry.idOf("INTERNED");
+		assertThat(registry.encodeClaim(List.of("INTERNED"), null)).isNull();
+	}
+
+	@Test
+	void claimOfAnotherAuthorityListIsRejected() {
+		GrantRegistry registry = registry(16, "ADMIN", "USER");
+		String claim = registry.encodeClaim(List.of("USER"), null);
+
+		GrantRegistry reordered = registry(16, "USER", "ADMIN");
+		GrantRegistry extended = registry(16, "ADMIN", "USER", "AUDITOR");
+		GrantRegistry same = registry(16, "ADMIN", "USER");
+
+		assertThat(reordered.decodeClaim(claim)).isNull();
+		assertThat(extended.decodeClaim(claim)).isNull();
+		assertThat(same.decodeClaim(claim)).isEqualTo(GrantSet.of(1));
+		assertThat(same.decodeClaim(GrantSet.of(1).encode())).isNull();
+		assertThat(same.decodeClaim("." + GrantSet.of(1).encode())).isNull();
+	}
+
+	private static GrantRegistry registry(int maxInterned, String... authorities) {
+		GrantProperties properties = new GrantProperties();
+		properties.setAuthorities(List.of(authorities));
+		properties.setMaxInterned(maxInterned);
+		return new GrantRegistry(properties, new SimpleMeterRegistry());
+	}
+}
@@ -0,0 +1,59 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GrantSetTest {
+
+	@Test
+	void testsMembershipAcrossWords() {
+		GrantSet grants = GrantSet.of(0, 63, 64, 200, -1);
+
+		assertThat(grants.contains(0)).isTrue();
+		assertThat(grants.contains(63)).isTrue();
+		assertThat(grants.contains(64)).isTrue();
+		assertThat(grants.contains(200)).isTrue();
+		assertThat(grants.contains(1)).isFalse();
+		assertThat(grants.contains(1_000)).isFalse();
+		assertThat(grants.contains(-1)).isFalse();
+		assertThat(GrantSet.of(-1)).isSameAs(GrantSet.EMPTY);
+	}
+
+	@Test
+	void comparesSetsOfDifferentLengths() {
+		GrantSet small = GrantSet.of(1, 2);
+		GrantSet large = GrantSet.of(1, 2, 130);
+
+		assertThat(large.containsAll(small)).isTrue();
+		assertThat(small.containsAll(large)).isFalse();
+		assertThat(small.containsAll(GrantSet.EMPTY)).isTrue();
+		assertThat(small.intersects(GrantSet.of(2, 300))).isTrue();
+		assertThat(small.intersects(GrantSet.of(130))).isFalse();
+		assertThat(GrantSet.EMPTY.intersects(large)).isFalse();
+	}
+
+	@Test
+	void unionReusesContainingSet() {
+		GrantSet small = GrantSet.of(1);
+		GrantSet large = GrantSet.of(1, 70);
+
+		assertThat(small.union(large)).isSameAs(large);
+		assertThat(large.union(small)).isSameAs(large);
+		assertThat(small.union(GrantSet.of(2))).isEqualTo(GrantSet.of(1, 2));
+	}
+
+	@Test
+	void encodingRoundTripsAndIsCanonical() {
+		GrantSet grants = GrantSet.of(0, 9, 64, 127);
+
+		assertThat(GrantSet.decode(grants.encode())).isEqualTo(grants);
+		assertThat(GrantSet.of(3).encode()).isEqualTo("CA");
+		assertThat(GrantSet.EMPTY.encode()).isEmpty();
+		assertThat(GrantSet.decode("")).isSameAs(GrantSet.EMPTY);
+		// Trailing zero bytes do not change the set
+		assertThat(GrantSet.decode("CAAA")).isEqualTo(GrantSet.of(3));
+		assertThatThrownBy(() -> GrantSet.decode("not base64!")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
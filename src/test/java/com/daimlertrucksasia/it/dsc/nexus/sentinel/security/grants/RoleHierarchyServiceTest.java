@@ -0,0 +1,127 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.GrantProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RoleHierarchyProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.role.RoleDefinitionRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RoleDefinition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoleHierarchyServiceTest {
+
+	private final RoleDefinitionRepository repository = mock(RoleDefinitionRepository.class);
+	private final GrantRegistry grantRegistry = new GrantRegistry(new GrantProperties(), new SimpleMeterRegistry());
+	private final RoleHierarchyProperties properties = new RoleHierarchyProperties();
+	private final RoleHierarchyService service = new RoleHierarchyService(repository, grantRegistry, properties,
+			new SimpleMeterRegistry());
+
+	@Test
+	void expandsTransitivelyAndLeavesUndefinedRolesAsTheyAre() {
+		load(role("ADMIN", "MANAGER"), role("MANAGER", "USER"), role("USER"));
+
+		assertThat(service.expand(List.of("ADMIN"))).containsExactly("ADMIN", "MANAGER", "USER");
+		assertThat(service.expand(List.of("MANAGER", "GUEST", "USER"))).containsExactly("MANAGER", "USER", "GUEST");
+		assertThat(service.expand(List.of("GUEST"))).containsExactly("GUEST");
+		assertThat(service.expand(null)).isNull();
+	}
+
+	@Test
+	void rolesOnACycleBecomeEquivalent() {
+		load(role("A", "B"), role("B", "C"), role("C", "A", "D"), role("D"));
+
+		assertThat(service.expand(List.of("A"))).containsExactlyInAnyOrder("A", "B", "C", "D");
+		assertThat(service.expand(List.of("B"))).containsExactlyInAnyOrder("A", "B", "C", "D");
+		assertThat(service.expand(List.of("C"))).containsExactlyInAnyOrder("A", "B", "C", "D");
+		assertThat(service.expand(List.of("D"))).containsExactly("D");
+		assertThat(service.grantsOf(List.of("B"), null)).isEqualTo(service.grantsOf(List.of("C"), null));
+	}
+
+	@Test
+	void recomputesOnlyChangedRolesAndTheRolesImplyingThem() {
+		load(role("A", "B"), role("B", "C"), role("C"), role("X", "Y"), role("Y"));
+		List<String> a = service.expand(List.of("A"));
+		List<String> x = service.expand(List.of("X"));
+
+		load(role("A", "B"), role("B", "C"), role("C", "D"), role("X", "Y"), role("Y"));
+
+		assertThat(service.expand(List.of("A"))).isNotSameAs(a).containsExactly("A", "B", "C", "D");
+		assertThat(service.expand(List.of("B"))).containsExactly("B", "C", "D");
+		assertThat(service.expand(List.of("X"))).isSameAs(x);
+	}
+
+	@Test
+	void closingAndBreakingACycleIncrementally() {
+		load(role("A", "B"), role("B", "C"), role("C"), role("E", "A"));
+
+		load(role("A", "B"), role("B", "C"), role("C", "A"), role("E", "A"));
+		assertThat(service.expand(List.of("C"))).containsExactlyInAnyOrder("A", "B", "C");
+		assertThat(service.expand(List.of("E"))).containsExactlyInAnyOrder("E", "A", "B", "C");
+
+		load(role("A", "B"), role("B"), role("C", "A"), role("E", "A"));
+		assertThat(service.expand(List.of("A"))).containsExactly("A", "B");
+		assertThat(service.expand(List.of("B"))).containsExactly("B");
+		assertThat(service.expand(List.of("C"))).containsExactly("C", "A", "B");
+		assertThat(service.expand(List.of("E"))).containsExactly("E", "A", "B");
+	}
+
+	@Test
+	void removedRolesAndTheirImplyingRolesAreRecomputed() {
+		load(role("A", "B"), role("B", "C"), role("C"));
+
+		load(role("A", "B"), role("C"));
+
+		assertThat(service.expand(List.of("A"))).containsExactly("A", "B");
+		assertThat(service.expand(List.of("B"))).containsExactly("B");
+	}
+
+	@Test
+	void failedReloadKeepsTheCurrentClosures() {
+		load(role("A", "B"), role("B"));
+		when(repository.findAll()).thenThrow(new IllegalStateException("unavailable"));
+
+		service.refresh();
+
+		assertThat(service.expand(List.of("A"))).containsExactly("A", "B");
+	}
+
+	@Test
+	void grantsCoverTheExpandedRolesAndScopes() {
+		load(role("ADMIN", "USER"), role("USER"));
+
+		GrantSet grants = service.grantsOf(List.of("ADMIN"), List.of("read"));
+
+		assertThat(grants.contains(grantRegistry.idOf("ADMIN"))).isTrue();
+		assertThat(grants.contains(grantRegistry.idOf("USER"))).isTrue();
+		assertThat(grants.contains(grantRegistry.idOf("SCOPE_read"))).isTrue();
+		assertThat(service.grantsOf(AuthorityUtils.createAuthorityList("ADMIN", "SCOPE_read"))).isEqualTo(grants);
+		assertThat(service.grantsOf(AuthorityUtils.createAuthorityList("USER")))
+				.isEqualTo(GrantSet.of(grantRegistry.idOf("USER")));
+	}
+
+	@Test
+	void tokenRolesAreExpandedOnlyIfEnabled() {
+		load(role("ADMIN", "USER"), role("USER"));
+		List<String> assigned = List.of("ADMIN");
+
+		assertThat(service.tokenRoles(assigned)).containsExactly("ADMIN", "USER");
+		properties.setExpandTokenRoles(false);
+		assertThat(service.tokenRoles(assigned)).isSameAs(assigned);
+	}
+
+	private void load(RoleDefinition... definitions) {
+		when(repository.findAll()).thenReturn(Arrays.asList(definitions));
+		service.refresh();
+	}
+
+	private static RoleDefinition role(String id, String... inherits) {
+		return new RoleDefinition(id, List.of(inherits));
+	}
+}
@@ -0,0 +1,41 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashCalibratorTest {
+
+	@Test
+	void bcryptStrengthStaysAtTheFloorWhenTheFloorAlreadyExceedsTheTarget() {
+		assertThat(PasswordHashCalibrator.bcryptStrength(4, Duration.ZERO)).isEqualTo(4);
+	}
+
+	@Test
+	void bcryptStrengthIsRaisedTowardsTheTarget() {
+		int strength = PasswordHashCalibrator.bcryptStrength(4, Duration.ofMillis(100));
+
+		assertThat(strength).isBetween(5, 14);
+	}
+
+	@Test
+	void pbkdf2IterationsStayAtTheFloorWhenTheFloorAlreadyExceedsTheTarget() {
+		assertThat(PasswordHashCalibrator.pbkdf2Iterations(1000, Duration.ZERO)).isEqualTo(1000);
+	}
+
+	@Test
+	void pbkdf2IterationsAreScaledAndRoundedToThousands() {
+		int iterations = PasswordHashCalibrator.pbkdf2Iterations(1000, Duration.ofMillis(200));
+
+		assertThat(iterations).isGreaterThan(1000);
+		assertThat(iterations % 1000).isZero();
+	}
+
+	@Test
+	void pbkdf2IterationsAreCappedAtTheIntegerRange() {
+		assertThat(PasswordHashCalibrator.pbkdf2Iterations(1000, Duration.ofDays(1)))
+				.isEqualTo(Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,58 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.password;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class Pbkdf2Sha256PasswordEncoderTest {
+
+	private final Pbkdf2Sha256PasswordEncoder encoder = new Pbkdf2Sha256PasswordEncoder(1000);
+
+	@Test
+	void encodedHashMatchesOnlyTheRawPassword() {
+		String hash = encoder.encode("secret");
+
+		assertThat(hash).startsWith("1000$");
+		assertThat(encoder.matches("secret", hash)).isTrue();
+		assertThat(encoder.matches("Secret", hash)).isFalse();
+	}
+
+	@Test
+	void hashesAreSalted() {
+		assertThat(encoder.encode("secret")).isNotEqualTo(encoder.encode("secret"));
+	}
+
+	@Test
+	void hashesKeepTheirIterationCountWhenTheConfiguredCountChanges() {
+		String hash = encoder.encode("secret");
+
+		assertThat(new Pbkdf2Sha256PasswordEncoder(2000).matches("secret", hash)).isTrue();
+	}
+
+	@Test
+	void malformedHashesDoNotMatch() {
+		assertThat(encoder.matches("secret", null)).isFalse();
+		assertThat(encoder.matches("secret", "not-a-hash")).isFalse();
+		assertThat(encoder.matches("secret", "x$c2FsdA$aGFzaA")).isFalse();
+		assertThat(encoder.matches("secret", "1000$!!$aGFzaA")).isFalse();
+	}
+
+	@Test
+	void upgradeIsReportedForLowerIterationCountsAndForeignHashes() {
+		String hash = encoder.encode("secret");
+
+		assertThat(encoder.upgradeEncoding(hash)).isFalse();
+		assertThat(new Pbkdf2Sha256PasswordEncoder(500).upgradeEncoding(hash)).isFalse();
+		assertThat(new Pbkdf2Sha256PasswordEncoder(2000).upgradeEncoding(hash)).isTrue();
+		assertThat(encoder.upgradeEncoding("$2a$10$abcdefghijklmnopqrstuv")).isTrue();
+		assertThat(encoder.upgradeEncoding("x$c2FsdA$aGFzaA")).isTrue();
+		assertThat(encoder.upgradeEncoding(null)).isTrue();
+	}
+
+	@Test
+	void rejectsNonPositiveIterationCounts() {
+		assertThatThrownBy(() -> new Pbkdf2Sha256PasswordEncoder(0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,109 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.ApiKeyProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.ApiKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ApiKey;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApiKeyServiceTest {
+
+	private static final String PEPPER = "dGVzdC1wZXBwZXItdGVzdC1wZXBwZXItdGVzdC1wZXBwZXI=";
+
+	private final ApiKeyProperties properties = new ApiKeyProperties();
+	private final ApiKeyRepository repository = mock(ApiKeyRepository.class);
+	private ApiKeyService service;
+
+	@BeforeEach
+	void setUp() {
+		properties.setPepper(PEPPER);
+		service = service();
+	}
+
+	@Test
+	void startupFailsWithoutAStrongPepper() {
+		properties.setPepper("");
+		assertThatThrownBy(this::service).isInstanceOf(IllegalStateException.class).hasMessageContaining("API_KEY_PEPPER");
+
+		properties.setPepper("c2hvcnQ=");
+		assertThatThrownBy(this::service).isInstanceOf(IllegalStateException.class).hasMessageContaining("32 bytes");
+	}
+
+	@Test
+	void validatesIssuedKeysFromTheCache() {
+		ApiKeyService.IssuedApiKey issued = service.issue(client(), "ci", null);
+
+		assertThat(ApiKeyService.isApiKey(issued.key())).isTrue();
+		assertThat(issued.apiKey().getHash()).doesNotContain(issued.key());
+		when(repository.findById(issued.apiKey().getId())).thenReturn(Optional.of(issued.apiKey()));
+
+		assertThat(service.validate(issued.key())).isEqualTo(issued.apiKey());
+		assertThat(service.validate(issued.key())).isEqualTo(issued.apiKey());
+		verify(repository, times(1)).findById(anyString());
+	}
+
+	@Test
+	void rejectsTamperedUnknownAndExpiredKeys() {
+		ApiKeyService.IssuedApiKey issued = service.issue(client(), "ci", null);
+		when(repository.findById(issued.apiKey().getId())).thenReturn(Optional.of(issued.apiKey()));
+		String key = issued.key();
+		char last = key.charAt(key.length() - 1);
+
+		assertThat(service.validate(key.substring(0, key.length() - 1) + (last == 'A' ? 'B' : 'A'))).isNull();
+		assertThat(service.validate("nxk_AAAAAAAAAAAA." + key.substring(key.indexOf('.') + 1))).isNull();
+		assertThat(service.validate("not-a-key")).isNull();
+
+		issued.apiKey().setExpiresAt(Instant.now().minusSeconds(1));
+		assertThat(service.validate(key)).isNull();
+	}
+
+	@Test
+	void keysHashedWithAnotherPepperDoNotValidate() {
+		ApiKeyService.IssuedApiKey issued = service.issue(client(), "ci", null);
+		when(repository.findById(issued.apiKey().getId())).thenReturn(Optional.of(issued.apiKey()));
+
+		properties.setPepper("b3RoZXItcGVwcGVyLW90aGVyLXBlcHBlci1vdGhlci1wZXBwZXI=");
+
+		assertThat(service().validate(issued.key())).isNull();
+	}
+
+	@Test
+	void capsValidityAtTheMaximum() {
+		Instant before = Instant.now();
+
+		ApiKey apiKey = service.issue(client(), null, Duration.ofDays(10_000)).apiKey();
+
+		assertThat(apiKey.getExpiresAt()).isBefore(before.plus(properties.getMaxValidity()).plusSeconds(5));
+		assertThat(apiKey.getScopes()).containsExactly("orders:read");
+	}
+
+	private ApiKeyService service() {
+		return new ApiKeyService(properties, repository, mock(MongoIndexInitializer.class), new SimpleMeterRegistry());
+	}
+
+	private static Client client() {
+		return Client.builder()
+				.clientId("order-service")
+				.scopes(List.of("orders:read"))
+				.roles(List.of("SERVICE"))
+				.team("logistics")
+				.serviceTier("gold")
+				.build();
+	}
+}
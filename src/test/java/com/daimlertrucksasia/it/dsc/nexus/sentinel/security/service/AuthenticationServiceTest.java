@@ -0,0 +1,193 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.TokenIssuanceProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailureException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client.ClientRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RefreshTokenFamilyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.TokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user.UserRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.ApiKeyRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.TokenResponse;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserLoginRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RefreshTokenFamily;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Token;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.User;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.ClientRateLimiter;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.LoginFailureTracker;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthenticationServiceTest {
+
+	private static final String SECRET = "ZGFpbWxlci10cnVja3MtbmV4dXMtYXV0aC1zZXJ2aWNlLXNlY3JldC1rZXk=";
+
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final ClientRepository clientRepository = mock(ClientRepository.class);
+	private final TokenStore tokenStore = mock(TokenStore.class);
+	private final RefreshTokenFamilyRepository refreshTokenFamilyRepository = mock(RefreshTokenFamilyRepository.class);
+	private final TokenIssuanceProperties issuanceProperties = new TokenIssuanceProperties();
+	private final ClaimsPolicyService claimsPolicyService = mock(ClaimsPolicyService.class);
+	private final RoleHierarchyService roleHierarchyService = mock(RoleHierarchyService.class);
+	private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+	private final JwtService jwtService = new JwtService();
+	private AuthenticationService service;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+		ReflectionTestUtils.setField(jwtService, "issuer", "nexus-auth");
+		jwtService.init();
+		when(claimsPolicyService.issue(any(), anyString(), any(), any(), any(), any())).thenAnswer(invocation ->
+				((Function<Map<String, Object>, String>) invocation.getArgument(5)).apply(invocation.getArgument(3)));
+		when(passwordEncoder.matches("secret", "hash")).thenReturn(true);
+		when(userRepository.findCredentialsByUsername("alice")).thenReturn(Optional.of(User.builder()
+				.id("user-1")
+				.username("alice")
+				.password("hash")
+				.roles(List.of("USER"))
+				.build()));
+
+		service = new AuthenticationService(userRepository, clientRepository, tokenStore,
+				mock(OpaqueTokenStore.class), mock(SessionStore.class), mock(ApiKeyService.class),
+				mock(SigningKeyService.class), refreshTokenFamilyRepository, mock(TokenRevocationService.class),
+				issuanceProperties, mock(LoginFailureTracker.class), mock(ClientRateLimiter.class),
+				mock(CredentialSingleFlight.class), mock(AuditPipeline.class), jwtService, mock(CwtService.class),
+				claimsPolicyService, roleHierarchyService, passwordEncoder);
+		ReflectionTestUtils.setField(service, "accessTokenTTE", "15");
+	}
+
+	@Test
+	void statelessFamilyExpiresWithTheRefreshToken() {
+		issuanceProperties.setMode(TokenIssuanceProperties.Mode.STATELESS);
+
+		TokenResponse response = service.authenticateUser(login("alice", "secret"), null);
+
+		ArgumentCaptor<RefreshTokenFamily> family = ArgumentCaptor.forClass(RefreshTokenFamily.class);
+		verify(refreshTokenFamilyRepository).save(family.capture());
+		Claims refresh = jwtService.parse(response.getRefreshToken()).claims();
+		assertThat(family.getValue().getId()).isEqualTo(refresh.getId());
+		assertThat(family.getValue().getExpiresAt()).isEqualTo(refresh.getExpiration().toInstant());
+		assertThat(family.getValue().getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(29)));
+	}
+
+	@Test
+	void statefulRefreshTokenRecordExpiresWithTheRefreshToken() {
+		TokenResponse response = service.authenticateUser(login("alice", "secret"), null);
+
+		ArgumentCaptor<Token> saved = ArgumentCaptor.forClass(Token.class);
+		verify(tokenStore, times(2)).save(saved.capture());
+		Token refresh = saved.getAllValues().stream()
+				.filter(token -> token.getTokenType() == TokenType.REFRESH_TOKEN)
+				.findFirst().orElseThrow();
+		Instant expiresAt = jwtService.parse(response.getRefreshToken()).claims().getExpiration().toInstant();
+		assertThat(refresh.getExpiresAt()).isCloseTo(expiresAt, within(Duration.ofSeconds(2)));
+	}
+
+	@Test
+	void accessTokensCarryTheRefreshFamilyInBothModes() {
+		for (TokenIssuanceProperties.Mode mode : TokenIssuanceProperties.Mode.values()) {
+			issuanceProperties.setMode(mode);
+
+			TokenResponse response = service.authenticateUser(login("alice", "secret"), null);
+
+			Claims access = jwtService.parse(response.getAccessToken()).claims();
+			Claims refresh = jwtService.parse(response.getRefreshToken()).claims();
+			assertThat(access.get(TokenRevocationService.FAMILY_CLAIM, String.class))
+					.as("%s mode", mode)
+					.isEqualTo(refresh.getId());
+		}
+	}
+
+	@Test
+	void unknownUserIsVerifiedAgainstADummyHash() {
+		when(passwordEncoder.encode(anyString())).thenReturn("dummy");
+
+		for (int i = 0; i < 2; i++) {
+			assertThatThrownBy(() -> service.authenticateUser(login("mallory", "secret"), null))
+					.isInstanceOfSatisfying(AuthenticationFailureException.class, e ->
+							assertThat(e.getFailure()).isEqualTo(AuthenticationFailure.USER_NOT_FOUND));
+		}
+
+		verify(passwordEncoder, times(2)).matches("secret", "dummy");
+		verify(passwordEncoder, times(1)).encode(anyString());
+	}
+
+	@Test
+	void unknownClientIsVerifiedAgainstADummyHash() {
+		when(passwordEncoder.encode(anyString())).thenReturn("dummy");
+		ApiKeyRequest request = new ApiKeyRequest();
+		request.setClientId("unknown");
+		request.setClientSecret("guess");
+
+		assertThatThrownBy(() -> service.issueApiKey(request))
+				.isInstanceOfSatisfying(AuthenticationFailureException.class, e ->
+						assertThat(e.getFailure()).isEqualTo(AuthenticationFailure.CLIENT_NOT_FOUND));
+		verify(passwordEncoder).matches("guess", "dummy");
+	}
+
+	@Test
+	void outdatedPasswordHashIsUpgradedOnLogin() {
+		when(passwordEncoder.upgradeEncoding("hash")).thenReturn(true);
+		when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+
+		service.authenticateUser(login("alice", "secret"), null);
+
+		verify(userRepository).replacePasswordHash("user-1", "hash", "new-hash");
+	}
+
+	@Test
+	void currentPasswordHashIsNotRehashed() {
+		service.authenticateUser(login("alice", "secret"), null);
+
+		verify(passwordEncoder, never()).encode(anyString());
+		verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
+	}
+
+	@Test
+	void failedHashUpgradeDoesNotFailTheLogin() {
+		when(passwordEncoder.upgradeEncoding("hash")).thenReturn(true);
+		when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+		when(userRepository.replacePasswordHash("user-1", "hash", "new-hash"))
+				.thenThrow(new IllegalStateException("write failed"));
+
+		TokenResponse response = service.authenticateUser(login("alice", "secret"), null);
+
+		assertThat(response.getAccessToken()).isNotBlank();
+	}
+
+	private static UserLoginRequest login(String username, String password) {
+		UserLoginRequest request = new UserLoginRequest();
+		request.setUsername(username);
+		request.setPassword(password);
+		return request;
+	}
+}
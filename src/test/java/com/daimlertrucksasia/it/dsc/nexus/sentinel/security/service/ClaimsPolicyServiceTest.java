@@ -0,0 +1,177 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.GrantProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.TokenClaimsProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationFailureException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.ClaimsReferenceRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.ClaimsReference;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.GrantRegistry;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.grants.RoleHierarchyService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ClaimsPolicyServiceTest {
+
+	private static final Duration TTL = Duration.ofHours(1);
+
+	private final TokenClaimsProperties properties = new TokenClaimsProperties();
+	private final GrantProperties grantProperties = new GrantProperties();
+	private final ClaimsReferenceRepository repository = mock(ClaimsReferenceRepository.class);
+	private final GrantRegistry grantRegistry = mock(GrantRegistry.class);
+	private final RoleHierarchyService roleHierarchyService = mock(RoleHierarchyService.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final List<Map<String, Object>> encoded = new ArrayList<>();
+	private final Function<Map<String, Object>, String> encoder = claims -> {
+		encoded.add(claims);
+		return new TreeMap<>(claims).toString();
+	};
+
+	@BeforeEach
+	void setUp() {
+		grantProperties.setTokenClaim(false);
+		when(roleHierarchyService.tokenRoles(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(roleHierarchyService.expand(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(repository.save(any(ClaimsReference.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void projectsClaimsAndNarrowsRolesForTheClient() {
+		TokenClaimsProperties.Projection projection = new TokenClaimsProperties.Projection();
+		projection.setClaims(List.of("roles", "scopes"));
+		projection.setRolePrefixes(List.of("ORDER_"));
+		properties.getClientProjections().put("order-service", projection);
+
+		service().issue(TokenType.BEARER_JWT, "order-service", SubjectType.CLIENT, claims(), TTL, encoder);
+
+		assertThat(encoded).singleElement().satisfies(claims -> {
+			assertThat(claims).containsOnlyKeys("roles", "scopes", TokenRevocationService.FAMILY_CLAIM);
+			assertThat(claims.get("roles")).isEqualTo(List.of("ORDER_READ"));
+		});
+	}
+
+	@Test
+	void appliesTheDefaultProjectionToUsersAndUnlistedClients() {
+		TokenClaimsProperties.Projection client = new TokenClaimsProperties.Projection();
+		client.setClaims(List.of("roles"));
+		properties.getClientProjections().put("order-service", client);
+		properties.getDefaultProjection().setClaims(List.of("scopes"));
+		ClaimsPolicyService service = service();
+
+		service.issue(TokenType.BEARER_JWT, "order-service", SubjectType.USER, claims(), TTL, encoder);
+		service.issue(TokenType.CWT, "billing-service", SubjectType.CLIENT, claims(), TTL, encoder);
+
+		assertThat(encoded).hasSize(2).allSatisfy(claims ->
+				assertThat(claims).containsOnlyKeys("scopes", TokenRevocationService.FAMILY_CLAIM));
+	}
+
+	@Test
+	void keepsAllClaimsWithoutAProjection() {
+		service().issue(TokenType.BEARER_JWT, "alice", SubjectType.USER, claims(), TTL, encoder);
+
+		assertThat(encoded).singleElement().isEqualTo(claims());
+		assertThat(meterRegistry.get("sentinel.token.size").tag("format", "BEARER_JWT").tag("claims", "inline")
+				.summary().count()).isEqualTo(1);
+	}
+
+	@Test
+	void replacesOversizedClaimsWithAReference() {
+		grantProperties.setTokenClaim(true);
+		when(grantRegistry.encodeClaim(anyCollection(), anyCollection())).thenReturn("1.AQ");
+		properties.setMaxTokenSize(new TreeMap<>(claims()).toString().length());
+		ClaimsPolicyService service = service();
+
+		String token = service.issue(TokenType.CWT, "order-service", SubjectType.CLIENT, claims(), TTL, encoder);
+
+		assertThat(encoded).hasSize(2);
+		Map<String, Object> remaining = encoded.get(1);
+		assertThat(remaining).containsOnlyKeys(ClaimsPolicyService.REFERENCE_CLAIM,
+				TokenRevocationService.FAMILY_CLAIM, GrantRegistry.CLAIM);
+		assertThat(remaining.get(GrantRegistry.CLAIM)).isEqualTo("1.AQ");
+		assertThat(token).isEqualTo(new TreeMap<>(remaining).toString());
+
+		ClaimsReference reference = service.resolve((String) remaining.get(ClaimsPolicyService.REFERENCE_CLAIM));
+		assertThat(reference.getSubject()).isEqualTo("order-service");
+		assertThat(reference.getClaims()).containsOnlyKeys("roles", "scopes", "email");
+		assertThat(reference.getExpiresAt()).isAfter(Instant.now());
+		verify(repository, never()).findById(anyString());
+		assertThat(meterRegistry.get("sentinel.token.size").tag("format", "CWT").tag("claims", "reference")
+				.summary().count()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsTokensThatStayTooLargeWithAReference() {
+		properties.setMaxTokenSize(8);
+
+		assertThatThrownBy(() -> service().issue(TokenType.BEARER_JWT, "alice", SubjectType.USER, claims(), TTL,
+				encoder))
+				.isInstanceOfSatisfying(AuthenticationFailureException.class, e ->
+						assertThat(e.getFailure()).isEqualTo(AuthenticationFailure.TOKEN_TOO_LARGE));
+		assertThat(encoded).hasSize(2);
+		assertThat(meterRegistry.counter("sentinel.token.size.rejected").count()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsOversizedTokensWhenReferencesAreDisabled() {
+		properties.setMaxTokenSize(8);
+		properties.setReferences(false);
+
+		assertThatThrownBy(() -> service().issue(TokenType.CWT, "alice", SubjectType.USER, claims(), TTL, encoder))
+				.isInstanceOfSatisfying(AuthenticationFailureException.class, e ->
+						assertThat(e.getFailure()).isEqualTo(AuthenticationFailure.TOKEN_TOO_LARGE));
+		assertThat(encoded).hasSize(1);
+		verify(repository, never()).save(any());
+	}
+
+	@Test
+	void resolvesOnlyWellFormedLiveReferences() {
+		ClaimsPolicyService service = service();
+		String expired = "nxr_AAAAAAAAAAAAAAAAAAAAAA";
+		when(repository.findById(expired)).thenReturn(Optional.of(ClaimsReference.builder()
+				.id(expired)
+				.claims(Map.of())
+				.expiresAt(Instant.now().minusSeconds(1))
+				.build()));
+
+		assertThat(service.resolve("not-a-handle")).isNull();
+		assertThat(service.resolve(null)).isNull();
+		assertThat(service.resolve(expired)).isNull();
+		verify(repository, never()).findById("not-a-handle");
+	}
+
+	private ClaimsPolicyService service() {
+		return new ClaimsPolicyService(properties, repository, mock(MongoIndexInitializer.class), grantRegistry,
+				grantProperties, roleHierarchyService, meterRegistry);
+	}
+
+	private static Map<String, Object> claims() {
+		return Map.of(
+				"roles", List.of("ORDER_READ", "BILLING_READ"),
+				"scopes", List.of("orders:read"),
+				"email", "ops@example.com",
+				TokenRevocationService.FAMILY_CLAIM, "family-1");
+	}
+}
@@ -0,0 +1,142 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CredentialSingleFlightTest {
+
+	private static final int WAITERS = 4;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CredentialSingleFlight singleFlight = new CredentialSingleFlight(meterRegistry);
+	private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+	@AfterEach
+	void shutdown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	void concurrentCallersWithSameSecretShareOneComputation() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger computations = new AtomicInteger();
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute("client-1", "secret", () -> {
+			computations.incrementAndGet();
+			await(release);
+			return "token";
+		}));
+		awaitCount("leader", 1);
+		List<Future<String>> waiters = new ArrayList<>();
+		for (int i = 0; i < WAITERS; i++) {
+			waiters.add(executor.submit(() -> singleFlight.execute("client-1", "secret", () -> {
+				computations.incrementAndGet();
+				return "own";
+			})));
+		}
+		awaitCount("coalesced", WAITERS);
+		release.countDown();
+
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("token");
+		for (Future<String> waiter : waiters) {
+			assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("token");
+		}
+		assertThat(computations).hasValue(1);
+	}
+
+	@Test
+	void callerWithDifferentSecretRunsItsOwnComputation() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute("client-1", "secret", () -> {
+			await(release);
+			return "token";
+		}));
+		awaitCount("leader", 1);
+
+		String other = singleFlight.execute("client-1", "guess", () -> "rejected");
+		release.countDown();
+
+		assertThat(other).isEqualTo("rejected");
+		assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("token");
+		assertThat(count("mismatch")).isEqualTo(1);
+		assertThat(count("coalesced")).isZero();
+	}
+
+	@Test
+	void failurePropagatesToLeaderAndAllWaiters() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		IllegalStateException failure = new IllegalStateException("store unavailable");
+
+		Future<String> leader = executor.submit(() -> singleFlight.execute("client-1", "secret", () -> {
+			await(release);
+			throw failure;
+		}));
+		awaitCount("leader", 1);
+		List<Future<String>> waiters = new ArrayList<>();
+		for (int i = 0; i < WAITERS; i++) {
+			waiters.add(executor.submit(() -> singleFlight.execute("client-1", "secret", () -> "own")));
+		}
+		awaitCount("coalesced", WAITERS);
+		release.countDown();
+
+		assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+				.isInstanceOf(ExecutionException.class)
+				.hasCause(failure);
+		for (Future<String> waiter : waiters) {
+			assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+					.isInstanceOf(ExecutionException.class)
+					.hasCause(failure);
+		}
+	}
+
+	@Test
+	void keyIsReleasedAfterCompletion() {
+		assertThat(singleFlight.execute("client-1", "secret", () -> "first")).isEqualTo("first");
+		assertThatThrownBy(() -> singleFlight.execute("client-1", "secret", () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+		assertThat(singleFlight.execute("client-1", "secret", () -> "third")).isEqualTo("third");
+
+		assertThat(count("leader")).isEqualTo(3);
+		assertThat(count("coalesced")).isZero();
+		assertThat((Map<?, ?>) ReflectionTestUtils.getField(singleFlight, "flights")).isEmpty();
+	}
+
+	private double count(String role) {
+		return meterRegistry.get("sentinel.auth.singleflight.requests").tag("role", role).counter().count();
+	}
+
+	private void awaitCount(String role, int expected) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (count(role) < expected) {
+			assertThat(System.nanoTime()).as("%s requests", role).isLessThan(deadline);
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.SubjectType;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.TokenType;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CwtServiceTest {
+
+	private static final String SECRET = "ZGFpbWxlci10cnVja3MtbmV4dXMtYXV0aC1zZXJ2aWNlLXNlY3JldC1rZXk=";
+	private static final String OTHER_SECRET = "b3RoZXItc2VjcmV0LW90aGVyLXNlY3JldC1vdGhlci1zZWNyZXQ=";
+
+	private final CwtService service = new CwtService(SECRET, "nexus-auth");
+
+	@Test
+	void parsesIssuedTokenIntoJwtClaims() {
+		String familyId = UUID.randomUUID().toString();
+		Map<String, Object> custom = new LinkedHashMap<>();
+		custom.put("roles", List.of("ROLE_CLIENT"));
+		custom.put("scopes", List.of("read", "write"));
+		custom.put(TokenRevocationService.FAMILY_CLAIM, familyId);
+		custom.put("custom", "value");
+		custom.put("omitted", null);
+
+		String token = service.generateAccessToken("client-1", TokenType.CWT, custom, SubjectType.CLIENT);
+		JwtValidation validation = service.parse(token);
+
+		assertThat(CwtService.isCwt(token)).isTrue();
+		assertThat(validation.isValid()).isTrue();
+		Claims claims = validation.claims();
+		assertThat(claims.getSubject()).isEqualTo("client-1");
+		assertThat(claims.getIssuer()).isEqualTo("nexus-auth");
+		assertThat(claims.getId()).isNotBlank();
+		assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+		assertThat(claims.get("type")).isEqualTo("CWT");
+		assertThat(claims.get("subject_type")).isEqualTo("CLIENT");
+		assertThat(claims.get("roles")).isEqualTo(List.of("ROLE_CLIENT"));
+		assertThat(claims.get("scopes")).isEqualTo(List.of("read", "write"));
+		assertThat(claims.get(TokenRevocationService.FAMILY_CLAIM)).isEqualTo(familyId);
+		assertThat(claims.get("custom")).isEqualTo("value");
+		assertThat(claims).doesNotContainKey("omitted");
+	}
+
+	@Test
+	void encodesTypesWithTheirFixedCodes() {
+		// the codes are part of the wire format and must never change
+		assertThat(Arrays.stream(TokenType.values()).map(TokenType::getCode)).containsExactly(0, 1, 2, 3, 4, 5, 6);
+		assertThat(Arrays.stream(SubjectType.values()).map(SubjectType::getCode)).containsExactly(0, 1);
+
+		for (TokenType tokenType : TokenType.values()) {
+			for (SubjectType subjectType : SubjectType.values()) {
+				Claims claims = service.parse(service.generateAccessToken("client-1", tokenType, Map.of(), subjectType))
+						.claims();
+				assertThat(claims.get("type")).isEqualTo(tokenType.name());
+				assertThat(claims.get("subject_type")).isEqualTo(subjectType.name());
+			}
+		}
+		assertThatThrownBy(() -> TokenType.fromCode(7)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> SubjectType.fromCode(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void rejectsTokensWithTamperedPayloadOrForeignKey() {
+		String token = service.generateAccessToken("client-1", TokenType.CWT, Map.of(), SubjectType.CLIENT);
+		byte[] bytes = Base64.getUrlDecoder().decode(token.substring(CwtService.PREFIX.length()));
+		// Flip the last byte of the subject inside the payload
+		int subject = indexOf(bytes, "client-1".getBytes()) + 7;
+		bytes[subject] ^= 1;
+		String tampered = CwtService.PREFIX + Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+		assertThat(service.parse(tampered).failure()).isEqualTo(JwtValidation.Failure.INVALID_SIGNATURE);
+		assertThat(new CwtService(OTHER_SECRET, "nexus-auth").parse(token).failure())
+				.isEqualTo(JwtValidation.Failure.INVALID_SIGNATURE);
+	}
+
+	@Test
+	void rejectsTruncatedAndMalformedTokens() {
+		String token = service.generateAccessToken("client-1", TokenType.CWT, Map.of("roles", List.of("a")),
+				SubjectType.CLIENT);
+		byte[] bytes = Base64.getUrlDecoder().decode(token.substring(CwtService.PREFIX.length()));
+
+		for (int length = 0; length < bytes.length; length++) {
+			String truncated = CwtService.PREFIX
+					+ Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(bytes, length));
+			assertThat(service.parse(truncated).isValid()).as("truncated to %d bytes", length).isFalse();
+		}
+		assertThat(service.parse(null).failure()).isEqualTo(JwtValidation.Failure.MALFORMED);
+		assertThat(service.parse(token.substring(CwtService.PREFIX.length())).failure())
+				.isEqualTo(JwtValidation.Failure.MALFORMED);
+		assertThat(service.parse(CwtService.PREFIX + "not base64!").failure())
+				.isEqualTo(JwtValidation.Failure.MALFORMED);
+		assertThat(service.parse(CwtService.PREFIX + "A".repeat(5_000)).failure())
+				.isEqualTo(JwtValidation.Failure.MALFORMED);
+	}
+
+	private static int indexOf(byte[] data, byte[] part) {
+		outer:
+		for (int i = 0; i <= data.length - part.length; i++) {
+			for (int j = 0; j < part.length; j++) {
+				if (data[i + j] != part[j]) {
+					continue outer;
+				}
+			}
+			return i;
+		}
+		throw new AssertionError("not found");
+	}
+}
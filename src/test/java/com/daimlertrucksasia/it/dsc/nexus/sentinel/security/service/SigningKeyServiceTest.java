@@ -0,0 +1,93 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RequestSigningProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.SigningKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.SigningKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SigningKeyServiceTest {
+
+	private static final String MASTER_KEY = "MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=";
+
+	private final RequestSigningProperties properties = new RequestSigningProperties();
+	private final SigningKeyRepository repository = mock(SigningKeyRepository.class);
+
+	@BeforeEach
+	void setUp() {
+		properties.setMasterKey(MASTER_KEY);
+	}
+
+	@Test
+	void startupFailsWithoutAValidMasterKey() {
+		properties.setMasterKey(null);
+		assertThatThrownBy(this::service)
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("REQUEST_SIGNING_MASTER_KEY");
+
+		properties.setMasterKey("c2hvcnQ=");
+		assertThatThrownBy(this::service).isInstanceOf(IllegalStateException.class).hasMessageContaining("AES key");
+	}
+
+	@Test
+	void storesSecretsEncryptedAndResolvesThem() {
+		SigningKeyService service = service();
+		SigningKeyService.IssuedSigningKey issued = service.issue(client());
+		SigningKey stored = issued.signingKey();
+		when(repository.findById(stored.getId())).thenReturn(Optional.of(stored));
+
+		assertThat(new String(Base64.getDecoder().decode(stored.getEncryptedSecret()), StandardCharsets.ISO_8859_1))
+				.doesNotContain(new String(issued.secret(), StandardCharsets.ISO_8859_1));
+		SigningKeyService.ResolvedSigningKey resolved = service.resolve(stored.getId());
+		assertThat(resolved.secret().getEncoded()).isEqualTo(issued.secret());
+		assertThat(resolved.signingKey().getRoles()).containsExactly("SERVICE");
+	}
+
+	@Test
+	void secretsCannotBeMovedToAnotherKeyId() {
+		SigningKeyService service = service();
+		SigningKey stored = service.issue(client()).signingKey();
+		SigningKey moved = SigningKey.builder()
+				.id("other-id")
+				.clientId(stored.getClientId())
+				.encryptedSecret(stored.getEncryptedSecret())
+				.build();
+		when(repository.findById("other-id")).thenReturn(Optional.of(moved));
+
+		assertThatThrownBy(() -> service.resolve("other-id")).isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void expiredAndUnknownKeysDoNotResolve() {
+		SigningKeyService service = service();
+		SigningKey stored = service.issue(client()).signingKey();
+		stored.setExpiresAt(Instant.now().minusSeconds(1));
+		when(repository.findById(stored.getId())).thenReturn(Optional.of(stored));
+		when(repository.findById("unknown")).thenReturn(Optional.empty());
+
+		assertThat(service.resolve(stored.getId())).isNull();
+		assertThat(service.resolve("unknown")).isNull();
+	}
+
+	private SigningKeyService service() {
+		return new SigningKeyService(properties, repository, mock(MongoIndexInitializer.class), new SimpleMeterRegistry());
+	}
+
+	private static Client client() {
+		return Client.builder().clientId("order-service").roles(List.of("SERVICE")).build();
+	}
+}
@@ -0,0 +1,77 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RefreshTokenFamilyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.RevokedTokenRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.opaque.OpaqueTokenStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.session.SessionStore;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RevokedToken;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationServiceTest {
+
+	private final RevokedTokenRepository revokedTokenRepository = mock(RevokedTokenRepository.class);
+	private final MongoIndexInitializer mongoIndexInitializer = mock(MongoIndexInitializer.class);
+	private final TokenRevocationService service = new TokenRevocationService(revokedTokenRepository,
+			mock(RefreshTokenFamilyRepository.class), mongoIndexInitializer, mock(JwtService.class),
+			mock(CwtService.class), mock(OpaqueTokenStore.class), mock(ApiKeyService.class),
+			mock(SessionStore.class));
+
+	@Test
+	void initializeOnlyRegistersIndexes() {
+		service.initialize();
+
+		verify(mongoIndexInitializer, times(3)).register(any(Class.class), any(IndexDefinition.class));
+		verify(revokedTokenRepository, never()).findByExpiresAtAfter(any());
+	}
+
+	@Test
+	void firstSyncLoadsLiveEntriesAndLaterSyncsAreIncremental() {
+		when(revokedTokenRepository.findByExpiresAtAfter(any())).thenReturn(List.of(revoked("a")));
+		when(revokedTokenRepository.findByRevokedAtAfter(any())).thenReturn(List.of(revoked("b")));
+
+		assertThat(service.isRevoked("a", null)).isFalse();
+		service.synchronize();
+		assertThat(service.isRevoked("a", null)).isTrue();
+		assertThat(service.isRevoked("b", null)).isFalse();
+
+		service.synchronize();
+		assertThat(service.isRevoked(null, "b")).isTrue();
+		verify(revokedTokenRepository).findByExpiresAtAfter(any());
+		verify(revokedTokenRepository).findByRevokedAtAfter(any());
+	}
+
+	@Test
+	void failedFirstSyncIsRetriedAsFullLoad() {
+		when(revokedTokenRepository.findByExpiresAtAfter(any()))
+				.thenThrow(new IllegalStateException("unreachable"))
+				.thenReturn(List.of(revoked("a")));
+
+		service.synchronize();
+		assertThat(service.isRevoked("a", null)).isFalse();
+
+		service.synchronize();
+		assertThat(service.isRevoked("a", null)).isTrue();
+		verify(revokedTokenRepository, never()).findByRevokedAtAfter(any());
+	}
+
+	private static RevokedToken revoked(String id) {
+		return RevokedToken.builder()
+				.id(id)
+				.revokedAt(Instant.now())
+				.expiresAt(Instant.now().plusSeconds(60))
+				.build();
+	}
+}
@@ -0,0 +1,65 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.NonceCache.Result;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NonceCacheTest {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void rejectsReplaysWithinTheWindow() {
+		NonceCache cache = cache(16);
+
+		assertThat(cache.record(NOW, 42)).isEqualTo(Result.ACCEPTED);
+		assertThat(cache.record(NOW, 43)).isEqualTo(Result.ACCEPTED);
+		assertThat(cache.record(NOW, 42)).isEqualTo(Result.REPLAYED);
+		assertThat(cache.record(NOW + 1, 42)).isEqualTo(Result.REPLAYED);
+	}
+
+	@Test
+	void zeroFingerprintIsRecordedLikeAnyOther() {
+		NonceCache cache = cache(16);
+
+		assertThat(cache.record(NOW, 0)).isEqualTo(Result.ACCEPTED);
+		assertThat(cache.record(NOW, 0)).isEqualTo(Result.REPLAYED);
+	}
+
+	@Test
+	void fullSliceRejectsNewFingerprintsButStillDetectsReplays() {
+		NonceCache cache = cache(16);
+		// 16 slots filled to three quarters
+		for (long i = 1; i <= 12; i++) {
+			assertThat(cache.record(NOW, i)).isEqualTo(Result.ACCEPTED);
+		}
+
+		assertThat(cache.record(NOW, 13)).isEqualTo(Result.FULL);
+		assertThat(cache.record(NOW, 5)).isEqualTo(Result.REPLAYED);
+		assertThat(cache.record(NOW + 10, 13)).isEqualTo(Result.ACCEPTED);
+	}
+
+	@Test
+	void reusedBucketForgetsItsOldSlice() {
+		NonceCache cache = cache(16);
+		assertThat(cache.record(NOW, 42)).isEqualTo(Result.ACCEPTED);
+
+		// 5 buckets of 10s for a 10s skew: the slice 50s later maps to the same bucket
+		assertThat(cache.record(NOW + 50, 42)).isEqualTo(Result.ACCEPTED);
+	}
+
+	@Test
+	void timestampsOlderThanARecycledBucketCountAsReplays() {
+		NonceCache cache = cache(16);
+		cache.record(NOW + 50, 1);
+
+		assertThat(cache.record(NOW, 42)).isEqualTo(Result.REPLAYED);
+	}
+
+	private static NonceCache cache(int sliceCapacity) {
+		return new NonceCache(Duration.ofSeconds(10), Duration.ofSeconds(10), sliceCapacity);
+	}
+}
@@ -0,0 +1,125 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RequestSigningProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.token.SigningKeyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.Client;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.SigningKeyService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.RequestSignatureVerifier.Failure;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing.RequestSignatureVerifier.Verification;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestSignatureVerifierTest {
+
+	private static final byte[] BODY = "{\"clientId\":\"order-service\"}".getBytes(StandardCharsets.UTF_8);
+
+	private final RequestSigningProperties properties = new RequestSigningProperties();
+	private final SigningKeyRepository repository = mock(SigningKeyRepository.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RequestSignatureVerifier verifier;
+	private SigningKeyService.IssuedSigningKey key;
+
+	@BeforeEach
+	void setUp() {
+		properties.setMasterKey("MDEyMzQ1Njc4OWFiY2RlZjAxMjM0NTY3ODlhYmNkZWY=");
+		properties.setNonceSliceCapacity(64);
+		SigningKeyService signingKeyService = new SigningKeyService(properties, repository,
+				mock(MongoIndexInitializer.class), meterRegistry);
+		key = signingKeyService.issue(Client.builder().clientId("order-service").roles(List.of("SERVICE")).build());
+		when(repository.findById(key.signingKey().getId())).thenReturn(Optional.of(key.signingKey()));
+		verifier = new RequestSignatureVerifier(properties, signingKeyService, meterRegistry);
+	}
+
+	@Test
+	void acceptsCorrectlySignedRequestsAndVerifiesTheirBody() throws Exception {
+		Verification verification = verifier.verify(signed("nonce-1", Instant.now().getEpochSecond(), BODY));
+
+		assertThat(verification.isValid()).isTrue();
+		assertThat(verification.signingKey().getClientId()).isEqualTo("order-service");
+		assertThat(verification.request()).isInstanceOf(SpooledBodyRequest.class);
+		assertThat(verification.request().getInputStream().readAllBytes()).isEqualTo(BODY);
+		assertThat(meterRegistry.counter("sentinel.request.signing.verifications", "result", "accepted").count())
+				.isEqualTo(1);
+	}
+
+	@Test
+	void rejectsReplayedRequests() throws Exception {
+		long now = Instant.now().getEpochSecond();
+		assertThat(verifier.verify(signed("nonce-1", now, BODY)).isValid()).isTrue();
+
+		assertThat(verifier.verify(signed("nonce-1", now, BODY)).failure()).isEqualTo(Failure.REPLAYED);
+		assertThat(verifier.verify(signed("nonce-2", now, BODY)).isValid()).isTrue();
+	}
+
+	@Test
+	void rejectsTamperedSignaturesAndSignedFields() throws Exception {
+		long now = Instant.now().getEpochSecond();
+		MockHttpServletRequest request = signed("nonce-1", now, BODY);
+		request.removeHeader(RequestSignatureVerifier.NONCE_HEADER);
+		request.addHeader(RequestSignatureVerifier.NONCE_HEADER, "nonce-2");
+		assertThat(verifier.verify(request).failure()).isEqualTo(Failure.INVALID_SIGNATURE);
+
+		request = signed("nonce-3", now, BODY);
+		request.setRequestURI("/auth/client/refresh");
+		assertThat(verifier.verify(request).failure()).isEqualTo(Failure.INVALID_SIGNATURE);
+	}
+
+	@Test
+	void rejectsTamperedBodyBeforePassingTheRequestOn() throws Exception {
+		MockHttpServletRequest request = signed("nonce-1", Instant.now().getEpochSecond(), BODY);
+		byte[] tampered = BODY.clone();
+		tampered[3] ^= 1;
+		request.setContent(tampered);
+
+		assertThat(verifier.verify(request).failure()).isEqualTo(Failure.INVALID_CONTENT_DIGEST);
+	}
+
+	@Test
+	void rejectsStaleMissingAndUnknownKeyRequests() throws Exception {
+		long stale = Instant.now().minus(properties.getMaxClockSkew()).getEpochSecond() - 5;
+		assertThat(verifier.verify(signed("nonce-1", stale, BODY)).failure()).isEqualTo(Failure.STALE_TIMESTAMP);
+
+		MockHttpServletRequest missing = signed("nonce-2", Instant.now().getEpochSecond(), BODY);
+		missing.removeHeader(RequestSignatureVerifier.CONTENT_DIGEST_HEADER);
+		assertThat(verifier.verify(missing).failure()).isEqualTo(Failure.MISSING_HEADERS);
+
+		MockHttpServletRequest unknown = signed("nonce-3", Instant.now().getEpochSecond(), BODY);
+		unknown.removeHeader(RequestSignatureVerifier.KEY_ID_HEADER);
+		unknown.addHeader(RequestSignatureVerifier.KEY_ID_HEADER, "unknown");
+		assertThat(verifier.verify(unknown).failure()).isEqualTo(Failure.UNKNOWN_KEY);
+	}
+
+	private MockHttpServletRequest signed(String nonce, long timestamp, byte[] body) throws GeneralSecurityException {
+		String digest = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+		String canonical = "POST\n/auth/client\n\n" + timestamp + '\n' + nonce + '\n' + digest;
+		Mac mac = Mac.getInstance("HmacSHA256");
+		mac.init(new SecretKeySpec(key.secret(), "HmacSHA256"));
+		String signature = Base64.getEncoder().encodeToString(mac.doFinal(canonical.getBytes(StandardCharsets.UTF_8)));
+
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/client");
+		request.setContent(body);
+		request.addHeader(RequestSignatureVerifier.KEY_ID_HEADER, key.signingKey().getId());
+		request.addHeader(RequestSignatureVerifier.TIMESTAMP_HEADER, String.valueOf(timestamp));
+		request.addHeader(RequestSignatureVerifier.NONCE_HEADER, nonce);
+		request.addHeader(RequestSignatureVerifier.CONTENT_DIGEST_HEADER, digest);
+		request.addHeader(RequestSignatureVerifier.SIGNATURE_HEADER, signature);
+		return request;
+	}
+}
@@ -0,0 +1,133 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.signing;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpooledBodyRequestTest {
+
+	private static final byte[] BODY = "{\"clientId\":\"order-service\",\"clientSecret\":\"s3cret\"}"
+			.getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	void replaysBodyMatchingItsDigestFromMemory() throws IOException {
+		SpooledBodyRequest request = spool(BODY, sha256(BODY), BODY.length, 1024);
+
+		assertThat(request.isSpooledToFile()).isFalse();
+		assertThat(request.getInputStream().readAllBytes()).isEqualTo(BODY);
+		assertThat(request.getInputStream().isFinished()).isTrue();
+	}
+
+	@Test
+	void replaysLargeBodyFromAnOwnerOnlyFileDeletedOnClose() throws IOException {
+		SpooledBodyRequest request = spool(BODY, sha256(BODY), BODY.length, 8);
+		Path file = spoolFile(request);
+
+		assertThat(request.isSpooledToFile()).isTrue();
+		assertThat(Files.getPosixFilePermissions(file))
+				.containsExactlyInAnyOrder(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+		assertThat(request.getInputStream().readAllBytes()).isEqualTo(BODY);
+
+		request.close();
+		assertThat(file).doesNotExist();
+	}
+
+	@Test
+	void replaysBodyByteByByteAndThroughTheReader() throws IOException {
+		InputStream stream = spool(BODY, sha256(BODY), BODY.length, 1024).getInputStream();
+		int count = 0;
+		while (stream.read() >= 0) {
+			count++;
+		}
+		assertThat(count).isEqualTo(BODY.length);
+
+		try (BufferedReader reader = spool(BODY, sha256(BODY), BODY.length, 8).getReader()) {
+			assertThat(reader.readLine()).isEqualTo(new String(BODY, StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void rejectsTamperedBodyInMemoryAndOnDisk() throws IOException {
+		byte[] tampered = BODY.clone();
+		tampered[tampered.length - 2] ^= 1;
+
+		assertThat(spool(tampered, sha256(BODY), BODY.length, 1024)).isNull();
+		assertThat(spool(tampered, sha256(BODY), BODY.length, 8)).isNull();
+	}
+
+	@Test
+	void rejectsBodyShorterThanItsDeclaredLength() throws IOException {
+		byte[] shortBody = Arrays.copyOf(BODY, BODY.length - 5);
+
+		assertThat(spool(shortBody, sha256(BODY), BODY.length, 1024)).isNull();
+		assertThat(spool(shortBody, sha256(BODY), BODY.length, 8)).isNull();
+	}
+
+	@Test
+	void ignoresBytesBeyondTheDeclaredLength() throws IOException {
+		byte[] padded = (new String(BODY, StandardCharsets.UTF_8) + "trailing").getBytes(StandardCharsets.UTF_8);
+
+		assertThat(spool(padded, sha256(BODY), BODY.length, 1024).getInputStream().readAllBytes()).isEqualTo(BODY);
+	}
+
+	@Test
+	void servesFormParametersFromTheVerifiedBody() throws IOException {
+		byte[] form = "grant_type=client_credentials&scope=read+write&scope=admin%21".getBytes(StandardCharsets.UTF_8);
+		MockHttpServletRequest original = new MockHttpServletRequest("POST", "/auth/client");
+		original.setContentType("application/x-www-form-urlencoded");
+		original.setContent(form);
+		original.setParameter("tenant", "eu");
+
+		SpooledBodyRequest request = SpooledBodyRequest.spool(original, sha256(form), form.length, 1024);
+
+		assertThat(request.getParameter("grant_type")).isEqualTo("client_credentials");
+		assertThat(request.getParameterValues("scope")).containsExactly("read write", "admin!");
+		assertThat(request.getParameter("tenant")).isEqualTo("eu");
+		assertThat(request.getParameterMap()).containsOnlyKeys("tenant", "grant_type", "scope");
+	}
+
+	@Test
+	void leavesParametersOfOtherBodiesToTheContainer() throws IOException {
+		MockHttpServletRequest original = new MockHttpServletRequest("POST", "/auth/client");
+		original.setContentType("application/json");
+		original.setContent(BODY);
+		original.setParameter("tenant", "eu");
+
+		SpooledBodyRequest request = SpooledBodyRequest.spool(original, sha256(BODY), BODY.length, 1024);
+
+		assertThat(request.getParameterMap()).containsOnlyKeys("tenant");
+	}
+
+	private static SpooledBodyRequest spool(byte[] body, byte[] digest, long contentLength, long threshold)
+			throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/client");
+		request.setContent(body);
+		return SpooledBodyRequest.spool(request, digest, contentLength, threshold);
+	}
+
+	private static Path spoolFile(SpooledBodyRequest request) {
+		return (Path) ReflectionTestUtils.getField(request, "file");
+	}
+
+	private static byte[] sha256(byte[] body) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(body);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
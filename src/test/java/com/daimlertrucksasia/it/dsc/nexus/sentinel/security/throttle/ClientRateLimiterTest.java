@@ -0,0 +1,86 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.RateLimitProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.RateLimitExceededException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.ratelimit.RateLimitPolicyRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy.Limit;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ClientRateLimiterTest {
+
+	private final RateLimitProperties properties = new RateLimitProperties();
+	private final RateLimitPolicyRepository repository = mock(RateLimitPolicyRepository.class);
+	private ClientRateLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		properties.setTiers(Map.of(
+				"default", new RateLimitPolicy("default", new Limit(2, 0.001), null, null),
+				"gold", new RateLimitPolicy("gold", new Limit(5, 0.001), new Limit(3, 0.001), new Limit(100, 0.001))));
+		limiter = new ClientRateLimiter(properties, repository, mock(JwtService.class));
+	}
+
+	@Test
+	void unknownClientsUseTheDefaultClientLimit() {
+		limiter.acquire("a");
+		limiter.acquire("a");
+
+		assertThatThrownBy(() -> limiter.acquire("a"))
+				.isInstanceOf(RateLimitExceededException.class)
+				.satisfies(e -> assertThat(((RateLimitExceededException) e).getDecision().scope()).isEqualTo("client:a"));
+		assertThat(limiter.acquire("b").allowed()).isTrue();
+	}
+
+	@Test
+	void teamBucketIsSharedByItsClients() {
+		limiter.rememberClient("a", "logistics", "gold");
+		limiter.rememberClient("b", "logistics", "gold");
+
+		limiter.acquire("a");
+		limiter.acquire("b");
+		RateLimitDecision last = limiter.acquire("a");
+
+		assertThat(last.scope()).isEqualTo("team:gold/logistics");
+		assertThat(last.remaining()).isZero();
+		assertThatThrownBy(() -> limiter.acquire("b")).isInstanceOf(RateLimitExceededException.class);
+	}
+
+	@Test
+	void reportsTheMostRestrictiveBucket() {
+		RateLimitDecision decision = limiter.acquire("a", "logistics", "gold");
+
+		assertThat(decision.scope()).isEqualTo("team:gold/logistics");
+		assertThat(decision.remaining()).isEqualTo(2);
+		assertThat(decision.limit()).isEqualTo(3);
+	}
+
+	@Test
+	void overridesTakeEffectAfterRefresh() {
+		when(repository.findAll()).thenReturn(List.of(new RateLimitPolicy("default", new Limit(1, 0.001), null, null)));
+		limiter.refreshPolicies();
+
+		limiter.acquire("a");
+
+		assertThatThrownBy(() -> limiter.acquire("a")).isInstanceOf(RateLimitExceededException.class);
+	}
+
+	@Test
+	void disabledLimiterAllowsEverything() {
+		properties.setEnabled(false);
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(limiter.acquire("a")).isSameAs(RateLimitDecision.UNLIMITED);
+		}
+	}
+}
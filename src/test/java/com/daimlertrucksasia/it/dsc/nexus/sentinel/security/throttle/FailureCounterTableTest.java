@@ -0,0 +1,54 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FailureCounterTableTest {
+
+	private static final long NOW = 1_700_000_000L;
+
+	@Test
+	void countsFailuresPerKey() {
+		FailureCounterTable table = new FailureCounterTable(1024, 60);
+
+		assertThat(table.increment("user:a", NOW)).isEqualTo(1);
+		assertThat(table.increment("user:a", NOW)).isEqualTo(2);
+		assertThat(table.increment("user:b", NOW)).isEqualTo(1);
+	}
+
+	@Test
+	void countsHalveEveryHalfLife() {
+		FailureCounterTable table = new FailureCounterTable(1024, 60);
+		for (int i = 0; i < 8; i++) {
+			table.increment("user:a", NOW);
+		}
+
+		assertThat(table.increment("user:a", NOW + 60)).isEqualTo(5);
+		assertThat(table.increment("user:a", NOW + 180)).isEqualTo(2);
+		assertThat(table.increment("user:a", NOW + 60 * 30)).isEqualTo(1);
+	}
+
+	@Test
+	void resetClearsCounts() {
+		FailureCounterTable table = new FailureCounterTable(1024, 60);
+		table.increment("user:a", NOW);
+		table.increment("user:a", NOW);
+
+		table.reset("user:a");
+
+		assertThat(table.increment("user:a", NOW)).isEqualTo(1);
+	}
+
+	@Test
+	void lockoutsOnlyExtend() {
+		FailureCounterTable table = new FailureCounterTable(1024, 60);
+		assertThat(table.lockedUntil("user:a")).isZero();
+
+		table.lockUntil("user:a", NOW + 60);
+		table.lockUntil("user:a", NOW + 30);
+
+		assertThat(table.lockedUntil("user:a")).isEqualTo(NOW + 60);
+		assertThat(table.lockedUntil("user:b")).isLessThan(NOW);
+	}
+}
@@ -0,0 +1,120 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.LoginThrottleProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.global.exception.AuthenticationThrottledException;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.index.MongoIndexInitializer;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.lockout.LoginLockoutRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.LoginLockout;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class LoginFailureTrackerTest {
+
+	private final LoginThrottleProperties properties = new LoginThrottleProperties();
+	private final LoginLockoutRepository repository = mock(LoginLockoutRepository.class);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final MongoIndexInitializer indexInitializer = mock(MongoIndexInitializer.class);
+	private LoginFailureTracker tracker;
+
+	@BeforeEach
+	void setUp() {
+		properties.setSlots(1024);
+		properties.setUsernameThreshold(3);
+		properties.setAddressThreshold(5);
+		tracker = new LoginFailureTracker(properties, repository, mongoTemplate, indexInitializer);
+	}
+
+	@Test
+	void initializationOnlyRegistersTheIndex() {
+		tracker.initialize();
+
+		verify(indexInitializer).register(eq(LoginLockout.class), any(IndexDefinition.class));
+		verifyNoInteractions(mongoTemplate, repository);
+	}
+
+	@Test
+	void locksUsernameOnceThresholdIsReached() {
+		tracker.recordFailure("alice", "10.0.0.1");
+		tracker.recordFailure("alice", "10.0.0.1");
+		assertThatNoException().isThrownBy(() -> tracker.checkAllowed("alice", "10.0.0.1"));
+
+		tracker.recordFailure("alice", "10.0.0.1");
+
+		assertThatThrownBy(() -> tracker.checkAllowed("alice", "10.0.0.2"))
+				.isInstanceOf(AuthenticationThrottledException.class)
+				.satisfies(e -> assertThat(((AuthenticationThrottledException) e).getRetryAfter())
+						.isPositive()
+						.isLessThanOrEqualTo(properties.getBaseLockout()));
+		assertThatNoException().isThrownBy(() -> tracker.checkAllowed("bob", "10.0.0.1"));
+	}
+
+	@Test
+	void locksAddressAcrossUsernames() {
+		for (int i = 0; i < 5; i++) {
+			tracker.recordFailure("user-" + i, "10.0.0.1");
+		}
+
+		assertThatThrownBy(() -> tracker.checkAllowed("someone", "10.0.0.1"))
+				.isInstanceOf(AuthenticationThrottledException.class);
+		assertThatNoException().isThrownBy(() -> tracker.checkAllowed("someone", "10.0.0.2"));
+	}
+
+	@Test
+	void successResetsUsernameFailures() {
+		tracker.recordFailure("alice", null);
+		tracker.recordFailure("alice", null);
+		tracker.recordSuccess("alice");
+		tracker.recordFailure("alice", null);
+
+		assertThatNoException().isThrownBy(() -> tracker.checkAllowed("alice", null));
+	}
+
+	@Test
+	void publishingFailuresDoNotPreventLocalLockout() {
+		when(mongoTemplate.upsert(any(), any(), eq(LoginLockout.class))).thenThrow(new IllegalStateException("down"));
+
+		for (int i = 0; i < 3; i++) {
+			tracker.recordFailure("alice", null);
+		}
+
+		assertThatThrownBy(() -> tracker.checkAllowed("alice", null))
+				.isInstanceOf(AuthenticationThrottledException.class);
+	}
+
+	@Test
+	void appliesLockoutsPulledFromOtherNodes() {
+		LoginLockout lockout = LoginLockout.builder()
+				.id("user:alice")
+				.lockedUntil(Instant.now().plus(Duration.ofMinutes(5)))
+				.build();
+		when(repository.findByUpdatedAtAfter(any())).thenReturn(List.of(lockout));
+
+		tracker.synchronize();
+
+		assertThatThrownBy(() -> tracker.checkAllowed("alice", null))
+				.isInstanceOf(AuthenticationThrottledException.class);
+	}
+
+	@Test
+	void failedSyncIsTolerated() {
+		when(repository.findByUpdatedAtAfter(any())).thenThrow(new IllegalStateException("down"));
+
+		assertThatNoException().isThrownBy(tracker::synchronize);
+	}
+}
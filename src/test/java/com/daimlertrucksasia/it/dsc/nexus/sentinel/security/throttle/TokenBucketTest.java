@@ -0,0 +1,94 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.RateLimitPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+	private static final long SECOND = 1_000_000_000L;
+	private static final long NOW = 1_000 * SECOND;
+	private static final RateLimitPolicy.Limit LIMIT = new RateLimitPolicy.Limit(3, 1.0);
+
+	@Test
+	void grantsBurstThenRejects() {
+		TokenBucket bucket = new TokenBucket();
+
+		assertThat(bucket.tryAcquire("client:a", LIMIT, NOW))
+				.isEqualTo(new RateLimitDecision(true, "client:a", 3, 2, 1, 0));
+		assertThat(bucket.tryAcquire("client:a", LIMIT, NOW))
+				.isEqualTo(new RateLimitDecision(true, "client:a", 3, 1, 2, 0));
+		assertThat(bucket.tryAcquire("client:a", LIMIT, NOW))
+				.isEqualTo(new RateLimitDecision(true, "client:a", 3, 0, 3, 0));
+		assertThat(bucket.tryAcquire("client:a", LIMIT, NOW))
+				.isEqualTo(new RateLimitDecision(false, "client:a", 3, 0, 3, 1));
+	}
+
+	@Test
+	void resetIsTimeUntilTheBucketIsFull() {
+		TokenBucket bucket = new TokenBucket();
+		for (int i = 0; i < 3; i++) {
+			bucket.tryAcquire("client:a", LIMIT, NOW);
+		}
+
+		RateLimitDecision rejected = bucket.tryAcquire("client:a", LIMIT, NOW + SECOND / 2);
+		assertThat(rejected.allowed()).isFalse();
+		assertThat(rejected.resetSeconds()).isEqualTo(3);
+		assertThat(rejected.retryAfter()).isEqualTo(1);
+
+		RateLimitDecision granted = bucket.tryAcquire("client:a", LIMIT, NOW + 3 * SECOND / 2);
+		assertThat(granted.allowed()).isTrue();
+		assertThat(granted.remaining()).isZero();
+		// Arrival time is NOW + 4s after this grant, 2.5s ahead
+		assertThat(granted.resetSeconds()).isEqualTo(3);
+	}
+
+	@Test
+	void becomesIdleOnceFull() {
+		TokenBucket bucket = new TokenBucket();
+		assertThat(bucket.isIdle(NOW)).isTrue();
+
+		bucket.tryAcquire("client:a", LIMIT, NOW);
+		bucket.tryAcquire("client:a", LIMIT, NOW);
+
+		assertThat(bucket.isIdle(NOW + SECOND)).isFalse();
+		assertThat(bucket.isIdle(NOW + 2 * SECOND)).isTrue();
+		assertThat(bucket.tryAcquire("client:a", LIMIT, NOW + 2 * SECOND).remaining()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentCallersNeverExceedCapacity() throws Exception {
+		TokenBucket bucket = new TokenBucket();
+		RateLimitPolicy.Limit limit = new RateLimitPolicy.Limit(100, 0.001);
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Callable<Integer>> callers = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				callers.add(() -> {
+					int granted = 0;
+					for (int j = 0; j < 1_000; j++) {
+						if (bucket.tryAcquire("client:a", limit, NOW).allowed()) {
+							granted++;
+						}
+					}
+					return granted;
+				});
+			}
+			int total = 0;
+			for (Future<Integer> result : executor.invokeAll(callers)) {
+				total += result.get();
+			}
+			assertThat(total).isEqualTo(100);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
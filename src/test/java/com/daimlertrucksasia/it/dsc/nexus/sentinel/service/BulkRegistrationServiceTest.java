@@ -0,0 +1,72 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.audit.AuditPipeline;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.BulkRegistrationResult;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.DTO.UserRegistrationRequest;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.model.valueObjects.EntityType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BulkRegistrationServiceTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final UserRegistrationService userRegistrationService = mock(UserRegistrationService.class);
+	private final RegistrationServiceResolver resolver = mock(RegistrationServiceResolver.class);
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkRegistrationService service = new BulkRegistrationService(resolver,
+			mock(FacetCountService.class), mock(AuditPipeline.class), mongoTemplate, objectMapper, 2, 32, 1);
+
+	@AfterEach
+	void shutdown() {
+		service.shutdown();
+	}
+
+	@Test
+	void oversizeAndMalformedRecordsAreReportedWithoutInsert() throws IOException {
+		when(resolver.resolve(EntityType.USER)).thenReturn(userRegistrationService);
+		doReturn(UserRegistrationRequest.class).when(userRegistrationService).getRequestType();
+		String oversize = "{\"username\":\"" + "x".repeat(64) + "\"}";
+		String input = oversize + "\r\n\n{not json\r\n" + oversize;
+
+		List<JsonNode> results = register(input);
+
+		assertThat(results).extracting(result -> result.get("line").asLong()).containsExactly(1L, 3L, 4L);
+		assertThat(results).extracting(result -> result.get("status").asText())
+				.containsOnly(BulkRegistrationResult.Status.INVALID.name());
+		assertThat(results.get(0).get("message").asText()).contains("32 characters");
+		verify(userRegistrationService, never()).prepare(any());
+		verify(mongoTemplate, never()).bulkOps(any(), any(Class.class));
+	}
+
+	private List<JsonNode> register(String input) throws IOException {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		service.registerAll(EntityType.USER, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), output);
+		return Arrays.stream(output.toString(StandardCharsets.UTF_8).split("\n"))
+				.map(line -> {
+					try {
+						return objectMapper.readTree(line);
+					} catch (IOException e) {
+						throw new IllegalStateException(e);
+					}
+				})
+				.toList();
+	}
+}
@@ -0,0 +1,30 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CredentialDirectoryServiceTest {
+
+	@Test
+	void writesPlainAndQuotedCells() throws IOException {
+		assertThat(row("alice", "a,b", "say \"hi\"", true, "")).isEqualTo("alice,\"a,b\",\"say \"\"hi\"\"\",true,\r\n");
+	}
+
+	@Test
+	void neutralizesFormulaCells() throws IOException {
+		assertThat(row("=HYPERLINK(\"http://x\")", "+1", "-2", "@SUM(A1)", "\tcmd", "\r=1"))
+				.isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\",\"'+1\",\"'-2\",\"'@SUM(A1)\",\"'\tcmd\",\"'\r=1\"\r\n");
+		assertThat(row("a=1", "x-y")).isEqualTo("a=1,x-y\r\n");
+	}
+
+	private static String row(Object... values) throws IOException {
+		StringWriter writer = new StringWriter();
+		CredentialDirectoryService.writeCsvRow(writer, Arrays.asList(values));
+		return writer.toString();
+	}
+}
@@ -0,0 +1,145 @@
+package com.daimlertrucksasia.it.dsc.nexus.sentinel.service;
+
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.AuditProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.application.config.WarmupProperties;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.client.ClientRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.infrastucture.user.UserRepository;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.CwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.service.JwtService;
+import com.daimlertrucksasia.it.dsc.nexus.sentinel.security.throttle.ClientRateLimiter;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoIterable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WarmupServiceTest {
+
+	private final WarmupProperties properties = new WarmupProperties();
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final ClientRepository clientRepository = mock(ClientRepository.class);
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CountDownLatch never = new CountDownLatch(1);
+	private WarmupService service;
+
+	@BeforeEach
+	void setUp() {
+		properties.setConnections(2);
+		properties.setJwtIterations(0);
+		properties.setPasswordIterations(3);
+		properties.setTimeout(Duration.ofMillis(300));
+		when(passwordEncoder.encode(anyString())).thenReturn("hash");
+		service = new WarmupService(properties, new AuditProperties(), mongoTemplate, clientRepository,
+				userRepository, mock(ClientRateLimiter.class), mock(JwtService.class), mock(CwtService.class),
+				passwordEncoder, meterRegistry);
+	}
+
+	@Test
+	void preloadsTheMostActiveSubjects() {
+		rankedSubjects(List.of("subject-1", "subject-2"));
+
+		service.run(null);
+
+		verify(clientRepository).findCredentialsByClientId("subject-1");
+		verify(clientRepository).findCredentialsByClientId("subject-2");
+		verify(userRepository).findCredentialsByUsername("subject-1");
+		verify(passwordEncoder, times(3)).matches(anyString(), any());
+		assertThat(recordedRuns()).isEqualTo(1);
+	}
+
+	@Test
+	void rankingIsBoundedByTheTimeout() {
+		when(mongoTemplate.getCollection(anyString())).thenAnswer(invocation -> {
+			never.await();
+			return null;
+		});
+
+		assertThat(elapsed(() -> service.run(null))).isLessThan(Duration.ofSeconds(5));
+
+		verify(clientRepository, never()).findCredentialsByClientId(anyString());
+		assertThat(recordedRuns()).isEqualTo(1);
+	}
+
+	@Test
+	void passwordHashingIsBoundedByTheTimeout() {
+		rankedSubjects(List.of());
+		when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+			never.await();
+			return "hash";
+		});
+
+		assertThat(elapsed(() -> service.run(null))).isLessThan(Duration.ofSeconds(5));
+
+		verify(passwordEncoder, never()).matches(anyString(), any());
+		assertThat(recordedRuns()).isEqualTo(1);
+	}
+
+	@Test
+	void failuresAreLoggedAndTheRemainingStepsStillRun() {
+		properties.setTimeout(Duration.ofSeconds(10));
+		when(mongoTemplate.executeCommand(any(Document.class))).thenThrow(new IllegalStateException("down"));
+		when(mongoTemplate.getCollection(anyString())).thenThrow(new IllegalStateException("down"));
+
+		service.run(null);
+
+		verify(clientRepository, never()).findCredentialsByClientId(anyString());
+		verify(passwordEncoder, times(3)).matches(anyString(), any());
+		assertThat(recordedRuns()).isEqualTo(1);
+	}
+
+	@Test
+	void disabledWarmupDoesNothing() {
+		properties.setEnabled(false);
+
+		service.run(null);
+
+		verify(mongoTemplate, never()).executeCommand(any(Document.class));
+		verify(passwordEncoder, never()).encode(anyString());
+		assertThat(meterRegistry.find("sentinel.warmup.duration").timer()).isNull();
+	}
+
+	@SuppressWarnings("unchecked")
+	private void rankedSubjects(List<String> subjects) {
+		MongoCollection<Document> collection = mock(MongoCollection.class);
+		AggregateIterable<Document> aggregate = mock(AggregateIterable.class);
+		MongoIterable<String> mapped = mock(MongoIterable.class);
+		when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+		when(collection.aggregate(anyList())).thenReturn(aggregate);
+		when(aggregate.<String>map(any())).thenReturn(mapped);
+		when(mapped.into(any())).thenAnswer(invocation -> {
+			List<String> target = invocation.getArgument(0);
+			target.addAll(subjects);
+			return target;
+		});
+	}
+
+	private long recordedRuns() {
+		return meterRegistry.get("sentinel.warmup.duration").timer().count();
+	}
+
+	private static Duration elapsed(Runnable action) {
+		long start = System.nanoTime();
+		action.run();
+		return Duration.ofNanos(System.nanoTime() - start);
+	}
+}